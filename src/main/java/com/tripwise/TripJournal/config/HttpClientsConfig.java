@@ -1,12 +1,31 @@
 package com.tripwise.TripJournal.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.*;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
-import java.net.http.HttpClient;
+import java.time.Duration;
 
 /**
  * ================================================================
@@ -14,22 +33,122 @@ import java.net.http.HttpClient;
  * Author      : Ochwada-GMK
  * Project Name: tripjournal
  * Date        : Friday,  05.Sept.2025 | 11:33
- * Description :
+ * Description : HTTP clients for the tripmedia service: a pooled Apache HttpClient 5 behind the blocking
+ * {@link RestTemplate}, and a pooled Reactor Netty connector behind the {@link WebClient}. Both share the
+ * {@code tripmedia.base-url} and {@code tripmedia.http.*} settings.
  * ================================================================
  */
 @Configuration
 public class HttpClientsConfig {
 
+    @Value("${tripmedia.base-url:http://tripmedia:9096}")
+    private String baseUrl;
+
+    /** TCP connect timeout. */
+    @Value("${tripmedia.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    /** Max wait for the response (and between packets) once the request is sent. */
+    @Value("${tripmedia.http.read-timeout:5s}")
+    private Duration readTimeout;
+
+    /** Max wait for a free pooled connection; fails fast instead of queueing a Tomcat worker. */
+    @Value("${tripmedia.http.pool-acquire-timeout:1s}")
+    private Duration poolAcquireTimeout;
+
+    @Value("${tripmedia.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${tripmedia.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    /** Idle pooled connections are closed after this. */
+    @Value("${tripmedia.http.idle-timeout:30s}")
+    private Duration idleTimeout;
+
+    /** Connections are recycled after this, so DNS/container changes are picked up. */
+    @Value("${tripmedia.http.time-to-live:5m}")
+    private Duration timeToLive;
+
+    /**
+     * Connection pool for blocking tripmedia calls; pool usage is published as {@code httpcomponents.httpclient.pool.*}
+     * meters tagged {@code httpclient=tripmedia}.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager tripMediaConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager manager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(manager, "tripmedia").bindTo(meterRegistry);
+        return manager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient tripMediaHttpClient(PoolingHttpClientConnectionManager tripMediaConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(tripMediaConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    /**
+     * Blocking client for tripmedia. Built from Boot's {@link RestTemplateBuilder} so requests are also timed as
+     * {@code http.client.requests}; forwards the current request's JWT unless the caller set one explicitly.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate rt = new RestTemplate();
-        rt.getInterceptors().add((req, body, exec) -> {
-            var auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth instanceof JwtAuthenticationToken jwt) {
-                req.getHeaders().set(HttpHeaders.AUTHORIZATION, "Bearer " + jwt.getToken().getTokenValue());
-            }
-            return exec.execute(req, body);
-        });
-        return rt;
+    public RestTemplate tripMediaRestTemplate(RestTemplateBuilder builder, CloseableHttpClient tripMediaHttpClient) {
+        return builder
+                .rootUri(baseUrl)
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(tripMediaHttpClient))
+                .additionalInterceptors((req, body, exec) -> {
+                    var auth = SecurityContextHolder.getContext().getAuthentication();
+                    if (auth instanceof JwtAuthenticationToken jwt
+                            && !req.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+                        req.getHeaders().set(HttpHeaders.AUTHORIZATION, "Bearer " + jwt.getToken().getTokenValue());
+                    }
+                    return exec.execute(req, body);
+                })
+                .build();
+    }
+
+    /**
+     * Reactive client for tripmedia ({@code /media/batch}), with the same limits as the blocking one. Pool usage is
+     * published as {@code reactor.netty.connection.provider.*} meters tagged {@code name=tripmedia}.
+     */
+    @Bean
+    public WebClient tripMediaWebClient(WebClient.Builder builder) {
+        ConnectionProvider provider = ConnectionProvider.builder("tripmedia")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(poolAcquireTimeout)
+                .maxIdleTime(idleTimeout)
+                .maxLifeTime(timeToLive)
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+
+        return builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .exchangeStrategies(ExchangeStrategies.builder()
+                        .codecs(c -> c.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                        .build())
+                .build();
     }
 }
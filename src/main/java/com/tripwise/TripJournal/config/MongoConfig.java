@@ -1,5 +1,10 @@
 package com.tripwise.TripJournal.config;
 
+import com.mongodb.MongoClientSettings;
+import com.tripwise.TripJournal.repository.JournalCodec;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 
@@ -9,7 +14,8 @@ import org.springframework.data.mongodb.config.EnableMongoAuditing;
  * Author      : Ochwada-GMK
  * Project Name: tripjournal
  * Date        : Monday,  01.Sept.2025 | 11:41
- * Description :Configuration class that enables auditing support for MongoDB
+ * Description :Configuration class that enables auditing support for MongoDB, and registers {@link JournalCodec}
+ * with the Mongo clients.
  * ================================================================
  */
 @Configuration
@@ -18,8 +24,16 @@ public class MongoConfig {
     /**
      * {@code @EnableMongoAuditing} annotation enables Spring Data to automatically populate fields annotated with {@code
      * @CreatedDate} and {@code @LastModifiedDate} during entity persistence.
-     * *
-     * This class does not require any methods or fields; its presence in the application context is sufficient for
-     * activating auditing behavior.
      * */
+
+    /**
+     * Puts {@link JournalCodec} in front of the driver's default codecs, for both the blocking and the reactive client,
+     * so collections can decode {@code Journal} directly ({@code withDocumentClass(Journal.class)}).
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer journalCodecCustomizer() {
+        return settings -> settings.codecRegistry(CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(new JournalCodec()),
+                MongoClientSettings.getDefaultCodecRegistry()));
+    }
 }
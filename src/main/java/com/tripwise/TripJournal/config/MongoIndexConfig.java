@@ -0,0 +1,178 @@
+package com.tripwise.TripJournal.config;
+
+import com.tripwise.TripJournal.model.GeocodeCacheEntry;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.MediaOutboxEntry;
+import com.tripwise.TripJournal.model.OutboxStatus;
+import com.tripwise.TripJournal.model.WeatherObservation;
+import com.tripwise.TripJournal.repository.JournalRepositoryImpl;
+import com.mongodb.client.model.IndexOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+
+import java.time.Duration;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.config
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 09:48
+ * Description : Ensures the MongoDB indexes the service relies on exist once the application is up.
+ * - Spring Boot leaves {@code auto-index-creation} off, so indexes are declared here explicitly.
+ * ================================================================
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${journal.cache.geocode.ttl:7d}")
+    private Duration geocodeTtl;
+
+    @Value("${journal.weather.observations.enabled:true}")
+    private boolean observationsEnabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        // journal: keyset pagination over a user's journals (GET /journals)
+        ensure(Journal.class, new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("createdDate", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("userId_createdDate_id"));
+
+        // journal: case-insensitive title prefix search / type-ahead (mode=prefix, GET /journals/suggest)
+        ensure(Journal.class, new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("title", Sort.Direction.ASC)
+                .collation(JournalRepositoryImpl.TITLE_COLLATION)
+                .named("userId_title_ci"));
+
+        // journal: enrichment backlog (GET /journals/enrichment) and the worker's stale-pending sweep; only journals
+        // with a status are indexed
+        ensure(Journal.class, new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("enrichmentStatus", Sort.Direction.ASC)
+                .on("createdDate", Sort.Direction.DESC)
+                .partial(PartialIndexFilter.of(where("enrichmentStatus").exists(true)))
+                .named("userId_enrichmentStatus_createdDate"));
+        ensure(Journal.class, new Index()
+                .on("enrichmentStatus", Sort.Direction.ASC)
+                .on("modifiedDate", Sort.Direction.ASC)
+                .partial(PartialIndexFilter.of(where("enrichmentStatus").exists(true)))
+                .named("enrichmentStatus_modifiedDate"));
+
+        // journal: full-text search (GET /journals/search?mode=text); userId prefix keeps each query per-user
+        ensureTextIndex();
+
+        // geocode_cache: let Mongo expire persisted entries on the same schedule as the in-memory cache; each entry
+        // carries its own expiresAt (negative answers expire sooner), resolvedAt_ttl bounds entries written without it
+        ensure(GeocodeCacheEntry.class, new Index()
+                .on("expiresAt", Sort.Direction.ASC)
+                .named("expiresAt_ttl")
+                .expire(Duration.ZERO));
+        ensure(GeocodeCacheEntry.class, new Index()
+                .on("resolvedAt", Sort.Direction.ASC)
+                .named("resolvedAt_ttl")
+                .expire(geocodeTtl));
+
+        // weather_observations: must be created as a time-series collection before the first insert
+        if (observationsEnabled) ensureTimeSeries(WeatherObservation.class);
+        ensure(WeatherObservation.class, new Index()
+                .on("cell", Sort.Direction.ASC)
+                .on("observedAt", Sort.Direction.ASC)
+                .named("cell_observedAt"));
+
+        // media_outbox: dispatcher polling, claim lookup, lag metric
+        ensure(MediaOutboxEntry.class, new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("nextAttemptAt", Sort.Direction.ASC)
+                .named("status_nextAttemptAt"));
+        ensure(MediaOutboxEntry.class, new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("deadline", Sort.Direction.ASC)
+                .named("status_deadline"));
+        ensure(MediaOutboxEntry.class, new Index()
+                .on("claimToken", Sort.Direction.ASC)
+                .sparse()
+                .named("claimToken"));
+        ensure(MediaOutboxEntry.class, new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.ASC)
+                .named("status_createdAt"));
+
+        // media_outbox: at most one pending callback per journal and type (coalescing)
+        ensure(MediaOutboxEntry.class, new Index()
+                .on("journalId", Sort.Direction.ASC)
+                .on("type", Sort.Direction.ASC)
+                .unique()
+                .partial(PartialIndexFilter.of(where("status").is(OutboxStatus.PENDING.name())))
+                .named("journalId_type_pending"));
+    }
+
+    private void ensureTextIndex() {
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(Journal.class)).createIndex(
+                    new Document("userId", 1)
+                            .append("title", "text")
+                            .append("description", "text")
+                            .append("tags", "text"),
+                    new IndexOptions()
+                            .name("userId_text")
+                            .defaultLanguage("english")
+                            .weights(new Document("title", 10).append("tags", 5).append("description", 1)));
+        } catch (Exception e) {
+            log.warn("Could not ensure text index on Journal (continuing): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates {@code type}'s collection as declared by its {@code @TimeSeries}. A collection that already exists but
+     * is not a time series (e.g. implicitly created by an insert before this ran) cannot be converted in place, so
+     * startup fails instead of silently storing observations in an ordinary collection.
+     *
+     * @throws IllegalStateException if the collection exists and is not a time series
+     */
+    private void ensureTimeSeries(Class<?> type) {
+        String name = mongoTemplate.getCollectionName(type);
+        Document existing;
+        try {
+            existing = mongoTemplate.getDb().listCollections().filter(new Document("name", name)).first();
+            if (existing == null) {
+                mongoTemplate.createCollection(type);
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("Could not create time-series collection for {} (continuing): {}", type.getSimpleName(),
+                    e.getMessage());
+            return;
+        }
+
+        if (!"timeseries".equals(existing.getString("type"))) {
+            throw new IllegalStateException("Collection '" + name + "' exists but is not a time-series collection ("
+                    + "type " + existing.getString("type") + "). Rename or drop it so it can be recreated, or set "
+                    + "journal.weather.observations.enabled=false.");
+        }
+    }
+
+    private void ensure(Class<?> type, Index index) {
+        try {
+            mongoTemplate.indexOps(type).createIndex(index);
+        } catch (Exception e) {
+            log.warn("Could not ensure index on {} (continuing): {}", type.getSimpleName(), e.getMessage());
+        }
+    }
+}
@@ -27,6 +27,11 @@ import java.util.*;
 @Configuration
 public class SecurityConfig {
 
+    /**
+     * Role of tripmedia's service token (an {@code authorities} claim containing {@code TRIPMEDIA}); end-user tokens
+     * never carry it.
+     */
+    public static final String MEDIA_SERVICE_ROLE = "TRIPMEDIA";
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationConverter jwtAuthConverter) throws Exception {
@@ -46,6 +51,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.HEAD, "/journal/**").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/journal/**").permitAll()
 
+                        //  tripmedia's asset-ready callback: service-to-service, never an end user's token
+                        .requestMatchers(HttpMethod.POST, "/journals/media-events").hasRole(MEDIA_SERVICE_ROLE)
+
                         //  APIs remain protected
                         .requestMatchers("/journals/**").authenticated()
 
@@ -0,0 +1,131 @@
+package com.tripwise.TripJournal.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.config
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 22:20
+ * Description : Pinning diagnostics for virtual threads: streams JFR {@code jdk.VirtualThreadPinned} events (a
+ * virtual thread that blocked while holding a monitor, e.g. inside {@code synchronized}) into metrics and logs.
+ * ================================================================
+ */
+
+/**
+ * Reports virtual threads that stayed pinned to their carrier for at least
+ * {@code journal.virtual-threads.pinning.threshold}.
+ *
+ * <ul>
+ *   <li>Every event increments {@code journal.virtual.threads.pinned} and is timed by
+ *   {@code journal.virtual.threads.pinned.duration}, tagged with the first application frame
+ *   ({@code com.tripwise...}) or the top frame when none is on the stack.</li>
+ *   <li>The first event per site is logged at WARN with its stack; repeats only at DEBUG.</li>
+ * </ul>
+ * Active only with {@code spring.threads.virtual.enabled=true} and
+ * {@code journal.virtual-threads.pinning.diagnostics=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"spring.threads.virtual.enabled", "journal.virtual-threads.pinning.diagnostics"},
+        havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.tripwise.";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Map<String, Boolean> reportedSites = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${journal.virtual-threads.pinning.threshold:20ms}") Duration threshold
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(EVENT, this::onPinned);
+            stream.startAsync();
+            log.info("Virtual thread pinning diagnostics on (threshold {})", threshold);
+        } catch (Exception e) {
+            log.warn("Could not start pinning diagnostics (continuing without): {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = site(event);
+
+        Counter.builder("journal.virtual.threads.pinned")
+                .description("Virtual threads pinned to their carrier thread while blocking")
+                .tag("site", site)
+                .register(meterRegistry)
+                .increment();
+        Timer.builder("journal.virtual.threads.pinned.duration")
+                .description("How long virtual threads stayed pinned")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (reportedSites.putIfAbsent(site, Boolean.TRUE) == null) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n{}", event.getDuration().toMillis(), site, stack(event));
+        } else {
+            log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    /** First application frame, else the top frame. */
+    private static String site(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) return "unknown";
+
+        RecordedFrame top = event.getStackTrace().getFrames().get(0);
+        return event.getStackTrace().getFrames().stream()
+                .filter(f -> f.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::frame)
+                .orElse(frame(top));
+    }
+
+    private static String stack(RecordedEvent event) {
+        if (event.getStackTrace() == null) return "  (no stack)";
+        return event.getStackTrace().getFrames().stream()
+                .limit(20)
+                .map(f -> "  at " + frame(f) + ":" + f.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
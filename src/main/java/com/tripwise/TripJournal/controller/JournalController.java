@@ -1,20 +1,40 @@
 package com.tripwise.TripJournal.controller;
 
 import com.tripwise.TripJournal.dto.requests.CreateJournalRequest;
+import com.tripwise.TripJournal.dto.requests.MediaReadyEvent;
 import com.tripwise.TripJournal.dto.requests.UpdateJournalRequest;
+import com.tripwise.TripJournal.dto.responses.BatchCreateResponse;
+import com.tripwise.TripJournal.dto.responses.BulkDeleteResponse;
 import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.JournalSuggestion;
+import com.tripwise.TripJournal.dto.responses.MediaEventsResponse;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
+import com.tripwise.TripJournal.model.EnrichmentStatus;
 import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.JournalFilter;
 import com.tripwise.TripJournal.repository.JournalRepository;
+import com.tripwise.TripJournal.service.JournalExporter;
+import com.tripwise.TripJournal.service.JournalJsonService;
 import com.tripwise.TripJournal.service.JournalService;
+import com.tripwise.TripJournal.service.JournalVersions;
+import com.tripwise.TripJournal.service.PageRows;
+import com.tripwise.TripJournal.service.media.MediaExpander;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.bson.RawBsonDocument;
 import org.springframework.data.domain.*;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -40,22 +60,77 @@ public class JournalController {
 
     private final JournalService service;
     private final  ControllerHelpers helpers;
+    private final JournalExporter exporter;
+    private final MediaExpander mediaExpander;
+    private final JournalJsonService jsonService;
+    private final JournalVersions versions;
 
 
 
-    /** GET /journals — Fetch all journals for the user (paginated). */
+    /**
+     * GET /journals?size=&sort=&cursor=&fields=&expand= — Fetch the user's journals, one keyset page at a time.
+     * {@code fields=summary} (or e.g. {@code title,city,createdDate}) reads only those fields from MongoDB;
+     * {@code expand=media} adds {@code media} summaries for the whole page with one tripmedia call.
+     * With {@code journal.raw-json.enabled} (and no expansion) the JSON is written straight from BSON.
+     * Without expansion the page carries an {@code ETag}; a matching {@code If-None-Match} gets a 304.
+     */
     @GetMapping
-    public List<JournalResponse> findAllJournals(Authentication auth) {
+    public ResponseEntity<?> findAllJournals(
+            Authentication auth,
+            WebRequest webRequest,
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "sort", defaultValue = "createdDate,desc") String sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestParam(name = "expand", required = false) String expand) {
+        String userId = helpers.resolveUserId(auth);
+        boolean expandMedia = MediaExpander.wantsMedia(expand);
+
+        if (jsonService.enabled() && !expandMedia) {
+            PageRows<RawBsonDocument> rows = jsonService.readJournalPage(userId, size, sort, cursor, fields);
+            if (webRequest.checkNotModified(versions.ofRawPage(rows, representation()).etag())) return null; // 304
+            return rawJson(jsonService.writePage(rows));
+        }
+        if (!expandMedia) {
+            PageRows<Journal> rows = service.readJournalPage(userId, size, sort, cursor, fields);
+            if (webRequest.checkNotModified(versions.ofPage(rows, representation()).etag())) return null; // 304
+            return revalidated().body(service.toPage(rows));
+        }
+
+        PageResponse<JournalResponse> page = service.findJournalPage(userId, size, sort, cursor, withMediaIds(fields));
+        mediaExpander.expand(page.getContent(), userId, authorization);
+        if (!requestsMediaIds(fields)) page.getContent().forEach(journal -> journal.setMediaIds(null));
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * GET /journals/export — Stream every journal of the user in constant memory.
+     * {@code Accept: application/x-ndjson} yields one object per line; anything else a JSON array.
+     */
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportJournals(
+            Authentication auth,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
         String userId = helpers.resolveUserId(auth);
-        return service.findAllJournals(userId);  // just [...]
+
+        if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(out -> exporter.writeNdjson(userId, out));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> exporter.writeJsonArray(userId, out));
     }
+
     /** POST /journals — Create a new travel journal entry. */
     @PostMapping
-    public ResponseEntity<Journal> createJournal(
+    public ResponseEntity<JournalResponse> createJournal(
             Authentication auth,
             @RequestBody @Valid CreateJournalRequest request){
         String userId = helpers.resolveUserId(auth);
-        Journal created = service.createJournal(userId, request);
+        JournalResponse created = service.createJournal(userId, request);
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
@@ -65,12 +140,93 @@ public class JournalController {
         return ResponseEntity.created(location).body(created);
     }
 
-    /** GET /journals/{id} — Retrieve a single journal by ID. */
+    /**
+     * POST /journals/batch — Create many journals in one request (imports). Returns 201 when every item was stored,
+     * 207 Multi-Status when some failed; {@code items} reports the outcome per request position.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponse> createJournals(
+            Authentication auth,
+            @RequestBody List<CreateJournalRequest> requests) {
+        String userId = helpers.resolveUserId(auth);
+        BatchCreateResponse result = service.createJournals(userId, requests);
+
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(result);
+    }
+
+    /**
+     * POST /journals/media-events — tripmedia reports processed assets (batched, possibly for many users); their
+     * previews are stored on the journals named by each event's {@code userId} and {@code journalId}, so list views
+     * need no tripmedia round trip. Only tripmedia's service token may call it (see {@code SecurityConfig}).
+     */
+    @PostMapping("/media-events")
+    public MediaEventsResponse mediaEvents(@RequestBody List<MediaReadyEvent> events) {
+        return service.applyMediaEvents(events);
+    }
+
+    /**
+     * GET /journals/{id}?fields=&expand=media — Retrieve a single journal by ID, optionally only some fields.
+     * Without expansion the response carries {@code ETag} and {@code Last-Modified}, checked against the journal's
+     * {@code modifiedDate} alone; a matching {@code If-None-Match} / {@code If-Modified-Since} gets a 304.
+     */
     @GetMapping("/{id}")
-    public JournalResponse getJournal(Authentication auth, @PathVariable String id){
+    public ResponseEntity<?> getJournal(Authentication auth, WebRequest webRequest, @PathVariable String id,
+                                      @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false)
+                                      String authorization,
+                                      @RequestParam(name = "fields", required = false) String fields,
+                                      @RequestParam(name = "expand", required = false) String expand){
 
         String userId = helpers.resolveUserId(auth);
-        return service.getJournal(userId, id);
+        boolean expandMedia = MediaExpander.wantsMedia(expand);
+
+        if (!expandMedia) {
+            JournalVersions.Version version = versions.ofJournal(userId, id, fields, representation());
+            if (webRequest.checkNotModified(version.etag(), version.lastModified() == null
+                    ? -1 : version.lastModified().toEpochMilli())) {
+                return null; // 304, headers already set
+            }
+        }
+
+        if (jsonService.enabled() && !expandMedia) {
+            return rawJson(jsonService.getJournal(userId, id, fields));
+        }
+
+        JournalResponse journal = service.getJournal(userId, id, expandMedia ? withMediaIds(fields) : fields);
+        if (expandMedia) {
+            mediaExpander.expand(List.of(journal), userId, authorization);
+            if (!requestsMediaIds(fields)) journal.setMediaIds(null);
+            return ResponseEntity.ok(journal);
+        }
+        return revalidated().body(journal);
+    }
+
+    /** JSON already rendered by {@link JournalJsonService}; sent as is. */
+    private static ResponseEntity<byte[]> rawJson(byte[] body) {
+        return revalidated().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * A 200 whose validators were set by {@code checkNotModified}: clients may keep it but must revalidate, instead
+     * of the {@code no-store} Spring Security adds by default.
+     */
+    private static ResponseEntity.BodyBuilder revalidated() {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+    }
+
+    /** Part of every ETag: the raw and the mapped path render the same journal with different field order. */
+    private String representation() {
+        return jsonService.enabled() ? "raw" : "mapped";
+    }
+
+    /** Media expansion needs {@code mediaIds}, even when a sparse fieldset leaves them out. */
+    private static String withMediaIds(String fields) {
+        return fields == null || fields.isBlank() ? fields : fields + ",mediaIds";
+    }
+
+    /** Whether the client asked for {@code mediaIds}, rather than {@link #withMediaIds} adding them. */
+    private static boolean requestsMediaIds(String fields) {
+        return JournalFields.parse(fields).includes("mediaIds");
     }
 
     /** PUT /journals/{id} — Update an existing journal entry. */
@@ -107,14 +263,79 @@ public class JournalController {
         return ResponseEntity.noContent().build(); // 204
     }
 
-    /** GET /journals/search?q=term — Search journals by title (case-insensitive). */
+    /**
+     * DELETE /journals?ids=&itineraryId=&city=&country=&tag= — Delete many journals at once (all given filters must
+     * match; at least one is required). Media assets are cleaned up in the background.
+     */
+    @DeleteMapping
+    public BulkDeleteResponse deleteJournals(
+            Authentication auth,
+            @RequestParam(name = "ids", required = false) List<String> ids,
+            @RequestParam(name = "itineraryId", required = false) String itineraryId,
+            @RequestParam(name = "city", required = false) String city,
+            @RequestParam(name = "country", required = false) String country,
+            @RequestParam(name = "tag", required = false) String tag) {
+        String userId = helpers.resolveUserId(auth);
+        return service.deleteJournals(userId, new JournalFilter(ids, itineraryId, city, country, tag));
+    }
+
+    /** GET /journals/enrichment?status=&size= — Newest journals whose background enrichment is pending or failed. */
+    @GetMapping("/enrichment")
+    public List<JournalResponse> enrichmentBacklog(
+            Authentication auth,
+            @RequestParam(name = "status", required = false) EnrichmentStatus status,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        String userId = helpers.resolveUserId(auth);
+        return service.findEnrichmentBacklog(userId, status, size);
+    }
+
+    /** POST /journals/{id}/enrichment — Re-queue background enrichment for a journal (async mode only). */
+    @PostMapping("/{id}/enrichment")
+    public ResponseEntity<JournalResponse> retryEnrichment(Authentication auth, @PathVariable String id) {
+        String userId = helpers.resolveUserId(auth);
+        return ResponseEntity.accepted().body(service.retryEnrichment(userId, id)); // 202
+    }
+
+    /**
+     * GET /journals/search?q=term&mode=regex|text|prefix — Search journals.
+     * {@code regex} (default) matches the title case-insensitively; {@code text} ranks matches in title, description
+     * and tags by relevance; {@code prefix} matches titles starting with the term (any case).
+     */
     @GetMapping("/search")
-    public Page<Journal> searchJournal( Authentication auth,
+    public Page<JournalResponse> searchJournal( Authentication auth,
                                         @RequestParam(name = "q", required = false) String q,
+                                        @RequestParam(name = "mode", required = false) String mode,
+                                        @RequestParam(name = "fields", required = false) String fields,
                                         @PageableDefault(sort = "createdDate", size = 20) Pageable pageable){
         String userId = helpers.resolveUserId(auth);
 
-        return service.searchByTitle(userId, q, pageable);
+        return service.search(userId, q, JournalService.parseSearchMode(mode), fields, pageable);
+    }
+
+    /**
+     * GET /journals/search?paging=slice — Same search without the exact count query: returns {@code hasNext}, plus
+     * an (optionally capped) {@code estimatedTotal} when {@code estimateTotal=true}.
+     */
+    @GetMapping(value = "/search", params = "paging=slice")
+    public PageResponse<JournalResponse> searchJournalSlice(Authentication auth,
+                                                    @RequestParam(name = "q", required = false) String q,
+                                                    @RequestParam(name = "mode", required = false) String mode,
+                                                    @RequestParam(name = "fields", required = false) String fields,
+                                                    @RequestParam(name = "estimateTotal", defaultValue = "false")
+                                                    boolean estimateTotal,
+                                                    @PageableDefault(sort = "createdDate", size = 20) Pageable pageable) {
+        String userId = helpers.resolveUserId(auth);
+
+        return service.searchSlice(userId, q, JournalService.parseSearchMode(mode), fields, estimateTotal, pageable);
+    }
+
+    /** GET /journals/suggest?q=ber&limit=10 — Type-ahead: ids and titles starting with the prefix. */
+    @GetMapping("/suggest")
+    public List<JournalSuggestion> suggest(Authentication auth,
+                                           @RequestParam(name = "q", required = false) String q,
+                                           @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        String userId = helpers.resolveUserId(auth);
+        return service.suggest(userId, q, limit);
     }
 
 }
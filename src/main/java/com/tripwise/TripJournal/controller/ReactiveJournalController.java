@@ -0,0 +1,73 @@
+package com.tripwise.TripJournal.controller;
+
+import com.tripwise.TripJournal.dto.requests.CreateJournalRequest;
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
+import com.tripwise.TripJournal.service.ReactiveJournalService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.*;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.controller
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 21:55
+ * Description : Reactive variants of the core journal endpoints under {@code /journals/rx}, enabled with
+ * {@code journal.reactive.enabled=true}.
+ * - Handlers return {@link Mono}; the request thread is released while MongoDB and OpenWeather work, and nothing on
+ * the path blocks, so the same handlers also run unchanged on a Netty (WebFlux) deployment.
+ * ================================================================
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/journals/rx")
+@ConditionalOnProperty(name = "journal.reactive.enabled", havingValue = "true")
+public class ReactiveJournalController {
+
+    private final ReactiveJournalService service;
+    private final ControllerHelpers helpers;
+
+    /** GET /journals/rx?size=&sort=&cursor=&fields= — Keyset page of the user's journals. */
+    @GetMapping
+    public Mono<PageResponse<JournalResponse>> findAllJournals(
+            Authentication auth,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "sort", defaultValue = "createdDate,desc") String sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "fields", required = false) String fields) {
+        return service.findJournalPage(helpers.resolveUserId(auth), size, sort, cursor, fields);
+    }
+
+    /** POST /journals/rx — Create a journal; GPS + weather enrichment runs without blocking a thread. */
+    @PostMapping
+    public Mono<ResponseEntity<JournalResponse>> createJournal(
+            Authentication auth,
+            @RequestBody @Valid CreateJournalRequest request) {
+        String userId = helpers.resolveUserId(auth);
+        return service.createJournal(userId, request)
+                .map(created -> ResponseEntity
+                        .created(UriComponentsBuilder.fromPath("/journals/{id}").buildAndExpand(created.getId()).toUri())
+                        .body(created));
+    }
+
+    /** GET /journals/rx/{id}?fields= — A single journal by ID. */
+    @GetMapping("/{id}")
+    public Mono<JournalResponse> getJournal(Authentication auth, @PathVariable String id,
+                                            @RequestParam(name = "fields", required = false) String fields) {
+        return service.getJournal(helpers.resolveUserId(auth), id, fields);
+    }
+
+    /** DELETE /journals/rx/{id} — Delete a journal entry. */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteJournal(Authentication auth, @PathVariable String id) {
+        return service.deleteJournal(helpers.resolveUserId(auth), id)
+                .then(Mono.fromCallable(() -> ResponseEntity.noContent().<Void>build()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.tripwise.TripJournal.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 /**
@@ -15,6 +16,7 @@ import lombok.*;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL) // absent gps / weather are left out; their own fields still show nulls
 public class MetadataDTO {
 
     private GpsDTO gps;
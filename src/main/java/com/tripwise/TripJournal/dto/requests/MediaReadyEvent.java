@@ -0,0 +1,38 @@
+package com.tripwise.TripJournal.dto.requests;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.dto.requests
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 21:10
+ * Description : Asset-ready event pushed by tripmedia to {@code POST /journals/media-events}: one processed media
+ * item of one journal. The endpoint is service-to-service, so the owner comes from the event, not the caller.
+ * ================================================================
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaReadyEvent {
+    /**
+     * Owner of the journal, as tripmedia recorded it with the asset; the preview is only stored if they match.
+     */
+    @NotBlank(message = "userId is required")
+    private String userId;
+
+    @NotBlank(message = "journalId is required")
+    private String journalId;
+
+    @NotBlank(message = "mediaId is required")
+    private String mediaId;
+
+    private String cdnUrl;
+
+    private Integer width;
+
+    private Integer height;
+}
@@ -0,0 +1,60 @@
+package com.tripwise.TripJournal.dto.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.*;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.dto.responses
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 17:55
+ * Description : Result of {@code POST /journals/batch}: one entry per submitted item, in request order, so clients
+ * can retry exactly the items that failed.
+ * ================================================================
+ */
+@Data
+@Builder
+public class BatchCreateResponse {
+    /**
+     * Number of journals stored.
+     */
+    private int created;
+
+    /**
+     * Number of items rejected (validation) or not stored (write error).
+     */
+    private int failed;
+
+    /**
+     * Per-item outcome, same order and size as the request.
+     */
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+        /**
+         * Position of the item in the request array.
+         */
+        private int index;
+
+        /**
+         * {@code CREATED} or {@code FAILED}.
+         */
+        private String status;
+
+        /**
+         * ID of the stored journal; {@code null} when the item failed.
+         */
+        private String id;
+
+        /**
+         * Why the item failed; {@code null} when it was created.
+         */
+        private String error;
+    }
+}
@@ -0,0 +1,28 @@
+package com.tripwise.TripJournal.dto.responses;
+
+import lombok.*;
+
+import java.util.*;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.dto.responses
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 18:35
+ * Description : Result of {@code DELETE /journals}: how many journals were removed and which.
+ * ================================================================
+ */
+@Data
+@Builder
+public class BulkDeleteResponse {
+    /**
+     * Number of journals removed.
+     */
+    private long deleted;
+
+    /**
+     * IDs of the journals that matched the selection; their media assets are cleaned up in the background.
+     */
+    private List<String> ids;
+}
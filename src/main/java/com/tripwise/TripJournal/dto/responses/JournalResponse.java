@@ -1,7 +1,10 @@
 package com.tripwise.TripJournal.dto.responses;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.tripwise.TripJournal.dto.MediaSummary;
 import com.tripwise.TripJournal.dto.MetadataDTO;
+import com.tripwise.TripJournal.model.EnrichmentStatus;
+import com.tripwise.TripJournal.model.MediaPreview;
 import lombok.*;
 
 import java.time.Instant;
@@ -17,6 +20,8 @@ import java.util.List;
  * ================================================================
  */
 @Data
+// fields outside a sparse fieldset are omitted; unset fields (e.g. no coverMediaId) are omitted too, not sent as null
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Builder
 public class JournalResponse {
     /**
@@ -57,10 +62,16 @@ public class JournalResponse {
      */
     private String country;
 
-    //private String coverMediaId;
+    private String coverMediaId;
 
     private List<String> mediaIds;
 
+    /**
+     * Stored previews (id, cdnUrl, width, height) of the cover and attached media that tripmedia has processed;
+     * enough to render thumbnails without {@code ?expand=media}.
+     */
+    private List<MediaPreview> mediaPreviews;
+
     /**
      * A list of tags associated with this journal entry for easier categorization or search.
      * Example: {@code ["hiking", "nature", "adventure"]}
@@ -75,6 +86,11 @@ public class JournalResponse {
      */
     private MetadataDTO metadata;
 
+    /**
+     * Background enrichment state ({@code PENDING}, {@code DONE}, {@code FAILED}); {@code null} when not applicable.
+     */
+    private EnrichmentStatus enrichmentStatus;
+
     /**
      * The timestamp when this journal entry was created.
      */
@@ -85,7 +101,16 @@ public class JournalResponse {
      */
     private Instant modifiedDate;
 
-    //private List<MediaSummary> media;
+    /**
+     * Summaries of {@code mediaIds} from tripmedia; only present with {@code ?expand=media}.
+     */
+    private List<MediaSummary> media;
+
+    /**
+     * Relevance for {@code GET /journals/search?mode=text}; absent otherwise.
+     */
+    private Float score;
+
     //private MediaSummary coverMedia;
 
 
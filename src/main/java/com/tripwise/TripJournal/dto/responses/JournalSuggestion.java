@@ -0,0 +1,28 @@
+package com.tripwise.TripJournal.dto.responses;
+
+import lombok.*;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.dto.responses
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 16:05
+ * Description : Minimal type-ahead result returned by {@code GET /journals/suggest}.
+ * ================================================================
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JournalSuggestion {
+    /**
+     * Unique identifier of the journal entry.
+     */
+    private String id;
+
+    /**
+     * Title of the journal entry.
+     */
+    private String title;
+}
@@ -0,0 +1,27 @@
+package com.tripwise.TripJournal.dto.responses;
+
+import lombok.*;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.dto.responses
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 21:15
+ * Description : Result of {@code POST /journals/media-events}.
+ * ================================================================
+ */
+@Data
+@Builder
+public class MediaEventsResponse {
+    /**
+     * Number of events received.
+     */
+    private int received;
+
+    /**
+     * Events stored as a preview; the rest were invalid, named a journal their {@code userId} does not own or media
+     * the journal no longer references, or were superseded by a later event for the same media.
+     */
+    private int applied;
+}
@@ -1,5 +1,6 @@
 package com.tripwise.TripJournal.dto.responses;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.*;
@@ -10,14 +11,46 @@ import java.util.*;
  * Author      : Ochwada-GMK
  * Project Name: tripjournal
  * Date        : Thursday,  28.Aug.2025 | 15:04
- * Description :
+ * Description : Envelope for paginated list responses without an exact total: cursor (keyset) pages carry
+ * {@code nextCursor}, numbered slices carry {@code pageNumber} and an optional {@code estimatedTotal}.
  * ================================================================
  */
 @Data
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponse<T> {
-    private List<T> description;
-    private int pageNumber;
+    /**
+     * Items on this page.
+     */
+    private List<T> content;
+
+    /**
+     * Requested page size; the last page may hold fewer items.
+     */
     private int pageSize;
-    private long totalPages;
+
+    /**
+     * Whether another page follows this one.
+     */
+    private boolean hasNext;
+
+    /**
+     * Opaque continuation token to pass back as {@code cursor} for the next page; {@code null} on the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Zero-based page number, for numbered (offset) slices.
+     */
+    private Integer pageNumber;
+
+    /**
+     * Total number of matches when requested; exact unless {@link #totalCapped} is {@code true}.
+     */
+    private Long estimatedTotal;
+
+    /**
+     * {@code true} when counting stopped at the cap, i.e. there are at least {@link #estimatedTotal} matches.
+     */
+    private Boolean totalCapped;
 }
@@ -0,0 +1,461 @@
+package com.tripwise.TripJournal.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.model.WeatherObservation;
+import com.tripwise.TripJournal.model.WeatherSnapshot;
+import com.tripwise.TripJournal.repository.JournalFields;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.mapper
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Sunday,  18.Oct.2026 | 09:40
+ * Description : Writes journal documents straight from their BSON bytes to JSON, producing what
+ * {@link JournalMapper#toResponse} + Jackson would, without decoding into a {@code Journal} or
+ * {@link JournalResponse} first.
+ * ================================================================
+ */
+
+/**
+ * Streaming BSON-to-JSON writer for the read-only journal endpoints.
+ *
+ * <ul>
+ *   <li>Each document is walked once with a {@link BsonReader} and written field by field to the
+ *   {@link JsonGenerator}; values are never materialized as {@code Document}s, maps or lists.</li>
+ *   <li>Same shaping as the mapped path: {@code _id} becomes {@code id}, {@code null} and internal fields
+ *   ({@code userId}, {@code _class}, enrichment bookkeeping) are left out, dates are ISO-8601 and
+ *   {@code gps} / {@code weather} / {@code weatherObservation} (or the legacy {@code metadata} keys) are folded into
+ *   {@code metadata}.</li>
+ *   <li>List fields the document lacks but the projection includes ({@code tags}, {@code mediaIds},
+ *   {@code mediaPreviews}) are written as {@code []}, as the entity's defaults show them on the mapped path.</li>
+ *   <li>Fields come out in document order, with {@code metadata} last.</li>
+ * </ul>
+ * Keep in step with {@link JournalMapper#toResponse} and the {@link JournalResponse} JSON shape.
+ */
+@Component
+public final class JournalJsonWriter {
+
+    /**
+     * Weather observations referenced by {@code docs}, to resolve in one go before writing.
+     */
+    public Set<String> observationKeys(List<RawBsonDocument> docs) {
+        Set<String> keys = new HashSet<>();
+        for (RawBsonDocument doc : docs) {
+            if (doc.containsKey("weather")) continue;
+
+            BsonValue reference = doc.get("weatherObservation");
+            if (reference == null && doc.get("metadata") instanceof BsonDocument legacy
+                    && legacy.get("weather") instanceof BsonDocument weather) {
+                reference = weather.get("observation");
+            }
+            if (reference != null && reference.isString()) keys.add(reference.asString().getValue());
+        }
+        return keys;
+    }
+
+    /**
+     * Writes a {@code PageResponse} envelope ({@code content}, {@code pageSize}, {@code hasNext}, {@code nextCursor}).
+     *
+     * @param fields       the requested fieldset; see {@link #write}
+     * @param observations weather observations resolved for {@link #observationKeys}
+     */
+    public void writePage(JsonGenerator gen, List<RawBsonDocument> content, int pageSize, boolean hasNext,
+                          String nextCursor, JournalFields fields, Map<String, WeatherObservation> observations)
+            throws IOException {
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("content");
+        for (RawBsonDocument doc : content) write(gen, doc, fields, observations);
+        gen.writeEndArray();
+        gen.writeNumberField("pageSize", pageSize);
+        gen.writeBooleanField("hasNext", hasNext);
+        if (nextCursor != null) gen.writeStringField("nextCursor", nextCursor);
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes one journal as a {@link JournalResponse} object.
+     *
+     * @param fields       the requested fieldset; document fields outside it are skipped
+     * @param observations weather observations resolved for {@link #observationKeys}
+     */
+    public void write(JsonGenerator gen, RawBsonDocument doc, JournalFields fields,
+                      Map<String, WeatherObservation> observations) throws IOException {
+        Metadata typed = new Metadata();
+        Metadata legacy = null;
+        boolean tags = false, mediaIds = false, mediaPreviews = false;
+
+        BsonReader reader = doc.asBsonReader();
+        try {
+            reader.readStartDocument();
+            gen.writeStartObject();
+
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                String name = reader.readName();
+                if (reader.getCurrentBsonType() == BsonType.NULL) {
+                    reader.readNull();
+                    continue;
+                }
+                if (!fields.includes(apiField(name))) { // read for the cursor, not requested
+                    reader.skipValue();
+                    continue;
+                }
+                switch (name) {
+                    case "_id" -> gen.writeStringField("id", readId(reader));
+                    case "itineraryId", "title", "description", "city", "country", "coverMediaId",
+                         "enrichmentStatus" -> writeString(gen, name, reader);
+                    case "tags" -> tags = writeStrings(gen, name, reader);
+                    case "mediaIds" -> mediaIds = writeStrings(gen, name, reader);
+                    case "mediaPreviews" -> mediaPreviews = writePreviews(gen, reader);
+                    case "createdDate", "modifiedDate" -> writeDate(gen, name, reader);
+                    case "gps" -> readGps(reader, typed, false);
+                    case "weather" -> readWeather(reader, typed);
+                    case "weatherObservation" -> typed.observation = readText(reader);
+                    case "metadata" -> legacy = readLegacy(reader);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+
+            if (!tags) writeEmpty(gen, "tags", fields);
+            if (!mediaIds) writeEmpty(gen, "mediaIds", fields);
+            if (!mediaPreviews) writeEmpty(gen, "mediaPreviews", fields);
+            writeMetadata(gen, typed, legacy, observations);
+            gen.writeEndObject();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /** The response field a document field is rendered into. */
+    private static String apiField(String documentField) {
+        return switch (documentField) {
+            case "_id" -> "id";
+            case "gps", "weather", "weatherObservation" -> "metadata";
+            default -> documentField;
+        };
+    }
+
+    /* ---------- metadata ---------- */
+
+    /** GPS + weather read from one document; numbers are primitive, as in {@code GpsPoint}/{@code WeatherSnapshot}. */
+    private static final class Metadata {
+        boolean gps;
+        double lat = Double.NaN;
+        double lon = Double.NaN;
+
+        boolean weather;
+        double temperature = Double.NaN;
+        String description;
+        int humidity = WeatherSnapshot.UNKNOWN_HUMIDITY;
+        double windSpeed = Double.NaN;
+        String icon;
+
+        String observation;
+    }
+
+    /** Same precedence as the mapper: typed fields first, then the legacy {@code metadata} keys. */
+    private static void writeMetadata(JsonGenerator gen, Metadata typed, Metadata legacy,
+                                      Map<String, WeatherObservation> observations) throws IOException {
+        Metadata gps = typed.gps ? typed : legacy != null && legacy.gps ? legacy : null;
+
+        Metadata weather = null;
+        WeatherObservation observation = null;
+        if (typed.weather) {
+            weather = typed;
+        } else if (typed.observation != null) {
+            observation = observations.get(typed.observation);
+        } else if (legacy != null) {
+            if (legacy.weather) weather = legacy;
+            else if (legacy.observation != null) observation = observations.get(legacy.observation);
+        }
+
+        if (gps == null && weather == null && observation == null) return;
+
+        // MetadataDTO leaves out an absent gps / weather
+        gen.writeObjectFieldStart("metadata");
+        if (gps != null) {
+            gen.writeObjectFieldStart("gps");
+            writeNumber(gen, "lat", gps.lat);
+            writeNumber(gen, "lon", gps.lon);
+            gen.writeEndObject();
+        }
+
+        if (weather != null) {
+            gen.writeObjectFieldStart("weather");
+            writeNumber(gen, "temperature", weather.temperature);
+            writeNullable(gen, "description", weather.description);
+            if (weather.humidity == WeatherSnapshot.UNKNOWN_HUMIDITY) gen.writeNullField("humidity");
+            else gen.writeNumberField("humidity", weather.humidity);
+            writeNumber(gen, "windSpeed", weather.windSpeed);
+            writeNullable(gen, "icon", weather.icon);
+            gen.writeEndObject();
+        } else if (observation != null) {
+            gen.writeObjectFieldStart("weather");
+            writeNumber(gen, "temperature", observation.getTemperature());
+            writeNullable(gen, "description", observation.getDescription());
+            if (observation.getHumidity() == null) gen.writeNullField("humidity");
+            else gen.writeNumberField("humidity", observation.getHumidity());
+            writeNumber(gen, "windSpeed", observation.getWindSpeed());
+            writeNullable(gen, "icon", observation.getIcon());
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+
+    /** {@code gps} sub-document; legacy maps also use {@code latitude}/{@code longitude} ({@code lat} wins). */
+    private static void readGps(BsonReader reader, Metadata into, boolean legacy) {
+        if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+            reader.skipValue();
+            return;
+        }
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "lat" -> into.lat = readDouble(reader);
+                case "lon" -> into.lon = readDouble(reader);
+                case "latitude" -> {
+                    double lat = readDouble(reader);
+                    if (Double.isNaN(into.lat)) into.lat = lat;
+                }
+                case "longitude" -> {
+                    double lon = readDouble(reader);
+                    if (Double.isNaN(into.lon)) into.lon = lon;
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        // a typed GpsPoint always renders; a legacy map only with at least one coordinate
+        into.gps = !legacy || !(Double.isNaN(into.lat) && Double.isNaN(into.lon));
+    }
+
+    /** {@code weather} sub-document; a legacy {@code {"observation": key}} map is a reference, not weather. */
+    private static void readWeather(BsonReader reader, Metadata into) {
+        if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+            reader.skipValue();
+            return;
+        }
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "temperature" -> into.temperature = readDouble(reader);
+                case "description" -> into.description = readText(reader);
+                case "humidity" -> into.humidity = readInt(reader);
+                case "windSpeed" -> into.windSpeed = readDouble(reader);
+                case "icon" -> into.icon = readText(reader);
+                case "observation" -> into.observation = readText(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        into.weather = into.observation == null;
+    }
+
+    /** GPS and weather of a journal not migrated to typed metadata yet; other user keys are skipped. */
+    private static Metadata readLegacy(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+            reader.skipValue();
+            return null;
+        }
+        Metadata legacy = new Metadata();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "gps" -> readGps(reader, legacy, true);
+                case "weather" -> readWeather(reader, legacy);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return legacy;
+    }
+
+    /* ---------- fields ---------- */
+
+    private static void writeString(JsonGenerator gen, String name, BsonReader reader) throws IOException {
+        String value = readText(reader);
+        if (value != null) gen.writeStringField(name, value);
+    }
+
+    /** @return whether the field was written */
+    private static boolean writeStrings(JsonGenerator gen, String name, BsonReader reader) throws IOException {
+        if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+            reader.skipValue();
+            return false;
+        }
+        gen.writeArrayFieldStart(name);
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                gen.writeNull();
+            } else {
+                String value = readText(reader);
+                if (value != null) gen.writeString(value);
+            }
+        }
+        reader.readEndArray();
+        gen.writeEndArray();
+        return true;
+    }
+
+    /**
+     * {@code MediaPreview} objects; unset properties are written as {@code null}, as Jackson does for them.
+     *
+     * @return whether the field was written
+     */
+    private static boolean writePreviews(JsonGenerator gen, BsonReader reader) throws IOException {
+        if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+            reader.skipValue();
+            return false;
+        }
+        gen.writeArrayFieldStart("mediaPreviews");
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+                reader.skipValue();
+                continue;
+            }
+            String id = null, cdnUrl = null;
+            Integer width = null, height = null;
+
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                switch (reader.readName()) {
+                    case "_id", "id" -> id = readId(reader); // Spring Data stores an embedded "id" as _id
+                    case "cdnUrl" -> cdnUrl = readText(reader);
+                    case "width" -> width = readInteger(reader);
+                    case "height" -> height = readInteger(reader);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+
+            gen.writeStartObject();
+            writeNullable(gen, "id", id);
+            writeNullable(gen, "cdnUrl", cdnUrl);
+            writeNullable(gen, "width", width);
+            writeNullable(gen, "height", height);
+            gen.writeEndObject();
+        }
+        reader.readEndArray();
+        gen.writeEndArray();
+        return true;
+    }
+
+    /** A list field missing from the document: the mapped path shows the entity's empty default. */
+    private static void writeEmpty(JsonGenerator gen, String name, JournalFields fields) throws IOException {
+        if (!fields.includes(name)) return;
+        gen.writeArrayFieldStart(name);
+        gen.writeEndArray();
+    }
+
+    private static void writeDate(JsonGenerator gen, String name, BsonReader reader) throws IOException {
+        if (reader.getCurrentBsonType() != BsonType.DATE_TIME) {
+            reader.skipValue();
+            return;
+        }
+        // ISO-8601, as Jackson writes an Instant with write-dates-as-timestamps off
+        gen.writeStringField(name, Instant.ofEpochMilli(reader.readDateTime()).toString());
+    }
+
+    private static void writeNumber(JsonGenerator gen, String name, double value) throws IOException {
+        if (Double.isNaN(value)) gen.writeNullField(name);
+        else gen.writeNumberField(name, value);
+    }
+
+    private static void writeNumber(JsonGenerator gen, String name, Double value) throws IOException {
+        if (value == null) gen.writeNullField(name);
+        else gen.writeNumberField(name, value);
+    }
+
+    private static void writeNullable(JsonGenerator gen, String name, String value) throws IOException {
+        if (value == null) gen.writeNullField(name);
+        else gen.writeStringField(name, value);
+    }
+
+    private static void writeNullable(JsonGenerator gen, String name, Integer value) throws IOException {
+        if (value == null) gen.writeNullField(name);
+        else gen.writeNumberField(name, value);
+    }
+
+    /* ---------- values ---------- */
+
+    private static String readId(BsonReader reader) {
+        return reader.getCurrentBsonType() == BsonType.OBJECT_ID
+                ? reader.readObjectId().toHexString()
+                : readText(reader);
+    }
+
+    /** A string value; numbers are stringified like {@code String.valueOf}, anything else is skipped. */
+    private static String readText(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case STRING -> reader.readString();
+            case INT32 -> String.valueOf(reader.readInt32());
+            case INT64 -> String.valueOf(reader.readInt64());
+            case DOUBLE -> String.valueOf(reader.readDouble());
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    /** A number as {@code double}; {@link Double#NaN} when missing or not numeric. */
+    private static double readDouble(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case DOUBLE -> reader.readDouble();
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            case DECIMAL128 -> reader.readDecimal128().doubleValue();
+            case STRING -> {
+                try {
+                    yield Double.parseDouble(reader.readString());
+                } catch (NumberFormatException e) {
+                    yield Double.NaN;
+                }
+            }
+            default -> {
+                reader.skipValue();
+                yield Double.NaN;
+            }
+        };
+    }
+
+    /** A humidity; {@link WeatherSnapshot#UNKNOWN_HUMIDITY} when missing or not numeric. */
+    private static int readInt(BsonReader reader) {
+        Integer value = readInteger(reader);
+        return value == null ? WeatherSnapshot.UNKNOWN_HUMIDITY : value;
+    }
+
+    private static Integer readInteger(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> (int) reader.readInt64();
+            case DOUBLE -> (int) reader.readDouble();
+            case STRING -> {
+                try {
+                    yield Integer.parseInt(reader.readString());
+                } catch (NumberFormatException e) {
+                    yield null;
+                }
+            }
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+}
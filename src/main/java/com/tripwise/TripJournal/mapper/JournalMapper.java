@@ -4,7 +4,12 @@ import com.tripwise.TripJournal.dto.MetadataDTO;
 import com.tripwise.TripJournal.dto.requests.CreateJournalRequest;
 import com.tripwise.TripJournal.dto.requests.UpdateJournalRequest;
 import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.model.GpsPoint;
 import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.WeatherObservation;
+import com.tripwise.TripJournal.model.WeatherSnapshot;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.service.cache.WeatherObservations;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -23,7 +28,10 @@ import static org.springframework.data.mongodb.util.BsonUtils.asMap;
  */
 @Component
 public final class JournalMapper {
-    private JournalMapper() {
+    private final WeatherObservations observations;
+
+    public JournalMapper(WeatherObservations observations) {
+        this.observations = observations;
     }
 
     /* ---------- CREATE ---------- */
@@ -47,72 +55,68 @@ public final class JournalMapper {
     }
 
     /* ---------- Metadata ---------- */
-    private static MetadataDTO mapMetadata(Map<String, Object> meta) {
-        if (meta == null || meta.isEmpty()) return null;
-
-        Map<String, Object> gpsMap = toMap(meta.get("gps"));
-        Map<String, Object> wxMap  = toMap(meta.get("weather"));
-
-        MetadataDTO.GpsDTO gps = null;
-        if (gpsMap != null) {
-            Double lat = getAsDouble(gpsMap, "lat");
-            if (lat == null) lat = getAsDouble(gpsMap, "latitude");   // your stored keys
-            Double lon = getAsDouble(gpsMap, "lon");
-            if (lon == null) lon = getAsDouble(gpsMap, "longitude");
-
-            if (lat != null || lon != null) {
-                gps = MetadataDTO.GpsDTO.builder().lat(lat).lon(lon).build();
+    /**
+     * @param observations shared weather observations resolved for the response, by reference
+     */
+    private static MetadataDTO mapMetadata(Journal journal, Map<String, WeatherObservation> observations) {
+        GpsPoint gpsPoint = journal.getGps();
+        WeatherSnapshot snapshot = journal.getWeather();
+        String reference = journal.getWeatherObservation();
+
+        // not migrated yet: still in the untyped map
+        Map<String, Object> legacy = journal.getMetadata();
+        if (legacy != null && !legacy.isEmpty()) {
+            if (gpsPoint == null) gpsPoint = LegacyMetadata.gps(legacy.get("gps"));
+            if (snapshot == null && reference == null) {
+                snapshot = LegacyMetadata.weather(legacy.get("weather"));
+                reference = LegacyMetadata.observation(legacy.get("weather"));
             }
         }
 
+        MetadataDTO.GpsDTO gps = gpsPoint == null ? null : MetadataDTO.GpsDTO.builder()
+                .lat(orNull(gpsPoint.getLat()))
+                .lon(orNull(gpsPoint.getLon()))
+                .build();
+
         MetadataDTO.WeatherDTO wx = null;
-        if (wxMap != null) {
+        if (snapshot != null) {
             wx = MetadataDTO.WeatherDTO.builder()
-                    .temperature(getAsDouble(wxMap, "temperature"))
-                    .description(getAsString(wxMap, "description"))
-                    .humidity(getAsInteger(wxMap, "humidity"))
-                    .windSpeed(getAsDouble(wxMap, "windSpeed"))
-                    .icon(getAsString(wxMap, "icon"))
+                    .temperature(orNull(snapshot.getTemperature()))
+                    .description(snapshot.getDescription())
+                    .humidity(humidityOrNull(snapshot.getHumidity()))
+                    .windSpeed(orNull(snapshot.getWindSpeed()))
+                    .icon(snapshot.getIcon())
                     .build();
+        } else if (reference != null) {
+            WeatherObservation observation = observations.get(reference);
+            if (observation != null) {
+                wx = MetadataDTO.WeatherDTO.builder()
+                        .temperature(observation.getTemperature())
+                        .description(observation.getDescription())
+                        .humidity(observation.getHumidity())
+                        .windSpeed(observation.getWindSpeed())
+                        .icon(observation.getIcon())
+                        .build();
+            }
         }
 
         if (gps == null && wx == null) return null;
         return MetadataDTO.builder().gps(gps).weather(wx).build();
     }
 
-    private static Map<String, Object> toMap(Object o) {
-        return (o instanceof Map) ? (Map<String, Object>) o : null;
-    }
-    private static Double getAsDouble(Map<String, Object> m, String k) {
-        Object v = m.get(k);
-        if (v == null) return null;
-        if (v instanceof Double) return (Double) v;
-        if (v instanceof Float) return ((Float) v).doubleValue();
-        if (v instanceof Integer) return ((Integer) v).doubleValue();
-        if (v instanceof Long) return ((Long) v).doubleValue();
-        if (v instanceof String) try {
-            return Double.valueOf((String) v);
-        } catch (NumberFormatException ignore) {
-        }
-        return null;
+    /** The observation a journal's weather references, if any. */
+    private static String observationOf(Journal journal) {
+        if (journal.getWeatherObservation() != null) return journal.getWeatherObservation();
+        if (journal.getWeather() != null || journal.getMetadata() == null) return null;
+        return LegacyMetadata.observation(journal.getMetadata().get("weather"));
     }
 
-    private static String getAsString(Map<String, Object> m, String k) {
-        Object v = m.get(k);
-        return v == null ? null : String.valueOf(v);
+    private static Double orNull(double value) {
+        return Double.isNaN(value) ? null : value;
     }
 
-    private static Integer getAsInteger(Map<String, Object> m, String k) {
-        Object v = m.get(k);
-        if (v == null) return null;
-        if (v instanceof Integer) return (Integer) v;
-        if (v instanceof Long) return ((Long) v).intValue();
-        if (v instanceof Double) return ((Double) v).intValue();
-        if (v instanceof String) try {
-            return Integer.valueOf((String) v);
-        } catch (NumberFormatException ignore) {
-        }
-        return null;
+    private static Integer humidityOrNull(int humidity) {
+        return humidity == WeatherSnapshot.UNKNOWN_HUMIDITY ? null : humidity;
     }
 
 
@@ -163,6 +167,66 @@ public final class JournalMapper {
     }
 
     public JournalResponse toResponse(Journal journal) {
+        return toResponse(journal, JournalFields.ALL);
+    }
+
+    /**
+     * Maps a journal read with the {@code fields} projection; fields outside it are left {@code null} (and so
+     * omitted), rather than showing the entity's defaults such as empty lists.
+     */
+    public JournalResponse toResponse(Journal journal, JournalFields fields) {
+        return restrict(toResponse(journal, resolveObservations(List.of(journal))), fields);
+    }
+
+    /**
+     * Maps a page of journals; weather observations referenced by the page are resolved together.
+     */
+    public List<JournalResponse> toResponses(List<Journal> journals) {
+        return toResponses(journals, JournalFields.ALL);
+    }
+
+    /** {@link #toResponses(List)} for journals read with the {@code fields} projection. */
+    public List<JournalResponse> toResponses(List<Journal> journals, JournalFields fields) {
+        Map<String, WeatherObservation> resolved = resolveObservations(journals);
+        return journals.stream().map(journal -> restrict(toResponse(journal, resolved), fields)).toList();
+    }
+
+    /**
+     * Clears the fields a sparse fieldset left out.
+     *
+     * @param response the response to restrict (modified in place)
+     * @param fields   the selection the journal was read with
+     * @return the same response
+     */
+    public static JournalResponse restrict(JournalResponse response, JournalFields fields) {
+        if (fields.isAll()) return response;
+
+        if (!fields.includes("itineraryId")) response.setItineraryId(null);
+        if (!fields.includes("title")) response.setTitle(null);
+        if (!fields.includes("description")) response.setDescription(null);
+        if (!fields.includes("city")) response.setCity(null);
+        if (!fields.includes("country")) response.setCountry(null);
+        if (!fields.includes("tags")) response.setTags(null);
+        if (!fields.includes("coverMediaId")) response.setCoverMediaId(null);
+        if (!fields.includes("mediaIds")) response.setMediaIds(null);
+        if (!fields.includes("mediaPreviews")) response.setMediaPreviews(null);
+        if (!fields.includes("metadata")) response.setMetadata(null);
+        if (!fields.includes("enrichmentStatus")) response.setEnrichmentStatus(null);
+        if (!fields.includes("createdDate")) response.setCreatedDate(null);
+        if (!fields.includes("modifiedDate")) response.setModifiedDate(null);
+        return response;
+    }
+
+    private Map<String, WeatherObservation> resolveObservations(List<Journal> journals) {
+        Set<String> keys = new HashSet<>();
+        for (Journal journal : journals) {
+            String key = observationOf(journal);
+            if (key != null) keys.add(key);
+        }
+        return observations.resolveAll(keys);
+    }
+
+    private JournalResponse toResponse(Journal journal, Map<String, WeatherObservation> resolved) {
         return JournalResponse.builder()
                 .id(journal.getId())
                 .itineraryId(journal.getItineraryId())
@@ -170,13 +234,15 @@ public final class JournalMapper {
                 .country(journal.getCountry())
                 .title(journal.getTitle())
                 .description(journal.getDescription())
-                //.tags(journal.getTags())
-                .tags(new ArrayList<>(journal.getTags()))
-                //.mediaIds(journal.getMediaIds())
-                .mediaIds(new ArrayList<>(journal.getMediaIds()))
-                .metadata(mapMetadata(journal.getMetadata()))
+                .tags(journal.getTags() == null ? null : new ArrayList<>(journal.getTags()))
+                .coverMediaId(journal.getCoverMediaId())
+                .mediaIds(journal.getMediaIds() == null ? null : new ArrayList<>(journal.getMediaIds()))
+                .mediaPreviews(journal.getMediaPreviews() == null ? null : new ArrayList<>(journal.getMediaPreviews()))
+                .metadata(mapMetadata(journal, resolved))
+                .enrichmentStatus(journal.getEnrichmentStatus())
                 .createdDate(journal.getCreatedDate())
                 .modifiedDate(journal.getModifiedDate())
+                .score(journal.getScore())
                 .build();
 
     }
@@ -0,0 +1,93 @@
+package com.tripwise.TripJournal.mapper;
+
+import com.tripwise.TripJournal.model.GpsPoint;
+import com.tripwise.TripJournal.model.WeatherSnapshot;
+
+import java.util.Map;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.mapper
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 23:50
+ * Description : Reads GPS and weather from the untyped {@code metadata.gps} / {@code metadata.weather} maps into
+ * {@link GpsPoint} / {@link WeatherSnapshot}.
+ * - Used for documents not yet migrated, the typed-metadata migration itself, and {@code gps} / {@code weather}
+ * keys in request metadata.
+ * ================================================================
+ */
+public final class LegacyMetadata {
+    private LegacyMetadata() {
+    }
+
+    /**
+     * @param value a {@code gps} map with {@code latitude}/{@code longitude} (or {@code lat}/{@code lon})
+     * @return the coordinates, or {@code null} when neither is present
+     */
+    public static GpsPoint gps(Object value) {
+        Map<String, Object> gps = toMap(value);
+        if (gps == null) return null;
+
+        double lat = getAsDouble(gps, "lat");
+        if (Double.isNaN(lat)) lat = getAsDouble(gps, "latitude");
+        double lon = getAsDouble(gps, "lon");
+        if (Double.isNaN(lon)) lon = getAsDouble(gps, "longitude");
+
+        return Double.isNaN(lat) && Double.isNaN(lon) ? null : new GpsPoint(lat, lon);
+    }
+
+    /**
+     * @param value an inline {@code weather} map
+     * @return the weather, or {@code null} for a non-map or an observation reference (see {@link #observation})
+     */
+    public static WeatherSnapshot weather(Object value) {
+        Map<String, Object> weather = toMap(value);
+        if (weather == null || observation(weather) != null) return null;
+
+        return WeatherSnapshot.builder()
+                .temperature(getAsDouble(weather, "temperature"))
+                .description(getAsString(weather, "description"))
+                .humidity(getAsInteger(weather, "humidity"))
+                .windSpeed(getAsDouble(weather, "windSpeed"))
+                .icon(getAsString(weather, "icon"))
+                .build();
+    }
+
+    /** The observation key of a {@code {"observation": key}} weather map, else {@code null}. */
+    public static String observation(Object value) {
+        return value instanceof Map<?, ?> map && map.get("observation") instanceof String key ? key : null;
+    }
+
+    /* ---------- helpers ---------- */
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toMap(Object o) {
+        return (o instanceof Map) ? (Map<String, Object>) o : null;
+    }
+
+    private static double getAsDouble(Map<String, Object> m, String k) {
+        Object v = m.get(k);
+        if (v instanceof Number n) return n.doubleValue();
+        if (v instanceof String s) try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException ignore) {
+        }
+        return Double.NaN;
+    }
+
+    private static String getAsString(Map<String, Object> m, String k) {
+        Object v = m.get(k);
+        return v == null ? null : String.valueOf(v);
+    }
+
+    private static int getAsInteger(Map<String, Object> m, String k) {
+        Object v = m.get(k);
+        if (v instanceof Number n) return n.intValue();
+        if (v instanceof String s) try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException ignore) {
+        }
+        return WeatherSnapshot.UNKNOWN_HUMIDITY;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tripwise.TripJournal.model;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.model
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 12:10
+ * Description : Lifecycle of background (async) GPS + weather enrichment for a {@link Journal}.
+ * - Journals enriched inline (sync mode) or not at all (off mode) carry no status.
+ * ================================================================
+ */
+public enum EnrichmentStatus {
+    /** Saved without auto metadata; waiting for (or being retried by) the enrichment worker. */
+    PENDING,
+    /** {@code gps} / {@code weather} were filled in by the worker. */
+    DONE,
+    /** Gave up after the configured attempts, or the location could not be geocoded. */
+    FAILED
+}
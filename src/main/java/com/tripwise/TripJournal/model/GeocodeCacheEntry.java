@@ -0,0 +1,59 @@
+package com.tripwise.TripJournal.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.model
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 09:20
+ * Description : A resolved (or unresolvable) city/country pair stored in the {@code geocode_cache} collection.
+ * - Used to warm-start the in-memory geocode cache after a restart; negative entries have {@code found = false}.
+ * ================================================================
+ */
+@Document(collection = "geocode_cache")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class GeocodeCacheEntry {
+    /**
+     * Normalized cache key, e.g. {@code "berlin|DE"}.
+     */
+    @Id
+    private String key;
+
+    /**
+     * City as first requested (not normalized).
+     */
+    private String city;
+
+    /**
+     * Country code as first requested; may be {@code null}.
+     */
+    private String country;
+
+    /**
+     * {@code false} when OpenWeather returned no match for this location.
+     */
+    private boolean found;
+
+    private Double lat;
+
+    private Double lon;
+
+    /**
+     * When the entry was resolved against OpenWeather; drives both in-memory and Mongo TTL.
+     */
+    private Instant resolvedAt;
+
+    /**
+     * When Mongo may drop the entry: {@code resolvedAt} plus the positive or the (shorter) negative TTL.
+     */
+    private Instant expiresAt;
+}
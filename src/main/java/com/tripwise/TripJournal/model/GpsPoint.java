@@ -0,0 +1,24 @@
+package com.tripwise.TripJournal.model;
+
+import lombok.*;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.model
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 23:40
+ * Description : Coordinates of a journal's location, embedded in {@link Journal} as {@code gps}.
+ * - Primitive fields; a coordinate that is unknown is {@link Double#NaN}.
+ * ================================================================
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GpsPoint {
+
+    private double lat;
+
+    private double lon;
+}
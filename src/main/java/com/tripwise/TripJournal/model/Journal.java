@@ -1,7 +1,9 @@
 package com.tripwise.TripJournal.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.*;
@@ -65,12 +67,19 @@ public class Journal {
     // -------------- Media  ------------------------------------
 
     // The cover image/video (media ID from TripMedia)
-    //private String coverMediaId;
+    private String coverMediaId;
 
     //private List<String>  mediaIds;
     @Builder.Default
     private List<String> mediaIds = new ArrayList<>();
 
+    /**
+     * Previews of {@code coverMediaId} and {@code mediaIds} that tripmedia has finished processing, at most one per
+     * media ID; filled in by tripmedia's asset-ready events.
+     */
+    @Builder.Default
+    private List<MediaPreview> mediaPreviews = new ArrayList<>();
+
     // --------------optional tags & metadata ------------------------------------
 
     /**
@@ -81,13 +90,60 @@ public class Journal {
     private List<String> tags = new ArrayList<>();
 
     /**
-     * Arbitrary key-value pairs that provide additional context or details about this journal entry.
+     * Coordinates of the location, from enrichment or supplied by the user.
+     */
+    private GpsPoint gps;
+
+    /**
+     * Weather copied onto this journal; {@code null} when it references {@link #weatherObservation} instead.
+     */
+    private WeatherSnapshot weather;
+
+    /**
+     * Reference ({@link WeatherObservation#key()}) to the shared observation of the location's cell and hour.
+     * Internal: responses carry the resolved weather instead.
+     */
+    @JsonIgnore
+    private String weatherObservation;
+
+    /**
+     * Which of {@code gps} / {@code weather} the user supplied; background enrichment may refresh the others.
+     * {@code null} on journals written before this was recorded.
+     */
+    @JsonIgnore
+    private Set<String> userKeys;
+
+    /**
+     * Free-form key-value pairs supplied by the user, e.g. mood or companions.
      * *
-     * -This field is flexible and can store extra information such as weather, mood, GPS coordinates, or any custom
-     * metadata provided by the user or system.
+     * -GPS coordinates and weather live in the typed fields above; documents written before they existed keep them
+     * here under {@code gps} / {@code weather} until the typed-metadata migration moves them.
      */
     private Map<String, Object> metadata;
 
+    // -------------- background enrichment (async mode) ------------------------------------
+
+    /**
+     * Progress of background GPS + weather enrichment; {@code null} when enrichment ran inline or is disabled.
+     */
+    private EnrichmentStatus enrichmentStatus;
+
+    /**
+     * Number of failed background enrichment attempts so far.
+     */
+    private int enrichmentAttempts;
+
+    /**
+     * Last background enrichment error, if any.
+     */
+    private String enrichmentError;
+
+    /**
+     * Relevance of this entry for a full-text search; only populated by text queries and never persisted.
+     */
+    @TextScore
+    private Float score;
+
     /**
      * The timestamp when this journal entry was created.
      */
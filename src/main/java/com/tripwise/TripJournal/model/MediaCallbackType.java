@@ -0,0 +1,19 @@
+package com.tripwise.TripJournal.model;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.model
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 19:05
+ * Description : Kind of tripmedia callback recorded in the {@code media_outbox} collection.
+ * ================================================================
+ */
+public enum MediaCallbackType {
+    /** Generate thumbnails for a newly created journal. */
+    THUMBNAIL,
+    /** Rebuild derived media after title, location, cover or media changes. */
+    REFRESH,
+    /** Remove all assets of a deleted journal; supersedes pending thumbnail/refresh callbacks. */
+    DELETE
+}
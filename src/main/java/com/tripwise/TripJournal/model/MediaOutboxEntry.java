@@ -0,0 +1,75 @@
+package com.tripwise.TripJournal.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.model
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 19:05
+ * Description : A tripmedia callback waiting to be delivered, stored in the {@code media_outbox} collection.
+ * - Written right after the journal change it belongs to and drained by the background dispatcher.
+ * ================================================================
+ */
+@Document(collection = "media_outbox")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class MediaOutboxEntry {
+    @Id
+    private String id;
+
+    private String journalId;
+
+    /**
+     * Owner of the journal; the dispatcher calls tripmedia on their behalf.
+     */
+    private String userId;
+
+    private MediaCallbackType type;
+
+    private OutboxStatus status;
+
+    /**
+     * Failed delivery attempts so far.
+     */
+    private int attempts;
+
+    /**
+     * Earliest time the next delivery may be attempted.
+     */
+    private Instant nextAttemptAt;
+
+    /**
+     * Debounced refreshes only: the entry is due at this time even while edits keep pushing {@code nextAttemptAt}
+     * back.
+     */
+    private Instant deadline;
+
+    /**
+     * Refreshes only: union of what changed ({@code title}, {@code location}, {@code cover}, {@code media}) across
+     * all edits coalesced into this entry.
+     */
+    private Set<String> reasons;
+
+    /**
+     * Dispatcher run that currently owns the entry; {@code null} unless {@link OutboxStatus#IN_FLIGHT}.
+     */
+    private String claimToken;
+
+    private Instant claimedUntil;
+
+    private String lastError;
+
+    /**
+     * When the callback was first requested; the basis for the outbox lag metric.
+     */
+    private Instant createdAt;
+}
@@ -0,0 +1,34 @@
+package com.tripwise.TripJournal.model;
+
+import lombok.*;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.model
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 21:05
+ * Description : Compact copy of a tripmedia asset embedded in a {@link Journal}, so list views can render
+ * thumbnails without calling tripmedia.
+ * - Written from tripmedia's asset-ready events; tripmedia stays the owner of the full media record.
+ * ================================================================
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaPreview {
+    /**
+     * The media ID in tripmedia (one of the journal's {@code mediaIds} or its {@code coverMediaId}).
+     */
+    private String id;
+
+    /**
+     * Public URL of the rendered asset; {@code null} if the asset is not public.
+     */
+    private String cdnUrl;
+
+    private Integer width;
+
+    private Integer height;
+}
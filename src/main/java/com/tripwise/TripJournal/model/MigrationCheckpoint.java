@@ -0,0 +1,50 @@
+package com.tripwise.TripJournal.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.model
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Sunday,  18.Oct.2026 | 00:10
+ * Description : Progress of a batched data migration, stored in the {@code migrations} collection so a restarted
+ * instance resumes where the last batch ended.
+ * ================================================================
+ */
+@Document(collection = "migrations")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class MigrationCheckpoint {
+    /**
+     * Migration name, e.g. {@code journal-typed-metadata}.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Highest document ID processed so far, as stored ({@code ObjectId} or {@code String}); the next batch starts
+     * after it.
+     */
+    private Object lastId;
+
+    /**
+     * Documents changed so far.
+     */
+    private long migrated;
+
+    private Instant startedAt;
+
+    private Instant updatedAt;
+
+    /**
+     * Set once nothing is left to migrate.
+     */
+    private Instant completedAt;
+}
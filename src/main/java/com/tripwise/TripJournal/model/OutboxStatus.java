@@ -0,0 +1,19 @@
+package com.tripwise.TripJournal.model;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.model
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 19:05
+ * Description : Delivery state of a {@link MediaOutboxEntry}. Delivered entries are removed, so there is no DONE.
+ * ================================================================
+ */
+public enum OutboxStatus {
+    /** Waiting for {@code nextAttemptAt}; at most one pending entry exists per journal and callback type. */
+    PENDING,
+    /** Claimed by a dispatcher until {@code claimedUntil}; reclaimed after that if the dispatcher died. */
+    IN_FLIGHT,
+    /** Gave up after the configured attempts; kept for inspection. */
+    FAILED
+}
@@ -0,0 +1,66 @@
+package com.tripwise.TripJournal.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+
+import java.time.Instant;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.model
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 23:10
+ * Description : Current weather for one lat/lon grid cell in one hour, stored once in the
+ * {@code weather_observations} time-series collection and referenced by every journal enriched in that cell and hour.
+ * - The reference is {@link #key()} ({@code "<cell>@<hour>"}), stored in a journal's {@code weatherObservation}.
+ * ================================================================
+ */
+@Document(collection = "weather_observations")
+@TimeSeries(timeField = "observedAt", metaField = "cell", granularity = Granularity.HOURS)
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class WeatherObservation {
+
+    @Id
+    private String id;
+
+    /**
+     * Grid cell, e.g. {@code "52.5000,13.4000"} (see {@code WeatherCache}); the time-series meta field.
+     */
+    private String cell;
+
+    /**
+     * Start of the hour this observation stands for; the time-series time field.
+     */
+    private Instant observedAt;
+
+    private Double temperature;
+
+    private String description;
+
+    private Integer humidity;
+
+    private Double windSpeed;
+
+    private String icon;
+
+    /**
+     * When OpenWeather was actually asked.
+     */
+    private Instant fetchedAt;
+
+    /** Reference stored on journals. */
+    public String key() {
+        return key(cell, observedAt);
+    }
+
+    public static String key(String cell, Instant observedAt) {
+        return cell + "@" + observedAt;
+    }
+}
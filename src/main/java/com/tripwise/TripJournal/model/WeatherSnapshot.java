@@ -0,0 +1,36 @@
+package com.tripwise.TripJournal.model;
+
+import lombok.*;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.model
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 23:42
+ * Description : Weather embedded in a {@link Journal} as {@code weather}: supplied by the user, or written by
+ * enrichment when shared observations are disabled (otherwise journals reference a {@link WeatherObservation}).
+ * - Primitive fields; unknown numbers are {@link Double#NaN}, an unknown humidity is {@link #UNKNOWN_HUMIDITY}.
+ * ================================================================
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WeatherSnapshot {
+
+    public static final int UNKNOWN_HUMIDITY = -1;
+
+    @Builder.Default
+    private double temperature = Double.NaN;
+
+    private String description;
+
+    @Builder.Default
+    private int humidity = UNKNOWN_HUMIDITY;
+
+    @Builder.Default
+    private double windSpeed = Double.NaN;
+
+    private String icon;
+}
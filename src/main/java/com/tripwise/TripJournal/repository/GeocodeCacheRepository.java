@@ -0,0 +1,29 @@
+package com.tripwise.TripJournal.repository;
+
+import com.tripwise.TripJournal.model.GeocodeCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.repository
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 09:24
+ * Description : Repository for persisted geocode results ({@link GeocodeCacheEntry}).
+ * ================================================================
+ */
+public interface GeocodeCacheRepository extends MongoRepository<GeocodeCacheEntry, String> {
+
+    /**
+     * Most recently resolved entries, used to warm the in-memory cache on startup.
+     *
+     * @param since    only entries resolved after this instant
+     * @param pageable limit and sort (typically {@code resolvedAt,desc})
+     * @return the matching entries
+     */
+    List<GeocodeCacheEntry> findByResolvedAtAfter(Instant since, Pageable pageable);
+}
@@ -0,0 +1,394 @@
+package com.tripwise.TripJournal.repository;
+
+import com.mongodb.MongoClientSettings;
+import com.tripwise.TripJournal.model.*;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.*;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.repository
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Sunday,  18.Oct.2026 | 11:20
+ * Description : Hand-written BSON {@link Codec} for {@link Journal}, registered with the Mongo client so hot read
+ * paths decode journals straight from the wire, and batch inserts encode them, instead of through the reflective
+ * {@code MappingMongoConverter}.
+ * ================================================================
+ */
+
+/**
+ * Reads and writes exactly the layout {@code MappingMongoConverter} uses for a {@link Journal}; the round-trip tests
+ * in {@code JournalCodecTests} hold the two together, so a new {@code Journal} field needs a case here as well.
+ *
+ * <ul>
+ *   <li>{@code id} properties (the journal's and each preview's) are stored as {@code _id}: an {@link ObjectId} when
+ *   the string is a valid one, the string itself otherwise.</li>
+ *   <li>{@code null} properties are not written; {@code score} is read-only ({@code @TextScore}).</li>
+ *   <li>Enums are stored by name, {@link Instant}s as BSON dates; {@code _class} is written like the converter's type
+ *   hint and ignored on read.</li>
+ *   <li>Decoding starts from the no-args constructors, as the converter does, so fields missing from the document
+ *   (projections, old documents) keep the same defaults.</li>
+ *   <li>{@code metadata} values go through the default driver codecs; nested documents decode as
+ *   {@link org.bson.Document}.</li>
+ * </ul>
+ */
+public final class JournalCodec implements Codec<Journal> {
+
+    private static final String TYPE_KEY = "_class";
+
+    private final CodecRegistry registry;
+    private final BsonTypeCodecMap valueCodecs;
+
+    public JournalCodec() {
+        this(MongoClientSettings.getDefaultCodecRegistry());
+    }
+
+    /**
+     * @param registry codecs for {@code metadata} values
+     */
+    public JournalCodec(CodecRegistry registry) {
+        this.registry = registry;
+        this.valueCodecs = new BsonTypeCodecMap(new BsonTypeClassMap(), registry);
+    }
+
+    @Override
+    public Class<Journal> getEncoderClass() {
+        return Journal.class;
+    }
+
+    /* ---------- decode ---------- */
+
+    @Override
+    public Journal decode(BsonReader reader, DecoderContext context) {
+        Journal journal = new Journal();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> journal.setId(readId(reader));
+                case "userId" -> journal.setUserId(readString(reader));
+                case "itineraryId" -> journal.setItineraryId(readString(reader));
+                case "city" -> journal.setCity(readString(reader));
+                case "country" -> journal.setCountry(readString(reader));
+                case "title" -> journal.setTitle(readString(reader));
+                case "description" -> journal.setDescription(readString(reader));
+                case "coverMediaId" -> journal.setCoverMediaId(readString(reader));
+                case "mediaIds" -> journal.setMediaIds(readStrings(reader));
+                case "mediaPreviews" -> journal.setMediaPreviews(readPreviews(reader));
+                case "tags" -> journal.setTags(readStrings(reader));
+                case "gps" -> journal.setGps(readGps(reader));
+                case "weather" -> journal.setWeather(readWeather(reader));
+                case "weatherObservation" -> journal.setWeatherObservation(readString(reader));
+                case "userKeys" -> {
+                    List<String> keys = readStrings(reader);
+                    journal.setUserKeys(keys == null ? null : new LinkedHashSet<>(keys));
+                }
+                case "metadata" -> journal.setMetadata(readMetadata(reader, context));
+                case "enrichmentStatus" -> {
+                    String status = readString(reader);
+                    journal.setEnrichmentStatus(status == null ? null : EnrichmentStatus.valueOf(status));
+                }
+                case "enrichmentAttempts" -> {
+                    Integer attempts = readInteger(reader);
+                    if (attempts != null) journal.setEnrichmentAttempts(attempts);
+                }
+                case "enrichmentError" -> journal.setEnrichmentError(readString(reader));
+                case "score" -> {
+                    Double score = readDouble(reader);
+                    journal.setScore(score == null ? null : score.floatValue());
+                }
+                case "createdDate" -> journal.setCreatedDate(readInstant(reader));
+                case "modifiedDate" -> journal.setModifiedDate(readInstant(reader));
+                default -> reader.skipValue(); // _class and anything this version does not know
+            }
+        }
+        reader.readEndDocument();
+        return journal;
+    }
+
+    private static List<MediaPreview> readPreviews(BsonReader reader) {
+        if (skipUnless(reader, BsonType.ARRAY)) return null;
+
+        List<MediaPreview> previews = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+                if (reader.getCurrentBsonType() == BsonType.NULL) previews.add(null);
+                reader.skipValue();
+                continue;
+            }
+            MediaPreview preview = new MediaPreview();
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                switch (reader.readName()) {
+                    case "_id" -> preview.setId(readId(reader));
+                    case "cdnUrl" -> preview.setCdnUrl(readString(reader));
+                    case "width" -> preview.setWidth(readInteger(reader));
+                    case "height" -> preview.setHeight(readInteger(reader));
+                    default -> reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+            previews.add(preview);
+        }
+        reader.readEndArray();
+        return previews;
+    }
+
+    private static GpsPoint readGps(BsonReader reader) {
+        if (skipUnless(reader, BsonType.DOCUMENT)) return null;
+
+        GpsPoint gps = new GpsPoint();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "lat" -> {
+                    Double lat = readDouble(reader);
+                    if (lat != null) gps.setLat(lat);
+                }
+                case "lon" -> {
+                    Double lon = readDouble(reader);
+                    if (lon != null) gps.setLon(lon);
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return gps;
+    }
+
+    private static WeatherSnapshot readWeather(BsonReader reader) {
+        if (skipUnless(reader, BsonType.DOCUMENT)) return null;
+
+        WeatherSnapshot weather = new WeatherSnapshot();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "temperature" -> {
+                    Double temperature = readDouble(reader);
+                    if (temperature != null) weather.setTemperature(temperature);
+                }
+                case "description" -> weather.setDescription(readString(reader));
+                case "humidity" -> {
+                    Integer humidity = readInteger(reader);
+                    if (humidity != null) weather.setHumidity(humidity);
+                }
+                case "windSpeed" -> {
+                    Double windSpeed = readDouble(reader);
+                    if (windSpeed != null) weather.setWindSpeed(windSpeed);
+                }
+                case "icon" -> weather.setIcon(readString(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return weather;
+    }
+
+    private Map<String, Object> readMetadata(BsonReader reader, DecoderContext context) {
+        if (skipUnless(reader, BsonType.DOCUMENT)) return null;
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String key = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                metadata.put(key, null);
+            } else {
+                metadata.put(key, valueCodecs.get(reader.getCurrentBsonType()).decode(reader, context));
+            }
+        }
+        reader.readEndDocument();
+        return metadata;
+    }
+
+    private static List<String> readStrings(BsonReader reader) {
+        if (skipUnless(reader, BsonType.ARRAY)) return null;
+
+        List<String> values = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            values.add(readString(reader));
+        }
+        reader.readEndArray();
+        return values;
+    }
+
+    /** Consumes the value and returns {@code true} unless it has the {@code expected} type ({@code null} included). */
+    private static boolean skipUnless(BsonReader reader, BsonType expected) {
+        if (reader.getCurrentBsonType() == expected) return false;
+        reader.skipValue();
+        return true;
+    }
+
+    private static String readId(BsonReader reader) {
+        return reader.getCurrentBsonType() == BsonType.OBJECT_ID
+                ? reader.readObjectId().toHexString()
+                : readString(reader);
+    }
+
+    private static String readString(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case STRING -> reader.readString();
+            case OBJECT_ID -> reader.readObjectId().toHexString();
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    private static Integer readInteger(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> (int) reader.readInt64();
+            case DOUBLE -> (int) reader.readDouble();
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    private static Double readDouble(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case DOUBLE -> reader.readDouble();
+            case INT32 -> (double) reader.readInt32();
+            case INT64 -> (double) reader.readInt64();
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    private static Instant readInstant(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.DATE_TIME) {
+            reader.skipValue();
+            return null;
+        }
+        return Instant.ofEpochMilli(reader.readDateTime());
+    }
+
+    /* ---------- encode ---------- */
+
+    @Override
+    public void encode(BsonWriter writer, Journal journal, EncoderContext context) {
+        writer.writeStartDocument();
+        if (journal.getId() != null) writeId(writer, journal.getId());
+        writer.writeString(TYPE_KEY, Journal.class.getName());
+
+        writeString(writer, "userId", journal.getUserId());
+        writeString(writer, "itineraryId", journal.getItineraryId());
+        writeString(writer, "city", journal.getCity());
+        writeString(writer, "country", journal.getCountry());
+        writeString(writer, "title", journal.getTitle());
+        writeString(writer, "description", journal.getDescription());
+        writeString(writer, "coverMediaId", journal.getCoverMediaId());
+        writeStrings(writer, "mediaIds", journal.getMediaIds());
+        writePreviews(writer, journal.getMediaPreviews());
+        writeStrings(writer, "tags", journal.getTags());
+
+        if (journal.getGps() != null) {
+            writer.writeStartDocument("gps");
+            writer.writeDouble("lat", journal.getGps().getLat());
+            writer.writeDouble("lon", journal.getGps().getLon());
+            writer.writeEndDocument();
+        }
+        if (journal.getWeather() != null) {
+            WeatherSnapshot weather = journal.getWeather();
+            writer.writeStartDocument("weather");
+            writer.writeDouble("temperature", weather.getTemperature());
+            writeString(writer, "description", weather.getDescription());
+            writer.writeInt32("humidity", weather.getHumidity());
+            writer.writeDouble("windSpeed", weather.getWindSpeed());
+            writeString(writer, "icon", weather.getIcon());
+            writer.writeEndDocument();
+        }
+        writeString(writer, "weatherObservation", journal.getWeatherObservation());
+        writeStrings(writer, "userKeys", journal.getUserKeys());
+        if (journal.getMetadata() != null) writeMetadata(writer, journal.getMetadata(), context);
+
+        if (journal.getEnrichmentStatus() != null) {
+            writer.writeString("enrichmentStatus", journal.getEnrichmentStatus().name());
+        }
+        writer.writeInt32("enrichmentAttempts", journal.getEnrichmentAttempts());
+        writeString(writer, "enrichmentError", journal.getEnrichmentError());
+        writeInstant(writer, "createdDate", journal.getCreatedDate());
+        writeInstant(writer, "modifiedDate", journal.getModifiedDate());
+        writer.writeEndDocument();
+    }
+
+    private static void writePreviews(BsonWriter writer, List<MediaPreview> previews) {
+        if (previews == null) return;
+
+        writer.writeStartArray("mediaPreviews");
+        for (MediaPreview preview : previews) {
+            if (preview == null) {
+                writer.writeNull();
+                continue;
+            }
+            writer.writeStartDocument();
+            if (preview.getId() != null) writeId(writer, preview.getId());
+            writeString(writer, "cdnUrl", preview.getCdnUrl());
+            if (preview.getWidth() != null) writer.writeInt32("width", preview.getWidth());
+            if (preview.getHeight() != null) writer.writeInt32("height", preview.getHeight());
+            writer.writeEndDocument();
+        }
+        writer.writeEndArray();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void writeMetadata(BsonWriter writer, Map<String, Object> metadata, EncoderContext context) {
+        writer.writeStartDocument("metadata");
+        for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+            writer.writeName(entry.getKey());
+            Object value = entry.getValue();
+            if (value == null) {
+                writer.writeNull();
+            } else {
+                Codec codec = registry.get(value.getClass());
+                context.encodeWithChildContext(codec, writer, value);
+            }
+        }
+        writer.writeEndDocument();
+    }
+
+    private static void writeStrings(BsonWriter writer, String name, Collection<String> values) {
+        if (values == null) return;
+
+        writer.writeStartArray(name);
+        for (String value : values) {
+            if (value == null) writer.writeNull();
+            else writer.writeString(value);
+        }
+        writer.writeEndArray();
+    }
+
+    private static void writeId(BsonWriter writer, String id) {
+        if (ObjectId.isValid(id)) writer.writeObjectId("_id", new ObjectId(id));
+        else writer.writeString("_id", id);
+    }
+
+    private static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) writer.writeString(name, value);
+    }
+
+    private static void writeInstant(BsonWriter writer, String name, Instant value) {
+        if (value != null) writer.writeDateTime(name, value.toEpochMilli());
+    }
+}
@@ -0,0 +1,65 @@
+package com.tripwise.TripJournal.repository;
+
+import com.tripwise.TripJournal.model.Journal;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.repository
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 13:40
+ * Description : Keyset position (createdDate + _id) of the last journal on a page, plus the sort direction it was
+ * produced with. Travels to clients as an opaque, URL-safe continuation token.
+ * ================================================================
+ */
+public record JournalCursor(Instant createdDate, String id, Sort.Direction direction) {
+
+    private static final String VERSION = "v1";
+
+    /**
+     * Cursor pointing just past the given journal.
+     *
+     * @param last      the last journal on the current page
+     * @param direction the sort direction of the page
+     * @return the cursor
+     */
+    public static JournalCursor after(Journal last, Sort.Direction direction) {
+        return new JournalCursor(last.getCreatedDate(), last.getId(), direction);
+    }
+
+    /** Encodes this cursor as an opaque token. */
+    public String encode() {
+        String raw = VERSION + "|" + createdDate.toEpochMilli() + "|" + id + "|" + (direction.isAscending() ? "a" : "d");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the opaque token
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static JournalCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 4 || !VERSION.equals(parts[0]) || parts[2].isBlank()) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            Sort.Direction direction = switch (parts[3]) {
+                case "a" -> Sort.Direction.ASC;
+                case "d" -> Sort.Direction.DESC;
+                default -> throw new IllegalArgumentException("Malformed cursor");
+            };
+            return new JournalCursor(Instant.ofEpochMilli(Long.parseLong(parts[1])), parts[2], direction);
+        } catch (IllegalArgumentException e) { // also covers bad Base64 and NumberFormatException
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
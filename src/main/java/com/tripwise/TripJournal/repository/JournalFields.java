@@ -0,0 +1,122 @@
+package com.tripwise.TripJournal.repository;
+
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.*;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.repository
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 17:10
+ * Description : Sparse fieldset requested through {@code ?fields=}, pushed down to MongoDB as a projection so
+ * unneeded fields never leave the database.
+ * ================================================================
+ */
+public final class JournalFields {
+
+    /** No projection: full documents. */
+    public static final JournalFields ALL = new JournalFields(null);
+
+    /** Name of the predefined list-view projection. */
+    public static final String SUMMARY = "summary";
+
+    /** API (response) field name -> document field names. */
+    private static final Map<String, List<String>> DOCUMENT_FIELDS = Map.ofEntries(
+            Map.entry("id", List.of("_id")),
+            Map.entry("userId", List.of("userId")),
+            Map.entry("itineraryId", List.of("itineraryId")),
+            Map.entry("title", List.of("title")),
+            Map.entry("description", List.of("description")),
+            Map.entry("city", List.of("city")),
+            Map.entry("country", List.of("country")),
+            Map.entry("tags", List.of("tags")),
+            Map.entry("coverMediaId", List.of("coverMediaId")),
+            Map.entry("mediaIds", List.of("mediaIds")),
+            Map.entry("mediaPreviews", List.of("mediaPreviews")),
+            Map.entry("metadata", List.of("gps", "weather", "weatherObservation", "metadata")),
+            Map.entry("enrichmentStatus", List.of("enrichmentStatus")),
+            Map.entry("createdDate", List.of("createdDate")),
+            Map.entry("modifiedDate", List.of("modifiedDate")));
+
+    /** What a list view renders: title, place, date and the cover thumbnail. */
+    private static final List<String> SUMMARY_FIELDS =
+            List.of("title", "city", "country", "createdDate", "coverMediaId", "mediaPreviews");
+
+    /** Document fields to include; {@code null} means everything. */
+    private final Set<String> include;
+
+    private JournalFields(Set<String> include) {
+        this.include = include;
+    }
+
+    /**
+     * Parses a comma-separated field list, e.g. {@code title,city,createdDate} or {@code summary}.
+     * {@code id} is always returned.
+     *
+     * @param spec the {@code fields} parameter; {@code null} or blank means all fields
+     * @return the parsed selection
+     * @throws IllegalArgumentException on unknown field names
+     */
+    public static JournalFields parse(String spec) {
+        if (spec == null || spec.isBlank()) return ALL;
+
+        Set<String> include = new LinkedHashSet<>();
+        for (String raw : spec.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) continue;
+
+            if (SUMMARY.equals(name)) {
+                SUMMARY_FIELDS.forEach(f -> include.addAll(DOCUMENT_FIELDS.get(f)));
+                continue;
+            }
+            List<String> fields = DOCUMENT_FIELDS.get(name);
+            if (fields == null) throw new IllegalArgumentException("Unknown field: " + name);
+            include.addAll(fields);
+        }
+        return include.isEmpty() ? ALL : new JournalFields(include);
+    }
+
+    /**
+     * Whether a response field is read; {@code id} always is.
+     *
+     * @param apiField a response field name
+     * @return {@code true} if any of its document fields is part of the selection
+     */
+    public boolean includes(String apiField) {
+        if (isAll() || "id".equals(apiField)) return true;
+        List<String> fields = DOCUMENT_FIELDS.get(apiField);
+        return fields != null && fields.stream().anyMatch(include::contains);
+    }
+
+    /** {@code true} when no projection applies. */
+    public boolean isAll() {
+        return include == null;
+    }
+
+    /**
+     * Same selection, additionally including the given API field (e.g. a sort key a cursor depends on).
+     *
+     * @param apiField a response field name
+     * @return a selection that includes {@code apiField}
+     */
+    public JournalFields with(String apiField) {
+        if (isAll()) return this;
+
+        Set<String> widened = new LinkedHashSet<>(include);
+        widened.addAll(DOCUMENT_FIELDS.get(apiField));
+        return new JournalFields(widened);
+    }
+
+    /**
+     * Adds this selection as an inclusion projection to {@code query}; no-op for {@link #ALL}.
+     *
+     * @param query the query to project
+     * @return the same query
+     */
+    public Query applyTo(Query query) {
+        if (!isAll()) include.forEach(field -> query.fields().include(field));
+        return query;
+    }
+}
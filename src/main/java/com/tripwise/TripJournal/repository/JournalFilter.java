@@ -0,0 +1,46 @@
+package com.tripwise.TripJournal.repository;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.repository
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 18:20
+ * Description : Selection of a user's journals for bulk operations: explicit IDs, an itinerary, and/or simple field
+ * filters. All given parts must match (AND).
+ * ================================================================
+ */
+public record JournalFilter(List<String> ids, String itineraryId, String city, String country, String tag) {
+
+    /** {@code true} when nothing narrows the selection, i.e. it would match every journal of the user. */
+    public boolean isEmpty() {
+        return (ids == null || ids.isEmpty())
+                && isBlank(itineraryId) && isBlank(city) && isBlank(country) && isBlank(tag);
+    }
+
+    /**
+     * Criteria for this filter, always scoped to the owner.
+     *
+     * @param userId the owner user ID
+     * @return the criteria
+     */
+    public Criteria toCriteria(String userId) {
+        Criteria criteria = where("userId").is(userId);
+        if (ids != null && !ids.isEmpty()) criteria.and("_id").in(ids);
+        if (!isBlank(itineraryId)) criteria.and("itineraryId").is(itineraryId);
+        if (!isBlank(city)) criteria.and("city").is(city);
+        if (!isBlank(country)) criteria.and("country").is(country);
+        if (!isBlank(tag)) criteria.and("tags").is(tag);
+        return criteria;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,12 +1,15 @@
 package com.tripwise.TripJournal.repository;
 
 import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.model.EnrichmentStatus;
 import com.tripwise.TripJournal.model.Journal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,9 +20,10 @@ import java.util.Optional;
  * Date        : Thursday,  28.Aug.2025 | 12:19
  * Description : Repository interface for managing {@link Journal} entities in MongoDB.
  * - Extends {@link MongoRepository} to provide CRUD operations as well as custom query methods for journal entries.
+ * - Hand-written queries (keyset pagination, ...) live in {@link JournalRepositoryCustom}.
  * ================================================================
  */
-public interface JournalRepository extends MongoRepository<Journal, String> {
+public interface JournalRepository extends MongoRepository<Journal, String>, JournalRepositoryCustom {
 
     /**
      * Retrieves a page of journals owned by the given user.
@@ -55,6 +59,19 @@ public interface JournalRepository extends MongoRepository<Journal, String> {
     Page<Journal> searchByUserAndTitle(String userId, String titleRegex, Pageable pageable);
 
 
+    /**
+     * Journals of a user in any of the given background-enrichment states, newest first.
+     *
+     * @param userId   the owner user ID
+     * @param statuses the enrichment states to include
+     * @param pageable bound on the number of journals returned
+     * @return matching journals
+     */
+    List<Journal> findByUserIdAndEnrichmentStatusInOrderByCreatedDateDesc(String userId,
+                                                                         Collection<EnrichmentStatus> statuses,
+                                                                         Pageable pageable);
+
+
     /**
      * Deletes a journal by ID if (and only if) it belongs to the given user.
      *
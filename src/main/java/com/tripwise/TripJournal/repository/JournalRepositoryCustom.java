@@ -0,0 +1,167 @@
+package com.tripwise.TripJournal.repository;
+
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.MediaPreview;
+import org.bson.RawBsonDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.repository
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 13:52
+ * Description : Hand-written {@link Journal} queries that derived query methods cannot express; implemented by
+ * {@link JournalRepositoryImpl} and mixed into {@link JournalRepository}.
+ * ================================================================
+ */
+public interface JournalRepositoryCustom {
+
+    /**
+     * Keyset page of a user's journals ordered by {@code createdDate} then {@code _id}.
+     * <p>
+     * Uses the {@code {userId, createdDate, _id}} index, so every page costs the same however deep it is.
+     *
+     * @param userId    the owner user ID
+     * @param after     position to continue after; {@code null} for the first page
+     * @param direction sort direction for both keys
+     * @param limit     maximum number of journals to return
+     * @param fields    projection; must include {@code createdDate} for cursors to work
+     * @return up to {@code limit} journals following {@code after}
+     */
+    List<Journal> findPageAfter(String userId, JournalCursor after, Sort.Direction direction, int limit,
+                                JournalFields fields);
+
+    /**
+     * A single journal scoped to its owner, reading only the selected fields.
+     *
+     * @param id     the journal ID
+     * @param userId the expected owner user ID
+     * @param fields projection
+     * @return the (possibly partial) journal if found and owned by the user
+     */
+    Optional<Journal> findOwned(String id, String userId, JournalFields fields);
+
+    /**
+     * {@link #findPageAfter} returning the driver's undecoded documents, for writing JSON without mapping to
+     * {@link Journal} first.
+     */
+    List<RawBsonDocument> findPageAfterRaw(String userId, JournalCursor after, Sort.Direction direction, int limit,
+                                           JournalFields fields);
+
+    /**
+     * {@link #findOwned} returning the driver's undecoded document.
+     */
+    Optional<RawBsonDocument> findOwnedRaw(String id, String userId, JournalFields fields);
+
+    /**
+     * Streams all of a user's journals (newest first) from a server-side cursor.
+     * <p>
+     * Documents are pulled from MongoDB {@code batchSize} at a time as the stream is consumed, so memory stays flat
+     * regardless of how many journals the user has. The caller must close the stream.
+     *
+     * @param userId    the owner user ID
+     * @param batchSize number of documents fetched per cursor round trip
+     * @return a lazily populated stream of journals
+     */
+    Stream<Journal> streamByUserId(String userId, int batchSize);
+
+    /**
+     * Searches a user's journals with the given engine and counts all matches.
+     * <ul>
+     *   <li>{@link SearchMode#TEXT} uses the {@code {userId, $text}} index: terms are stemmed, stop words ignored,
+     *   results are ordered by relevance (any pageable sort applies after it) and carry {@link Journal#getScore()}.</li>
+     *   <li>{@link SearchMode#PREFIX} is a range scan on the {@code {userId, title}} index, which uses a strength-2
+     *   (case-insensitive) collation; the query uses the same collation so the index applies.</li>
+     * </ul>
+     *
+     * @param userId   the owner user ID
+     * @param mode     search engine
+     * @param term     a title regex for {@link SearchMode#REGEX}; the raw search term otherwise
+     * @param pageable pagination information
+     * @param fields   projection
+     * @return a page of matching journals
+     */
+    Page<Journal> searchPage(String userId, SearchMode mode, String term, Pageable pageable, JournalFields fields);
+
+    /**
+     * Type-ahead variant of {@link SearchMode#PREFIX}: only {@code _id} and {@code title} are read, ordered by title.
+     *
+     * @param userId the owner user ID
+     * @param prefix the title prefix (any case)
+     * @param limit  maximum number of suggestions
+     * @return journals with only id and title populated
+     */
+    List<Journal> suggestByTitlePrefix(String userId, String prefix, int limit);
+
+    /**
+     * Runs a search without the follow-up {@code count}: fetches one extra row to decide {@link Slice#hasNext()}.
+     *
+     * @param userId   the owner user ID
+     * @param mode     search engine
+     * @param term     a title regex for {@link SearchMode#REGEX}; the raw search term otherwise
+     * @param pageable pagination information
+     * @param fields   projection
+     * @return a slice of matching journals
+     */
+    Slice<Journal> searchSlice(String userId, SearchMode mode, String term, Pageable pageable, JournalFields fields);
+
+    /**
+     * Counts matches for a search, stopping at {@code cap} so large result sets stay cheap.
+     *
+     * @param userId the owner user ID
+     * @param mode   search engine
+     * @param term   as for {@link #searchPage}
+     * @param cap    maximum number of documents to count
+     * @return the number of matches, at most {@code cap}
+     */
+    long countUpTo(String userId, SearchMode mode, String term, int cap);
+
+    /**
+     * Inserts all journals in one unordered bulk write: a failing document does not stop the others.
+     * Journals must carry pre-assigned IDs so callers can tell which ones were stored.
+     *
+     * @param journals journals to insert
+     * @return error message per failed position in {@code journals}; empty when everything was stored
+     */
+    Map<Integer, String> insertUnordered(List<Journal> journals);
+
+    /**
+     * IDs of the user's journals matching {@code filter}; only {@code _id} is read.
+     *
+     * @param userId the owner user ID
+     * @param filter the selection
+     * @param limit  maximum number of IDs to return
+     * @return up to {@code limit} matching journal IDs
+     */
+    List<String> findIds(String userId, JournalFilter filter, int limit);
+
+    /**
+     * Deletes the given journals of the user with a single {@code deleteMany}.
+     *
+     * @param userId the owner user ID; journals of other users are never touched
+     * @param ids    journal IDs
+     * @return number of documents removed
+     */
+    long deleteOwned(String userId, Collection<String> ids);
+
+    /**
+     * Stores media previews on the user's journals in one ordered bulk write: each preview replaces the one with
+     * the same media ID, or is appended. Previews are only stored on journals that still reference the media (in
+     * {@code mediaIds} or as {@code coverMediaId}); {@code modifiedDate} is set on every journal that changes.
+     *
+     * @param userId   the owner user ID; journals of other users are never touched
+     * @param previews previews per journal ID; of several with the same media ID, the last one is stored
+     * @return number of previews stored
+     */
+    long savePreviews(String userId, Map<String, ? extends Collection<MediaPreview>> previews);
+}
@@ -0,0 +1,333 @@
+package com.tripwise.TripJournal.repository;
+
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.MediaPreview;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.repository
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 13:55
+ * Description : {@link MongoTemplate}-backed implementation of {@link JournalRepositoryCustom}.
+ * ================================================================
+ */
+
+/**
+ * Page, single-journal and export reads decode with {@link JournalCodec} (registered with the client in
+ * {@code MongoConfig}) instead of {@code MappingMongoConverter}, and batch inserts encode with it, unless
+ * {@code journal.mongo.codec.enabled} is {@code false}; queries are still mapped by the template's
+ * {@link QueryMapper}. Everything else goes through the template as usual.
+ */
+public class JournalRepositoryImpl implements JournalRepositoryCustom {
+    /**
+     * Case-insensitive (strength 2) collation of the {@code {userId, title}} index; queries must match it exactly.
+     */
+    public static final Collation TITLE_COLLATION =
+            Collation.of("en").strength(Collation.ComparisonLevel.secondary());
+
+    /**
+     * Sorts after every other character in ICU/CLDR collation, so {@code prefix + MAX} bounds a prefix range.
+     */
+    private static final String COLLATION_MAX = "\uFFFF";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean codecEnabled;
+
+    public JournalRepositoryImpl(
+            MongoTemplate mongoTemplate,
+            @Value("${journal.mongo.codec.enabled:true}") boolean codecEnabled
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.codecEnabled = codecEnabled;
+    }
+
+    @Override
+    public List<Journal> findPageAfter(String userId, JournalCursor after, Sort.Direction direction, int limit,
+                                       JournalFields fields) {
+        Query query = pageAfterQuery(userId, after, direction, limit, fields);
+        return codecEnabled ? findAs(query, Journal.class) : mongoTemplate.find(query, Journal.class);
+    }
+
+    @Override
+    public Optional<Journal> findOwned(String id, String userId, JournalFields fields) {
+        Query query = ownedQuery(id, userId, fields);
+        return codecEnabled
+                ? findAs(query.limit(1), Journal.class).stream().findFirst()
+                : Optional.ofNullable(mongoTemplate.findOne(query, Journal.class));
+    }
+
+    @Override
+    public List<RawBsonDocument> findPageAfterRaw(String userId, JournalCursor after, Sort.Direction direction,
+                                                  int limit, JournalFields fields) {
+        return findAs(pageAfterQuery(userId, after, direction, limit, fields), RawBsonDocument.class);
+    }
+
+    @Override
+    public Optional<RawBsonDocument> findOwnedRaw(String id, String userId, JournalFields fields) {
+        return findAs(ownedQuery(id, userId, fields).limit(1), RawBsonDocument.class).stream().findFirst();
+    }
+
+    /** Runs {@code query} and decodes the results with the client's codec for {@code documentClass}. */
+    private <T> List<T> findAs(Query query, Class<T> documentClass) {
+        return mongoTemplate.execute(Journal.class, collection -> find(collection, query, documentClass)
+                .into(new ArrayList<>()));
+    }
+
+    /** {@code query} mapped like {@link MongoTemplate#find} would, but decoded as {@code documentClass}. */
+    private <T> FindIterable<T> find(MongoCollection<Document> collection, Query query, Class<T> documentClass) {
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Journal.class);
+
+        Document filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+        Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+        Document projection = queryMapper.getMappedFields(query.getFieldsObject(), entity);
+
+        return collection
+                .withDocumentClass(documentClass)
+                .find(filter)
+                .projection(projection)
+                .sort(sort)
+                .limit(query.getLimit());
+    }
+
+    /** Keyset page query, shared with {@link ReactiveJournalRepositoryImpl}. */
+    static Query pageAfterQuery(String userId, JournalCursor after, Sort.Direction direction, int limit,
+                                JournalFields fields) {
+        Criteria criteria = where("userId").is(userId);
+
+        if (after != null) {
+            // (createdDate, _id) strictly beyond the cursor in the requested direction
+            criteria = direction.isAscending()
+                    ? criteria.orOperator(
+                            where("createdDate").gt(after.createdDate()),
+                            where("createdDate").is(after.createdDate()).and("_id").gt(after.id()))
+                    : criteria.orOperator(
+                            where("createdDate").lt(after.createdDate()),
+                            where("createdDate").is(after.createdDate()).and("_id").lt(after.id()));
+        }
+
+        Query query = Query.query(criteria)
+                .with(Sort.by(direction, "createdDate", "_id"))
+                .limit(limit);
+
+        return fields.applyTo(query);
+    }
+
+    /** Single owned journal query, shared with {@link ReactiveJournalRepositoryImpl}. */
+    static Query ownedQuery(String id, String userId, JournalFields fields) {
+        return fields.applyTo(Query.query(where("_id").is(id).and("userId").is(userId)));
+    }
+
+    @Override
+    public Stream<Journal> streamByUserId(String userId, int batchSize) {
+        Query query = Query.query(where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "createdDate", "_id"))
+                .cursorBatchSize(batchSize);
+
+        if (!codecEnabled) return mongoTemplate.stream(query, Journal.class);
+
+        MongoCursor<Journal> cursor = mongoTemplate.execute(Journal.class, collection ->
+                find(collection, query, Journal.class).batchSize(batchSize).cursor());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    @Override
+    public Page<Journal> searchPage(String userId, SearchMode mode, String term, Pageable pageable,
+                                    JournalFields fields) {
+        Query query = fields.applyTo(searchQuery(userId, mode, term).with(pageable));
+
+        List<Journal> content = mongoTemplate.find(query, Journal.class);
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Journal.class));
+    }
+
+    @Override
+    public List<Journal> suggestByTitlePrefix(String userId, String prefix, int limit) {
+        Query query = titlePrefixQuery(userId, prefix)
+                .with(Sort.by(Sort.Direction.ASC, "title"))
+                .limit(limit);
+        query.fields().include("title");
+
+        return mongoTemplate.find(query, Journal.class);
+    }
+
+    @Override
+    public Slice<Journal> searchSlice(String userId, SearchMode mode, String term, Pageable pageable,
+                                      JournalFields fields) {
+        int size = pageable.getPageSize();
+        // one extra row tells us whether another page follows, without a count
+        Query query = fields.applyTo(searchQuery(userId, mode, term).with(pageable).limit(size + 1));
+
+        List<Journal> rows = mongoTemplate.find(query, Journal.class);
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public long countUpTo(String userId, SearchMode mode, String term, int cap) {
+        return mongoTemplate.count(searchQuery(userId, mode, term).limit(cap), Journal.class);
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<Journal> journals) {
+        if (journals.isEmpty()) return Map.of();
+        if (codecEnabled) return insertEncoded(journals);
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Journal.class)
+                    .insert(journals)
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            return failures(e.getErrors());
+        }
+    }
+
+    /**
+     * The same unordered insert, with each journal encoded straight to BSON by {@link JournalCodec} instead of going
+     * through a converter-built {@link Document}. Nothing is lost by skipping the template: journals carry their IDs
+     * and dates already, and no mapping events or auditing apply to them.
+     */
+    private Map<Integer, String> insertEncoded(List<Journal> journals) {
+        return mongoTemplate.execute(Journal.class, collection -> {
+            try {
+                collection.withDocumentClass(Journal.class)
+                        .insertMany(journals, new InsertManyOptions().ordered(false));
+                return Map.of();
+            } catch (MongoBulkWriteException e) {
+                return failures(e.getWriteErrors());
+            }
+        });
+    }
+
+    private static Map<Integer, String> failures(List<BulkWriteError> errors) {
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        for (BulkWriteError error : errors) {
+            failures.put(error.getIndex(), error.getMessage());
+        }
+        return failures;
+    }
+
+    @Override
+    public List<String> findIds(String userId, JournalFilter filter, int limit) {
+        Query query = Query.query(filter.toCriteria(userId)).limit(limit);
+        query.fields().include("_id");
+
+        return mongoTemplate.find(query, Journal.class).stream()
+                .map(Journal::getId)
+                .toList();
+    }
+
+    @Override
+    public long deleteOwned(String userId, Collection<String> ids) {
+        if (ids.isEmpty()) return 0;
+        Query query = Query.query(where("userId").is(userId).and("_id").in(ids));
+        return mongoTemplate.remove(query, Journal.class).getDeletedCount();
+    }
+
+    @Override
+    public long savePreviews(String userId, Map<String, ? extends Collection<MediaPreview>> previews) {
+        // ordered: each preview's "replace" runs before its "push", so exactly one of the two can match
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Journal.class);
+        Instant now = Instant.now(); // previews are part of responses, so they move modifiedDate (and ETags)
+        int count = 0;
+        for (Map.Entry<String, ? extends Collection<MediaPreview>> entry : previews.entrySet()) {
+            // one pair of updates per media ID, so every matched update is one stored preview
+            Map<String, MediaPreview> byMedia = new LinkedHashMap<>();
+            entry.getValue().forEach(preview -> byMedia.put(preview.getId(), preview));
+
+            for (MediaPreview preview : byMedia.values()) {
+                ops.updateOne(Query.query(referencing(userId, entry.getKey(), preview.getId())
+                                .and("mediaPreviews.id").is(preview.getId())),
+                        new Update().set("mediaPreviews.$[p]", preview).set("modifiedDate", now)
+                                .filterArray("p._id", storedId(preview)));
+                ops.updateOne(Query.query(referencing(userId, entry.getKey(), preview.getId())
+                                .and("mediaPreviews.id").ne(preview.getId())),
+                        new Update().push("mediaPreviews", preview).set("modifiedDate", now));
+                count++;
+            }
+        }
+        if (count == 0) return 0;
+        return ops.execute().getMatchedCount();
+    }
+
+    /**
+     * The preview's ID as stored: array filters are not run through the {@link QueryMapper}, so the {@code id} to
+     * {@code _id} / {@link ObjectId} mapping of embedded entities has to be applied by hand.
+     */
+    private static Object storedId(MediaPreview preview) {
+        String id = preview.getId();
+        return id != null && ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    /** The user's journal, as long as it still references the media. */
+    private static Criteria referencing(String userId, String journalId, String mediaId) {
+        return where("_id").is(journalId).and("userId").is(userId)
+                .orOperator(where("mediaIds").is(mediaId), where("coverMediaId").is(mediaId));
+    }
+
+    private static Query searchQuery(String userId, SearchMode mode, String term) {
+        return switch (mode) {
+            case REGEX -> Query.query(where("userId").is(userId).and("title").regex(term, "i"));
+            case TEXT -> textQuery(userId, term);
+            case PREFIX -> titlePrefixQuery(userId, term);
+        };
+    }
+
+    private static Query textQuery(String userId, String terms) {
+        return TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(terms))
+                .sortByScore()
+                .includeScore()
+                .addCriteria(where("userId").is(userId)); // equality on the index prefix is required
+    }
+
+    /** {@code title >= prefix AND title < prefix + MAX} under the index collation: an index range scan. */
+    private static Query titlePrefixQuery(String userId, String prefix) {
+        return Query.query(where("userId").is(userId)
+                        .and("title").gte(prefix).lt(prefix + COLLATION_MAX))
+                .collation(TITLE_COLLATION);
+    }
+}
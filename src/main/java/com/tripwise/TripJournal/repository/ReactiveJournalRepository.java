@@ -0,0 +1,30 @@
+package com.tripwise.TripJournal.repository;
+
+import com.tripwise.TripJournal.model.Journal;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.repository
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 21:40
+ * Description : Non-blocking access to the {@code journal} collection for the reactive execution mode
+ * ({@code journal.reactive.enabled}).
+ * - Extends {@link ReactiveMongoRepository}; keyset paging and projections live in
+ * {@link ReactiveJournalRepositoryCustom}.
+ * ================================================================
+ */
+public interface ReactiveJournalRepository extends ReactiveMongoRepository<Journal, String>,
+        ReactiveJournalRepositoryCustom {
+
+    /**
+     * Deletes a journal by ID if (and only if) it belongs to the given user.
+     *
+     * @param id     the journal ID
+     * @param userId the owner user ID
+     * @return number of documents removed (0 or 1)
+     */
+    Mono<Long> deleteByIdAndUserId(String id, String userId);
+}
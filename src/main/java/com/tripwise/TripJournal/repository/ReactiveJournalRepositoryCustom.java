@@ -0,0 +1,32 @@
+package com.tripwise.TripJournal.repository;
+
+import com.tripwise.TripJournal.model.Journal;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.repository
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 21:42
+ * Description : Reactive counterparts of the {@link JournalRepositoryCustom} reads; implemented by
+ * {@link ReactiveJournalRepositoryImpl} with the same queries.
+ * ================================================================
+ */
+public interface ReactiveJournalRepositoryCustom {
+
+    /**
+     * Keyset page of a user's journals; see {@link JournalRepositoryCustom#findPageAfter}.
+     */
+    Flux<Journal> findPageAfter(String userId, JournalCursor after, Sort.Direction direction, int limit,
+                                JournalFields fields);
+
+    /**
+     * A single journal scoped to its owner; see {@link JournalRepositoryCustom#findOwned}.
+     *
+     * @return the (possibly partial) journal, or empty if not found or not owned by the user
+     */
+    Mono<Journal> findOwned(String id, String userId, JournalFields fields);
+}
@@ -0,0 +1,35 @@
+package com.tripwise.TripJournal.repository;
+
+import com.tripwise.TripJournal.model.Journal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.repository
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 21:45
+ * Description : {@link ReactiveMongoTemplate}-backed implementation of {@link ReactiveJournalRepositoryCustom}.
+ * ================================================================
+ */
+@RequiredArgsConstructor
+public class ReactiveJournalRepositoryImpl implements ReactiveJournalRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<Journal> findPageAfter(String userId, JournalCursor after, Sort.Direction direction, int limit,
+                                       JournalFields fields) {
+        return mongoTemplate.find(JournalRepositoryImpl.pageAfterQuery(userId, after, direction, limit, fields),
+                Journal.class);
+    }
+
+    @Override
+    public Mono<Journal> findOwned(String id, String userId, JournalFields fields) {
+        return mongoTemplate.findOne(JournalRepositoryImpl.ownedQuery(id, userId, fields), Journal.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.tripwise.TripJournal.repository;
+
+import java.util.Locale;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.repository
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 15:20
+ * Description : Search engines available behind {@code GET /journals/search?mode=}.
+ * ================================================================
+ */
+public enum SearchMode {
+    /** Unanchored, case-insensitive {@code $regex} on the title (original behaviour; cannot use an index). */
+    REGEX,
+    /** MongoDB {@code $text} over title, description and tags; stemmed, ranked by relevance. */
+    TEXT,
+    /** Case-insensitive "title starts with", served as a range scan on a collated index. */
+    PREFIX;
+
+    /**
+     * @param value mode name, case-insensitive; blank means {@link #REGEX}
+     * @return the matching mode
+     * @throws IllegalArgumentException for unknown modes
+     */
+    public static SearchMode parse(String value) {
+        if (value == null || value.isBlank()) return REGEX;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown search mode: " + value);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.tripwise.TripJournal.service;
+
+import com.tripwise.TripJournal.model.GpsPoint;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.WeatherSnapshot;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 23:55
+ * Description : GPS + weather found by enrichment for a location, before it is applied to a {@link Journal}.
+ * ================================================================
+ */
+
+/**
+ * @param gps                coordinates, or {@code null}
+ * @param weather            inline weather, or {@code null}
+ * @param weatherObservation reference to a shared weather observation, or {@code null}
+ */
+public record AutoMetadata(GpsPoint gps, WeatherSnapshot weather, String weatherObservation) {
+
+    /** Nothing found (enrichment off, failed or deferred). */
+    public static final AutoMetadata NONE = new AutoMetadata(null, null, null);
+
+    /** The auto-managed part of an existing journal. */
+    public static AutoMetadata of(Journal journal) {
+        return new AutoMetadata(journal.getGps(), journal.getWeather(), journal.getWeatherObservation());
+    }
+
+    public boolean hasWeather() {
+        return weather != null || weatherObservation != null;
+    }
+
+    public boolean isEmpty() {
+        return gps == null && !hasWeather();
+    }
+}
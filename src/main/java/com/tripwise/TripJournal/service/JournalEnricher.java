@@ -1,8 +1,15 @@
 package com.tripwise.TripJournal.service;
 
 import com.tripwise.TripJournal.dto.MetadataDTO;
+import com.tripwise.TripJournal.mapper.LegacyMetadata;
+import com.tripwise.TripJournal.model.GpsPoint;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.WeatherSnapshot;
+import com.tripwise.TripJournal.service.cache.WeatherObservations;
+import com.tripwise.TripJournal.service.client.WeatherClient;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.util.*;
 
@@ -20,79 +27,126 @@ import java.util.*;
 @RequiredArgsConstructor
 public class JournalEnricher {
     private final MetadataService metadataService;
+    private final WeatherObservations observations;
 
     /**
-     * Build auto metadata (gps + weather) from city/country.
+     * Build auto metadata (gps + weather) from city/country. With {@code journal.weather.observations.enabled},
+     * weather is a reference to the shared observation of the cell and hour rather than a copy.
      */
 
-    public Map<String, Object> buildAutoMetadata(String city, String country) {
+    public AutoMetadata buildAutoMetadata(String city, String country) {
 
-        Map<String, Object> auto = new HashMap<>();
-
-        if (city == null || city.isBlank()) return auto;
+        if (city == null || city.isBlank()) return AutoMetadata.NONE;
 
         try {
-            MetadataDTO metadataDTO = metadataService.buildMetadata(city, country);
-
-            if (metadataDTO != null) {
-                if (metadataDTO.getGps() != null) {
-                    Map<String, Object> gps = new HashMap<>();
-                    gps.put("latitude", metadataDTO.getGps().getLat());
-                    gps.put("longitude", metadataDTO.getGps().getLon());
-                    auto.put("gps", gps);
-                }
-                if (metadataDTO.getWeather() != null) {
-                    Map<String, Object> weather = new LinkedHashMap<>();
-
-                    weather.put("temperature", metadataDTO.getWeather().getTemperature());
-                    weather.put("description", metadataDTO.getWeather().getDescription());
-                    weather.put("humidity", metadataDTO.getWeather().getHumidity());
-                    weather.put("windSpeed", metadataDTO.getWeather().getWindSpeed());
-                    weather.put("icon", metadataDTO.getWeather().getIcon());
-                    auto.put("weather", weather);
-
-                }
+            if (observations.enabled()) {
+                WeatherClient.Gps gps = metadataService.geocode(city, country);
+                return toAuto(gps, observations.observe(gps.lat(), gps.lon()));
             }
+            return toAuto(metadataService.buildMetadata(city, country));
         } catch (RuntimeException e) {
             throw new RuntimeException(e);
         }
-        return auto;
     }
 
     /**
-     * Keep only auto-enriched parts from an existing metadata map.
+     * Non-blocking variant of {@link #buildAutoMetadata(String, String)}.
      */
-    @SuppressWarnings("unchecked")
-    public Map<String, Object> extractAutoPortion(Map<String, Object> metadata) {
-        if (metadata == null) return new HashMap<>();
-        Map<String, Object> out = new HashMap<>();
-
-        if (metadata.containsKey("gps")) {
-            out.put("gps",
-                    (Map<String, Object>) metadata.get("gps")
-            );
+    public Mono<AutoMetadata> buildAutoMetadataAsync(String city, String country) {
+        if (city == null || city.isBlank()) return Mono.just(AutoMetadata.NONE);
+        if (observations.enabled()) {
+            return metadataService.geocodeAsync(city, country)
+                    .flatMap(gps -> observations.observeAsync(gps.lat(), gps.lon())
+                            .map(observation -> toAuto(gps, observation)));
         }
+        return metadataService.buildMetadataAsync(city, country).map(JournalEnricher::toAuto);
+    }
 
-        if (metadata.containsKey("weather")) {
-            out.put("weather",
-                    (Map<String, Object>) metadata.get("weather"));
+    private static AutoMetadata toAuto(WeatherClient.Gps gps, String observation) {
+        return new AutoMetadata(gpsPoint(gps.lat(), gps.lon()), null, observation);
+    }
+
+    private static AutoMetadata toAuto(MetadataDTO metadataDTO) {
+        if (metadataDTO == null) return AutoMetadata.NONE;
+
+        GpsPoint gps = metadataDTO.getGps() == null
+                ? null
+                : gpsPoint(metadataDTO.getGps().getLat(), metadataDTO.getGps().getLon());
+
+        WeatherSnapshot weather = null;
+        MetadataDTO.WeatherDTO wx = metadataDTO.getWeather();
+        if (wx != null) {
+            weather = WeatherSnapshot.builder()
+                    .temperature(orNaN(wx.getTemperature()))
+                    .description(wx.getDescription())
+                    .humidity(wx.getHumidity() == null ? WeatherSnapshot.UNKNOWN_HUMIDITY : wx.getHumidity())
+                    .windSpeed(orNaN(wx.getWindSpeed()))
+                    .icon(wx.getIcon())
+                    .build();
         }
-        return out;
+        return new AutoMetadata(gps, weather, null);
+    }
+
+    private static GpsPoint gpsPoint(Double lat, Double lon) {
+        return new GpsPoint(orNaN(lat), orNaN(lon));
+    }
+
+    private static double orNaN(Double value) {
+        return value == null ? Double.NaN : value;
     }
 
     /**
-     * User metadata overrides auto on conflicts.
+     * Keep only the auto-enriched parts of an existing journal; journals not yet migrated still carry them in
+     * {@code metadata}.
      */
-    public Map<String, Object> mergeMetadata(
-            Map<String, Object> auto,
-            Map<String, Object> user) {
+    public AutoMetadata extractAutoPortion(Journal journal) {
+        Map<String, Object> legacy = journal.getMetadata() == null ? Map.of() : journal.getMetadata();
 
-        Map<String, Object> merged = new LinkedHashMap<>();
+        GpsPoint gps = journal.getGps() != null ? journal.getGps() : LegacyMetadata.gps(legacy.get("gps"));
+        if (journal.getWeather() != null || journal.getWeatherObservation() != null) {
+            return new AutoMetadata(gps, journal.getWeather(), journal.getWeatherObservation());
+        }
+        return new AutoMetadata(gps, LegacyMetadata.weather(legacy.get("weather")),
+                LegacyMetadata.observation(legacy.get("weather")));
+    }
+
+    /**
+     * Sets gps, weather and free-form metadata on {@code journal}. User metadata overrides auto on conflicts: its
+     * {@code gps} / {@code weather} keys replace the auto-enriched values, every other key is kept as is.
+     * {@link Journal#getUserKeys()} records which of the two came from the user, so that background enrichment leaves
+     * only those alone; a user value carried over unchanged in {@code auto} stays marked as the user's.
+     *
+     * @param auto the enriched values; {@link AutoMetadata#NONE} if none
+     * @param user metadata from the request; may be {@code null}
+     */
+    public void applyMetadata(Journal journal, AutoMetadata auto, Map<String, Object> user) {
+        Map<String, Object> custom = user == null ? new LinkedHashMap<>() : new LinkedHashMap<>(user);
 
-        if (auto != null) merged.putAll(auto);
-        if (user != null) merged.putAll(user);
+        GpsPoint userGps = LegacyMetadata.gps(custom.remove("gps"));
+        Object userWeather = custom.remove("weather");
+        WeatherSnapshot userWx = LegacyMetadata.weather(userWeather);
 
-        return merged;
+        Set<String> previous = journal.getUserKeys() == null ? Set.of() : journal.getUserKeys();
+        Set<String> userKeys = new TreeSet<>();
+        if (userGps != null || (previous.contains("gps") && Objects.equals(auto.gps(), journal.getGps()))) {
+            userKeys.add("gps");
+        }
+        if (userWx != null || (previous.contains("weather")
+                && Objects.equals(auto.weather(), journal.getWeather())
+                && Objects.equals(auto.weatherObservation(), journal.getWeatherObservation()))) {
+            userKeys.add("weather");
+        }
+
+        journal.setGps(userGps != null ? userGps : auto.gps());
+        if (userWx != null) {
+            journal.setWeather(userWx);
+            journal.setWeatherObservation(null);
+        } else {
+            journal.setWeather(auto.weather());
+            journal.setWeatherObservation(auto.weatherObservation());
+        }
+        journal.setUserKeys(userKeys);
+        journal.setMetadata(custom.isEmpty() ? null : custom);
     }
 
     /** Safe copy list (handles null). */
@@ -0,0 +1,114 @@
+package com.tripwise.TripJournal.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.mapper.JournalMapper;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.repository.JournalRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 14:30
+ * Description : Streams a user's complete journal list (backups, sync jobs) straight from a Mongo cursor to the
+ * response body, one {@link JournalResponse} at a time.
+ * ================================================================
+ */
+
+/**
+ * Writes every journal of a user as a JSON array or as NDJSON (one object per line).
+ * <p>
+ * Only the current cursor batch and one batch of mapped responses are held in memory. Journals are mapped
+ * {@code journal.export.batch-size} at a time, so their weather observations are resolved with one query per batch. Writes go straight to the servlet
+ * output stream; when the client reads slowly, the write blocks and the next cursor batch is not requested, which
+ * gives natural backpressure down to MongoDB.
+ */
+@Component
+public class JournalExporter {
+    private final JournalRepository repository;
+    private final JournalMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    @Value("${journal.export.batch-size:200}")
+    private int batchSize;
+
+    @Value("${journal.export.flush-every:50}")
+    private int flushEvery;
+
+    public JournalExporter(JournalRepository repository, JournalMapper mapper, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        // flush in chunks rather than after every object
+        this.writer = objectMapper.writerFor(JournalResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes {@code [ {...}, {...} ]}.
+     *
+     * @param userId the owner user ID
+     * @param out    the response body; closed when done
+     * @throws IOException if the client disconnects or the write fails
+     */
+    public void writeJsonArray(String userId, OutputStream out) throws IOException {
+        try (Stream<Journal> journals = repository.streamByUserId(userId, batchSize);
+             JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+
+            gen.writeStartArray();
+            writeAll(journals, gen, false);
+            gen.writeEndArray();
+        }
+    }
+
+    /**
+     * Writes one JSON object per line ({@code application/x-ndjson}).
+     *
+     * @param userId the owner user ID
+     * @param out    the response body; closed when done
+     * @throws IOException if the client disconnects or the write fails
+     */
+    public void writeNdjson(String userId, OutputStream out) throws IOException {
+        try (Stream<Journal> journals = repository.streamByUserId(userId, batchSize);
+             JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+
+            gen.setRootValueSeparator(null); // newline is written explicitly after each object
+            writeAll(journals, gen, true);
+        }
+    }
+
+    private void writeAll(Stream<Journal> journals, JsonGenerator gen, boolean newlineDelimited) throws IOException {
+        int written = 0;
+        Iterator<Journal> it = journals.iterator();
+        List<Journal> batch = new ArrayList<>(batchSize);
+
+        while (it.hasNext()) {
+            batch.add(it.next());
+            if (batch.size() < batchSize && it.hasNext()) continue;
+
+            for (JournalResponse response : mapper.toResponses(batch)) {
+                writer.writeValue(gen, response);
+                if (newlineDelimited) gen.writeRaw('\n');
+
+                if (++written % flushEvery == 0) gen.flush();
+            }
+            batch.clear();
+        }
+        gen.flush();
+    }
+}
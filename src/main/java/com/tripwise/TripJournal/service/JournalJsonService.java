@@ -0,0 +1,131 @@
+package com.tripwise.TripJournal.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripwise.TripJournal.mapper.JournalJsonWriter;
+import com.tripwise.TripJournal.model.WeatherObservation;
+import com.tripwise.TripJournal.repository.JournalCursor;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.JournalRepository;
+import com.tripwise.TripJournal.service.cache.WeatherObservations;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.*;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Sunday,  18.Oct.2026 | 10:05
+ * Description : Raw BSON fast path for {@code GET /journals} and {@code GET /journals/{id}}: reads undecoded documents
+ * and renders the response JSON with {@link JournalJsonWriter} ({@code journal.raw-json.enabled}).
+ * ================================================================
+ */
+
+/**
+ * Same parameters, validation and output as {@link JournalService#findJournalPage} / {@link JournalService#getJournal},
+ * but without building {@code Journal} and {@code JournalResponse} objects in between. Responses are rendered into a
+ * byte array before anything is sent, so a 404 or a bad cursor is still reported normally.
+ */
+@Component
+public class JournalJsonService {
+    private final JournalRepository repository;
+    private final JournalService journalService;
+    private final JournalJsonWriter writer;
+    private final WeatherObservations observations;
+    private final JsonFactory jsonFactory;
+    private final boolean enabled;
+
+    public JournalJsonService(
+            JournalRepository repository,
+            JournalService journalService,
+            JournalJsonWriter writer,
+            WeatherObservations observations,
+            ObjectMapper objectMapper,
+            @Value("${journal.raw-json.enabled:false}") boolean enabled
+    ) {
+        this.repository = repository;
+        this.journalService = journalService;
+        this.writer = writer;
+        this.observations = observations;
+        this.jsonFactory = objectMapper.getFactory();
+        this.enabled = enabled;
+    }
+
+    /** {@code true} when read-only endpoints should take the raw path ({@code journal.raw-json.enabled}). */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * The rows of a keyset page, undecoded; see {@link JournalService#readJournalPage}. {@link #writePage} renders
+     * them.
+     */
+    public PageRows<RawBsonDocument> readJournalPage(String userId, int size, String sort, String cursor,
+                                                     String fields) {
+        int pageSize = journalService.clampPageSize(size);
+        Sort.Direction direction = JournalService.parseCreatedDateSort(sort);
+        JournalFields requested = JournalService.parseFields(fields);
+        JournalFields projection = requested.with("createdDate").with("modifiedDate");
+        JournalCursor after = JournalService.parseCursor(cursor, direction, sort);
+
+        List<RawBsonDocument> rows = repository.findPageAfterRaw(userId, after, direction, pageSize + 1, projection);
+        return new PageRows<>(rows, pageSize, direction, cursor, fields, requested);
+    }
+
+    /** A page read by {@link #readJournalPage} as {@code PageResponse} JSON. */
+    public byte[] writePage(PageRows<RawBsonDocument> rows) {
+        int pageSize = rows.pageSize();
+        boolean hasNext = rows.rows().size() > pageSize;
+        List<RawBsonDocument> page = hasNext ? rows.rows().subList(0, pageSize) : rows.rows();
+        String nextCursor = hasNext ? cursorAfter(page.get(pageSize - 1), rows.direction()).encode() : null;
+
+        Map<String, WeatherObservation> resolved = observations.resolveAll(writer.observationKeys(page));
+        return render(gen -> writer.writePage(gen, page, pageSize, hasNext, nextCursor, rows.requested(), resolved));
+    }
+
+    /** A single journal as {@code JournalResponse} JSON; see {@link JournalService#getJournal}. */
+    public byte[] getJournal(String userId, String id, String fields) {
+        JournalFields projection = JournalService.parseFields(fields);
+        RawBsonDocument doc = repository.findOwnedRaw(id, userId, projection)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Journal not found: " + id));
+
+        Map<String, WeatherObservation> resolved = observations.resolveAll(writer.observationKeys(List.of(doc)));
+        return render(gen -> writer.write(gen, doc, projection, resolved));
+    }
+
+    /* ---------- internals ---------- */
+
+    private static JournalCursor cursorAfter(RawBsonDocument last, Sort.Direction direction) {
+        BsonValue id = last.get("_id");
+        String lastId = id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+        return new JournalCursor(Instant.ofEpochMilli(last.getDateTime("createdDate").getValue()), lastId, direction);
+    }
+
+    private interface Body {
+        void write(JsonGenerator gen) throws IOException;
+    }
+
+    private byte[] render(Body body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        try (JsonGenerator gen = jsonFactory.createGenerator(out)) {
+            body.write(gen);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory target; only a writer bug gets here
+        }
+        return out.toByteArray();
+    }
+}
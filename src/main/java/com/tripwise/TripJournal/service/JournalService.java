@@ -1,26 +1,50 @@
 package com.tripwise.TripJournal.service;
 
 import com.tripwise.TripJournal.dto.requests.CreateJournalRequest;
+import com.tripwise.TripJournal.dto.requests.MediaReadyEvent;
 import com.tripwise.TripJournal.dto.requests.UpdateJournalRequest;
+import com.tripwise.TripJournal.dto.responses.BatchCreateResponse;
+import com.tripwise.TripJournal.dto.responses.BulkDeleteResponse;
 import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.JournalSuggestion;
+import com.tripwise.TripJournal.dto.responses.MediaEventsResponse;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
 import com.tripwise.TripJournal.mapper.JournalMapper;
+import com.tripwise.TripJournal.model.EnrichmentStatus;
 import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.MediaPreview;
+import com.tripwise.TripJournal.repository.JournalCursor;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.JournalFilter;
 import com.tripwise.TripJournal.repository.JournalRepository;
-import com.tripwise.TripJournal.service.client.TripMediaClient;
+import com.tripwise.TripJournal.repository.SearchMode;
+import com.tripwise.TripJournal.service.cache.GeocodeCache;
+import com.tripwise.TripJournal.service.enrichment.EnrichmentMode;
+import com.tripwise.TripJournal.service.enrichment.EnrichmentWorker;
+import com.tripwise.TripJournal.service.media.MediaOutbox;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.*;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.query.Meta;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.server.ResponseStatusException;
 
 
 import java.time.Instant;
 import java.util.*;
+import java.util.stream.Collectors;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 
@@ -39,23 +63,112 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 public class JournalService {
     private final JournalRepository repository;
     private final JournalEnricher enricher;
-    private final TripMediaClient tripMediaClient;
     private final ServiceHelpers helpers;
     private final JournalMapper mapper;
     private final MetadataService metadataService;
+    private final EnrichmentWorker enrichmentWorker;
+    private final MeterRegistry meterRegistry;
+    private final Validator validator;
+    private final MediaOutbox mediaOutbox;
 
+    @Value("${journal.pagination.max-size:100}")
+    private int maxPageSize;
 
-    @Value("${journal.enrichment.enabled:true}")
-    private boolean enrichmentEnabled;
+    @Value("${journal.search.suggest.max-limit:20}")
+    private int maxSuggestions;
 
-    @Value("${journal.media-callbacks.enabled:true}")
-    private boolean mediaCallbacksEnabled;
+    @Value("${journal.search.estimate-cap:1000}")
+    private int estimateCap;
 
-    /** List journals for the authenticated user (paginated). */
-    public List<JournalResponse> findAllJournals(String userId) {
-        return repository.findByUserId(userId, Pageable.unpaged())
-                .map(mapper::toResponse)
-                .getContent();
+    @Value("${journal.batch.max-size:500}")
+    private int maxBatchSize;
+
+    /**
+     * List journals for the authenticated user, one keyset page at a time.
+     *
+     * @param size   page size (clamped to 1..{@code journal.pagination.max-size})
+     * @param sort   {@code createdDate,desc} (default) or {@code createdDate,asc}
+     * @param cursor {@code nextCursor} from the previous page; {@code null} for the first page
+     * @param fields sparse fieldset (e.g. {@code summary}); {@code null} for full journals
+     */
+    public PageResponse<JournalResponse> findJournalPage(String userId, int size, String sort, String cursor,
+                                                         String fields) {
+        return toPage(readJournalPage(userId, size, sort, cursor, fields));
+    }
+
+    /**
+     * The rows of a {@link #findJournalPage} page, not yet mapped; {@link #toPage(PageRows)} turns them into it.
+     *
+     * @throws ResponseStatusException 400 on an unsupported sort, unknown fields or an invalid cursor
+     */
+    public PageRows<Journal> readJournalPage(String userId, int size, String sort, String cursor, String fields) {
+        int pageSize = clampPageSize(size);
+        Sort.Direction direction = parseCreatedDateSort(sort);
+        JournalFields requested = parseFields(fields);
+        // createdDate builds the next cursor and modifiedDate the page's ETag, so both are always read (but only
+        // returned when requested)
+        JournalFields projection = requested.with("createdDate").with("modifiedDate");
+        JournalCursor after = parseCursor(cursor, direction, sort);
+
+        // Fetch one extra row to learn whether another page follows
+        List<Journal> rows = repository.findPageAfter(userId, after, direction, pageSize + 1, projection);
+        return new PageRows<>(rows, pageSize, direction, cursor, fields, requested);
+    }
+
+    /** The page response for rows read by {@link #readJournalPage}. */
+    public PageResponse<JournalResponse> toPage(PageRows<Journal> page) {
+        return toPage(page.rows(), page.pageSize(), page.direction(), page.requested());
+    }
+
+    int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    /** Decodes {@code nextCursor}; {@code null} for the first page. */
+    static JournalCursor parseCursor(String cursor, Sort.Direction direction, String sort) {
+        if (cursor == null || cursor.isBlank()) return null;
+
+        JournalCursor after;
+        try {
+            after = JournalCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor");
+        }
+        if (after.direction() != direction) {
+            throw new ResponseStatusException(BAD_REQUEST, "Cursor does not match sort: " + sort);
+        }
+        return after;
+    }
+
+    /**
+     * One page from {@code pageSize + 1} rows; the extra row only signals that another page follows.
+     *
+     * @param fields the requested fieldset; the rows must have been read with at least it plus {@code createdDate}
+     */
+    PageResponse<JournalResponse> toPage(List<Journal> rows, int pageSize, Sort.Direction direction,
+                                         JournalFields fields) {
+        boolean hasNext = rows.size() > pageSize;
+        List<Journal> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return PageResponse.<JournalResponse>builder()
+                .content(mapper.toResponses(page, fields))
+                .pageSize(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? JournalCursor.after(page.get(pageSize - 1), direction).encode() : null)
+                .build();
+    }
+
+    /** Only {@code createdDate} ordering is keyset-backed; the direction defaults to descending. */
+    static Sort.Direction parseCreatedDateSort(String sort) {
+        if (sort == null || sort.isBlank()) return Sort.Direction.DESC;
+
+        String[] parts = sort.split(",");
+        if (!"createdDate".equals(parts[0].trim())) {
+            throw new ResponseStatusException(BAD_REQUEST, "Unsupported sort: " + sort + " (use createdDate,asc|desc)");
+        }
+        return parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim()).orElse(Sort.Direction.DESC)
+                : Sort.Direction.DESC;
     }
 
     /** Get a single journal owned by the user. */
@@ -66,24 +179,143 @@ public class JournalService {
     }
 
 
-    /** Get a single journal owned by the user. */
-    public JournalResponse getJournal(String userId, String id) {
-        return repository.findByIdAndUserId(id, userId)
-                .map(mapper::toResponse)
+    /** Get a single journal owned by the user, optionally restricted to a sparse fieldset. */
+    public JournalResponse getJournal(String userId, String id, String fields) {
+        JournalFields projection = parseFields(fields);
+        return repository.findOwned(id, userId, projection)
+                .map(journal -> mapper.toResponse(journal, projection))
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Journal not found: " + id));
 
     }
 
+    /** {@code ?mode=} of the search endpoints; unknown modes are a 400. */
+    public static SearchMode parseSearchMode(String mode) {
+        try {
+            return SearchMode.parse(mode);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /** {@code ?fields=} as a Mongo projection; unknown names are a 400 rather than silently ignored. */
+    static JournalFields parseFields(String fields) {
+        try {
+            return JournalFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, e.getMessage());
+        }
+    }
 
-    /** Create a journal; user metadata overrides auto-enriched keys on conflict. */
-    public Journal createJournal(String userId, CreateJournalRequest req) {
-        Map<String, Object> auto = helpers.tryAutoMetadata(req.getCity(), req.getCountry());
-        Map<String, Object> merged = enricher.mergeMetadata(auto, req.getMetadata());
 
+    /**
+     * Create a journal; user metadata overrides auto-enriched keys on conflict.
+     * In async enrichment mode the journal is saved as {@link EnrichmentStatus#PENDING} and enriched in the background.
+     */
+    public JournalResponse createJournal(String userId, CreateJournalRequest req) {
+        boolean deferred = helpers.defersEnrichment(req.getCity());
+        AutoMetadata auto = deferred
+                ? AutoMetadata.NONE
+                : helpers.tryAutoMetadata(req.getCity(), req.getCountry());
 
 //        Map<String, Object> auto   = enricher.buildAutoMetadata(req.getCity(), req.getCountry());
 //        Map<String, Object> merged = enricher.mergeMetadata(auto, req.getMetadata());
 
+        Journal savedJournal = repository.save(newJournal(userId, req, auto, deferred));
+
+        if (deferred) enrichmentWorker.submit(savedJournal);
+
+        mediaOutbox.thumbnail(userId, savedJournal.getId());
+
+        return mapper.toResponse(savedJournal);
+    }
+
+    /**
+     * Create many journals at once (imports/migrations).
+     * <ul>
+     *   <li>Items are validated one by one; an invalid item is reported, the rest still go through.</li>
+     *   <li>Auto metadata is looked up once per distinct city/country, not once per journal.</li>
+     *   <li>All valid journals are stored with one unordered bulk insert.</li>
+     *   <li>tripmedia gets one batched thumbnail request for everything that was stored.</li>
+     * </ul>
+     */
+    public BatchCreateResponse createJournals(String userId, List<CreateJournalRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Batch must contain at least one journal");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new ResponseStatusException(BAD_REQUEST, "Batch too large: " + requests.size()
+                    + " (max " + maxBatchSize + ")");
+        }
+
+        BatchCreateResponse.Item[] results = new BatchCreateResponse.Item[requests.size()];
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error != null) results[i] = failedItem(i, error);
+            else positions.add(i);
+        }
+
+        // One lookup per distinct location, shared by every journal there
+        Map<String, AutoMetadata> autoByLocation = new HashMap<>();
+        List<Journal> journals = new ArrayList<>(positions.size());
+        for (int i : positions) {
+            CreateJournalRequest req = requests.get(i);
+            boolean deferred = helpers.defersEnrichment(req.getCity());
+            AutoMetadata auto = deferred
+                    ? AutoMetadata.NONE
+                    : autoByLocation.computeIfAbsent(GeocodeCache.key(req.getCity(), req.getCountry()),
+                            k -> helpers.tryAutoMetadata(req.getCity(), req.getCountry()));
+
+            Journal journal = newJournal(userId, req, auto, deferred);
+            journal.setId(new ObjectId().toHexString()); // known up front, so per-item results can name it
+            journals.add(journal);
+        }
+
+        Map<Integer, String> writeErrors = repository.insertUnordered(journals);
+
+        List<String> createdIds = new ArrayList<>();
+        for (int j = 0; j < journals.size(); j++) {
+            int i = positions.get(j);
+            Journal journal = journals.get(j);
+            String error = writeErrors.get(j);
+
+            if (error != null) {
+                results[i] = failedItem(i, error);
+                continue;
+            }
+            results[i] = BatchCreateResponse.Item.builder().index(i).status("CREATED").id(journal.getId()).build();
+            createdIds.add(journal.getId());
+            if (journal.getEnrichmentStatus() == EnrichmentStatus.PENDING) enrichmentWorker.submit(journal);
+        }
+
+        mediaOutbox.thumbnails(userId, createdIds);
+
+        return BatchCreateResponse.builder()
+                .created(createdIds.size())
+                .failed(requests.size() - createdIds.size())
+                .items(Arrays.asList(results))
+                .build();
+    }
+
+    /** Bean-validation messages for one batch item, or {@code null} when it is valid. */
+    private <T> String validate(T req) {
+        if (req == null) return "Item must not be null";
+
+        Set<ConstraintViolation<T>> violations = validator.validate(req);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static BatchCreateResponse.Item failedItem(int index, String error) {
+        return BatchCreateResponse.Item.builder().index(index).status("FAILED").error(error).build();
+    }
+
+    /** New journal from a create request; user metadata overrides the auto-enriched keys. */
+    Journal newJournal(String userId, CreateJournalRequest req, AutoMetadata auto, boolean deferred) {
         Journal journal = Journal.builder()
                 .userId(userId)
                 .itineraryId(req.getItineraryId())
@@ -91,18 +323,16 @@ public class JournalService {
                 .description(req.getDescription())
                 .city(req.getCity())
                 .country(req.getCountry())
+                .coverMediaId(req.getCoverMediaId())
                 .mediaIds(enricher.safeCopy(req.getMediaIds()))
                 .tags(enricher.safeCopy(req.getTags()))
-                .metadata(merged.isEmpty() ? null : merged)
+                .enrichmentStatus(deferred ? EnrichmentStatus.PENDING : null)
                 .createdDate(Instant.now())
                 .modifiedDate(Instant.now())
                 .build();
 
-        Journal savedJournal = repository.save(journal);
-
-        helpers.safeCall(() -> tripMediaClient.generateThumbnail(savedJournal.getId()) );
-
-        return savedJournal;
+        enricher.applyMetadata(journal, auto, req.getMetadata());
+        return journal;
     }
 
 
@@ -110,7 +340,6 @@ public class JournalService {
      * Full update (PUT semantics). If city/country changed, auto metadata is re-built.
      * User-provided metadata still wins on key conflicts.
      */
-    @Transactional
     public JournalResponse updateJournal(String userId, String id, UpdateJournalRequest req) {
         Journal existing = getJournalEntity(userId, id);
 
@@ -118,11 +347,14 @@ public class JournalService {
                 !Objects.equals(existing.getCity(), req.getCity()) ||
                 !Objects.equals(existing.getCountry(), req.getCountry());
 
-        Map<String, Object> baseAuto = locationChanged
-                ? helpers.tryAutoMetadata(req.getCity(), req.getCountry())
-                : enricher.extractAutoPortion(existing.getMetadata());
+        boolean deferred = locationChanged && helpers.defersEnrichment(req.getCity());
+
+        AutoMetadata baseAuto = !locationChanged
+                ? enricher.extractAutoPortion(existing)
+                : deferred
+                        ? AutoMetadata.NONE
+                        : helpers.tryAutoMetadata(req.getCity(), req.getCountry());
 
-        Map<String, Object> merged = enricher.mergeMetadata(baseAuto, req.getMetadata());
         boolean titleChanged = !Objects.equals(existing.getTitle(), req.getTitle());
 
         // Compare list fields defensively (null-safe)
@@ -132,22 +364,6 @@ public class JournalService {
         boolean mediaChanged = req.getMediaIds() != null
                 && !Objects.equals(existing.getMediaIds(), req.getMediaIds());
 
-        /**existing.setItineraryId(req.getItineraryId());
-        existing.setCity(req.getCity());
-        existing.setCountry(req.getCountry());
-        existing.setTitle(req.getTitle());
-        existing.setDescription(req.getDescription());
-        existing.setTags(enricher.safeCopy(req.getTags()));
-        existing.setMetadata(merged.isEmpty() ? null : merged);
-        existing.setModifiedDate(Instant.now());
-
-        Journal saved = repository.save(existing);
-
-        if (locationChanged || titleChanged) {
-            helpers.safeCall(() -> tripMediaClient.refreshAssets(saved.getId()));
-        }
-
-        return mapper.toResponse(saved);*/
         // Scalar updates
         if (req.getItineraryId() != null) existing.setItineraryId(req.getItineraryId());
         if (req.getCity() != null)        existing.setCity(req.getCity());
@@ -156,35 +372,62 @@ public class JournalService {
         if (req.getDescription() != null) existing.setDescription(req.getDescription());
 
         // List updates (null-safe copies only when provided)
-        //if (req.getCoverMediaId() != null) existing.setCoverMediaId(nonNullCopy(req.getCoverMediaId()));
+        if (req.getCoverMediaId() != null) existing.setCoverMediaId(req.getCoverMediaId());
 
         if (req.getMediaIds() != null)     existing.setMediaIds(enricher.safeCopy(req.getMediaIds()));
         if (req.getTags() != null)         existing.setTags(enricher.safeCopy(req.getTags()));
 
+        // Previews of media that is no longer attached go with it
+        if (coverChanged || mediaChanged) dropDetachedPreviews(existing);
+
         // Metadata (keep null when empty)
         if (req.getMetadata() != null || locationChanged) {
-            existing.setMetadata(merged.isEmpty() ? null : merged);
+            enricher.applyMetadata(existing, baseAuto, req.getMetadata());
+        }
+
+        // Background enrichment state follows the location
+        if (deferred) {
+            existing.setEnrichmentStatus(EnrichmentStatus.PENDING);
+            existing.setEnrichmentAttempts(0);
+            existing.setEnrichmentError(null);
+        } else if (locationChanged) {
+            existing.setEnrichmentStatus(null);
         }
 
         existing.setModifiedDate(Instant.now());
 
         Journal saved = repository.save(existing);
 
-        // If location/title/cover/media changed, refresh derived media
-        if (locationChanged || titleChanged || coverChanged || mediaChanged) {
-            helpers.safeCall(() -> tripMediaClient.refreshAssets(saved.getId()));
+        if (deferred) enrichmentWorker.submit(saved);
+
+        // If location/title/cover/media changed, refresh derived media (debounced per journal by the outbox)
+        Set<String> refreshReasons = new TreeSet<>();
+        if (locationChanged) refreshReasons.add("location");
+        if (titleChanged) refreshReasons.add("title");
+        if (coverChanged) refreshReasons.add("cover");
+        if (mediaChanged) refreshReasons.add("media");
+        if (!refreshReasons.isEmpty()) {
+            mediaOutbox.refresh(userId, saved.getId(), refreshReasons);
         }
 
         return mapper.toResponse(saved);
 
     }
 
+    private static void dropDetachedPreviews(Journal journal) {
+        if (journal.getMediaPreviews() == null) return;
+
+        Set<String> attached = new HashSet<>();
+        if (journal.getMediaIds() != null) attached.addAll(journal.getMediaIds());
+        if (journal.getCoverMediaId() != null) attached.add(journal.getCoverMediaId());
+        journal.getMediaPreviews().removeIf(p -> !attached.contains(p.getId()));
+    }
+
     private Journal getJournalEntity(String userId, String id) {
         return repository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Journal not found: " + id));
     }
 
-    @Transactional
     public JournalResponse patchJournal(String userId, String id, Map<String, Object> updates) {
         Journal existing = getJournalEntity(userId, id); // returns Journal entity
 
@@ -198,7 +441,8 @@ public class JournalService {
             existing.setTags((List<String>) updates.get("tags"));
         }
         if (updates.containsKey("metadata")) {
-            existing.setMetadata((Map<String, Object>) updates.get("metadata"));
+            enricher.applyMetadata(existing, enricher.extractAutoPortion(existing),
+                    (Map<String, Object>) updates.get("metadata"));
         }
 
         existing.setModifiedDate(Instant.now());
@@ -209,18 +453,114 @@ public class JournalService {
 
 
 
-    /** Delete a journal owned by the user. */
-    @Transactional
+    /**
+     * Delete a journal owned by the user; its media assets are cleaned up through the outbox. The outbox entry is
+     * written after the delete, not in the same transaction (no Mongo transaction manager is configured), so a crash
+     * in between leaves the assets behind.
+     */
     public void deleteJournal(String userId, String id) {
-        Journal existing = repository.findByIdAndUserId(id, userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Journal not found: " + id));
-
-        helpers.safeCall(() -> tripMediaClient.deleteAssets(existing.getId()));
-
-        long deleted = repository.deleteByIdAndUserId(existing.getId(), userId);
+        long deleted = repository.deleteByIdAndUserId(id, userId);
         if (deleted == 0) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Journal not found: " + id);
         }
+        mediaOutbox.deleted(userId, List.of(id));
+    }
+
+    /**
+     * Delete every journal of the user matching {@code filter} with one {@code deleteMany}; their media assets are
+     * cleaned up afterwards through the outbox, batched per user.
+     * At most {@code journal.batch.max-size} journals can be deleted per call.
+     */
+    public BulkDeleteResponse deleteJournals(String userId, JournalFilter filter) {
+        if (filter.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Specify ids, itineraryId, city, country or tag");
+        }
+
+        List<String> ids = repository.findIds(userId, filter, maxBatchSize + 1);
+        if (ids.size() > maxBatchSize) {
+            throw new ResponseStatusException(BAD_REQUEST, "More than " + maxBatchSize
+                    + " journals match; narrow the selection");
+        }
+
+        long deleted = repository.deleteOwned(userId, ids);
+        mediaOutbox.deleted(userId, ids);
+
+        return BulkDeleteResponse.builder()
+                .deleted(deleted)
+                .ids(ids)
+                .build();
+    }
+
+    /**
+     * Stores the previews from a batch of tripmedia asset-ready events on their owners' journals, with one ordered
+     * bulk write per owner. A later event for the same media replaces the earlier preview.
+     * Invalid events, and events for journals their {@code userId} does not own or media the journal no longer
+     * references, are ignored.
+     */
+    public MediaEventsResponse applyMediaEvents(List<MediaReadyEvent> events) {
+        if (events == null || events.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Batch must contain at least one event");
+        }
+        if (events.size() > maxBatchSize) {
+            throw new ResponseStatusException(BAD_REQUEST, "Batch too large: " + events.size()
+                    + " (max " + maxBatchSize + ")");
+        }
+
+        // owner -> journal -> media; last event per (journal, media) wins, so one write per preview
+        Map<String, Map<String, Map<String, MediaPreview>>> byUser = new LinkedHashMap<>();
+        for (MediaReadyEvent event : events) {
+            if (validate(event) != null) continue;
+            byUser.computeIfAbsent(event.getUserId(), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(event.getJournalId(), k -> new LinkedHashMap<>())
+                    .put(event.getMediaId(), MediaPreview.builder()
+                            .id(event.getMediaId())
+                            .cdnUrl(event.getCdnUrl())
+                            .width(event.getWidth())
+                            .height(event.getHeight())
+                            .build());
+        }
+
+        long applied = 0;
+        for (Map.Entry<String, Map<String, Map<String, MediaPreview>>> user : byUser.entrySet()) {
+            Map<String, Collection<MediaPreview>> previews = new LinkedHashMap<>();
+            user.getValue().forEach((journalId, byMedia) -> previews.put(journalId, byMedia.values()));
+            applied += repository.savePreviews(user.getKey(), previews);
+        }
+
+        return MediaEventsResponse.builder()
+                .received(events.size())
+                .applied((int) applied)
+                .build();
+    }
+
+    /**
+     * Newest journals of the user whose background enrichment is pending or failed (both when {@code status} is
+     * null), at most {@code size} (clamped like a page).
+     */
+    public List<JournalResponse> findEnrichmentBacklog(String userId, EnrichmentStatus status, int size) {
+        Collection<EnrichmentStatus> statuses = status != null
+                ? List.of(status)
+                : List.of(EnrichmentStatus.PENDING, EnrichmentStatus.FAILED);
+
+        return mapper.toResponses(repository.findByUserIdAndEnrichmentStatusInOrderByCreatedDateDesc(
+                userId, statuses, Pageable.ofSize(clampPageSize(size))));
+    }
+
+    /** Re-queue background enrichment for a journal owned by the user (e.g. one that FAILED). */
+    public JournalResponse retryEnrichment(String userId, String id) {
+        if (helpers.enrichmentMode() != EnrichmentMode.ASYNC) {
+            throw new ResponseStatusException(CONFLICT, "Async enrichment is not enabled");
+        }
+        Journal existing = getJournalEntity(userId, id);
+
+        existing.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        existing.setEnrichmentAttempts(0);
+        existing.setEnrichmentError(null);
+        existing.setModifiedDate(Instant.now());
+
+        Journal saved = repository.save(existing);
+        enrichmentWorker.submit(saved);
+        return mapper.toResponse(saved);
     }
 
 
@@ -230,5 +570,67 @@ public class JournalService {
         return repository.searchByUserAndTitle(userId, rx, pageable);
     }
 
+    /**
+     * Search the user's journals with the chosen engine (paginated). Each call is timed as {@code journal.search}
+     * tagged with the mode, so engines can be compared side by side.
+     * A blank term in {@link SearchMode#TEXT} mode falls back to the regex engine (which matches everything).
+     * {@code fields} limits what is read from MongoDB, as for {@link #findJournalPage}.
+     */
+    public Page<JournalResponse> search(String userId, String term, SearchMode mode, String fields,
+                                        Pageable pageable) {
+        SearchMode effective = (term == null || term.isBlank()) ? SearchMode.REGEX : mode;
+        String searchTerm = effective == SearchMode.REGEX ? enricher.containsRegex(term) : term.trim();
+        JournalFields projection = parseFields(fields);
+
+        Page<Journal> page = meterRegistry.timer("journal.search", "mode", effective.name().toLowerCase(Locale.ROOT))
+                .record(() -> repository.searchPage(userId, effective, searchTerm, pageable, projection));
+        return new PageImpl<>(mapper.toResponses(page.getContent(), projection), page.getPageable(),
+                page.getTotalElements());
+    }
+
+    /**
+     * Search without an exact count: returns the page plus {@code hasNext}. With {@code estimateTotal} the total is
+     * included too; it is exact when the last page is reached, otherwise a count capped at
+     * {@code journal.search.estimate-cap}.
+     */
+    public PageResponse<JournalResponse> searchSlice(String userId, String term, SearchMode mode, String fields,
+                                                     boolean estimateTotal, Pageable pageable) {
+        SearchMode effective = (term == null || term.isBlank()) ? SearchMode.REGEX : mode;
+        String searchTerm = effective == SearchMode.REGEX ? enricher.containsRegex(term) : term.trim();
+        JournalFields projection = parseFields(fields);
+
+        Slice<Journal> slice = meterRegistry.timer("journal.search", "mode", effective.name().toLowerCase(Locale.ROOT),
+                        "paging", "slice")
+                .record(() -> repository.searchSlice(userId, effective, searchTerm, pageable, projection));
+
+        PageResponse.PageResponseBuilder<JournalResponse> page = PageResponse.<JournalResponse>builder()
+                .content(mapper.toResponses(slice.getContent(), projection))
+                .pageSize(slice.getSize())
+                .pageNumber(slice.getNumber())
+                .hasNext(slice.hasNext());
+
+        if (estimateTotal) {
+            if (!slice.hasNext()) {
+                // last page: the total is known without counting
+                page.estimatedTotal(pageable.getOffset() + slice.getNumberOfElements()).totalCapped(false);
+            } else {
+                long counted = repository.countUpTo(userId, effective, searchTerm, estimateCap);
+                page.estimatedTotal(counted).totalCapped(counted >= estimateCap);
+            }
+        }
+        return page.build();
+    }
+
+    /** Type-ahead: ids and titles of the user's journals whose title starts with {@code prefix} (any case). */
+    public List<JournalSuggestion> suggest(String userId, String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) return List.of();
+        int max = Math.max(1, Math.min(limit, maxSuggestions));
+
+        return meterRegistry.timer("journal.search", "mode", "suggest")
+                .record(() -> repository.suggestByTitlePrefix(userId, prefix.trim(), max)).stream()
+                .map(j -> new JournalSuggestion(j.getId(), j.getTitle()))
+                .toList();
+    }
+
 
 }
@@ -0,0 +1,132 @@
+package com.tripwise.TripJournal.service;
+
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.JournalRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Sunday,  18.Oct.2026 | 12:30
+ * Description : Validators ({@code ETag} / {@code Last-Modified}) for {@code GET /journals} and
+ * {@code GET /journals/{id}}, from {@code modifiedDate}: a journal's is read by a projection so a {@code 304} never
+ * loads a full journal, a page's comes from the page query itself.
+ * ================================================================
+ */
+
+/**
+ * Every write that changes what a journal response shows sets {@code modifiedDate}, so it serves as the journal's
+ * version.
+ *
+ * <ul>
+ *   <li>A single journal's ETag covers its ID and {@code modifiedDate}; {@code Last-Modified} is {@code modifiedDate}
+ *   ({@code createdDate} for journals never modified).</li>
+ *   <li>A page's ETag covers the {@code (id, modifiedDate)} of the {@code pageSize + 1} rows the page query read, so
+ *   edits, creates and deletes inside the window all change it. Pages carry no {@code Last-Modified}: a delete
+ *   does not move the newest {@code modifiedDate} forward.</li>
+ *   <li>Both also cover the request parameters and the {@code representation} (mapped or raw JSON), since those
+ *   change the bytes of the response.</li>
+ * </ul>
+ * A journal's validator is read before the journal itself; if it changes in between, the client holds a newer body
+ * under an older ETag and simply gets a full response next time. A page's ETag and body always match.
+ */
+@Component
+@RequiredArgsConstructor
+public class JournalVersions {
+
+    /** Only what a version needs: {@code _id} is always included. */
+    private static final JournalFields VERSION_FIELDS = JournalFields.parse("modifiedDate").with("createdDate");
+
+    private final JournalRepository repository;
+
+    /**
+     * @param etag         strong entity tag, quoted
+     * @param lastModified {@code null} when none applies
+     */
+    public record Version(String etag, Instant lastModified) {
+    }
+
+    /**
+     * Version of {@code GET /journals/{id}}.
+     *
+     * @param representation distinguishes response renderings of the same data (e.g. {@code raw} / {@code mapped})
+     * @throws ResponseStatusException 404 if the journal does not exist or is not the user's; 400 on bad fields
+     */
+    public Version ofJournal(String userId, String id, String fields, String representation) {
+        JournalService.parseFields(fields); // same 400 as the full read
+        Journal journal = repository.findOwned(id, userId, VERSION_FIELDS)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Journal not found: " + id));
+
+        Instant version = versionOf(journal);
+        StringBuilder key = new StringBuilder(64)
+                .append(representation).append('|').append(fields).append('|');
+        append(key, journal.getId(), version);
+        return new Version(etag(key), version);
+    }
+
+    /**
+     * Version of {@code GET /journals}, from the rows the page itself was read with.
+     *
+     * @param representation distinguishes response renderings of the same data (e.g. {@code raw} / {@code mapped})
+     */
+    public Version ofPage(PageRows<Journal> page, String representation) {
+        StringBuilder key = pageKey(page, representation);
+        for (Journal row : page.rows()) {
+            append(key, row.getId(), versionOf(row));
+        }
+        return new Version(etag(key), null);
+    }
+
+    /** {@link #ofPage(PageRows, String)} for rows read on the raw JSON path. */
+    public Version ofRawPage(PageRows<RawBsonDocument> page, String representation) {
+        StringBuilder key = pageKey(page, representation);
+        for (RawBsonDocument row : page.rows()) {
+            append(key, idOf(row), versionOf(row));
+        }
+        return new Version(etag(key), null);
+    }
+
+    /* ---------- internals ---------- */
+
+    private static Instant versionOf(Journal journal) {
+        return journal.getModifiedDate() != null ? journal.getModifiedDate() : journal.getCreatedDate();
+    }
+
+    private static Instant versionOf(RawBsonDocument row) {
+        BsonValue date = row.containsKey("modifiedDate") ? row.get("modifiedDate") : row.get("createdDate");
+        return date != null && date.isDateTime() ? Instant.ofEpochMilli(date.asDateTime().getValue()) : null;
+    }
+
+    private static String idOf(RawBsonDocument row) {
+        BsonValue id = row.get("_id");
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    private static StringBuilder pageKey(PageRows<?> page, String representation) {
+        return new StringBuilder(32 + page.rows().size() * 40)
+                .append(representation).append('|').append(page.fields()).append('|')
+                .append(page.pageSize()).append('|').append(page.direction()).append('|')
+                .append(page.cursor()).append('|');
+    }
+
+    private static void append(StringBuilder key, String id, Instant version) {
+        key.append(id).append('@').append(version == null ? "-" : version.toEpochMilli()).append(';');
+    }
+
+    private static String etag(CharSequence key) {
+        return '"' + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+}
@@ -1,9 +1,12 @@
 package com.tripwise.TripJournal.service;
 
 import com.tripwise.TripJournal.dto.MetadataDTO;
+import com.tripwise.TripJournal.service.cache.GeocodeCache;
+import com.tripwise.TripJournal.service.cache.WeatherCache;
 import com.tripwise.TripJournal.service.client.WeatherClient;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 /**
  * ================================================================
@@ -13,12 +16,15 @@ import org.springframework.stereotype.Service;
  * Date        : Thursday,  28.Aug.2025 | 17:08
  * Description : Service responsible for building enriched metadata (GPS coordinates + current weather) for a given
  * location. Wraps the WeatherClient for geocoding and weather retrieval, and maps results into a{@link MetadataDTO}.
+ * Geocoding goes through {@link GeocodeCache} and weather through {@link WeatherCache}, so repeat cities skip the
+ * OpenWeather round trip.
  * ================================================================
  */
 @Service
 @RequiredArgsConstructor
 public class MetadataService {
-    private final WeatherClient weatherClient;
+    private final GeocodeCache geocodeCache;
+    private final WeatherCache weatherCache;
 
     /**
      * Builds a metadata object containing geocoded coordinates and current weather for the specified location.
@@ -30,9 +36,33 @@ public class MetadataService {
      */
     public MetadataDTO buildMetadata(String city, String countryCode) {
 
-        WeatherClient.Gps gps = weatherClient.geocode(city, countryCode);
-        WeatherClient.Weather wx = weatherClient.fetchCurrent(gps.lat(), gps.lon());
+        WeatherClient.Gps gps = geocodeCache.geocode(city, countryCode);
+        WeatherClient.Weather wx = weatherCache.fetchCurrent(gps.lat(), gps.lon());
 
+        return toMetadata(gps, wx);
+    }
+
+    /**
+     * Non-blocking variant of {@link #buildMetadata(String, String)}: geocoding and weather are chained without
+     * holding a thread while OpenWeather answers.
+     */
+    public Mono<MetadataDTO> buildMetadataAsync(String city, String countryCode) {
+        return geocodeCache.geocodeAsync(city, countryCode)
+                .flatMap(gps -> weatherCache.fetchCurrentAsync(gps.lat(), gps.lon())
+                        .map(wx -> toMetadata(gps, wx)));
+    }
+
+    /** Coordinates only, for callers that reference a shared weather observation instead of embedding weather. */
+    public WeatherClient.Gps geocode(String city, String countryCode) {
+        return geocodeCache.geocode(city, countryCode);
+    }
+
+    /** Non-blocking variant of {@link #geocode(String, String)}. */
+    public Mono<WeatherClient.Gps> geocodeAsync(String city, String countryCode) {
+        return geocodeCache.geocodeAsync(city, countryCode);
+    }
+
+    private static MetadataDTO toMetadata(WeatherClient.Gps gps, WeatherClient.Weather wx) {
         return MetadataDTO.builder()
                 .gps(MetadataDTO.GpsDTO.builder()
                         .lat(gps.lat())
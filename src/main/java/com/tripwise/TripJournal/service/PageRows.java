@@ -0,0 +1,31 @@
+package com.tripwise.TripJournal.service;
+
+import com.tripwise.TripJournal.repository.JournalFields;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Sunday,  18.Oct.2026 | 13:10
+ * Description : One keyset page of {@code GET /journals} as read from MongoDB, before it is mapped or rendered, so the
+ * page's ETag and its body come from the same query.
+ * ================================================================
+ */
+
+/**
+ * @param rows      up to {@code pageSize + 1} rows (the extra one only signals that another page follows), read with
+ *                  the requested fields plus {@code createdDate} and {@code modifiedDate}
+ * @param pageSize  the clamped page size
+ * @param direction the {@code createdDate} sort direction
+ * @param cursor    the {@code ?cursor=} the page was read after, as sent; {@code null} for the first page
+ * @param fields    the {@code ?fields=} as sent
+ * @param requested what the response may contain
+ * @param <T>       {@code Journal} or, on the raw JSON path, {@code RawBsonDocument}
+ */
+public record PageRows<T>(List<T> rows, int pageSize, Sort.Direction direction, String cursor, String fields,
+                          JournalFields requested) {
+}
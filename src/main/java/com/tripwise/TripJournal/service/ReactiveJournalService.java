@@ -0,0 +1,122 @@
+package com.tripwise.TripJournal.service;
+
+import com.tripwise.TripJournal.dto.requests.CreateJournalRequest;
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
+import com.tripwise.TripJournal.mapper.JournalMapper;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.repository.JournalCursor;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.ReactiveJournalRepository;
+import com.tripwise.TripJournal.service.enrichment.EnrichmentWorker;
+import com.tripwise.TripJournal.service.media.MediaOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.*;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 21:50
+ * Description : Non-blocking counterpart of {@link JournalService} for the reactive execution mode
+ * ({@code journal.reactive.enabled=true}).
+ * ================================================================
+ */
+
+/**
+ * Reactive journal reads and writes.
+ *
+ * <ul>
+ *   <li>Journals are read and written through {@link ReactiveJournalRepository}; geocoding and weather go through
+ *   the non-blocking caches and {@code WeatherClient}, so a create that needs enrichment holds no thread while
+ *   OpenWeather answers.</li>
+ *   <li>Request validation, the request-to-document mapping and paging rules are shared with
+ *   {@link JournalService}, so both modes behave the same.</li>
+ *   <li>The media outbox is still written with the blocking {@code MongoTemplate}; that short write runs on
+ *   {@link Schedulers#boundedElastic()} instead of the event loop.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "journal.reactive.enabled", havingValue = "true")
+public class ReactiveJournalService {
+    private final ReactiveJournalRepository repository;
+    private final JournalService journalService;
+    private final ServiceHelpers helpers;
+    private final JournalMapper mapper;
+    private final EnrichmentWorker enrichmentWorker;
+    private final MediaOutbox mediaOutbox;
+
+    /** Keyset page of the user's journals; same parameters as {@link JournalService#findJournalPage}. */
+    public Mono<PageResponse<JournalResponse>> findJournalPage(String userId, int size, String sort, String cursor,
+                                                               String fields) {
+        return Mono.defer(() -> {
+            int pageSize = journalService.clampPageSize(size);
+            Sort.Direction direction = JournalService.parseCreatedDateSort(sort);
+            JournalFields requested = JournalService.parseFields(fields);
+            JournalFields projection = requested.with("createdDate");
+            JournalCursor after = JournalService.parseCursor(cursor, direction, sort);
+
+            // mapping resolves weather observations through the blocking template
+            return repository.findPageAfter(userId, after, direction, pageSize + 1, projection)
+                    .collectList()
+                    .publishOn(Schedulers.boundedElastic())
+                    .map(rows -> journalService.toPage(rows, pageSize, direction, requested));
+        });
+    }
+
+    /** A single journal owned by the user, optionally restricted to a sparse fieldset. */
+    public Mono<JournalResponse> getJournal(String userId, String id, String fields) {
+        return Mono.defer(() -> {
+                    JournalFields projection = JournalService.parseFields(fields);
+                    return repository.findOwned(id, userId, projection)
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(journal -> mapper.toResponse(journal, projection));
+                })
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(NOT_FOUND, "Journal not found: " + id)));
+    }
+
+    /**
+     * Create a journal; see {@link JournalService#createJournal}. Inline enrichment is awaited without blocking;
+     * in async enrichment mode the journal is handed to the background worker as usual.
+     */
+    public Mono<JournalResponse> createJournal(String userId, CreateJournalRequest req) {
+        boolean deferred = helpers.defersEnrichment(req.getCity());
+        Mono<AutoMetadata> auto = deferred
+                ? Mono.just(AutoMetadata.NONE)
+                : helpers.tryAutoMetadataAsync(req.getCity(), req.getCountry());
+
+        return auto
+                .map(a -> journalService.newJournal(userId, req, a, deferred))
+                .flatMap(repository::save)
+                .flatMap(saved -> {
+                    if (deferred) enrichmentWorker.submit(saved);
+                    return offload(() -> mediaOutbox.thumbnail(userId, saved.getId())).thenReturn(saved);
+                })
+                .publishOn(Schedulers.boundedElastic()) // resolving the weather observation reads MongoDB
+                .map(mapper::toResponse);
+    }
+
+    /** Delete a journal owned by the user; its media assets are cleaned up through the outbox. */
+    public Mono<Void> deleteJournal(String userId, String id) {
+        return repository.deleteByIdAndUserId(id, userId)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new ResponseStatusException(NOT_FOUND, "Journal not found: " + id))
+                        : offload(() -> mediaOutbox.deleted(userId, List.of(id))));
+    }
+
+    /** Runs a blocking call off the event loop. */
+    private static Mono<Void> offload(Runnable blocking) {
+        return Mono.fromRunnable(blocking).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+}
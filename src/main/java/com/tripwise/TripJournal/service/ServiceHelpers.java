@@ -1,9 +1,12 @@
 package com.tripwise.TripJournal.service;
 
+import com.tripwise.TripJournal.service.enrichment.EnrichmentMode;
+import jakarta.annotation.PostConstruct;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.util.*;
 
@@ -22,28 +25,48 @@ import java.util.*;
 public class ServiceHelpers {
     private final JournalEnricher enricher;
 
-    @Value("${journal.enrichment.enabled:true}")
-    private boolean enrichmentEnabled;
+    @Value("${journal.enrichment.enabled:sync}")
+    private String enrichmentSetting;
 
+    private EnrichmentMode enrichmentMode;
 
-    public void safeCall(Runnable runnable) {
-        try {
-            runnable.run();
-        } catch (Exception e) {
-            log.warn("Downstream media call failed (continuing): {}", e.getMessage());
-            log.debug("Stacktrace:", e);
-        }
+    @PostConstruct
+    void parseSettings() {
+        enrichmentMode = EnrichmentMode.parse(enrichmentSetting);
+    }
+
+    /** Parsed {@code journal.enrichment.enabled} ({@code sync|async|off}; legacy {@code true/false} accepted). */
+    public EnrichmentMode enrichmentMode() {
+        return enrichmentMode;
     }
 
-    public Map<String, Object> tryAutoMetadata(String city, String country) {
-        if (!enrichmentEnabled || (city == null && country == null)) return Collections.emptyMap();
+    /** True when auto metadata for this location should be left to the background worker. */
+    public boolean defersEnrichment(String city) {
+        return enrichmentMode() == EnrichmentMode.ASYNC && city != null && !city.isBlank();
+    }
+
+    public AutoMetadata tryAutoMetadata(String city, String country) {
+        if (enrichmentMode() == EnrichmentMode.OFF || (city == null && country == null)) return AutoMetadata.NONE;
         try {
             return enricher.buildAutoMetadata(city, country);
         } catch (Exception e) {
             log.warn("Enrichment failed, continuing without it: {}", e.getMessage());
             log.debug("Enrichment stack:", e);
-            return Collections.emptyMap();
+            return AutoMetadata.NONE;
+        }
+    }
+
+    /** Non-blocking {@link #tryAutoMetadata}: enrichment failures yield {@link AutoMetadata#NONE}, never an error. */
+    public Mono<AutoMetadata> tryAutoMetadataAsync(String city, String country) {
+        if (enrichmentMode() == EnrichmentMode.OFF || (city == null && country == null)) {
+            return Mono.just(AutoMetadata.NONE);
         }
+        return enricher.buildAutoMetadataAsync(city, country)
+                .onErrorResume(e -> {
+                    log.warn("Enrichment failed, continuing without it: {}", e.getMessage());
+                    log.debug("Enrichment stack:", e);
+                    return Mono.just(AutoMetadata.NONE);
+                });
     }
 
 }
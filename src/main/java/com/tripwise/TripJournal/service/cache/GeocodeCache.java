@@ -0,0 +1,320 @@
+package com.tripwise.TripJournal.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tripwise.TripJournal.model.GeocodeCacheEntry;
+import com.tripwise.TripJournal.repository.GeocodeCacheRepository;
+import com.tripwise.TripJournal.service.client.LocationNotFoundException;
+import com.tripwise.TripJournal.service.client.OpenWeatherRateLimiter;
+import com.tripwise.TripJournal.service.client.WeatherClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.cache
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 09:31
+ * Description : Bounded, TTL-evicted cache in front of {@link WeatherClient#geocode(String, String)}.
+ * ================================================================
+ */
+
+/**
+ * Caches geocoding results keyed on the normalized (city, country) pair.
+ *
+ * <ul>
+ *   <li>Positive entries live for {@code journal.cache.geocode.ttl}; "Location not found" answers are cached as
+ *   negative entries for the shorter {@code journal.cache.geocode.negative-ttl}.</li>
+ *   <li>Transport errors are <em>not</em> cached, so an OpenWeather outage does not poison the cache. During an
+ *   outage (or while the OpenWeather circuit is open) a miss falls back to the location's entry in
+ *   {@code geocode_cache}, if any, without re-caching it.</li>
+ *   <li>Every resolution is written through to the {@code geocode_cache} collection and reloaded on startup; the
+ *   persisted copy expires after the same positive or negative TTL.</li>
+ *   <li>Concurrent misses for the same key share one lookup. The lookup runs outside Caffeine's compute lock (a
+ *   {@code synchronized} map bin), so a virtual thread waiting on OpenWeather does not pin its carrier. An interactive
+ *   miss does not wait on a background lookup (which may wait far longer for the call budget): it resolves the
+ *   location itself and completes the background lookup with its answer.</li>
+ *   <li>Hit/miss/eviction counters are published as {@code cache.*{cache=geocode}} meters.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class GeocodeCache {
+
+    private final WeatherClient weatherClient;
+    private final GeocodeCacheRepository repository;
+    private final Cache<String, GeocodeCacheEntry> cache;
+    private final Counter negativeHits;
+    private final Counter staleServed;
+    private final Counter overtaken;
+
+    /** Lookups currently resolving, keyed like {@link #cache}; joined by concurrent misses. */
+    private final Map<String, CompletableFuture<GeocodeCacheEntry>> inFlight = new ConcurrentHashMap<>();
+
+    /** The {@link #inFlight} lookups running at background priority. */
+    private final Set<CompletableFuture<GeocodeCacheEntry>> backgroundLoads = ConcurrentHashMap.newKeySet();
+
+    private final long maxSize;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final boolean warmStart;
+
+    public GeocodeCache(
+            WeatherClient weatherClient,
+            GeocodeCacheRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${journal.cache.geocode.max-size:5000}") long maxSize,
+            @Value("${journal.cache.geocode.ttl:7d}") Duration ttl,
+            @Value("${journal.cache.geocode.negative-ttl:1h}") Duration negativeTtl,
+            @Value("${journal.cache.geocode.warm-start:true}") boolean warmStart
+    ) {
+        this.weatherClient = weatherClient;
+        this.repository = repository;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.warmStart = warmStart;
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new EntryExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "geocode");
+        this.negativeHits = Counter.builder("journal.geocode.negative.hits")
+                .description("Geocode lookups answered from a cached 'Location not found' entry")
+                .register(meterRegistry);
+        this.staleServed = Counter.builder("journal.geocode.stale.served")
+                .description("Failed geocode lookups answered with the last persisted result")
+                .register(meterRegistry);
+        this.overtaken = Counter.builder("journal.geocode.background.overtaken")
+                .description("Interactive geocode lookups that did not wait on a background lookup of the same key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resolves a city (optionally with a country code) to coordinates, going to OpenWeather only on a cache miss.
+     *
+     * @param city        the city name (e.g., "Berlin")
+     * @param countryCode optional ISO 3166-1 alpha-2 code; may be {@code null}
+     * @return the cached or freshly resolved coordinates
+     * @throws LocationNotFoundException if OpenWeather has (or recently had) no match for the location
+     */
+    public WeatherClient.Gps geocode(String city, String countryCode) {
+        String key = key(city, countryCode);
+        GeocodeCacheEntry entry = cache.getIfPresent(key);
+
+        if (entry == null) {
+            entry = load(key, city, countryCode);
+        } else if (!entry.isFound()) {
+            negativeHits.increment();
+        }
+
+        if (!entry.isFound()) throw new LocationNotFoundException(city, countryCode);
+        return new WeatherClient.Gps(entry.getLat(), entry.getLon());
+    }
+
+    /**
+     * Non-blocking variant of {@link #geocode(String, String)}, sharing the same cache. A miss is resolved with
+     * {@link WeatherClient#geocodeAsync(String, String)}; the write-through to {@code geocode_cache} runs on
+     * {@link Schedulers#boundedElastic()} and is not waited for.
+     *
+     * @return the coordinates; fails with {@link LocationNotFoundException} as {@link #geocode} would throw it
+     */
+    public Mono<WeatherClient.Gps> geocodeAsync(String city, String countryCode) {
+        String key = key(city, countryCode);
+
+        return Mono.defer(() -> {
+            GeocodeCacheEntry cached = cache.getIfPresent(key);
+            if (cached != null && !cached.isFound()) negativeHits.increment();
+
+            Mono<GeocodeCacheEntry> entry = cached != null
+                    ? Mono.just(cached)
+                    : weatherClient.geocodeAsync(city, countryCode)
+                            .map(gps -> entry(key, city, countryCode).found(true).lat(gps.lat()).lon(gps.lon()).build())
+                            .onErrorResume(LocationNotFoundException.class,
+                                    e -> Mono.just(entry(key, city, countryCode).found(false).build()))
+                            .doOnNext(resolved -> {
+                                cache.put(key, resolved);
+                                Mono.fromRunnable(() -> persist(resolved))
+                                        .subscribeOn(Schedulers.boundedElastic())
+                                        .subscribe();
+                            })
+                            .onErrorResume(e -> Mono.fromCallable(() -> lastPersisted(key))
+                                    .subscribeOn(Schedulers.boundedElastic())
+                                    .doOnNext(stale -> staleServed.increment())
+                                    .switchIfEmpty(Mono.error(e)));
+
+            return entry.flatMap(e -> e.isFound()
+                    ? Mono.just(new WeatherClient.Gps(e.getLat(), e.getLon()))
+                    : Mono.error(new LocationNotFoundException(city, countryCode)));
+        });
+    }
+
+    /**
+     * Normalized cache key: trimmed, whitespace-collapsed, lower-case city plus upper-case country. Also used to
+     * group requests that resolve to the same location (see {@code JournalService#createJournals}).
+     */
+    public static String key(String city, String countryCode) {
+        String c = city == null ? "" : city.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        String cc = countryCode == null ? "" : countryCode.trim().toUpperCase(Locale.ROOT);
+        return c + "|" + cc;
+    }
+
+    /** Warm the in-memory cache from the {@code geocode_cache} collection once the app is up. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmStart) return;
+        try {
+            Instant now = Instant.now();
+            List<GeocodeCacheEntry> entries = repository.findByResolvedAtAfter(
+                    now.minus(ttl),
+                    PageRequest.of(0, (int) Math.min(maxSize, Integer.MAX_VALUE),
+                            Sort.by(Sort.Direction.DESC, "resolvedAt")));
+
+            int loaded = 0;
+            for (GeocodeCacheEntry e : entries) {
+                Duration remaining = lifetime(e).minus(Duration.between(e.getResolvedAt(), now));
+                if (remaining.isNegative() || remaining.isZero()) continue;
+
+                cache.policy().expireVariably().ifPresent(p -> p.put(e.getKey(), e, remaining));
+                loaded++;
+            }
+            log.info("Geocode cache warmed with {} entries", loaded);
+        } catch (Exception e) {
+            log.warn("Geocode cache warm-start failed (continuing cold): {}", e.getMessage());
+            log.debug("Warm-start stack:", e);
+        }
+    }
+
+    /* ---------- internals ---------- */
+
+    private GeocodeCacheEntry load(String key, String city, String countryCode) {
+        boolean background = OpenWeatherRateLimiter.currentPriority() == OpenWeatherRateLimiter.Priority.BACKGROUND;
+        CompletableFuture<GeocodeCacheEntry> mine = new CompletableFuture<>();
+        if (background) backgroundLoads.add(mine);
+
+        CompletableFuture<GeocodeCacheEntry> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            backgroundLoads.remove(mine);
+            if (background || existing.isDone() || !backgroundLoads.contains(existing)) return await(existing);
+
+            overtaken.increment();
+            GeocodeCacheEntry entry = resolve(key, city, countryCode);
+            cache.put(key, entry);
+            existing.complete(entry);
+            return entry;
+        }
+
+        try {
+            GeocodeCacheEntry entry = resolve(key, city, countryCode);
+            cache.put(key, entry);
+            mine.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            GeocodeCacheEntry stale = lastPersisted(key);
+            if (stale == null) {
+                mine.completeExceptionally(e);
+                throw e;
+            }
+            staleServed.increment();
+            mine.complete(stale);
+            return stale;
+        } finally {
+            inFlight.remove(key, mine);
+            backgroundLoads.remove(mine);
+        }
+    }
+
+    /** The location's entry in {@code geocode_cache}, however old; {@code null} if none or unreadable. */
+    private GeocodeCacheEntry lastPersisted(String key) {
+        try {
+            return repository.findById(key).orElse(null);
+        } catch (Exception e) {
+            log.debug("No persisted geocode fallback for '{}': {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private static GeocodeCacheEntry await(CompletableFuture<GeocodeCacheEntry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private GeocodeCacheEntry resolve(String key, String city, String countryCode) {
+        GeocodeCacheEntry.GeocodeCacheEntryBuilder entry = entry(key, city, countryCode);
+        try {
+            WeatherClient.Gps gps = weatherClient.geocode(city, countryCode);
+            entry.found(true).lat(gps.lat()).lon(gps.lon());
+        } catch (LocationNotFoundException e) {
+            entry.found(false);
+        }
+
+        GeocodeCacheEntry resolved = entry.build();
+        persist(resolved);
+        return resolved;
+    }
+
+    private static GeocodeCacheEntry.GeocodeCacheEntryBuilder entry(String key, String city, String countryCode) {
+        return GeocodeCacheEntry.builder()
+                .key(key)
+                .city(city)
+                .country(countryCode)
+                .resolvedAt(Instant.now());
+    }
+
+    private void persist(GeocodeCacheEntry entry) {
+        entry.setExpiresAt(entry.getResolvedAt().plus(lifetime(entry)));
+        try {
+            repository.save(entry);
+        } catch (Exception e) {
+            log.warn("Could not persist geocode entry '{}' (continuing): {}", entry.getKey(), e.getMessage());
+        }
+    }
+
+    private Duration lifetime(GeocodeCacheEntry entry) {
+        return entry.isFound() ? ttl : negativeTtl;
+    }
+
+    /** Positive and negative entries expire on different schedules; reads do not extend lifetime. */
+    private class EntryExpiry implements Expiry<String, GeocodeCacheEntry> {
+        @Override
+        public long expireAfterCreate(String key, GeocodeCacheEntry value, long currentTime) {
+            return lifetime(value).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, GeocodeCacheEntry value, long currentTime, long currentDuration) {
+            return lifetime(value).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, GeocodeCacheEntry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
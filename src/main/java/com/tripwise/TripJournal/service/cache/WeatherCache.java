@@ -0,0 +1,235 @@
+package com.tripwise.TripJournal.service.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tripwise.TripJournal.service.client.OpenWeatherRateLimiter;
+import com.tripwise.TripJournal.service.client.WeatherClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.cache
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 11:05
+ * Description : Short-TTL cache in front of {@link WeatherClient#fetchCurrent(double, double)}.
+ * ================================================================
+ */
+
+/**
+ * Caches current weather per lat/lon grid cell and coalesces concurrent lookups for the same cell.
+ *
+ * <ul>
+ *   <li>Coordinates are snapped to a grid of {@code journal.cache.weather.cell-size-degrees} (0.1&deg; is roughly
+ *   11&nbsp;km), and OpenWeather is queried for the cell centre so every journal in the cell sees the same value.</li>
+ *   <li>The first caller for a cell performs the HTTP call on its own thread; concurrent callers for the same cell
+ *   wait on that one in-flight future instead of issuing their own request (single-flight).</li>
+ *   <li>Except an interactive caller finding a {@link OpenWeatherRateLimiter.Priority#BACKGROUND background} lookup
+ *   in flight: that one may wait up to {@code max-wait.background} for the call budget, so the interactive caller
+ *   fetches at its own priority instead and completes the background lookup's future with its result.</li>
+ *   <li>Failed lookups are dropped from the cache immediately, so the next caller retries.</li>
+ *   <li>Every fetched value is also kept as the cell's last known weather for {@code journal.cache.weather.stale-ttl}.
+ *   When a lookup fails (OpenWeather down, its circuit open or its bulkhead full) that value is served instead.</li>
+ * </ul>
+ */
+@Component
+public class WeatherCache {
+
+    private final WeatherClient weatherClient;
+    private final AsyncCache<String, WeatherClient.Weather> cache;
+    private final Cache<String, WeatherClient.Weather> lastKnown;
+    private final Counter coalesced;
+    private final Counter staleServed;
+    private final Counter overtaken;
+    private final double cellSize;
+
+    /** In-flight futures of background lookups; interactive callers do not wait on these. */
+    private final Set<CompletableFuture<WeatherClient.Weather>> backgroundLoads = ConcurrentHashMap.newKeySet();
+
+    public WeatherCache(
+            WeatherClient weatherClient,
+            MeterRegistry meterRegistry,
+            @Value("${journal.cache.weather.max-size:10000}") long maxSize,
+            @Value("${journal.cache.weather.ttl:10m}") Duration ttl,
+            @Value("${journal.cache.weather.cell-size-degrees:0.1}") double cellSize,
+            @Value("${journal.cache.weather.stale-ttl:6h}") Duration staleTtl
+    ) {
+        if (cellSize <= 0) throw new IllegalArgumentException("journal.cache.weather.cell-size-degrees must be > 0");
+
+        this.weatherClient = weatherClient;
+        this.cellSize = cellSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(staleTtl)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "weather");
+        this.coalesced = Counter.builder("journal.weather.coalesced")
+                .description("Weather lookups that joined an in-flight request for the same grid cell")
+                .register(meterRegistry);
+        this.staleServed = Counter.builder("journal.weather.stale.served")
+                .description("Failed weather lookups answered with the cell's last known weather")
+                .register(meterRegistry);
+        this.overtaken = Counter.builder("journal.weather.background.overtaken")
+                .description("Interactive weather lookups that did not wait on a background lookup of the same cell")
+                .register(meterRegistry);
+        Gauge.builder("journal.weather.inflight", cache, c -> c.asMap().values().stream()
+                        .filter(f -> !f.isDone())
+                        .count())
+                .description("Weather lookups currently waiting on OpenWeather")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Current weather for the grid cell containing the given coordinates.
+     *
+     * @param lat latitude of the location
+     * @param lon longitude of the location
+     * @return the cached, joined or freshly fetched weather for the cell
+     * @throws RuntimeException if the weather data cannot be retrieved
+     */
+    public WeatherClient.Weather fetchCurrent(double lat, double lon) {
+        double cellLat = snap(lat);
+        double cellLon = snap(lon);
+        String key = key(cellLat, cellLon);
+
+        try {
+            return fetchCell(key, cellLat, cellLon);
+        } catch (RuntimeException e) {
+            WeatherClient.Weather stale = lastKnown.getIfPresent(key);
+            if (stale == null) throw e;
+            staleServed.increment();
+            return stale;
+        }
+    }
+
+    private WeatherClient.Weather fetchCell(String key, double cellLat, double cellLon) {
+        CompletableFuture<WeatherClient.Weather> mine = inFlight();
+        CompletableFuture<WeatherClient.Weather> existing = cache.asMap().putIfAbsent(key, mine);
+
+        if (existing != null) {
+            backgroundLoads.remove(mine);
+            if (!overtakes(existing)) {
+                if (!existing.isDone()) coalesced.increment();
+                return await(existing);
+            }
+            overtaken.increment();
+            WeatherClient.Weather weather = weatherClient.fetchCurrent(cellLat, cellLon);
+            lastKnown.put(key, weather);
+            existing.complete(weather);
+            return weather;
+        }
+
+        try {
+            WeatherClient.Weather weather = weatherClient.fetchCurrent(cellLat, cellLon);
+            lastKnown.put(key, weather);
+            mine.complete(weather);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e); // the cache discards failed futures on its own
+            throw e;
+        } finally {
+            backgroundLoads.remove(mine);
+        }
+        return await(mine);
+    }
+
+    /** A new in-flight future, registered as a background lookup when the caller runs at that priority. */
+    private CompletableFuture<WeatherClient.Weather> inFlight() {
+        CompletableFuture<WeatherClient.Weather> future = new CompletableFuture<>();
+        if (OpenWeatherRateLimiter.currentPriority() == OpenWeatherRateLimiter.Priority.BACKGROUND) {
+            backgroundLoads.add(future);
+        }
+        return future;
+    }
+
+    /** Whether the caller should fetch itself rather than wait on {@code existing}: interactive behind background. */
+    private boolean overtakes(CompletableFuture<WeatherClient.Weather> existing) {
+        return !existing.isDone()
+                && OpenWeatherRateLimiter.currentPriority() == OpenWeatherRateLimiter.Priority.INTERACTIVE
+                && backgroundLoads.contains(existing);
+    }
+
+    /**
+     * Non-blocking variant of {@link #fetchCurrent(double, double)}, sharing the same cache and in-flight lookups.
+     * The first caller's HTTP call runs on the WebClient event loop; no thread waits for it.
+     */
+    public Mono<WeatherClient.Weather> fetchCurrentAsync(double lat, double lon) {
+        double cellLat = snap(lat);
+        double cellLon = snap(lon);
+        String key = key(cellLat, cellLon);
+
+        return Mono.defer(() -> {
+            CompletableFuture<WeatherClient.Weather> mine = inFlight();
+            CompletableFuture<WeatherClient.Weather> existing = cache.asMap().putIfAbsent(key, mine);
+
+            if (existing != null) {
+                backgroundLoads.remove(mine);
+                if (!overtakes(existing)) {
+                    if (!existing.isDone()) coalesced.increment();
+                    return Mono.fromFuture(existing, true);
+                }
+                overtaken.increment();
+                return weatherClient.fetchCurrentAsync(cellLat, cellLon)
+                        .doOnNext(weather -> {
+                            lastKnown.put(key, weather);
+                            existing.complete(weather);
+                        });
+            }
+
+            weatherClient.fetchCurrentAsync(cellLat, cellLon)
+                    .doOnNext(weather -> lastKnown.put(key, weather))
+                    .doFinally(signal -> backgroundLoads.remove(mine))
+                    .subscribe(mine::complete, mine::completeExceptionally);
+            // one caller cancelling must not cancel the lookup others are waiting on
+            return Mono.fromFuture(mine, true);
+        }).onErrorResume(e -> {
+            WeatherClient.Weather stale = lastKnown.getIfPresent(key);
+            if (stale == null) return Mono.error(e);
+            staleServed.increment();
+            return Mono.just(stale);
+        });
+    }
+
+    private static String key(double cellLat, double cellLon) {
+        return String.format(Locale.ROOT, "%.4f,%.4f", cellLat, cellLon);
+    }
+
+    /**
+     * Grid cell of the given coordinates, in the same form as this cache's keys (e.g. {@code "52.5000,13.4000"}).
+     */
+    public String cellKey(double lat, double lon) {
+        return key(snap(lat), snap(lon));
+    }
+
+    private double snap(double degrees) {
+        return Math.round(degrees / cellSize) * cellSize;
+    }
+
+    private static WeatherClient.Weather await(CompletableFuture<WeatherClient.Weather> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.tripwise.TripJournal.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tripwise.TripJournal.model.WeatherObservation;
+import com.tripwise.TripJournal.service.client.WeatherClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.cache
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 23:15
+ * Description : Shared weather observations: one {@link WeatherObservation} per grid cell and hour, referenced by
+ * journals instead of each journal embedding its own copy of the weather.
+ * ================================================================
+ */
+
+/**
+ * Write and read side of the {@code weather_observations} time series.
+ *
+ * <ul>
+ *   <li>{@link #observe} returns the reference for the current hour's observation of the cell. An observation that
+ *   already exists (cached or in MongoDB, from any instance) is reused. Otherwise the weather is fetched once
+ *   through {@link WeatherCache} and inserted.</li>
+ *   <li>Within one instance, concurrent calls for the same cell and hour share one in-flight lookup (as in
+ *   {@link GeocodeCache}), so only the first of them may fetch and insert.</li>
+ *   <li>{@link #resolveAll} turns references back into observations for a whole page, with one MongoDB query for
+ *   whatever is not cached ({@code journal.cache.observations.*}).</li>
+ *   <li>Across instances nothing is coordinated: two instances observing the same new cell and hour may both
+ *   insert. Time-series collections cannot enforce uniqueness; reads take the earliest fetched document, and
+ *   either serves the reference.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class WeatherObservations {
+
+    private final WeatherCache weatherCache;
+    private final MongoTemplate mongoTemplate;
+    private final Cache<String, WeatherObservation> cache;
+    private final Counter reused;
+    private final Counter recorded;
+    private final boolean enabled;
+
+    /** Observations currently being looked up or recorded, keyed by reference; joined by concurrent calls. */
+    private final Map<String, CompletableFuture<WeatherObservation>> inFlight = new ConcurrentHashMap<>();
+
+    public WeatherObservations(
+            WeatherCache weatherCache,
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${journal.weather.observations.enabled:true}") boolean enabled,
+            @Value("${journal.cache.observations.max-size:20000}") long maxSize,
+            @Value("${journal.cache.observations.ttl:2h}") Duration ttl
+    ) {
+        this.weatherCache = weatherCache;
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "observations");
+        this.reused = Counter.builder("journal.weather.observations.reused")
+                .description("Enrichments that referenced an existing weather observation instead of fetching")
+                .register(meterRegistry);
+        this.recorded = Counter.builder("journal.weather.observations.recorded")
+                .description("Weather observations fetched and stored")
+                .register(meterRegistry);
+    }
+
+    /** {@code false} when journals should keep embedding weather ({@code journal.weather.observations.enabled}). */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Reference to the current hour's weather observation for the cell containing the coordinates.
+     *
+     * @throws RuntimeException if the observation does not exist yet and the weather cannot be retrieved
+     */
+    public String observe(double lat, double lon) {
+        String cell = weatherCache.cellKey(lat, lon);
+        Instant hour = currentHour();
+        String key = WeatherObservation.key(cell, hour);
+
+        CompletableFuture<WeatherObservation> mine = new CompletableFuture<>();
+        CompletableFuture<WeatherObservation> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) return await(existing).key();
+
+        try {
+            WeatherObservation observation = existing(cell, hour);
+            if (observation == null) observation = record(cell, hour, weatherCache.fetchCurrent(lat, lon));
+            mine.complete(observation);
+            return observation.key();
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Non-blocking {@link #observe}, sharing its in-flight lookups; the MongoDB lookup and insert run on
+     * {@link Schedulers#boundedElastic()}.
+     */
+    public Mono<String> observeAsync(double lat, double lon) {
+        String cell = weatherCache.cellKey(lat, lon);
+        Instant hour = currentHour();
+        String key = WeatherObservation.key(cell, hour);
+
+        return Mono.defer(() -> {
+            CompletableFuture<WeatherObservation> mine = new CompletableFuture<>();
+            CompletableFuture<WeatherObservation> existing = inFlight.putIfAbsent(key, mine);
+            if (existing != null) return Mono.fromFuture(existing, true).map(WeatherObservation::key);
+
+            Mono.fromCallable(() -> existing(cell, hour))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .switchIfEmpty(Mono.defer(() -> weatherCache.fetchCurrentAsync(lat, lon)
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(weather -> record(cell, hour, weather))))
+                    .doFinally(signal -> inFlight.remove(key, mine))
+                    .subscribe(mine::complete, mine::completeExceptionally);
+            // one caller cancelling must not cancel the lookup others are waiting on
+            return Mono.fromFuture(mine, true).map(WeatherObservation::key);
+        });
+    }
+
+    /**
+     * Observations for the given references; unknown or unreadable references are left out.
+     */
+    public Map<String, WeatherObservation> resolveAll(Collection<String> keys) {
+        if (keys.isEmpty()) return Map.of();
+        try {
+            return cache.getAll(keys, this::load);
+        } catch (Exception e) {
+            log.warn("Could not resolve {} weather observation(s) (continuing without): {}", keys.size(),
+                    e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /* ---------- internals ---------- */
+
+    private static WeatherObservation await(CompletableFuture<WeatherObservation> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private static Instant currentHour() {
+        return Instant.now().truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private WeatherObservation existing(String cell, Instant hour) {
+        String key = WeatherObservation.key(cell, hour);
+        WeatherObservation observation = cache.getIfPresent(key);
+        if (observation == null) {
+            observation = mongoTemplate.findOne(Query.query(where("cell").is(cell).and("observedAt").is(hour))
+                    .with(Sort.by(Sort.Direction.ASC, "fetchedAt")), WeatherObservation.class);
+            if (observation != null) cache.put(key, observation);
+        }
+        if (observation != null) reused.increment();
+        return observation;
+    }
+
+    private WeatherObservation record(String cell, Instant hour, WeatherClient.Weather weather) {
+        WeatherObservation observation = mongoTemplate.insert(WeatherObservation.builder()
+                .cell(cell)
+                .observedAt(hour)
+                .temperature(weather.temperature())
+                .description(weather.description())
+                .humidity(weather.humidity())
+                .windSpeed(weather.windSpeed())
+                .icon(weather.icon())
+                .fetchedAt(Instant.now())
+                .build());
+        cache.put(observation.key(), observation);
+        recorded.increment();
+        return observation;
+    }
+
+    /** One query for all missing references: {@code cell in (...) and observedAt in (...)}, then matched by key. */
+    private Map<String, WeatherObservation> load(Set<? extends String> keys) {
+        Set<String> cells = new HashSet<>();
+        Set<Instant> hours = new HashSet<>();
+        for (String key : keys) {
+            int at = key.lastIndexOf('@');
+            if (at < 0) continue;
+            try {
+                hours.add(Instant.parse(key.substring(at + 1)));
+                cells.add(key.substring(0, at));
+            } catch (RuntimeException ignore) {
+                // not a reference this service wrote
+            }
+        }
+        if (cells.isEmpty()) return Map.of();
+
+        Map<String, WeatherObservation> found = new HashMap<>();
+        mongoTemplate.find(Query.query(where("cell").in(cells).and("observedAt").in(hours)), WeatherObservation.class)
+                .forEach(observation -> {
+                    if (keys.contains(observation.key())) found.putIfAbsent(observation.key(), observation);
+                });
+        return found;
+    }
+}
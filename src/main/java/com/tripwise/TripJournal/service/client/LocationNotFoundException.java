@@ -0,0 +1,18 @@
+package com.tripwise.TripJournal.service.client;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.client
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 09:12
+ * Description : Raised when the OpenWeather geocoding API has no match for a city/country pair. Kept distinct from
+ * transport failures so callers can cache the "not found" answer without caching outages.
+ * ================================================================
+ */
+public class LocationNotFoundException extends RuntimeException {
+
+    public LocationNotFoundException(String city, String countryCode) {
+        super("Location not found: " + (countryCode == null ? city : city + "," + countryCode));
+    }
+}
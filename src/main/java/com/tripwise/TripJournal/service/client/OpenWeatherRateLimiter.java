@@ -0,0 +1,192 @@
+package com.tripwise.TripJournal.service.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.client
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 22:40
+ * Description : Token bucket for the OpenWeather API key, shared by geocoding and current-weather calls, so bursts
+ * stay under the plan's per-minute cap instead of running into 429s.
+ * ================================================================
+ */
+
+/**
+ * Client-side call budget for OpenWeather.
+ *
+ * <ul>
+ *   <li>The bucket holds up to {@code openweather.rate-limit.burst} tokens and refills continuously at
+ *   {@code openweather.rate-limit.calls-per-minute}. Every call takes one token.</li>
+ *   <li>{@link Priority#INTERACTIVE} calls (request threads, the default) may use every token.
+ *   {@link Priority#BACKGROUND} calls (background re-enrichment) leave {@code background-reserve} tokens for
+ *   interactive ones.</li>
+ *   <li>Without a token a call waits for the next one, up to {@code max-wait.interactive} /
+ *   {@code max-wait.background}, then fails with {@link RateLimitedException}. Waiting never holds a thread
+ *   ({@link Mono#delay}).</li>
+ *   <li>A 429 from OpenWeather empties the bucket, so callers back off until it refills.</li>
+ *   <li>{@code journal.openweather.quota.remaining} shows the tokens left; alert on it before the cap is hit.</li>
+ * </ul>
+ */
+@Component
+public class OpenWeatherRateLimiter {
+
+    /** Who is asking; decides how much of the budget a call may use and how long it may wait. */
+    public enum Priority { INTERACTIVE, BACKGROUND }
+
+    private static final ThreadLocal<Priority> PRIORITY = ThreadLocal.withInitial(() -> Priority.INTERACTIVE);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean enabled;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final double backgroundReserve;
+    private final Duration interactiveMaxWait;
+    private final Duration backgroundMaxWait;
+
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter throttled;
+
+    public OpenWeatherRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${openweather.rate-limit.enabled:true}") boolean enabled,
+            @Value("${openweather.rate-limit.calls-per-minute:60}") double callsPerMinute,
+            @Value("${openweather.rate-limit.burst:10}") int burst,
+            @Value("${openweather.rate-limit.background-reserve:2}") int backgroundReserve,
+            @Value("${openweather.rate-limit.max-wait.interactive:2s}") Duration interactiveMaxWait,
+            @Value("${openweather.rate-limit.max-wait.background:30s}") Duration backgroundMaxWait
+    ) {
+        if (callsPerMinute <= 0 || burst < 1) {
+            throw new IllegalArgumentException("openweather.rate-limit needs calls-per-minute > 0 and burst >= 1");
+        }
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.capacity = burst;
+        this.tokensPerNano = callsPerMinute / Duration.ofMinutes(1).toNanos();
+        this.backgroundReserve = Math.min(backgroundReserve, burst - 1);
+        this.interactiveMaxWait = interactiveMaxWait;
+        this.backgroundMaxWait = backgroundMaxWait;
+        this.tokens = burst;
+
+        this.throttled = Counter.builder("journal.openweather.throttled")
+                .description("OpenWeather calls answered with 429 Too Many Requests")
+                .register(meterRegistry);
+        Gauge.builder("journal.openweather.quota.remaining", this, OpenWeatherRateLimiter::remaining)
+                .description("OpenWeather calls that can be made right now without waiting")
+                .register(meterRegistry);
+        Gauge.builder("journal.openweather.quota.rate", () -> callsPerMinute)
+                .description("Configured OpenWeather call budget")
+                .baseUnit("calls/minute")
+                .register(meterRegistry);
+    }
+
+    /** Priority of OpenWeather calls made by the current thread. */
+    public static Priority currentPriority() {
+        return PRIORITY.get();
+    }
+
+    /** Runs {@code work} with its OpenWeather calls at {@link Priority#BACKGROUND}. */
+    public static <T> T asBackground(Callable<T> work) throws Exception {
+        Priority previous = PRIORITY.get();
+        PRIORITY.set(Priority.BACKGROUND);
+        try {
+            return work.call();
+        } finally {
+            PRIORITY.set(previous);
+        }
+    }
+
+    /**
+     * Completes once a token was taken for a call at {@code priority}; fails with {@link RateLimitedException}
+     * if none frees up within that priority's maximum wait.
+     */
+    public Mono<Void> acquire(Priority priority) {
+        if (!enabled) return Mono.empty();
+
+        Duration maxWait = priority == Priority.INTERACTIVE ? interactiveMaxWait : backgroundMaxWait;
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return attempt(priority, start + maxWait.toNanos(), maxWait)
+                    .doOnSuccess(v -> waited(priority, "acquired", start))
+                    .doOnError(RateLimitedException.class, e -> waited(priority, "rejected", start));
+        });
+    }
+
+    /** Empties the bucket after a 429: OpenWeather already counts us over the cap. */
+    public void throttled() {
+        throttled.increment();
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            tokens = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ---------- internals ---------- */
+
+    private Mono<Void> attempt(Priority priority, long deadline, Duration maxWait) {
+        long waitNanos = tryAcquire(priority);
+        if (waitNanos == 0) return Mono.empty();
+        if (System.nanoTime() + waitNanos > deadline) return Mono.error(new RateLimitedException(priority, maxWait));
+
+        return Mono.delay(Duration.ofNanos(waitNanos))
+                .then(Mono.defer(() -> attempt(priority, deadline, maxWait)));
+    }
+
+    /** Takes a token and returns 0, or returns how long until one would be available for {@code priority}. */
+    private long tryAcquire(Priority priority) {
+        double floor = priority == Priority.BACKGROUND ? backgroundReserve : 0;
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            if (tokens >= floor + 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((floor + 1 - tokens) / tokensPerNano));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+
+    private double remaining() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return Math.max(0, Math.floor(tokens));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void waited(Priority priority, String outcome, long startNanos) {
+        Timer.builder("journal.openweather.rate.wait")
+                .description("Time OpenWeather calls waited for the call budget")
+                .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+}
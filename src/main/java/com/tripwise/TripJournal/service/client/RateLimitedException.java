@@ -0,0 +1,21 @@
+package com.tripwise.TripJournal.service.client;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.client
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 22:50
+ * Description : Raised when no OpenWeather call budget frees up within the caller's maximum wait. The call was never
+ * sent, so this is not an OpenWeather failure.
+ * ================================================================
+ */
+public class RateLimitedException extends RuntimeException {
+
+    public RateLimitedException(OpenWeatherRateLimiter.Priority priority, Duration maxWait) {
+        super("OpenWeather call budget exhausted (" + priority.name().toLowerCase(Locale.ROOT) + " call waited " + maxWait + ")");
+    }
+}
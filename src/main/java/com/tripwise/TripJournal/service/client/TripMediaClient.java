@@ -2,12 +2,15 @@ package com.tripwise.TripJournal.service.client;
 
 import com.tripwise.TripJournal.dto.MediaSummary;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.*;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.*;
 
@@ -24,18 +27,22 @@ import java.util.*;
 /**
  * This component delegates media-related operations (thumbnail generation, asset refresh, deletion) to the
  * <code>tripmedia</code> service over HTTP.
- * It assumes service-to-service communication inside Docker using the network alias <code>http://tripmedia:9096</code>.
+ * It assumes service-to-service communication inside Docker using the network alias <code>http://tripmedia:9096</code>
+ * (override with <code>tripmedia.base-url</code>). Connections are pooled, and every call is bounded by the
+ * <code>tripmedia.http.*</code> connect/read/pool-acquire timeouts.
  *
  * <h3>Authentication</h3>
  * Requests are expected to include the user's <em>JWT</em> via the <code>Authorization: Bearer &lt;token&gt;</code> header.
- * Configure a {@link RestTemplate} bean with an interceptor that propagates the current request's JWT (see your <code>
- *     RestTemplateConfig
+ * Callbacks are sent by the media outbox outside any user request, so they take the owner's bearer token explicitly;
+ * the {@link RestTemplate} bean's interceptor only propagates the current request's JWT when there is one (see
+ * <code>HttpClientsConfig</code>).
  *
  * <h3>Endpoints used</h3>
  * <ul>
- *   <li><code>POST /media/thumbnail?journalId={id}</code></li>
- *   <li><code>POST /media/refresh?journalId={id}</code></li>
- *   <li><code>DELETE /media/delete?journalId={id}</code></li>
+ *   <li><code>POST /media/thumbnail/batch</code> (JSON array of journal IDs; requires a tripmedia release that
+ *   serves it)</li>
+ *   <li><code>POST /media/refresh?journalId={id}[&amp;reasons=title,location]</code></li>
+ *   <li><code>POST /media/delete/batch</code> (JSON array of journal IDs)</li>
  * </ul>
  *
  * <h3>Typical responses</h3>
@@ -45,67 +52,84 @@ import java.util.*;
 @Component
 @RequiredArgsConstructor
 public class TripMediaClient {
-    /** Base URL of the tripmedia service (Docker network hostname + port). */
+    /** Pooled clients rooted at {@code tripmedia.base-url} (see {@code HttpClientsConfig}). */
     private final RestTemplate restTemplate;
 
     private final WebClient webClient;
 
-    private static final String BASE = "http://tripmedia:9096";
-
-    @Value("${tripmedia.base-url:https://tripmedia:9096}")
-    private String mediaBase;
-
 
     /**
-     * Request thumbnail generation for the given journal.
+     * Request thumbnail generation for many journals of one user in a single call.
      *
-     * @param journalId the journal identifier; must not be {@code null}
+     * @param bearerToken token of the journals' owner (with or without the {@code Bearer } prefix)
+     * @param journalIds  the journal identifiers; nothing is sent when empty
      * @throws RestClientException if the request fails or returns a non-2xx status
      */
-    public void generateThumbnail(String journalId) {
-        restTemplate.postForLocation(BASE + "/media/thumbnail?journalId=" + journalId, null);
+    public void generateThumbnails(String bearerToken, List<String> journalIds) {
+        if (journalIds == null || journalIds.isEmpty()) return;
+        restTemplate.exchange("/media/thumbnail/batch", HttpMethod.POST,
+                new HttpEntity<>(journalIds, bearer(bearerToken)), Void.class);
     }
 
 
     /**
-     * Refresh/rehydrate media assets for the given journal (e.g., rebuild derived files, update captions/EXIF-derived fields).
+     * Refresh/rehydrate media assets for the given journal (e.g., rebuild derived files, update captions/EXIF-derived
+     * fields).
      *
-     * @param journalId the journal identifier; must not be {@code null}
+     * @param bearerToken token of the journal's owner (with or without the {@code Bearer } prefix)
+     * @param journalId   the journal identifier; must not be {@code null}
+     * @param reasons     what changed (e.g. {@code title}, {@code location}); sent as {@code reasons=a,b} when present
      * @throws RestClientException if the request fails or returns a non-2xx status
      */
-    public void refreshAssets(String journalId) {
-        restTemplate.postForLocation(BASE + "/media/refresh?journalId=" + journalId, null);
+    public void refreshAssets(String bearerToken, String journalId, Collection<String> reasons) {
+        String url = "/media/refresh?journalId=" + journalId;
+        if (reasons != null && !reasons.isEmpty()) url += "&reasons=" + String.join(",", reasons);
+
+        restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(bearer(bearerToken)), Void.class);
     }
 
     /**
-     * Delete all media assets associated with the given journal.
+     * Delete the media assets of many journals of one user in a single call.
      *
-     * @param journalId the journal identifier; must not be {@code null}
+     * @param bearerToken token of the journals' owner (with or without the {@code Bearer } prefix)
+     * @param journalIds  the journal identifiers; nothing is sent when empty
      * @throws RestClientException if the request fails or returns a non-2xx status
      */
-    public void deleteAssets(String journalId) {
-        restTemplate.delete(BASE + "/media/delete?journalId=" + journalId);
+    public void deleteAssets(String bearerToken, List<String> journalIds) {
+        if (journalIds == null || journalIds.isEmpty()) return;
+        restTemplate.exchange("/media/delete/batch", HttpMethod.POST,
+                new HttpEntity<>(journalIds, bearer(bearerToken)), Void.class);
     }
 
+    /**
+     * Media summaries for the given IDs in one call; fail-soft (empty list) as it only feeds {@code ?expand=media}.
+     */
     public List<MediaSummary> batch(String bearerToken, List<String> ids) {
-        if (ids == null || ids.isEmpty()) return Collections.emptyList();
-        try {
-            return webClient.post()
-                    .uri(mediaBase + "/media/batch")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .headers(h -> h.setBearerAuth(extractToken(bearerToken)))
-                    .bodyValue(ids)
-                    .retrieve()
-                    .bodyToFlux(MediaSummary.class)
-                    .collectList()
-                    .block();
-        } catch (Exception e) {
-            return Collections.emptyList(); // fail-soft on expansion
-        }
+        return batchAsync(bearerToken, ids).block();
+    }
+
+    /** Non-blocking variant of {@link #batch(String, List)}. */
+    public Mono<List<MediaSummary>> batchAsync(String bearerToken, List<String> ids) {
+        if (ids == null || ids.isEmpty()) return Mono.just(Collections.emptyList());
+        return webClient.post()
+                .uri("/media/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(h -> h.setBearerAuth(extractToken(bearerToken)))
+                .bodyValue(ids)
+                .retrieve()
+                .bodyToFlux(MediaSummary.class)
+                .collectList()
+                .onErrorReturn(Collections.emptyList()); // fail-soft on expansion
     }
 
     private String extractToken(String bearer) {
         return bearer != null && bearer.startsWith("Bearer ") ? bearer.substring(7) : bearer;
     }
 
+    private HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(extractToken(token));
+        return headers;
+    }
+
 }
@@ -1,10 +1,26 @@
 package com.tripwise.TripJournal.service.client;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
 
+import java.time.Duration;
 import java.util.*;
 
 /**
@@ -15,12 +31,26 @@ import java.util.*;
  * Date        : Thursday,  28.Aug.2025 | 16:21
  * Description : A Spring-managed client for interacting with the OpenWeather API. Provides methods for geocoding
  * (city → coordinates) and fetching current weather  data for given coordinates. Uses Spring WebClient or non-blocking HTTP calls.
+ * - Every call has connect/response timeouts and runs through the {@code openweather} bulkhead (caps concurrent
+ * calls) and circuit breaker (fails fast while OpenWeather is failing); both are configured under
+ * {@code resilience4j.*.instances.openweather}. Rejected calls fail with {@link CallNotPermittedException} or
+ * {@link BulkheadFullException} and are counted as {@code journal.openweather.rejected}.
+ * - Before that, each call takes a token from the shared {@link OpenWeatherRateLimiter} (per-minute API budget),
+ * unless the breaker is open or the bulkhead full, which reject without waiting for or spending a token.
  * ================================================================
  */
 @Component
 public class WeatherClient {
 
+    /** Name of the circuit breaker and bulkhead instances. */
+    public static final String OPENWEATHER = "openweather";
+
     private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final OpenWeatherRateLimiter rateLimiter;
+    private final Counter circuitOpen;
+    private final Counter bulkheadFull;
 
     @Value("${openweather.apiKey}")
     private String apiKey;
@@ -31,11 +61,31 @@ public class WeatherClient {
      *
      * @param builder the Spring-injected WebClient builder
      */
-    public WeatherClient(WebClient.Builder builder) {
+    public WeatherClient(
+            WebClient.Builder builder,
+            CircuitBreakerRegistry circuitBreakers,
+            BulkheadRegistry bulkheads,
+            OpenWeatherRateLimiter rateLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${openweather.baseUrl:https://api.openweathermap.org}") String baseUrl,
+            @Value("${openweather.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${openweather.http.read-timeout:3s}") Duration readTimeout
+    ) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+
         // use DI so it can share connection pool and timeouts
-        this.webClient = builder
-                .baseUrl("https://api.openweathermap.org")
+        this.webClient = builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
+
+        this.circuitBreaker = circuitBreakers.circuitBreaker(OPENWEATHER);
+        this.bulkhead = bulkheads.bulkhead(OPENWEATHER);
+        this.rateLimiter = rateLimiter;
+        this.circuitOpen = rejected(meterRegistry, "circuit-open");
+        this.bulkheadFull = rejected(meterRegistry, "bulkhead-full");
     }
 
     /**
@@ -45,10 +95,19 @@ public class WeatherClient {
      * @param city        the city name (e.g., "Berlin")
      * @param countryCode optional ISO 3166-1 alpha-2 code (e.g., "DE");  may be {@code null}
      * @return a {@link Gps} record containing latitude and longitude
-     * @throws RuntimeException if no matching location is found
+     * @throws LocationNotFoundException if no matching location is found
      */
     public Gps geocode(String city, String countryCode) {
-        List<GeoRes> res = webClient.get()
+        return geocodeAsync(city, countryCode).block();
+    }
+
+    /**
+     * Non-blocking variant of {@link #geocode(String, String)}.
+     *
+     * @return the coordinates; fails with {@link LocationNotFoundException} if no matching location is found
+     */
+    public Mono<Gps> geocodeAsync(String city, String countryCode) {
+        return webClient.get()
                 .uri(uri -> uri.path("/geo/1.0/direct")
                         .queryParam("q", countryCode == null ? city : city + "," + countryCode)
                         .queryParam("limit", 1)
@@ -57,11 +116,10 @@ public class WeatherClient {
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .bodyToFlux(GeoRes.class)
-                .collectList()
-                .block();
-
-        if (res == null || res.isEmpty()) throw new RuntimeException("Location not found");
-        return new Gps(res.get(0).lat, res.get(0).lon);
+                .next()
+                .map(res -> new Gps(res.lat, res.lon))
+                .switchIfEmpty(Mono.error(() -> new LocationNotFoundException(city, countryCode)))
+                .transform(this::guarded);
     }
 
     /**
@@ -73,7 +131,16 @@ public class WeatherClient {
      * @throws RuntimeException if the weather data cannot be retrieved
      */
     public Weather fetchCurrent(double lat, double lon) {
-        WxRes res = webClient.get()
+        return fetchCurrentAsync(lat, lon).block();
+    }
+
+    /**
+     * Non-blocking variant of {@link #fetchCurrent(double, double)}.
+     *
+     * @return the current weather; fails if the weather data cannot be retrieved
+     */
+    public Mono<Weather> fetchCurrentAsync(double lat, double lon) {
+        return webClient.get()
                 .uri(uri -> uri.path("/data/2.5/weather")
                         .queryParam("lat", lat)
                         .queryParam("lon", lon)
@@ -83,10 +150,57 @@ public class WeatherClient {
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .bodyToMono(WxRes.class)
-                .block();
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Weather fetch failed")))
+                .map(WeatherClient::toWeather)
+                .transform(this::guarded);
+    }
+
+    /**
+     * Takes a token from the {@link OpenWeatherRateLimiter} (at the calling thread's priority), then runs the call
+     * inside the circuit breaker, and that inside the bulkhead, so bulkhead rejections are not recorded as
+     * OpenWeather failures. A 429 answer empties the limiter's bucket; the breaker ignores it (see
+     * {@code resilience4j.circuitbreaker.instances.openweather.ignore-exceptions}).
+     * <p>
+     * An open breaker or a full bulkhead rejects before the limiter, so it fails fast instead of waiting for a token
+     * and does not spend the shared quota on calls that would not be sent. The limiter's wait stays outside the
+     * breaker so it is not timed as a slow OpenWeather call.
+     */
+    private <T> Mono<T> guarded(Mono<T> call) {
+        OpenWeatherRateLimiter.Priority priority = OpenWeatherRateLimiter.currentPriority();
+        return Mono.defer(this::permitted)
+                .then(Mono.defer(() -> rateLimiter.acquire(priority)))
+                .then(call
+                        .doOnError(WebClientResponseException.TooManyRequests.class, e -> rateLimiter.throttled())
+                        .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                        .transformDeferred(BulkheadOperator.of(bulkhead)))
+                .doOnError(CallNotPermittedException.class, e -> circuitOpen.increment())
+                .doOnError(BulkheadFullException.class, e -> bulkheadFull.increment());
+    }
+
+    /**
+     * Checks that the breaker and the bulkhead would let a call through right now. Permissions are handed straight
+     * back; the operators in {@link #guarded(Mono)} take the real ones once a token is held.
+     */
+    private Mono<Void> permitted() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+        }
+        circuitBreaker.releasePermission();
+        if (!bulkhead.tryAcquirePermission()) {
+            return Mono.error(BulkheadFullException.createBulkheadFullException(bulkhead));
+        }
+        bulkhead.releasePermission();
+        return Mono.empty();
+    }
 
-        if (res == null) throw new RuntimeException("Weather fetch failed");
+    private static Counter rejected(MeterRegistry registry, String reason) {
+        return Counter.builder("journal.openweather.rejected")
+                .description("OpenWeather calls rejected without being sent")
+                .tag("reason", reason)
+                .register(registry);
+    }
 
+    private static Weather toWeather(WxRes res) {
         String desc = (res.weather != null && !res.weather.isEmpty()) ? res.weather.get(0).description : null;
         String icon = (res.weather != null && !res.weather.isEmpty()) ? res.weather.get(0).icon : null;
 
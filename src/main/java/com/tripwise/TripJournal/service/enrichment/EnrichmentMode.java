@@ -0,0 +1,41 @@
+package com.tripwise.TripJournal.service.enrichment;
+
+import java.util.Locale;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.enrichment
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 12:14
+ * Description : How journals get their auto GPS + weather metadata ({@code journal.enrichment.enabled}).
+ * ================================================================
+ */
+public enum EnrichmentMode {
+    /** Enrich on the request thread before saving (original behaviour). */
+    SYNC,
+    /** Save immediately, enrich in the background and {@code $set} the result. */
+    ASYNC,
+    /** Never call OpenWeather. */
+    OFF;
+
+    /**
+     * Parses the configured value. The legacy booleans are still accepted: {@code true} means {@link #SYNC} and
+     * {@code false} means {@link #OFF}.
+     *
+     * @param value {@code sync|async|off|true|false} (case-insensitive); blank means {@link #SYNC}
+     * @return the matching mode
+     * @throws IllegalArgumentException for any other value
+     */
+    public static EnrichmentMode parse(String value) {
+        if (value == null || value.isBlank()) return SYNC;
+
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "sync", "true" -> SYNC;
+            case "async" -> ASYNC;
+            case "off", "false" -> OFF;
+            default -> throw new IllegalArgumentException(
+                    "journal.enrichment.enabled must be one of sync|async|off, got: " + value);
+        };
+    }
+}
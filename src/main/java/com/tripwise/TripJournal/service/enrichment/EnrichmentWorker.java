@@ -0,0 +1,288 @@
+package com.tripwise.TripJournal.service.enrichment;
+
+import com.tripwise.TripJournal.model.EnrichmentStatus;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.service.AutoMetadata;
+import com.tripwise.TripJournal.service.JournalEnricher;
+import com.tripwise.TripJournal.service.client.LocationNotFoundException;
+import com.tripwise.TripJournal.service.client.OpenWeatherRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.enrichment
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 12:25
+ * Description : Background worker pool that fills in {@code gps} / {@code weather} for journals
+ * saved in {@link EnrichmentMode#ASYNC} mode.
+ * ================================================================
+ */
+
+/**
+ * Enriches journals off the request thread.
+ *
+ * <ul>
+ *   <li>Work is queued on a fixed pool with a bounded queue; when the queue is full the journal simply stays
+ *   {@link EnrichmentStatus#PENDING} and is picked up by the periodic sweep. With {@code spring.threads.virtual.enabled}
+ *   the workers are virtual threads; the pool size then only caps concurrent OpenWeather calls.</li>
+ *   <li>Results are written with a targeted {@code $set} that only matches while the journal is still pending for the
+ *   same city/country, so a later location change is never overwritten with stale data. Keys the user supplied in
+ *   {@code metadata} are left untouched.</li>
+ *   <li>Transient failures are retried with exponential backoff; unknown locations fail immediately.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class EnrichmentWorker {
+
+    private final JournalEnricher enricher;
+    private final MongoTemplate mongoTemplate;
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retryScheduler;
+
+    /** Journals this instance currently owns (queued, running or waiting for a retry). */
+    private final Set<String> owned = ConcurrentHashMap.newKeySet();
+
+    private final Counter done;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter rejected;
+
+    private final EnrichmentMode mode;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration staleAfter;
+    private final int sweepBatchSize;
+
+    public EnrichmentWorker(
+            JournalEnricher enricher,
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${journal.enrichment.enabled:sync}") String mode,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${journal.enrichment.async.workers:4}") int workerCount,
+            @Value("${journal.enrichment.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${journal.enrichment.async.max-attempts:3}") int maxAttempts,
+            @Value("${journal.enrichment.async.retry-backoff:2s}") Duration retryBackoff,
+            @Value("${journal.enrichment.async.stale-after:2m}") Duration staleAfter,
+            @Value("${journal.enrichment.async.sweep-batch-size:200}") int sweepBatchSize
+    ) {
+        this.enricher = enricher;
+        this.mongoTemplate = mongoTemplate;
+        this.mode = EnrichmentMode.parse(mode);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.staleAfter = staleAfter;
+        this.sweepBatchSize = sweepBatchSize;
+
+        this.workers = new ThreadPoolExecutor(
+                workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                virtualThreads
+                        ? Thread.ofVirtual().name("enrichment-", 1).factory()
+                        : new CustomizableThreadFactory("enrichment-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("enrichment-retry-"));
+
+        this.done = outcome(meterRegistry, "done");
+        this.failed = outcome(meterRegistry, "failed");
+        this.retried = outcome(meterRegistry, "retried");
+        this.rejected = outcome(meterRegistry, "rejected");
+
+        Gauge.builder("journal.enrichment.queue.size", workers, w -> w.getQueue().size())
+                .description("Journals waiting for a background enrichment worker")
+                .register(meterRegistry);
+        Gauge.builder("journal.enrichment.active", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Background enrichments currently calling OpenWeather")
+                .register(meterRegistry);
+        Gauge.builder("journal.enrichment.owned", owned, Set::size)
+                .description("Journals queued, running or awaiting retry on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues background enrichment for a freshly saved {@link EnrichmentStatus#PENDING} journal.
+     * Never blocks; if the queue is full the journal is left for the periodic sweep.
+     *
+     * @param journal the saved journal (id, city, country and user metadata are used)
+     */
+    public void submit(Journal journal) {
+        Task task = Task.of(journal);
+        if (!owned.add(task.journalId())) return;
+        dispatch(task);
+    }
+
+    /**
+     * Re-queues pending journals nobody is working on: those rejected by a full queue, or left over by a restart.
+     */
+    @Scheduled(
+            initialDelayString = "${journal.enrichment.async.sweep-interval-ms:60000}",
+            fixedDelayString = "${journal.enrichment.async.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (mode != EnrichmentMode.ASYNC) return;
+        try {
+            Query query = Query.query(where("enrichmentStatus").is(EnrichmentStatus.PENDING)
+                            .and("modifiedDate").lt(Instant.now().minus(staleAfter)))
+                    .with(Sort.by(Sort.Direction.ASC, "modifiedDate")) // oldest first, off the status index
+                    .limit(sweepBatchSize);
+            query.fields().include("city", "country", "gps", "weather", "weatherObservation", "metadata", "userKeys",
+                    "enrichmentAttempts");
+
+            List<Journal> stale = mongoTemplate.find(query, Journal.class);
+            stale.forEach(this::submit);
+            if (!stale.isEmpty()) log.info("Enrichment sweep re-queued {} pending journals", stale.size());
+        } catch (Exception e) {
+            log.warn("Enrichment sweep failed (will retry): {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+    }
+
+    /* ---------- internals ---------- */
+
+    private void dispatch(Task task) {
+        try {
+            workers.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            owned.remove(task.journalId());
+            rejected.increment();
+            log.warn("Enrichment queue full; journal {} stays pending for the sweep", task.journalId());
+        }
+    }
+
+    private void run(Task task) {
+        try {
+            // background work must not eat the OpenWeather budget of interactive creates
+            AutoMetadata auto = OpenWeatherRateLimiter.asBackground(
+                    () -> enricher.buildAutoMetadata(task.city(), task.country()));
+            apply(task, auto);
+            owned.remove(task.journalId());
+            done.increment();
+        } catch (Exception e) {
+            handleFailure(task, rootCause(e));
+        }
+    }
+
+    private void apply(Task task, AutoMetadata auto) {
+        Update update = new Update()
+                .set("enrichmentStatus", EnrichmentStatus.DONE)
+                .set("modifiedDate", Instant.now()) // visible change: invalidates ETags
+                .unset("enrichmentError");
+
+        if (auto.gps() != null && !task.userKeys().contains("gps")) {
+            update.set("gps", auto.gps());
+        }
+        if (auto.hasWeather() && !task.userKeys().contains("weather")) {
+            if (auto.weather() != null) update.set("weather", auto.weather()).unset("weatherObservation");
+            else update.set("weatherObservation", auto.weatherObservation()).unset("weather");
+        }
+        mongoTemplate.updateFirst(stillPending(task), update, Journal.class);
+    }
+
+    private void handleFailure(Task task, Throwable cause) {
+        String error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        boolean permanent = cause instanceof LocationNotFoundException;
+
+        if (permanent || task.attempt() >= maxAttempts) {
+            mongoTemplate.updateFirst(stillPending(task), new Update()
+                    .set("enrichmentStatus", EnrichmentStatus.FAILED)
+                    .set("modifiedDate", Instant.now())
+                    .set("enrichmentError", error)
+                    .inc("enrichmentAttempts", 1), Journal.class);
+            owned.remove(task.journalId());
+            failed.increment();
+            log.warn("Enrichment of journal {} failed after {} attempt(s): {}", task.journalId(), task.attempt(), error);
+            return;
+        }
+
+        mongoTemplate.updateFirst(stillPending(task), new Update()
+                .set("enrichmentError", error)
+                .inc("enrichmentAttempts", 1), Journal.class);
+        retried.increment();
+
+        long delayMs = retryBackoff.toMillis() << Math.min(task.attempt() - 1, 10);
+        try {
+            retryScheduler.schedule(() -> dispatch(task.next()), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            owned.remove(task.journalId()); // shutting down; the sweep on the next start picks it up
+        }
+    }
+
+    /** Matches the journal only while it is still pending for the location this task was created for. */
+    private static Query stillPending(Task task) {
+        return Query.query(where("_id").is(task.journalId())
+                .and("enrichmentStatus").is(EnrichmentStatus.PENDING)
+                .and("city").is(task.city())
+                .and("country").is(task.country()));
+    }
+
+    private static Throwable rootCause(Throwable t) {
+        Throwable cause = t;
+        while (cause.getCause() != null && cause.getCause() != cause) cause = cause.getCause();
+        return cause;
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("journal.enrichment.outcomes")
+                .description("Background enrichment attempts by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * One unit of background work.
+     *
+     * @param userKeys parts supplied by the user ({@code gps}, {@code weather}), which auto-enrichment must not
+     *                 overwrite
+     * @param attempt  1-based attempt number
+     */
+    record Task(String journalId, String city, String country, Set<String> userKeys, int attempt) {
+
+        static Task of(Journal journal) {
+            if (journal.getUserKeys() != null) {
+                return new Task(journal.getId(), journal.getCity(), journal.getCountry(),
+                        Set.copyOf(journal.getUserKeys()), journal.getEnrichmentAttempts() + 1);
+            }
+
+            // written before userKeys was recorded: assume whatever is set came from the user (true for journals
+            // created pending, which have no auto metadata yet)
+            AutoMetadata present = AutoMetadata.of(journal);
+            Map<String, Object> legacy = journal.getMetadata() == null ? Map.of() : journal.getMetadata();
+            Set<String> userKeys = new HashSet<>();
+            if (present.gps() != null || legacy.containsKey("gps")) userKeys.add("gps");
+            if (present.hasWeather() || legacy.containsKey("weather")) userKeys.add("weather");
+            return new Task(journal.getId(), journal.getCity(), journal.getCountry(), Set.copyOf(userKeys),
+                    journal.getEnrichmentAttempts() + 1);
+        }
+
+        Task next() {
+            return new Task(journalId, city, country, userKeys, attempt + 1);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.tripwise.TripJournal.service.media;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tripwise.TripJournal.dto.MediaSummary;
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.service.client.TripMediaClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.media
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 20:40
+ * Description : Resolves {@code mediaIds} to {@link MediaSummary} objects for {@code ?expand=media}, with one
+ * tripmedia batch call per response and a short-TTL, per-user cache in front of it.
+ * ================================================================
+ */
+
+/**
+ * Fills {@link JournalResponse#getMedia()} for a page of journals.
+ *
+ * <ul>
+ *   <li>All {@code mediaIds} of the page are collected and deduplicated first.</li>
+ *   <li>Cached summaries are served directly; the rest are resolved with a single
+ *   {@link TripMediaClient#batch(String, List)} call and cached for {@code journal.cache.media.ttl}.</li>
+ *   <li>Entries are keyed by user and media ID: tripmedia authorizes each batch call against the caller's token,
+ *   so a summary one user was allowed to see is never served to another.</li>
+ *   <li>Expansion is best effort: IDs tripmedia cannot resolve (or a failed batch call) are left out.</li>
+ * </ul>
+ */
+@Component
+public class MediaExpander {
+
+    /** Values accepted by {@code ?expand=}. */
+    private static final Set<String> EXPANSIONS = Set.of("media");
+
+    private final TripMediaClient tripMediaClient;
+    private final Cache<MediaKey, MediaSummary> cache;
+
+    /** A media ID as resolved for one user. */
+    private record MediaKey(String userId, String mediaId) {
+    }
+
+    public MediaExpander(
+            TripMediaClient tripMediaClient,
+            MeterRegistry meterRegistry,
+            @Value("${journal.cache.media.max-size:10000}") long maxSize,
+            @Value("${journal.cache.media.ttl:5m}") Duration ttl
+    ) {
+        this.tripMediaClient = tripMediaClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "media");
+    }
+
+    /**
+     * Parses {@code ?expand=} (comma-separated).
+     *
+     * @param expand the raw parameter; may be {@code null}
+     * @return {@code true} when {@code media} is requested
+     * @throws ResponseStatusException 400 on unknown expansions
+     */
+    public static boolean wantsMedia(String expand) {
+        if (expand == null || expand.isBlank()) return false;
+
+        Set<String> requested = Arrays.stream(expand.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toSet());
+        for (String name : requested) {
+            if (!EXPANSIONS.contains(name)) throw new ResponseStatusException(BAD_REQUEST, "Unknown expand: " + name);
+        }
+        return requested.contains("media");
+    }
+
+    /**
+     * Sets {@code media} on each journal, in {@code mediaIds} order.
+     *
+     * @param journals    the journals to expand (modified in place)
+     * @param userId      the caller; cached summaries are only shared between requests of the same user
+     * @param bearerToken the caller's token, forwarded to tripmedia
+     */
+    public void expand(Collection<JournalResponse> journals, String userId, String bearerToken) {
+        Set<MediaKey> keys = new LinkedHashSet<>();
+        for (JournalResponse journal : journals) {
+            if (journal.getMediaIds() == null) continue;
+            for (String mediaId : journal.getMediaIds()) {
+                if (mediaId != null) keys.add(new MediaKey(userId, mediaId));
+            }
+        }
+
+        Map<MediaKey, MediaSummary> resolved = keys.isEmpty()
+                ? Map.of()
+                : cache.getAll(keys, missing -> load(userId, bearerToken, missing));
+
+        for (JournalResponse journal : journals) {
+            List<String> mediaIds = journal.getMediaIds() == null ? List.of() : journal.getMediaIds();
+            journal.setMedia(mediaIds.stream()
+                    .filter(Objects::nonNull)
+                    .map(mediaId -> resolved.get(new MediaKey(userId, mediaId)))
+                    .filter(Objects::nonNull)
+                    .toList());
+        }
+    }
+
+    private Map<MediaKey, MediaSummary> load(String userId, String bearerToken, Set<? extends MediaKey> missing) {
+        List<String> mediaIds = missing.stream().map(MediaKey::mediaId).toList();
+        return tripMediaClient.batch(bearerToken, mediaIds).stream()
+                .filter(m -> m != null && m.getId() != null)
+                .collect(Collectors.toMap(m -> new MediaKey(userId, m.getId()), Function.identity(), (a, b) -> a));
+    }
+}
@@ -0,0 +1,195 @@
+package com.tripwise.TripJournal.service.media;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
+import com.tripwise.TripJournal.model.MediaCallbackType;
+import com.tripwise.TripJournal.model.MediaOutboxEntry;
+import com.tripwise.TripJournal.model.OutboxStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.media
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 19:15
+ * Description : Write side of the {@code media_outbox}: records tripmedia callbacks next to the journal change that
+ * caused them, instead of calling tripmedia on the request thread.
+ * ================================================================
+ */
+
+/**
+ * Records tripmedia callbacks for {@link MediaOutboxDispatcher} to deliver.
+ *
+ * <ul>
+ *   <li>Callbacks coalesce per journal: at most one {@link OutboxStatus#PENDING} entry exists per journal and
+ *   {@link MediaCallbackType}, enforced by a partial unique index and written with upserts.</li>
+ *   <li>Refreshes are debounced: each edit pushes the pending entry's {@code nextAttemptAt} to now +
+ *   {@code refresh.debounce}, and adds its change reasons to the entry. The entry is sent once edits pause, or
+ *   at the latest {@code refresh.max-wait} after the first edit that scheduled it, however long edits go on.</li>
+ *   <li>A {@link MediaCallbackType#DELETE} drops pending thumbnail/refresh entries of the same journals.</li>
+ *   <li>Nothing is recorded when {@code journal.media-callbacks.enabled} is {@code false}.</li>
+ * </ul>
+ * The journal change has already been saved when an entry is written, so an outbox failure is logged and counted
+ * rather than failing the request.
+ */
+@Slf4j
+@Component
+public class MediaOutbox {
+
+    private final MongoTemplate mongoTemplate;
+    private final Counter writeFailures;
+    private final Counter refreshRequested;
+    private final Counter refreshCoalesced;
+    private final boolean enabled;
+    private final Duration refreshDebounce;
+    private final Duration refreshMaxWait;
+
+    public MediaOutbox(
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${journal.media-callbacks.enabled:true}") boolean enabled,
+            @Value("${journal.media-callbacks.refresh.debounce:5s}") Duration refreshDebounce,
+            @Value("${journal.media-callbacks.refresh.max-wait:60s}") Duration refreshMaxWait
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.refreshDebounce = refreshDebounce;
+        this.refreshMaxWait = refreshMaxWait;
+        this.writeFailures = Counter.builder("journal.media.outbox.write.failures")
+                .description("Media callbacks that could not be recorded in the outbox")
+                .register(meterRegistry);
+        this.refreshRequested = Counter.builder("journal.media.refresh.requested")
+                .description("Edits that asked for a media refresh")
+                .register(meterRegistry);
+        this.refreshCoalesced = Counter.builder("journal.media.refresh.coalesced")
+                .description("Refresh requests merged into an already pending refresh of the same journal")
+                .register(meterRegistry);
+        Gauge.builder("journal.media.refresh.debounce.window", refreshDebounce, Duration::toSeconds)
+                .description("Quiet period after the last edit before a journal's media is refreshed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("journal.media.refresh.max.wait", refreshMaxWait, Duration::toSeconds)
+                .description("Longest a refresh is held back while edits keep coming")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /** Thumbnails for a newly created journal. */
+    public void thumbnail(String userId, String journalId) {
+        record(userId, MediaCallbackType.THUMBNAIL, List.of(journalId));
+    }
+
+    /** Thumbnails for journals created in one batch. */
+    public void thumbnails(String userId, List<String> journalIds) {
+        record(userId, MediaCallbackType.THUMBNAIL, journalIds);
+    }
+
+    /**
+     * Rebuild derived media after an edit, debounced per journal.
+     *
+     * @param reasons what changed ({@code title}, {@code location}, {@code cover}, {@code media})
+     */
+    public void refresh(String userId, String journalId, Collection<String> reasons) {
+        if (!enabled) return;
+        refreshRequested.increment();
+
+        Instant now = Instant.now();
+        Update update = new Update()
+                .set("nextAttemptAt", now.plus(refreshDebounce))
+                .addToSet("reasons").each(reasons.toArray())
+                .setOnInsert("userId", userId)
+                .setOnInsert("attempts", 0)
+                // $min: a retried entry has no deadline, so the first edit after it sets one again, later edits
+                // never move it back
+                .min("deadline", now.plus(refreshMaxWait))
+                .setOnInsert("createdAt", now);
+        try {
+            UpdateResult result;
+            try {
+                result = mongoTemplate.upsert(pending(journalId, MediaCallbackType.REFRESH), update,
+                        MediaOutboxEntry.class);
+            } catch (DuplicateKeyException e) {
+                // lost an insert race with a concurrent edit; its entry now exists, so this matches it
+                result = mongoTemplate.upsert(pending(journalId, MediaCallbackType.REFRESH), update,
+                        MediaOutboxEntry.class);
+            }
+            if (result.getMatchedCount() > 0) refreshCoalesced.increment();
+        } catch (Exception e) {
+            failed(MediaCallbackType.REFRESH, 1, e);
+        }
+    }
+
+    /** Asset cleanup for deleted journals. */
+    public void deleted(String userId, List<String> journalIds) {
+        if (journalIds.isEmpty() || !enabled) return;
+        try {
+            mongoTemplate.remove(Query.query(where("journalId").in(journalIds)
+                    .and("status").is(OutboxStatus.PENDING)
+                    .and("type").in(MediaCallbackType.THUMBNAIL, MediaCallbackType.REFRESH)), MediaOutboxEntry.class);
+        } catch (Exception e) {
+            log.warn("Could not drop superseded media callbacks (continuing): {}", e.getMessage());
+        }
+        record(userId, MediaCallbackType.DELETE, journalIds);
+    }
+
+    /* ---------- internals ---------- */
+
+    private void record(String userId, MediaCallbackType type, List<String> journalIds) {
+        if (journalIds.isEmpty() || !enabled) return;
+
+        Instant now = Instant.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MediaOutboxEntry.class);
+        for (String journalId : journalIds) {
+            ops.upsert(pending(journalId, type), new Update()
+                    .setOnInsert("userId", userId)
+                    .setOnInsert("attempts", 0)
+                    .setOnInsert("nextAttemptAt", now)
+                    .setOnInsert("createdAt", now));
+        }
+
+        try {
+            ops.execute();
+        } catch (BulkOperationException e) {
+            // a concurrent upsert of the same (journal, type) already created the pending entry: coalesced
+            long lost = e.getErrors().stream().filter(err -> !isDuplicateKey(err)).count();
+            if (lost > 0) failed(type, lost, e);
+        } catch (Exception e) {
+            failed(type, journalIds.size(), e);
+        }
+    }
+
+    private static Query pending(String journalId, MediaCallbackType type) {
+        return Query.query(where("journalId").is(journalId)
+                .and("type").is(type)
+                .and("status").is(OutboxStatus.PENDING));
+    }
+
+    private static boolean isDuplicateKey(BulkWriteError error) {
+        return ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY;
+    }
+
+    private void failed(MediaCallbackType type, long count, Exception e) {
+        writeFailures.increment(count);
+        log.error("Could not record {} {} media callback(s): {}", count, type, e.getMessage());
+        log.debug("Stacktrace:", e);
+    }
+}
@@ -0,0 +1,293 @@
+package com.tripwise.TripJournal.service.media;
+
+import com.tripwise.TripJournal.model.MediaCallbackType;
+import com.tripwise.TripJournal.model.MediaOutboxEntry;
+import com.tripwise.TripJournal.model.OutboxStatus;
+import com.tripwise.TripJournal.service.TokenService;
+import com.tripwise.TripJournal.service.client.TripMediaClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.media
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Saturday,  17.Oct.2026 | 19:30
+ * Description : Background dispatcher that drains the {@code media_outbox} collection into tripmedia.
+ * ================================================================
+ */
+
+/**
+ * Delivers recorded {@link MediaOutboxEntry media callbacks} in batches.
+ *
+ * <ul>
+ *   <li>An entry is due at {@code nextAttemptAt}; debounced refreshes also at their {@code deadline}.</li>
+ *   <li>Due entries are claimed with a lease ({@code claimToken} + {@code claimedUntil}), so several instances can
+ *   poll the same outbox; entries of a dispatcher that died are reclaimed once the lease runs out.</li>
+ *   <li>Claimed entries are grouped per user: thumbnails and deletes go out as one batched call per user, refreshes
+ *   one call per journal. Each user's calls carry a token minted for that user, as there is no request to forward
+ *   a JWT from.</li>
+ *   <li>Delivered entries are removed. Failures are retried with exponential backoff up to
+ *   {@code journal.media-callbacks.max-attempts}, then kept as {@link OutboxStatus#FAILED}.</li>
+ *   <li>Outbox depth and the age of the oldest undelivered callback are published as gauges.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class MediaOutboxDispatcher {
+
+    private final MongoTemplate mongoTemplate;
+    private final TripMediaClient tripMediaClient;
+    private final TokenService tokenService;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter retried;
+    private final Counter failed;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lease;
+
+    public MediaOutboxDispatcher(
+            MongoTemplate mongoTemplate,
+            TripMediaClient tripMediaClient,
+            TokenService tokenService,
+            MeterRegistry meterRegistry,
+            @Value("${journal.media-callbacks.enabled:true}") boolean enabled,
+            @Value("${journal.media-callbacks.batch-size:100}") int batchSize,
+            @Value("${journal.media-callbacks.max-batches-per-poll:10}") int maxBatchesPerPoll,
+            @Value("${journal.media-callbacks.max-attempts:8}") int maxAttempts,
+            @Value("${journal.media-callbacks.retry-backoff:5s}") Duration retryBackoff,
+            @Value("${journal.media-callbacks.lease:2m}") Duration lease
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.tripMediaClient = tripMediaClient;
+        this.tokenService = tokenService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.lease = lease;
+
+        this.retried = Counter.builder("journal.media.outbox.retried")
+                .description("Media callback deliveries that failed and were rescheduled")
+                .register(meterRegistry);
+        this.failed = Counter.builder("journal.media.outbox.failed")
+                .description("Media callbacks given up on after the configured attempts")
+                .register(meterRegistry);
+
+        Gauge.builder("journal.media.outbox.depth", depth, AtomicLong::get)
+                .description("Media callbacks pending or in flight")
+                .register(meterRegistry);
+        Gauge.builder("journal.media.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest undelivered media callback")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /** Claims and delivers due callbacks until the outbox is drained or the per-poll batch limit is reached. */
+    @Scheduled(
+            initialDelayString = "${journal.media-callbacks.poll-interval-ms:1000}",
+            fixedDelayString = "${journal.media-callbacks.poll-interval-ms:1000}")
+    public void drain() {
+        if (!enabled) return;
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                List<MediaOutboxEntry> claimed = claim();
+                if (claimed.isEmpty()) break;
+
+                deliver(claimed);
+                if (claimed.size() < batchSize) break;
+            }
+            updateGauges();
+        } catch (Exception e) {
+            log.warn("Media outbox drain failed (will retry): {}", e.getMessage());
+            log.debug("Stacktrace:", e);
+        }
+    }
+
+    /* ---------- internals ---------- */
+
+    private List<MediaOutboxEntry> claim() {
+        Instant now = Instant.now();
+
+        Query due = Query.query(due(now))
+                .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"))
+                .limit(batchSize);
+        due.fields().include("_id");
+        List<String> ids = mongoTemplate.find(due, MediaOutboxEntry.class).stream()
+                .map(MediaOutboxEntry::getId)
+                .toList();
+        if (ids.isEmpty()) return List.of();
+
+        // re-check "due" so entries claimed by another instance in the meantime are skipped
+        String token = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                Query.query(new Criteria().andOperator(where("_id").in(ids), due(now))),
+                new Update()
+                        .set("status", OutboxStatus.IN_FLIGHT)
+                        .set("claimToken", token)
+                        .set("claimedUntil", now.plus(lease)),
+                MediaOutboxEntry.class);
+
+        return mongoTemplate.find(Query.query(where("claimToken").is(token)), MediaOutboxEntry.class);
+    }
+
+    /** Pending and due (or past its debounce deadline), or in flight with an expired lease. */
+    private static Criteria due(Instant now) {
+        return new Criteria().orOperator(
+                where("status").is(OutboxStatus.PENDING).and("nextAttemptAt").lte(now),
+                where("status").is(OutboxStatus.PENDING).and("deadline").lte(now),
+                where("status").is(OutboxStatus.IN_FLIGHT).and("claimedUntil").lt(now));
+    }
+
+    private void deliver(List<MediaOutboxEntry> claimed) {
+        Map<String, List<MediaOutboxEntry>> byUser = claimed.stream()
+                .collect(Collectors.groupingBy(MediaOutboxEntry::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        byUser.forEach((userId, entries) -> {
+            String token;
+            try {
+                token = tokenService.mint(userId);
+            } catch (Exception e) {
+                entries.forEach(entry -> reschedule(entry, e));
+                return;
+            }
+
+            Map<MediaCallbackType, List<MediaOutboxEntry>> byType = entries.stream()
+                    .collect(Collectors.groupingBy(MediaOutboxEntry::getType));
+
+            send(byType.get(MediaCallbackType.THUMBNAIL),
+                    batch -> tripMediaClient.generateThumbnails(token, journalIds(batch)));
+            send(byType.get(MediaCallbackType.DELETE),
+                    batch -> tripMediaClient.deleteAssets(token, journalIds(batch)));
+
+            for (MediaOutboxEntry refresh : byType.getOrDefault(MediaCallbackType.REFRESH, List.of())) {
+                send(List.of(refresh), batch -> tripMediaClient.refreshAssets(token, refresh.getJournalId(),
+                        refresh.getReasons()));
+            }
+        });
+    }
+
+    /** Runs one tripmedia call for {@code batch}; the entries succeed or fail together. */
+    private void send(List<MediaOutboxEntry> batch, Consumer<List<MediaOutboxEntry>> call) {
+        if (batch == null || batch.isEmpty()) return;
+
+        MediaCallbackType type = batch.get(0).getType();
+        long start = System.nanoTime();
+        try {
+            call.accept(batch);
+            record(type, "success", start);
+        } catch (Exception e) {
+            record(type, "failure", start);
+            batch.forEach(entry -> reschedule(entry, e));
+            return;
+        }
+
+        mongoTemplate.remove(Query.query(where("_id").in(batch.stream().map(MediaOutboxEntry::getId).toList())
+                .and("claimToken").is(batch.get(0).getClaimToken())), MediaOutboxEntry.class);
+    }
+
+    private void reschedule(MediaOutboxEntry entry, Exception cause) {
+        String error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        int attempts = entry.getAttempts() + 1;
+        Query owned = Query.query(where("_id").is(entry.getId()).and("claimToken").is(entry.getClaimToken()));
+
+        if (attempts >= maxAttempts) {
+            mongoTemplate.updateFirst(owned, released()
+                    .set("status", OutboxStatus.FAILED)
+                    .set("attempts", attempts)
+                    .set("lastError", error), MediaOutboxEntry.class);
+            failed.increment();
+            log.warn("Giving up on {} callback for journal {} after {} attempts: {}",
+                    entry.getType(), entry.getJournalId(), attempts, error);
+            return;
+        }
+
+        long delayMs = retryBackoff.toMillis() << Math.min(attempts - 1, 10);
+        try {
+            mongoTemplate.updateFirst(owned, released()
+                    .set("status", OutboxStatus.PENDING)
+                    .set("attempts", attempts)
+                    .set("nextAttemptAt", Instant.now().plusMillis(delayMs))
+                    .set("lastError", error), MediaOutboxEntry.class);
+            retried.increment();
+        } catch (DuplicateKeyException e) {
+            // the same callback was requested again meanwhile; fold this one into that newer pending entry
+            mergeIntoPending(entry);
+            mongoTemplate.remove(owned, MediaOutboxEntry.class);
+        }
+    }
+
+    /**
+     * Carries a failed entry's refresh reasons (and its age, for the lag gauge) over to the pending entry that
+     * replaces it, so a retry never loses what the earlier edits changed.
+     */
+    private void mergeIntoPending(MediaOutboxEntry entry) {
+        Update merge = new Update();
+        if (entry.getReasons() != null && !entry.getReasons().isEmpty()) {
+            merge.addToSet("reasons").each(entry.getReasons().toArray());
+        }
+        if (entry.getCreatedAt() != null) merge.min("createdAt", entry.getCreatedAt());
+        if (merge.getUpdateObject().isEmpty()) return;
+
+        mongoTemplate.updateFirst(Query.query(where("journalId").is(entry.getJournalId())
+                .and("type").is(entry.getType())
+                .and("status").is(OutboxStatus.PENDING)), merge, MediaOutboxEntry.class);
+    }
+
+    /** Drops the claim; a retry follows the backoff, not the original debounce deadline. */
+    private static Update released() {
+        return new Update().unset("claimToken").unset("claimedUntil").unset("deadline");
+    }
+
+    private void updateGauges() {
+        Criteria undelivered = where("status").in(OutboxStatus.PENDING, OutboxStatus.IN_FLIGHT);
+        depth.set(mongoTemplate.count(Query.query(undelivered), MediaOutboxEntry.class));
+
+        Query oldest = Query.query(undelivered).with(Sort.by(Sort.Direction.ASC, "createdAt")).limit(1);
+        oldest.fields().include("createdAt");
+        MediaOutboxEntry entry = mongoTemplate.findOne(oldest, MediaOutboxEntry.class);
+        lagSeconds.set(entry == null || entry.getCreatedAt() == null
+                ? 0
+                : Math.max(0, Duration.between(entry.getCreatedAt(), Instant.now()).toSeconds()));
+    }
+
+    private void record(MediaCallbackType type, String outcome, long startNanos) {
+        meterRegistry.timer("journal.media.outbox.delivery",
+                        "type", type.name().toLowerCase(Locale.ROOT), "outcome", outcome)
+                .record(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private static List<String> journalIds(List<MediaOutboxEntry> entries) {
+        return entries.stream().map(MediaOutboxEntry::getJournalId).toList();
+    }
+}
@@ -0,0 +1,208 @@
+package com.tripwise.TripJournal.service.migration;
+
+import com.tripwise.TripJournal.mapper.LegacyMetadata;
+import com.tripwise.TripJournal.model.GpsPoint;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.MigrationCheckpoint;
+import com.tripwise.TripJournal.model.WeatherSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.service.migration
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Sunday,  18.Oct.2026 | 00:15
+ * Description : Moves {@code metadata.gps} / {@code metadata.weather} of existing journals into the typed
+ * {@code gps}, {@code weather} and {@code weatherObservation} fields.
+ * ================================================================
+ */
+
+/**
+ * Background, resumable migration to typed journal metadata.
+ *
+ * <ul>
+ *   <li>Journals are processed in {@code _id} order, {@code batch-size} at a time, with one unordered bulk write per
+ *   batch. Progress is checkpointed in the {@code migrations} collection after every batch, so a restart resumes
+ *   after the last finished batch.</li>
+ *   <li>The checkpoint keeps the {@code _id} as stored ({@link ObjectId} or string). MongoDB orders every string
+ *   before every ObjectId and {@code $gt} only compares values of one type, so resuming after a string ID also
+ *   takes in all ObjectIds.</li>
+ *   <li>Each update is guarded by the legacy keys still being present; journals re-saved meanwhile (which drops
+ *   them) and batches another instance already migrated are left alone, so concurrent runs are harmless.</li>
+ *   <li>Other user metadata keys stay in {@code metadata}; a map left empty is removed.</li>
+ *   <li>Reads do not wait for it: journals not yet migrated are mapped from the legacy keys.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class TypedMetadataMigration {
+
+    static final String NAME = "journal-typed-metadata";
+
+    private final MongoTemplate mongoTemplate;
+    private final Counter migrated;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private volatile boolean completed;
+
+    public TypedMetadataMigration(
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${journal.migrations.typed-metadata.enabled:true}") boolean enabled,
+            @Value("${journal.migrations.typed-metadata.batch-size:500}") int batchSize,
+            @Value("${journal.migrations.typed-metadata.max-batches-per-run:20}") int maxBatchesPerRun
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.migrated = Counter.builder("journal.migration.documents")
+                .description("Documents rewritten by data migrations")
+                .tag("migration", NAME)
+                .register(meterRegistry);
+    }
+
+    /** Runs up to {@code max-batches-per-run} batches, continuing from the checkpoint. */
+    @Scheduled(
+            initialDelayString = "${journal.migrations.typed-metadata.interval-ms:10000}",
+            fixedDelayString = "${journal.migrations.typed-metadata.interval-ms:10000}")
+    public void run() {
+        if (!enabled || completed) return;
+        try {
+            MigrationCheckpoint checkpoint = checkpoint();
+            if (checkpoint.getCompletedAt() != null) {
+                completed = true;
+                return;
+            }
+
+            Object lastId = storedId(checkpoint.getLastId());
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                List<Journal> batch = nextBatch(lastId);
+                if (batch.isEmpty()) {
+                    complete();
+                    return;
+                }
+
+                long changed = migrate(batch);
+                lastId = storedId(batch.get(batch.size() - 1).getId());
+                advance(lastId, changed);
+
+                if (batch.size() < batchSize) {
+                    complete();
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Typed metadata migration failed (will resume from the checkpoint): {}", e.getMessage());
+            log.debug("Stacktrace:", e);
+        }
+    }
+
+    /* ---------- internals ---------- */
+
+    private MigrationCheckpoint checkpoint() {
+        Instant now = Instant.now();
+        mongoTemplate.upsert(Query.query(where("_id").is(NAME)),
+                new Update().setOnInsert("startedAt", now).setOnInsert("migrated", 0L), MigrationCheckpoint.class);
+        return mongoTemplate.findById(NAME, MigrationCheckpoint.class);
+    }
+
+    private List<Journal> nextBatch(Object lastId) {
+        Criteria criteria = legacy();
+        if (lastId != null) criteria = new Criteria().andOperator(after(lastId), criteria);
+
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(batchSize);
+        query.fields().include("gps", "weather", "weatherObservation", "metadata");
+        return mongoTemplate.find(query, Journal.class);
+    }
+
+    /** IDs after {@code lastId} in {@code _id} order: past the last string, that is every ObjectId. */
+    static Criteria after(Object lastId) {
+        if (lastId instanceof ObjectId) return where("_id").gt(lastId);
+        return new Criteria().orOperator(where("_id").gt(lastId), where("_id").type(BsonType.OBJECT_ID.getValue()));
+    }
+
+    /**
+     * A journal ID as MongoDB stores it: Spring Data writes a {@code String} ID that is a valid ObjectId as an
+     * {@link ObjectId}. Checkpoints written before the type was kept hold such IDs as hex strings.
+     */
+    static Object storedId(Object id) {
+        return id instanceof String hex && ObjectId.isValid(hex) ? new ObjectId(hex) : id;
+    }
+
+    /** Journals still carrying GPS or weather in the untyped map. */
+    private static Criteria legacy() {
+        return new Criteria().orOperator(where("metadata.gps").exists(true), where("metadata.weather").exists(true));
+    }
+
+    private long migrate(List<Journal> batch) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Journal.class);
+        for (Journal journal : batch) {
+            ops.updateOne(Query.query(new Criteria().andOperator(where("_id").is(journal.getId()), legacy())),
+                    typed(journal));
+        }
+        return ops.execute().getModifiedCount();
+    }
+
+    /** The update moving one journal's legacy keys; typed values already present win. */
+    private static Update typed(Journal journal) {
+        Map<String, Object> metadata = journal.getMetadata();
+        Update update = new Update();
+
+        GpsPoint gps = LegacyMetadata.gps(metadata.get("gps"));
+        if (journal.getGps() == null && gps != null) update.set("gps", gps);
+
+        if (journal.getWeather() == null && journal.getWeatherObservation() == null) {
+            WeatherSnapshot weather = LegacyMetadata.weather(metadata.get("weather"));
+            String observation = LegacyMetadata.observation(metadata.get("weather"));
+            if (weather != null) update.set("weather", weather);
+            else if (observation != null) update.set("weatherObservation", observation);
+        }
+
+        Set<String> rest = new HashSet<>(metadata.keySet());
+        rest.removeAll(Set.of("gps", "weather"));
+        if (rest.isEmpty()) update.unset("metadata");
+        else update.unset("metadata.gps").unset("metadata.weather");
+        return update;
+    }
+
+    /** {@code $max} compares in BSON order, so an ObjectId checkpoint is never moved back to a string one. */
+    private void advance(Object lastId, long changed) {
+        mongoTemplate.updateFirst(Query.query(where("_id").is(NAME)), new Update()
+                .max("lastId", lastId)
+                .inc("migrated", changed)
+                .set("updatedAt", Instant.now()), MigrationCheckpoint.class);
+        migrated.increment(changed);
+    }
+
+    private void complete() {
+        MigrationCheckpoint checkpoint = mongoTemplate.findAndModify(Query.query(where("_id").is(NAME)),
+                new Update().set("completedAt", Instant.now()), MigrationCheckpoint.class);
+        completed = true;
+        log.info("Typed metadata migration complete ({} journals migrated)",
+                checkpoint == null ? 0 : checkpoint.getMigrated());
+    }
+}
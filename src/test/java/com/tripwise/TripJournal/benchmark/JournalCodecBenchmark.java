@@ -0,0 +1,120 @@
+package com.tripwise.TripJournal.benchmark;
+
+import com.mongodb.MongoClientSettings;
+import com.tripwise.TripJournal.model.*;
+import com.tripwise.TripJournal.repository.JournalCodec;
+import com.tripwise.TripJournal.repository.TestMongoConverters;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.benchmark
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Sunday,  18.Oct.2026 | 11:55
+ * Description : JMH throughput of decoding and encoding one {@link Journal}: {@code MappingMongoConverter} (via
+ * {@link Document}) versus {@link JournalCodec} (straight from / to BSON).
+ * ================================================================
+ */
+
+/**
+ * Each operation starts or ends with the BSON bytes the driver sees, so the converter path pays for its intermediate
+ * {@link Document} as it does in production. Run like {@link JournalJsonBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JournalCodecBenchmark {
+
+    private final Codec<Document> documentCodec = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+    private final JournalCodec codec = new JournalCodec();
+    private final DecoderContext decoderContext = DecoderContext.builder().build();
+
+    private MappingMongoConverter converter;
+    private Journal journal;
+    private RawBsonDocument stored;
+
+    @Setup
+    public void setUp() {
+        converter = TestMongoConverters.mappingConverter();
+
+        journal = journal();
+        Document document = new Document();
+        converter.write(journal, document);
+        stored = new RawBsonDocument(document, documentCodec);
+    }
+
+    /** BSON -> Document -> Journal. */
+    @Benchmark
+    public Journal decodeConverter() {
+        return converter.read(Journal.class, stored.decode(documentCodec));
+    }
+
+    /** BSON -> Journal. */
+    @Benchmark
+    public Journal decodeCodec() {
+        return codec.decode(stored.asBsonReader(), decoderContext);
+    }
+
+    /** Journal -> Document -> BSON. */
+    @Benchmark
+    public RawBsonDocument encodeConverter() {
+        Document document = new Document();
+        converter.write(journal, document);
+        return new RawBsonDocument(document, documentCodec);
+    }
+
+    /** Journal -> BSON. */
+    @Benchmark
+    public RawBsonDocument encodeCodec() {
+        return new RawBsonDocument(journal, codec);
+    }
+
+    private static Journal journal() {
+        Instant created = Instant.parse("2026-10-01T08:00:00Z");
+        return Journal.builder()
+                .id(new ObjectId().toHexString())
+                .userId("user-1")
+                .itineraryId("itinerary-1")
+                .title("Day 1 in Nairobi")
+                .description("Morning walk through Karura Forest, lunch in Westlands and a sunset drive home.")
+                .city("Nairobi")
+                .country("KE")
+                .coverMediaId("media-0")
+                .mediaIds(new ArrayList<>(List.of("media-0", "media-1", "media-2")))
+                .mediaPreviews(new ArrayList<>(List.of(
+                        new MediaPreview("media-0", "https://cdn.example.com/1/0.jpg", 640, 480),
+                        new MediaPreview("media-1", "https://cdn.example.com/1/1.jpg", 640, 480))))
+                .tags(new ArrayList<>(List.of("hiking", "food", "city")))
+                .gps(new GpsPoint(-1.2921, 36.8219))
+                .weather(WeatherSnapshot.builder()
+                        .temperature(24.5)
+                        .description("scattered clouds")
+                        .humidity(61)
+                        .windSpeed(3.6)
+                        .icon("03d")
+                        .build())
+                .metadata(new LinkedHashMap<>(Map.of("mood", "relaxed")))
+                .enrichmentStatus(EnrichmentStatus.DONE)
+                .createdDate(created)
+                .modifiedDate(created)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[]{JournalCodecBenchmark.class.getSimpleName()});
+    }
+}
@@ -0,0 +1,141 @@
+package com.tripwise.TripJournal.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mongodb.MongoClientSettings;
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
+import com.tripwise.TripJournal.mapper.JournalJsonWriter;
+import com.tripwise.TripJournal.mapper.JournalMapper;
+import com.tripwise.TripJournal.model.*;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.TestMongoConverters;
+import com.tripwise.TripJournal.service.cache.WeatherObservations;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.types.ObjectId;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ================================================================
+ * Package Name: com.tripwise.TripJournal.benchmark
+ * Author      : Ochwada-GMK
+ * Project Name: tripjournal
+ * Date        : Sunday,  18.Oct.2026 | 10:40
+ * Description : JMH comparison of the two ways a page of journals becomes response JSON: decode to {@link Journal},
+ * map to {@link JournalResponse} and serialize with Jackson, versus {@link JournalJsonWriter} straight from BSON.
+ * ================================================================
+ */
+
+/**
+ * Both paths start from the bytes the driver receives and end with the response body, so BSON decoding is part of
+ * the measurement. Run with {@code mvn test-compile} and then {@link #main} from the IDE, or
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main JournalJsonBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JournalJsonBenchmark {
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    private final Codec<Document> documentCodec = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+    private List<RawBsonDocument> page;
+    private MappingMongoConverter converter;
+    private JournalMapper mapper;
+    private ObjectMapper objectMapper;
+    private JournalJsonWriter writer;
+
+    @Setup
+    public void setUp() {
+        converter = TestMongoConverters.mappingConverter();
+        mapper = new JournalMapper(Mockito.mock(WeatherObservations.class));
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = new JournalJsonWriter();
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Document document = new Document();
+            converter.write(journal(i), document);
+            page.add(new RawBsonDocument(document, documentCodec));
+        }
+    }
+
+    /** Current path: BSON -> Document -> Journal -> JournalResponse -> Jackson. */
+    @Benchmark
+    public byte[] mapped() throws IOException {
+        List<Journal> journals = new ArrayList<>(page.size());
+        for (RawBsonDocument raw : page) {
+            journals.add(converter.read(Journal.class, raw.decode(documentCodec)));
+        }
+        PageResponse<JournalResponse> response = PageResponse.<JournalResponse>builder()
+                .content(mapper.toResponses(journals))
+                .pageSize(pageSize)
+                .hasNext(false)
+                .build();
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    /** Fast path: BSON -> JSON in one pass. */
+    @Benchmark
+    public byte[] raw() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            writer.writePage(gen, page, pageSize, false, null, JournalFields.ALL, Map.of());
+        }
+        return out.toByteArray();
+    }
+
+    private static Journal journal(int i) {
+        Instant created = Instant.parse("2026-10-01T08:00:00Z").plusSeconds(3600L * i);
+        return Journal.builder()
+                .id(new ObjectId().toHexString())
+                .userId("user-1")
+                .itineraryId("itinerary-" + (i % 5))
+                .title("Day " + i + " in Nairobi")
+                .description("Morning walk through Karura Forest, lunch in Westlands and a sunset drive home.")
+                .city("Nairobi")
+                .country("KE")
+                .coverMediaId("media-" + i + "-0")
+                .mediaIds(new ArrayList<>(List.of("media-" + i + "-0", "media-" + i + "-1", "media-" + i + "-2")))
+                .mediaPreviews(new ArrayList<>(List.of(
+                        new MediaPreview("media-" + i + "-0", "https://cdn.example.com/" + i + "/0.jpg", 640, 480),
+                        new MediaPreview("media-" + i + "-1", "https://cdn.example.com/" + i + "/1.jpg", 640, 480))))
+                .tags(new ArrayList<>(List.of("hiking", "food", "city")))
+                .gps(new GpsPoint(-1.2921, 36.8219))
+                .weather(WeatherSnapshot.builder()
+                        .temperature(24.5)
+                        .description("scattered clouds")
+                        .humidity(61)
+                        .windSpeed(3.6)
+                        .icon("03d")
+                        .build())
+                .metadata(new LinkedHashMap<>(Map.of("mood", "relaxed")))
+                .createdDate(created)
+                .modifiedDate(created)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[]{JournalJsonBenchmark.class.getSimpleName()});
+    }
+}
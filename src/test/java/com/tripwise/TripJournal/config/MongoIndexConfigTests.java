@@ -0,0 +1,130 @@
+package com.tripwise.TripJournal.config;
+
+import com.mongodb.client.ListCollectionsIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.WeatherObservation;
+import com.tripwise.TripJournal.repository.JournalRepositoryImpl;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Index definitions {@link MongoIndexConfig} ensures at startup, against a mocked {@link MongoTemplate}.
+ */
+class MongoIndexConfigTests {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final IndexOperations indexOps = mock(IndexOperations.class);
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> journals = mock(MongoCollection.class);
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOps);
+        when(mongoTemplate.getCollectionName(Journal.class)).thenReturn("journal");
+        when(mongoTemplate.getCollection("journal")).thenReturn(journals);
+    }
+
+    @Test
+    void textIndexCoversTitleDescriptionAndTagsPerUser() {
+        config().ensureIndexes();
+
+        ArgumentCaptor<Document> keys = ArgumentCaptor.forClass(Document.class);
+        ArgumentCaptor<IndexOptions> options = ArgumentCaptor.forClass(IndexOptions.class);
+        verify(journals).createIndex(keys.capture(), options.capture());
+
+        assertEquals(new Document("userId", 1).append("title", "text").append("description", "text")
+                .append("tags", "text"), keys.getValue());
+        assertEquals("userId_text", options.getValue().getName());
+        assertEquals("english", options.getValue().getDefaultLanguage()); // stemming and stop words
+        assertEquals(new Document("title", 10).append("tags", 5).append("description", 1),
+                options.getValue().getWeights());
+    }
+
+    @Test
+    void titleIndexIsCollatedLikeThePrefixQueries() {
+        config().ensureIndexes();
+
+        IndexDefinition title = ensured(Journal.class, "userId_title_ci");
+        assertEquals(new Document("userId", 1).append("title", 1), title.getIndexKeys());
+        assertEquals(JournalRepositoryImpl.TITLE_COLLATION.toDocument(), title.getIndexOptions().get("collation"));
+    }
+
+    @Test
+    void observationsGetATimeSeriesCollection() {
+        when(mongoTemplate.getCollectionName(WeatherObservation.class)).thenReturn("weather_observations");
+        existingCollections(null);
+        MongoIndexConfig config = config();
+        ReflectionTestUtils.setField(config, "observationsEnabled", true);
+
+        config.ensureIndexes();
+
+        verify(mongoTemplate).createCollection(WeatherObservation.class); // as declared by @TimeSeries
+        assertEquals(new Document("cell", 1).append("observedAt", 1),
+                ensured(WeatherObservation.class, "cell_observedAt").getIndexKeys());
+    }
+
+    @Test
+    void ordinaryObservationsCollectionStopsStartup() {
+        when(mongoTemplate.getCollectionName(WeatherObservation.class)).thenReturn("weather_observations");
+        existingCollections(new Document("name", "weather_observations").append("type", "collection"));
+        MongoIndexConfig config = config();
+        ReflectionTestUtils.setField(config, "observationsEnabled", true);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, config::ensureIndexes);
+
+        assertTrue(e.getMessage().contains("not a time-series collection"), e.getMessage());
+        verify(mongoTemplate, never()).createCollection(WeatherObservation.class);
+    }
+
+    @Test
+    void failingTextIndexDoesNotStopStartup() {
+        when(journals.createIndex(any(Document.class), any(IndexOptions.class)))
+                .thenThrow(new IllegalStateException("IndexOptionsConflict"));
+
+        assertDoesNotThrow(() -> config().ensureIndexes());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private MongoIndexConfig config() {
+        MongoIndexConfig config = new MongoIndexConfig(mongoTemplate);
+        ReflectionTestUtils.setField(config, "geocodeTtl", Duration.ofDays(7));
+        return config;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void existingCollections(Document found) {
+        MongoDatabase db = mock(MongoDatabase.class);
+        ListCollectionsIterable<Document> collections = mock(ListCollectionsIterable.class);
+        when(mongoTemplate.getDb()).thenReturn(db);
+        when(db.listCollections()).thenReturn(collections);
+        when(collections.filter(any())).thenReturn(collections);
+        when(collections.first()).thenReturn(found);
+    }
+
+    /** The index named {@code name} that was ensured on {@code type}'s collection. */
+    private IndexDefinition ensured(Class<?> type, String name) {
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(mongoTemplate, atLeastOnce()).indexOps(type);
+        verify(indexOps, atLeastOnce()).createIndex(indexes.capture());
+        return indexes.getAllValues().stream()
+                .filter(index -> name.equals(index.getIndexOptions().get("name")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("index not ensured: " + name));
+    }
+}
@@ -0,0 +1,85 @@
+package com.tripwise.TripJournal.config;
+
+import com.tripwise.TripJournal.controller.ControllerHelpers;
+import com.tripwise.TripJournal.controller.JournalController;
+import com.tripwise.TripJournal.dto.responses.MediaEventsResponse;
+import com.tripwise.TripJournal.service.JournalExporter;
+import com.tripwise.TripJournal.service.JournalJsonService;
+import com.tripwise.TripJournal.service.JournalService;
+import com.tripwise.TripJournal.service.JournalVersions;
+import com.tripwise.TripJournal.service.media.MediaExpander;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Who may call what under {@link SecurityConfig}: the tripmedia callback needs the service role, the journal API any
+ * authenticated user.
+ */
+@WebMvcTest(controllers = JournalController.class)
+@Import({SecurityConfig.class, ControllerHelpers.class})
+class SecurityConfigTests {
+
+    private static final String EVENTS = """
+            [{"userId": "alice", "journalId": "j-1", "mediaId": "m-1", "cdnUrl": "https://cdn.example.com/m-1.jpg"}]""";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+    @MockitoBean
+    private JournalService service;
+    @MockitoBean
+    private JournalExporter exporter;
+    @MockitoBean
+    private MediaExpander mediaExpander;
+    @MockitoBean
+    private JournalJsonService jsonService;
+    @MockitoBean
+    private JournalVersions versions;
+
+    @Test
+    void tripmediaMayPostMediaEvents() throws Exception {
+        when(service.applyMediaEvents(anyList())).thenReturn(MediaEventsResponse.builder().received(1).applied(1).build());
+
+        mvc.perform(mediaEvents().with(jwt().authorities(
+                        new SimpleGrantedAuthority("ROLE_" + SecurityConfig.MEDIA_SERVICE_ROLE))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1));
+    }
+
+    @Test
+    void endUsersMayNotPostMediaEvents() throws Exception {
+        mvc.perform(mediaEvents().with(jwt().jwt(token -> token.claim("userId", "alice"))))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void anonymousCallersAreRejected() throws Exception {
+        mvc.perform(mediaEvents()).andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(service);
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static MockHttpServletRequestBuilder mediaEvents() {
+        return post("/journals/media-events").contentType(MediaType.APPLICATION_JSON).content(EVENTS);
+    }
+}
@@ -0,0 +1,103 @@
+package com.tripwise.TripJournal.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link VirtualThreadPinningMonitor} against a real JFR stream: a virtual thread that sleeps inside
+ * {@code synchronized} pins its carrier and is reported at the application frame; the monitor only exists when
+ * virtual threads and diagnostics are both on.
+ */
+class VirtualThreadPinningMonitorTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Object lock = new Object();
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) monitor.stop();
+    }
+
+    @Test
+    void pinnedVirtualThreadIsCountedAtTheApplicationFrame() throws Exception {
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(10));
+        monitor.start();
+
+        Thread.ofVirtual().start(this::sleepWhileHoldingTheLock).join();
+
+        Timer pinnedFor = awaitPinned();
+        Counter pinned = meterRegistry.find("journal.virtual.threads.pinned").counter();
+        assertEquals(1.0, pinned.count());
+        assertEquals(getClass().getName() + ".sleepWhileHoldingTheLock", pinned.getId().getTag("site"));
+        assertThat(pinnedFor.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    void platformThreadsAndShortPinsAreNotReported() throws Exception {
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofSeconds(5));
+        monitor.start();
+
+        Thread.ofVirtual().start(this::sleepWhileHoldingTheLock).join(); // below the threshold
+        Thread.ofPlatform().start(this::sleepWhileHoldingTheLock).join();
+        Thread.sleep(1500); // JFR flushes about once a second
+
+        assertNull(meterRegistry.find("journal.virtual.threads.pinned").counter());
+    }
+
+    @Test
+    void monitorIsOffUnlessVirtualThreadsAreOn() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withInitializer(context -> context.getBeanFactory()
+                        .setConversionService(ApplicationConversionService.getSharedInstance())) // "20ms"
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withUserConfiguration(VirtualThreadPinningMonitor.class);
+
+        runner.run(context -> assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class));
+        runner.withPropertyValues("journal.virtual-threads.pinning.diagnostics=true")
+                .run(context -> assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class));
+        runner.withPropertyValues("spring.threads.virtual.enabled=true",
+                        "journal.virtual-threads.pinning.diagnostics=false")
+                .run(context -> assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class));
+        runner.withPropertyValues("spring.threads.virtual.enabled=true",
+                        "journal.virtual-threads.pinning.diagnostics=true")
+                .run(context -> assertThat(context).hasSingleBean(VirtualThreadPinningMonitor.class));
+    }
+
+    /* ---------- helpers ---------- */
+
+    /** Blocks inside a monitor: on Java 21 the virtual thread cannot unmount and pins its carrier. */
+    private void sleepWhileHoldingTheLock() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** The pinned-duration timer, registered after the counter once an event was handled. */
+    private Timer awaitPinned() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            Timer pinned = meterRegistry.find("journal.virtual.threads.pinned.duration").timer();
+            if (pinned != null) return pinned;
+            Thread.sleep(50);
+        }
+        return fail("no pinning reported within 10s");
+    }
+}
@@ -0,0 +1,137 @@
+package com.tripwise.TripJournal.controller;
+
+import com.tripwise.TripJournal.dto.responses.BatchCreateResponse;
+import com.tripwise.TripJournal.dto.responses.BulkDeleteResponse;
+import com.tripwise.TripJournal.repository.JournalFilter;
+import com.tripwise.TripJournal.service.JournalExporter;
+import com.tripwise.TripJournal.service.JournalJsonService;
+import com.tripwise.TripJournal.service.JournalService;
+import com.tripwise.TripJournal.service.JournalVersions;
+import com.tripwise.TripJournal.service.media.MediaExpander;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Status codes and bodies of the batch endpoints on {@link JournalController}; the service is mocked.
+ */
+class JournalControllerBatchTests {
+
+    private static final String USER = "user-1";
+    private static final String TWO_JOURNALS = """
+            [{"title": "Karura Forest", "city": "Nairobi"}, {"title": "Old Town", "city": "Mombasa"}]""";
+
+    private final JournalService service = mock(JournalService.class);
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        JournalController controller = new JournalController(service, new ControllerHelpers(),
+                mock(JournalExporter.class), mock(MediaExpander.class), mock(JournalJsonService.class),
+                mock(JournalVersions.class));
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void fullyStoredBatchIsCreated() throws Exception {
+        when(service.createJournals(eq(USER), anyList())).thenReturn(BatchCreateResponse.builder()
+                .created(2)
+                .failed(0)
+                .items(List.of(created(0, "j-1"), created(1, "j-2")))
+                .build());
+
+        mvc.perform(batch())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.items[1].id").value("j-2"));
+    }
+
+    @Test
+    void partlyStoredBatchIsMultiStatus() throws Exception {
+        when(service.createJournals(eq(USER), anyList())).thenReturn(BatchCreateResponse.builder()
+                .created(1)
+                .failed(1)
+                .items(List.of(created(0, "j-1"), BatchCreateResponse.Item.builder()
+                        .index(1).status("FAILED").error("E11000 duplicate key").build()))
+                .build());
+
+        mvc.perform(batch())
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.items[1].index").value(1))
+                .andExpect(jsonPath("$.items[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.items[1].error").value("E11000 duplicate key"))
+                .andExpect(jsonPath("$.items[1].id").doesNotExist());
+    }
+
+    @Test
+    void batchWithNothingStoredIsStillMultiStatus() throws Exception {
+        when(service.createJournals(eq(USER), anyList())).thenReturn(BatchCreateResponse.builder()
+                .created(0)
+                .failed(2)
+                .items(List.of())
+                .build());
+
+        mvc.perform(batch()).andExpect(status().isMultiStatus());
+    }
+
+    @Test
+    void bulkDeletePassesEveryFilterToTheService() throws Exception {
+        JournalFilter filter = new JournalFilter(List.of("j-1", "j-2"), "itinerary-1", "Nairobi", "KE", "hiking");
+        when(service.deleteJournals(USER, filter)).thenReturn(BulkDeleteResponse.builder()
+                .deleted(2)
+                .ids(List.of("j-1", "j-2"))
+                .build());
+
+        mvc.perform(delete("/journals")
+                        .principal(new TestingAuthenticationToken(USER, null))
+                        .param("ids", "j-1,j-2")
+                        .param("itineraryId", "itinerary-1")
+                        .param("city", "Nairobi")
+                        .param("country", "KE")
+                        .param("tag", "hiking"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andExpect(jsonPath("$.ids[1]").value("j-2"));
+    }
+
+    @Test
+    void bulkDeleteWithoutAFilterIsABadRequest() throws Exception {
+        when(service.deleteJournals(eq(USER), any(JournalFilter.class)))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Specify a filter"));
+
+        mvc.perform(delete("/journals").principal(new TestingAuthenticationToken(USER, null)))
+                .andExpect(status().isBadRequest());
+
+        verify(service).deleteJournals(USER, new JournalFilter(null, null, null, null, null));
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static MockHttpServletRequestBuilder batch() {
+        return post("/journals/batch")
+                .principal(new TestingAuthenticationToken(USER, null))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TWO_JOURNALS);
+    }
+
+    private static BatchCreateResponse.Item created(int index, String id) {
+        return BatchCreateResponse.Item.builder().index(index).status("CREATED").id(id).build();
+    }
+}
@@ -0,0 +1,257 @@
+package com.tripwise.TripJournal.controller;
+
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.JournalRepository;
+import com.tripwise.TripJournal.service.JournalExporter;
+import com.tripwise.TripJournal.service.JournalJsonService;
+import com.tripwise.TripJournal.service.JournalService;
+import com.tripwise.TripJournal.service.JournalVersions;
+import com.tripwise.TripJournal.service.PageRows;
+import com.tripwise.TripJournal.service.media.MediaExpander;
+import org.bson.RawBsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Conditional {@code GET}s on {@link JournalController}: validators and {@code Cache-Control} on 200s, 304s for
+ * matching {@code If-None-Match} / {@code If-Modified-Since}, and new validators once a journal's
+ * {@code modifiedDate} moves. {@link JournalVersions} is real; the repository and services are mocked, the page
+ * query answering with {@code pageRows}.
+ */
+class JournalControllerConditionalTests {
+
+    private static final String USER = "user-1";
+    private static final String ID = "65f1c0ffee0000000000000a";
+    private static final Instant CREATED = Instant.parse("2026-10-01T08:00:00Z");
+    private static final Instant EDITED = Instant.parse("2026-10-02T09:30:00Z");
+
+    private final JournalRepository repository = mock(JournalRepository.class);
+    private final JournalService service = mock(JournalService.class);
+    private final JournalJsonService jsonService = mock(JournalJsonService.class);
+    private final MediaExpander mediaExpander = mock(MediaExpander.class);
+
+    private MockMvc mvc;
+    private List<Journal> pageRows;
+
+    @BeforeEach
+    void setUp() {
+        JournalController controller = new JournalController(service, new ControllerHelpers(),
+                mock(JournalExporter.class), mediaExpander, jsonService, new JournalVersions(repository));
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        storedVersion(CREATED);
+        when(service.getJournal(eq(USER), eq(ID), any())).thenAnswer(call -> response());
+        when(service.readJournalPage(eq(USER), anyInt(), anyString(), any(), any())).thenAnswer(call ->
+                new PageRows<>(pageRows, 20, Sort.Direction.DESC, call.getArgument(3), call.getArgument(4),
+                        JournalFields.ALL));
+        when(service.toPage(any())).thenAnswer(call ->
+                PageResponse.<JournalResponse>builder()
+                        .content(new ArrayList<>(List.of(response())))
+                        .pageSize(20)
+                        .hasNext(false)
+                        .build());
+    }
+
+    /* ---------- GET /journals/{id} ---------- */
+
+    @Test
+    void journalCarriesValidatorsAndMustBeRevalidated() throws Exception {
+        mvc.perform(journal())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, CREATED.toEpochMilli()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.id").value(ID));
+    }
+
+    @Test
+    void matchingIfNoneMatchGets304WithoutReadingTheJournal() throws Exception {
+        String etag = etagOf(journal());
+
+        mvc.perform(journal().header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        verify(service, times(1)).getJournal(eq(USER), eq(ID), any());
+        verify(repository, times(2)).findOwned(eq(ID), eq(USER), any(JournalFields.class));
+    }
+
+    @Test
+    void ifModifiedSinceGets304UntilTheJournalChanges() throws Exception {
+        mvc.perform(journal().header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(CREATED)))
+                .andExpect(status().isNotModified());
+
+        storedVersion(EDITED);
+
+        mvc.perform(journal().header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(CREATED)))
+                .andExpect(status().isOk())
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, EDITED.toEpochMilli()));
+    }
+
+    @Test
+    void changedJournalGetsANewEtag() throws Exception {
+        String before = etagOf(journal());
+
+        storedVersion(EDITED); // an update, enrichment result or preview write moved modifiedDate
+
+        String after = etagOf(journal().header(HttpHeaders.IF_NONE_MATCH, before));
+        assertNotEquals(before, after);
+        mvc.perform(journal().header(HttpHeaders.IF_NONE_MATCH, after)).andExpect(status().isNotModified());
+    }
+
+    @Test
+    void sparseFieldsetHasItsOwnEtag() throws Exception {
+        String full = etagOf(journal());
+
+        mvc.perform(journal().param("fields", "summary").header(HttpHeaders.IF_NONE_MATCH, full))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rawAndMappedRenderingsDoNotShareEtags() throws Exception {
+        String mapped = etagOf(journal());
+
+        when(jsonService.enabled()).thenReturn(true);
+        when(jsonService.getJournal(eq(USER), eq(ID), any())).thenReturn(("{\"id\":\"" + ID + "\"}").getBytes());
+
+        mvc.perform(journal().header(HttpHeaders.IF_NONE_MATCH, mapped))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    @Test
+    void mediaExpansionIsNotConditional() throws Exception {
+        mvc.perform(journal().param("expand", "media"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        verify(repository, never()).findOwned(any(), any(), any(JournalFields.class));
+    }
+
+    /* ---------- GET /journals ---------- */
+
+    @Test
+    void pageCarriesAnEtagAndNoLastModified() throws Exception {
+        mvc.perform(page())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    @Test
+    void pageEtagComesFromThePageQuery() throws Exception {
+        mvc.perform(page()).andExpect(status().isOk());
+
+        verify(service, times(1)).readJournalPage(eq(USER), anyInt(), anyString(), any(), any());
+        verify(repository, never()).findPageAfter(any(), any(), any(), anyInt(), any(JournalFields.class));
+    }
+
+    @Test
+    void matchingPageEtagGets304WithoutBuildingThePage() throws Exception {
+        String etag = etagOf(page());
+
+        mvc.perform(page().header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(service, times(2)).readJournalPage(eq(USER), anyInt(), anyString(), any(), any());
+        verify(service, times(1)).toPage(any());
+    }
+
+    @Test
+    void rawPageIsConditionalToo() throws Exception {
+        when(jsonService.enabled()).thenReturn(true);
+        when(jsonService.readJournalPage(eq(USER), anyInt(), anyString(), any(), any())).thenReturn(
+                new PageRows<>(List.of(RawBsonDocument.parse("{\"_id\": {\"$oid\": \"" + ID
+                        + "\"}, \"createdDate\": {\"$date\": " + CREATED.toEpochMilli() + "}}")),
+                        20, Sort.Direction.DESC, null, null, JournalFields.ALL));
+        when(jsonService.writePage(any())).thenReturn("{\"content\":[]}".getBytes());
+        String etag = etagOf(page());
+
+        mvc.perform(page().header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        verify(jsonService, times(2)).readJournalPage(eq(USER), anyInt(), anyString(), any(), any());
+        verify(jsonService, times(1)).writePage(any());
+    }
+
+    @Test
+    void editInsideThePageChangesItsEtag() throws Exception {
+        String before = etagOf(page());
+
+        storedVersion(EDITED);
+
+        mvc.perform(page().header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void newJournalInsideThePageChangesItsEtag() throws Exception {
+        String before = etagOf(page());
+
+        Journal created = Journal.builder().id("65f1c0ffee0000000000000b").createdDate(EDITED).build();
+        pageRows = List.of(created, version(CREATED));
+
+        mvc.perform(page().header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static MockHttpServletRequestBuilder journal() {
+        return get("/journals/{id}", ID).principal(new TestingAuthenticationToken(USER, null));
+    }
+
+    private static MockHttpServletRequestBuilder page() {
+        return get("/journals").principal(new TestingAuthenticationToken(USER, null));
+    }
+
+    private String etagOf(MockHttpServletRequestBuilder request) throws Exception {
+        return mvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    /** What the {@code modifiedDate} projection and the page query read from now on. */
+    private void storedVersion(Instant modifiedDate) {
+        when(repository.findOwned(eq(ID), eq(USER), any(JournalFields.class)))
+                .thenReturn(Optional.of(version(modifiedDate)));
+        pageRows = List.of(version(modifiedDate));
+    }
+
+    private static Journal version(Instant modifiedDate) {
+        return Journal.builder().id(ID).createdDate(CREATED).modifiedDate(modifiedDate).build();
+    }
+
+    private static JournalResponse response() {
+        return JournalResponse.builder().id(ID).title("Karura Forest").createdDate(CREATED).build();
+    }
+
+    private static String httpDate(Instant instant) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setDate(HttpHeaders.IF_MODIFIED_SINCE, instant.toEpochMilli());
+        return headers.getFirst(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+}
@@ -0,0 +1,102 @@
+package com.tripwise.TripJournal.controller;
+
+import com.tripwise.TripJournal.dto.MediaSummary;
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
+import com.tripwise.TripJournal.service.JournalExporter;
+import com.tripwise.TripJournal.service.JournalJsonService;
+import com.tripwise.TripJournal.service.JournalService;
+import com.tripwise.TripJournal.service.JournalVersions;
+import com.tripwise.TripJournal.service.media.MediaExpander;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * {@code ?expand=media} on the read endpoints of {@link JournalController}; the service is mocked and the expander
+ * attaches one summary per media ID.
+ */
+class JournalControllerExpandTests {
+
+    private static final String USER = "user-1";
+    private static final String TOKEN = "Bearer t";
+
+    private final JournalService service = mock(JournalService.class);
+    private final MediaExpander mediaExpander = mock(MediaExpander.class);
+    private final JournalVersions versions = mock(JournalVersions.class);
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        JournalController controller = new JournalController(service, new ControllerHelpers(),
+                mock(JournalExporter.class), mediaExpander, mock(JournalJsonService.class), versions);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        doAnswer(call -> {
+            call.<Collection<JournalResponse>>getArgument(0).forEach(journal -> journal.setMedia(
+                    journal.getMediaIds().stream().map(id -> new MediaSummary(id, id + ".jpg", "image/jpeg",
+                            1L, 1, 1, "https://cdn.example.com/" + id, id)).toList()));
+            return null;
+        }).when(mediaExpander).expand(anyCollection(), eq(USER), eq(TOKEN));
+    }
+
+    @Test
+    void pageIsExpandedInOneCall() throws Exception {
+        when(service.findJournalPage(USER, 20, "createdDate,desc", null, null))
+                .thenReturn(PageResponse.<JournalResponse>builder()
+                        .content(List.of(journal("j-1", "m-1", "m-2"), journal("j-2", "m-2")))
+                        .pageSize(20)
+                        .build());
+
+        mvc.perform(get("/journals").principal(new TestingAuthenticationToken(USER, null))
+                        .header(HttpHeaders.AUTHORIZATION, TOKEN)
+                        .param("expand", "media"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].media[1].id").value("m-2"))
+                .andExpect(jsonPath("$.content[1].media[0].cdnUrl").value("https://cdn.example.com/m-2"))
+                .andExpect(jsonPath("$.content[0].mediaIds[0]").value("m-1"));
+
+        verify(mediaExpander, times(1)).expand(anyCollection(), eq(USER), eq(TOKEN));
+        verifyNoInteractions(versions); // expanded responses are not conditional
+    }
+
+    @Test
+    void sparseJournalReadsMediaIdsOnlyToExpandThem() throws Exception {
+        when(service.getJournal(USER, "j-1", "title,mediaIds")).thenReturn(journal("j-1", "m-1"));
+
+        mvc.perform(get("/journals/j-1").principal(new TestingAuthenticationToken(USER, null))
+                        .header(HttpHeaders.AUTHORIZATION, TOKEN)
+                        .param("fields", "title")
+                        .param("expand", "media"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.media[0].id").value("m-1"))
+                .andExpect(jsonPath("$.mediaIds").doesNotExist());
+    }
+
+    @Test
+    void unknownExpansionIsABadRequest() throws Exception {
+        mvc.perform(get("/journals/j-1").principal(new TestingAuthenticationToken(USER, null))
+                        .param("expand", "comments"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service, mediaExpander);
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static JournalResponse journal(String id, String... mediaIds) {
+        return JournalResponse.builder().id(id).title(id).mediaIds(List.of(mediaIds)).build();
+    }
+}
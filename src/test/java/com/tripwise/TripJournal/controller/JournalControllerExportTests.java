@@ -0,0 +1,85 @@
+package com.tripwise.TripJournal.controller;
+
+import com.tripwise.TripJournal.service.JournalExporter;
+import com.tripwise.TripJournal.service.JournalJsonService;
+import com.tripwise.TripJournal.service.JournalService;
+import com.tripwise.TripJournal.service.JournalVersions;
+import com.tripwise.TripJournal.service.media.MediaExpander;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Content negotiation of {@code GET /journals/export} on {@link JournalController}; the exporter is mocked.
+ */
+class JournalControllerExportTests {
+
+    private static final String USER = "user-1";
+
+    private final JournalExporter exporter = mock(JournalExporter.class);
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JournalController controller = new JournalController(mock(JournalService.class), new ControllerHelpers(),
+                exporter, mock(MediaExpander.class), mock(JournalJsonService.class), mock(JournalVersions.class));
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        doAnswer(call -> write(call.getArgument(1), "[{\"id\":\"j-1\"}]"))
+                .when(exporter).writeJsonArray(eq(USER), any());
+        doAnswer(call -> write(call.getArgument(1), "{\"id\":\"j-1\"}\n"))
+                .when(exporter).writeNdjson(eq(USER), any());
+    }
+
+    @Test
+    void ndjsonIsStreamedWhenAsked() throws Exception {
+        mvc.perform(asyncDispatch(export(MediaType.APPLICATION_NDJSON_VALUE)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":\"j-1\"}\n"));
+
+        verify(exporter, never()).writeJsonArray(any(), any());
+    }
+
+    @Test
+    void jsonArrayIsTheDefault() throws Exception {
+        for (String accept : new String[]{null, MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE}) {
+            mvc.perform(asyncDispatch(export(accept)))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(content().string("[{\"id\":\"j-1\"}]"));
+        }
+
+        verify(exporter, times(3)).writeJsonArray(eq(USER), any());
+        verify(exporter, never()).writeNdjson(any(), any());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private MvcResult export(String accept) throws Exception {
+        var request = get("/journals/export").principal(new TestingAuthenticationToken(USER, null));
+        if (accept != null) request.header(HttpHeaders.ACCEPT, accept);
+        return mvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static Void write(OutputStream out, String body) throws Exception {
+        out.write(body.getBytes(StandardCharsets.UTF_8));
+        return null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.tripwise.TripJournal.controller;
+
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
+import com.tripwise.TripJournal.repository.SearchMode;
+import com.tripwise.TripJournal.service.JournalExporter;
+import com.tripwise.TripJournal.service.JournalJsonService;
+import com.tripwise.TripJournal.service.JournalService;
+import com.tripwise.TripJournal.service.JournalVersions;
+import com.tripwise.TripJournal.service.media.MediaExpander;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Routing of {@code GET /journals/search} on {@link JournalController} between counted pages and slices; the service
+ * is mocked.
+ */
+class JournalControllerSearchTests {
+
+    private static final String USER = "user-1";
+
+    private final JournalService service = mock(JournalService.class);
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        JournalController controller = new JournalController(service, new ControllerHelpers(),
+                mock(JournalExporter.class), mock(MediaExpander.class), mock(JournalJsonService.class),
+                mock(JournalVersions.class));
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+    }
+
+    @Test
+    void slicePagingSkipsTheCountedSearch() throws Exception {
+        when(service.searchSlice(eq(USER), eq("hiking"), eq(SearchMode.TEXT), isNull(), eq(true), any(Pageable.class)))
+                .thenReturn(PageResponse.<JournalResponse>builder()
+                        .content(List.of(JournalResponse.builder().id("j-1").build()))
+                        .pageSize(1)
+                        .pageNumber(0)
+                        .hasNext(true)
+                        .estimatedTotal(1000L)
+                        .totalCapped(true)
+                        .build());
+
+        mvc.perform(get("/journals/search")
+                        .principal(new TestingAuthenticationToken(USER, null))
+                        .param("q", "hiking")
+                        .param("mode", "text")
+                        .param("paging", "slice")
+                        .param("estimateTotal", "true")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.estimatedTotal").value(1000))
+                .andExpect(jsonPath("$.totalCapped").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(service, never()).search(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void countedSearchIsTheDefault() throws Exception {
+        when(service.search(eq(USER), eq("hiking"), eq(SearchMode.REGEX), isNull(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(JournalResponse.builder().id("j-1").build()),
+                        PageRequest.of(0, 20), 1));
+
+        mvc.perform(get("/journals/search")
+                        .principal(new TestingAuthenticationToken(USER, null))
+                        .param("q", "hiking"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        verify(service, never()).searchSlice(any(), any(), any(), any(), anyBoolean(), any());
+    }
+}
@@ -0,0 +1,105 @@
+package com.tripwise.TripJournal.controller;
+
+import com.tripwise.TripJournal.dto.requests.CreateJournalRequest;
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
+import com.tripwise.TripJournal.service.ReactiveJournalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The {@code /journals/rx} endpoints of {@link ReactiveJournalController}: handlers return {@link Mono}s, so each
+ * request starts async processing and completes when the service does; the service is mocked.
+ */
+class ReactiveJournalControllerTests {
+
+    private static final String USER = "user-1";
+
+    private final ReactiveJournalService service = mock(ReactiveJournalService.class);
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new ReactiveJournalController(service, new ControllerHelpers())).build();
+    }
+
+    @Test
+    void createdJournalIsA201WithItsLocation() throws Exception {
+        when(service.createJournal(eq(USER), any(CreateJournalRequest.class)))
+                .thenReturn(Mono.just(JournalResponse.builder().id("j-1").title("Karura Forest").build()));
+
+        mvc.perform(asyncDispatch(async(post("/journals/rx")
+                        .principal(new TestingAuthenticationToken(USER, null))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Karura Forest\", \"city\": \"Nairobi\"}"))))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/journals/j-1"))
+                .andExpect(jsonPath("$.title").value("Karura Forest"));
+    }
+
+    @Test
+    void invalidCreateIsRejectedBeforeTheService() throws Exception {
+        mvc.perform(post("/journals/rx")
+                        .principal(new TestingAuthenticationToken(USER, null))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"city\": \"Nairobi\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void pageIsServedFromTheReactiveService() throws Exception {
+        when(service.findJournalPage(USER, 5, "createdDate,asc", null, "title"))
+                .thenReturn(Mono.just(PageResponse.<JournalResponse>builder()
+                        .content(List.of(JournalResponse.builder().id("j-1").build()))
+                        .pageSize(5)
+                        .build()));
+
+        mvc.perform(asyncDispatch(async(get("/journals/rx")
+                        .principal(new TestingAuthenticationToken(USER, null))
+                        .param("size", "5")
+                        .param("sort", "createdDate,asc")
+                        .param("fields", "title"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value("j-1"))
+                .andExpect(jsonPath("$.pageSize").value(5));
+    }
+
+    @Test
+    void errorsFromTheMonoKeepTheirStatus() throws Exception {
+        when(service.getJournal(USER, "j-9", null))
+                .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Journal not found: j-9")));
+        when(service.deleteJournal(USER, "j-1")).thenReturn(Mono.empty());
+
+        mvc.perform(asyncDispatch(async(get("/journals/rx/j-9").principal(new TestingAuthenticationToken(USER, null)))))
+                .andExpect(status().isNotFound());
+        mvc.perform(asyncDispatch(async(delete("/journals/rx/j-1")
+                        .principal(new TestingAuthenticationToken(USER, null)))))
+                .andExpect(status().isNoContent());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private MvcResult async(RequestBuilder request) throws Exception {
+        return mvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+}
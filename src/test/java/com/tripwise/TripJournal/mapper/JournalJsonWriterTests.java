@@ -0,0 +1,229 @@
+package com.tripwise.TripJournal.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mongodb.MongoClientSettings;
+import com.tripwise.TripJournal.model.*;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.TestMongoConverters;
+import com.tripwise.TripJournal.service.cache.WeatherObservations;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link JournalJsonWriter} must produce the same JSON as the mapped path ({@code MappingMongoConverter} ->
+ * {@link JournalMapper} -> Jackson) for every shape of stored journal, field order aside.
+ */
+class JournalJsonWriterTests {
+
+    private static final String OBSERVATION = "-1.3000,36.8000@2026-10-01T08:00:00Z";
+
+    private final Codec<Document> documentCodec = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final JournalJsonWriter writer = new JournalJsonWriter();
+
+    private MappingMongoConverter converter;
+    private JournalMapper mapper;
+    private Map<String, WeatherObservation> observations;
+
+    @BeforeEach
+    void setUp() {
+        converter = TestMongoConverters.mappingConverter();
+        observations = Map.of(OBSERVATION, WeatherObservation.builder()
+                .cell("-1.3000,36.8000")
+                .observedAt(Instant.parse("2026-10-01T08:00:00Z"))
+                .temperature(21.0)
+                .description("light rain")
+                .humidity(80)
+                .windSpeed(null)
+                .icon("10d")
+                .build());
+
+        WeatherObservations resolver = mock(WeatherObservations.class);
+        when(resolver.resolveAll(anyCollection())).thenAnswer(call -> {
+            Map<String, WeatherObservation> found = new HashMap<>();
+            for (Object key : call.<Collection<?>>getArgument(0)) {
+                if (observations.containsKey(key)) found.put((String) key, observations.get(key));
+            }
+            return found;
+        });
+        mapper = new JournalMapper(resolver);
+    }
+
+    @Test
+    void fullJournal() throws IOException {
+        assertSameJson(stored(full()), JournalFields.ALL);
+    }
+
+    @Test
+    void journalReferencingAnObservation() throws IOException {
+        Journal journal = full();
+        journal.setWeather(null);
+        journal.setWeatherObservation(OBSERVATION);
+        assertSameJson(stored(journal), JournalFields.ALL);
+    }
+
+    @Test
+    void sparseJournal() throws IOException {
+        assertSameJson(stored(sparse()), JournalFields.ALL);
+    }
+
+    @Test
+    void legacyJournal() throws IOException {
+        assertSameJson(stored(legacy()), JournalFields.ALL);
+    }
+
+    @Test
+    void projectedJournals() throws IOException {
+        for (String fields : List.of("summary", "title,city", "metadata", "tags,mediaIds")) {
+            JournalFields projection = JournalFields.parse(fields);
+            for (Journal journal : List.of(full(), sparse(), legacy())) {
+                assertSameJson(project(stored(journal), projection), projection);
+            }
+        }
+    }
+
+    @Test
+    void cursorKeyReadForAPageIsOnlyWrittenWhenRequested() throws IOException {
+        JournalFields requested = JournalFields.parse("title,city");
+        Document row = project(stored(full()), requested.with("createdDate"));
+
+        assertSameJson(row, requested);
+        assertFalse(written(new RawBsonDocument(row, documentCodec), requested).has("createdDate"));
+    }
+
+    /* ---------- helpers ---------- */
+
+    private void assertSameJson(Document stored, JournalFields fields) throws IOException {
+        RawBsonDocument raw = new RawBsonDocument(stored, documentCodec);
+
+        JsonNode mapped = objectMapper.valueToTree(
+                mapper.toResponse(converter.read(Journal.class, raw.decode(documentCodec)), fields));
+
+        assertEquals(mapped, written(raw, fields), () -> "fields=" + fields + ", " + stored);
+    }
+
+    private JsonNode written(RawBsonDocument raw, JournalFields fields) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            writer.write(gen, raw, fields, observations);
+        }
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    private Document stored(Journal journal) {
+        Document document = new Document();
+        converter.write(journal, document);
+        return document;
+    }
+
+    /** What MongoDB returns for {@code fields}: {@code _id} plus the included top-level fields. */
+    private static Document project(Document stored, JournalFields fields) {
+        Query query = new Query();
+        fields.applyTo(query);
+        Set<String> included = query.getFieldsObject().keySet();
+
+        Document projected = new Document();
+        stored.forEach((name, value) -> {
+            if (name.equals("_id") || included.contains(name)) projected.put(name, value);
+        });
+        return projected;
+    }
+
+    /** Every field set, with weather copied onto the journal. */
+    private static Journal full() {
+        Instant created = Instant.parse("2026-10-01T08:00:00.123Z");
+        return Journal.builder()
+                .id(new ObjectId().toHexString())
+                .userId("user-1")
+                .itineraryId("itinerary-1")
+                .title("Karura Forest")
+                .description("Morning walk to the waterfall.")
+                .city("Nairobi")
+                .country("KE")
+                .coverMediaId("media-0")
+                .mediaIds(new ArrayList<>(List.of("media-0", "media-1")))
+                .mediaPreviews(new ArrayList<>(List.of(
+                        new MediaPreview("media-0", "https://cdn.example.com/0.jpg", 640, 480),
+                        new MediaPreview("media-1", null, 1280, null))))
+                .tags(new ArrayList<>(List.of("hiking", "nature")))
+                .gps(new GpsPoint(-1.2921, 36.8219))
+                .weather(WeatherSnapshot.builder()
+                        .temperature(24.5)
+                        .description("scattered clouds")
+                        .humidity(61)
+                        .windSpeed(3.6)
+                        .icon("03d")
+                        .build())
+                .userKeys(new LinkedHashSet<>(Set.of("gps")))
+                .metadata(new LinkedHashMap<>(Map.of("mood", "relaxed")))
+                .enrichmentStatus(EnrichmentStatus.DONE)
+                .enrichmentAttempts(1)
+                .createdDate(created)
+                .modifiedDate(created.plusSeconds(90))
+                .build();
+    }
+
+    /** A non-ObjectId ID, missing optional fields and unknown weather numbers. */
+    private static Journal sparse() {
+        return Journal.builder()
+                .id("imported-42")
+                .userId("user-2")
+                .title("Untitled")
+                .mediaIds(null)
+                .tags(null)
+                .weather(WeatherSnapshot.builder()
+                        .temperature(Double.NaN)
+                        .description("mist")
+                        .humidity(WeatherSnapshot.UNKNOWN_HUMIDITY)
+                        .windSpeed(Double.NaN)
+                        .build())
+                .gps(new GpsPoint(Double.NaN, Double.NaN))
+                .enrichmentStatus(EnrichmentStatus.FAILED)
+                .enrichmentAttempts(3)
+                .enrichmentError("Could not geocode Atlantis")
+                .createdDate(Instant.parse("2025-09-05T10:00:00Z"))
+                .build();
+    }
+
+    /** Written before the typed fields: GPS and weather still inside {@code metadata}. */
+    private static Journal legacy() {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("gps", new LinkedHashMap<>(Map.of("latitude", 52.52, "longitude", 13.405)));
+        metadata.put("weather", new LinkedHashMap<>(Map.of("temperature", 18.0, "humidity", 70)));
+        metadata.put("mood", "curious");
+
+        return Journal.builder()
+                .id(new ObjectId().toHexString())
+                .userId("user-3")
+                .city("Berlin")
+                .country("DE")
+                .metadata(metadata)
+                .createdDate(Instant.parse("2025-09-01T12:00:00Z"))
+                .modifiedDate(Instant.parse("2025-09-02T12:00:00Z"))
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.tripwise.TripJournal.mapper;
+
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.WeatherObservation;
+import com.tripwise.TripJournal.model.WeatherSnapshot;
+import com.tripwise.TripJournal.service.cache.WeatherObservations;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Weather on responses built by {@link JournalMapper}: shared observations are resolved once per page, embedded
+ * snapshots are used as they are.
+ */
+class JournalMapperTests {
+
+    private static final Instant HOUR = Instant.parse("2026-10-17T09:00:00Z");
+
+    private final WeatherObservations observations = mock(WeatherObservations.class);
+    private final JournalMapper mapper = new JournalMapper(observations);
+
+    @Test
+    void pageResolvesEachReferencedObservationOnce() {
+        WeatherObservation nairobi = WeatherObservation.builder().cell("-1.3000,36.8000").observedAt(HOUR)
+                .temperature(24.5).description("clear sky").humidity(40).windSpeed(3.1).icon("01d").build();
+        when(observations.resolveAll(anyCollection())).thenReturn(Map.of(nairobi.key(), nairobi));
+
+        List<JournalResponse> responses = mapper.toResponses(List.of(
+                referencing("j-1", nairobi.key()),
+                referencing("j-2", nairobi.key()),
+                referencing("j-3", "0.0000,0.0000@" + HOUR)));
+
+        verify(observations, times(1)).resolveAll(Set.of(nairobi.key(), "0.0000,0.0000@" + HOUR));
+        assertEquals(24.5, responses.get(0).getMetadata().getWeather().getTemperature());
+        assertEquals("clear sky", responses.get(1).getMetadata().getWeather().getDescription());
+        assertNull(responses.get(2).getMetadata()); // unknown reference: no weather rather than an error
+    }
+
+    @Test
+    void embeddedWeatherNeedsNoLookup() {
+        when(observations.resolveAll(anyCollection())).thenReturn(Map.of());
+        Journal journal = Journal.builder().id("j-1").weather(WeatherSnapshot.builder()
+                .temperature(18.0).description("light rain").humidity(80).windSpeed(2.0).build()).build();
+
+        JournalResponse response = mapper.toResponse(journal);
+
+        assertEquals("light rain", response.getMetadata().getWeather().getDescription());
+        verify(observations).resolveAll(Set.of());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static Journal referencing(String id, String observation) {
+        return Journal.builder().id(id).weatherObservation(observation).build();
+    }
+}
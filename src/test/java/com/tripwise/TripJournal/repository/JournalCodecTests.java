@@ -0,0 +1,172 @@
+package com.tripwise.TripJournal.repository;
+
+import com.mongodb.MongoClientSettings;
+import com.tripwise.TripJournal.model.*;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Round trips between {@link JournalCodec} and the {@link MappingMongoConverter} it replaces on read paths: both must
+ * produce the same documents and the same {@link Journal}s.
+ */
+class JournalCodecTests {
+
+    private final Codec<Document> documentCodec = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+    private final JournalCodec codec = new JournalCodec();
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = TestMongoConverters.mappingConverter();
+    }
+
+    @Test
+    void encodesLikeTheConverter() {
+        for (Journal journal : List.of(full(), sparse(), legacy())) {
+            assertEquals(converterDocument(journal), codecDocument(journal));
+        }
+    }
+
+    @Test
+    void decodesLikeTheConverter() {
+        for (Journal journal : List.of(full(), sparse(), legacy())) {
+            Document stored = converterDocument(journal);
+            assertEquals(converter.read(Journal.class, stored), decode(raw(stored)));
+        }
+    }
+
+    @Test
+    void decodesProjectionsLikeTheConverter() {
+        Document stored = converterDocument(full());
+        Document summary = new Document("_id", stored.get("_id"))
+                .append("title", stored.get("title"))
+                .append("coverMediaId", stored.get("coverMediaId"))
+                .append("mediaPreviews", stored.get("mediaPreviews"))
+                .append("createdDate", stored.get("createdDate"));
+
+        assertEquals(converter.read(Journal.class, summary), decode(raw(summary)));
+    }
+
+    @Test
+    void decodesTextScore() {
+        Document stored = converterDocument(sparse()).append("score", 1.75);
+
+        Journal journal = decode(raw(stored));
+        assertEquals(converter.read(Journal.class, stored), journal);
+        assertEquals(1.75f, journal.getScore());
+    }
+
+    @Test
+    void roundTripsThroughItself() {
+        // sparse() is left out: its null mediaIds come back as whatever the no-args constructor sets
+        for (Journal journal : List.of(full(), legacy())) {
+            BasicOutputBuffer buffer = new BasicOutputBuffer();
+            codec.encode(new BsonBinaryWriter(buffer), journal, EncoderContext.builder().build());
+
+            assertEquals(journal, decode(new RawBsonDocument(buffer.toByteArray())));
+        }
+    }
+
+    /* ---------- helpers ---------- */
+
+    private Document converterDocument(Journal journal) {
+        Document document = new Document();
+        converter.write(journal, document);
+        return document;
+    }
+
+    private Document codecDocument(Journal journal) {
+        return new RawBsonDocument(journal, codec).decode(documentCodec);
+    }
+
+    private RawBsonDocument raw(Document document) {
+        return new RawBsonDocument(document, documentCodec);
+    }
+
+    private Journal decode(RawBsonDocument raw) {
+        return codec.decode(raw.asBsonReader(), DecoderContext.builder().build());
+    }
+
+    /** Every field set, as enrichment and tripmedia leave it. */
+    private static Journal full() {
+        Instant created = Instant.parse("2026-10-01T08:00:00.123Z");
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("mood", "relaxed");
+        metadata.put("companions", new ArrayList<>(List.of("Amani", "Wanjiru")));
+        metadata.put("rating", 4);
+        metadata.put("cost", new LinkedHashMap<>(Map.of("amount", 12.5, "currency", "KES")));
+
+        return Journal.builder()
+                .id(new ObjectId().toHexString())
+                .userId("user-1")
+                .itineraryId("itinerary-1")
+                .title("Karura Forest")
+                .description("Morning walk to the waterfall.")
+                .city("Nairobi")
+                .country("KE")
+                .coverMediaId("media-0")
+                .mediaIds(new ArrayList<>(List.of("media-0", "media-1")))
+                .mediaPreviews(new ArrayList<>(List.of(
+                        new MediaPreview("media-0", "https://cdn.example.com/0.jpg", 640, 480),
+                        new MediaPreview(new ObjectId().toHexString(), null, 1280, null))))
+                .tags(new ArrayList<>(List.of("hiking", "nature")))
+                .gps(new GpsPoint(-1.2921, 36.8219))
+                .weatherObservation("-1.3,36.8@2026-10-01T08:00:00Z")
+                .userKeys(new LinkedHashSet<>(Set.of("gps")))
+                .metadata(metadata)
+                .enrichmentStatus(EnrichmentStatus.DONE)
+                .enrichmentAttempts(1)
+                .createdDate(created)
+                .modifiedDate(created.plusSeconds(90))
+                .build();
+    }
+
+    /** A non-ObjectId ID, missing optional fields and unknown weather numbers. */
+    private static Journal sparse() {
+        return Journal.builder()
+                .id("imported-42")
+                .userId("user-2")
+                .title("Untitled")
+                .mediaIds(null)
+                .mediaPreviews(new ArrayList<>())
+                .weather(WeatherSnapshot.builder().description("mist").build())
+                .gps(new GpsPoint(Double.NaN, Double.NaN))
+                .enrichmentStatus(EnrichmentStatus.FAILED)
+                .enrichmentAttempts(3)
+                .enrichmentError("Could not geocode Atlantis")
+                .createdDate(Instant.parse("2025-09-05T10:00:00Z"))
+                .build();
+    }
+
+    /** Written before the typed fields: GPS and weather still inside {@code metadata}. */
+    private static Journal legacy() {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("gps", new LinkedHashMap<>(Map.of("lat", 52.52, "lon", 13.405)));
+        metadata.put("weather", new LinkedHashMap<>(Map.of("temperature", 18.0, "humidity", 70)));
+
+        return Journal.builder()
+                .id(new ObjectId().toHexString())
+                .userId("user-3")
+                .city("Berlin")
+                .country("DE")
+                .metadata(metadata)
+                .createdDate(Instant.parse("2025-09-01T12:00:00Z"))
+                .modifiedDate(Instant.parse("2025-09-02T12:00:00Z"))
+                .build();
+    }
+}
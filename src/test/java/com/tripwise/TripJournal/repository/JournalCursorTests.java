@@ -0,0 +1,111 @@
+package com.tripwise.TripJournal.repository;
+
+import com.tripwise.TripJournal.model.Journal;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The opaque {@link JournalCursor} token and the keyset query {@link JournalRepositoryImpl#pageAfterQuery} builds
+ * from it.
+ */
+class JournalCursorTests {
+
+    private static final Instant CREATED = Instant.parse("2026-10-17T09:30:00.123Z");
+
+    @Test
+    void tokenRoundTripsInBothDirections() {
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            JournalCursor cursor = new JournalCursor(CREATED, "6710a1b2c3d4e5f601234567", direction);
+
+            assertEquals(cursor, JournalCursor.decode(cursor.encode()));
+        }
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new JournalCursor(CREATED, "j?/+=1", Sort.Direction.DESC).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void cursorPointsPastTheLastJournal() {
+        Journal last = Journal.builder().id("j-9").createdDate(CREATED).build();
+
+        assertEquals(new JournalCursor(CREATED, "j-9", Sort.Direction.ASC), JournalCursor.after(last, Sort.Direction.ASC));
+    }
+
+    @Test
+    void tamperedTokensAreRejected() {
+        List<String> tampered = List.of(
+                "not base64!",
+                token("v1|1760693400123|j-1"),            // missing direction
+                token("v2|1760693400123|j-1|d"),          // foreign version
+                token("v1|yesterday|j-1|d"),              // non-numeric date
+                token("v1|1760693400123| |d"),            // blank id
+                token("v1|1760693400123|j-1|sideways"),   // unknown direction
+                token("v1|1760693400123|j-1|d|extra"));
+
+        for (String token : tampered) {
+            assertThrows(IllegalArgumentException.class, () -> JournalCursor.decode(token), token);
+        }
+    }
+
+    @Test
+    void descendingPageStartsStrictlyBelowTheCursorAndBreaksTiesOnId() {
+        Query query = JournalRepositoryImpl.pageAfterQuery("alice",
+                new JournalCursor(CREATED, "j-5", Sort.Direction.DESC), Sort.Direction.DESC, 21, JournalFields.ALL);
+
+        Document filter = query.getQueryObject();
+        assertEquals("alice", filter.get("userId"));
+        assertEquals(List.of(
+                new Document("createdDate", new Document("$lt", CREATED)),
+                new Document("createdDate", CREATED).append("_id", new Document("$lt", "j-5"))), filter.get("$or"));
+        assertEquals(new Document("createdDate", -1).append("_id", -1), query.getSortObject());
+        assertEquals(21, query.getLimit());
+    }
+
+    @Test
+    void ascendingPageStartsStrictlyAboveTheCursorAndBreaksTiesOnId() {
+        Query query = JournalRepositoryImpl.pageAfterQuery("alice",
+                new JournalCursor(CREATED, "j-5", Sort.Direction.ASC), Sort.Direction.ASC, 21, JournalFields.ALL);
+
+        assertEquals(List.of(
+                new Document("createdDate", new Document("$gt", CREATED)),
+                new Document("createdDate", CREATED).append("_id", new Document("$gt", "j-5"))),
+                query.getQueryObject().get("$or"));
+        assertEquals(new Document("createdDate", 1).append("_id", 1), query.getSortObject());
+    }
+
+    @Test
+    void firstPageIsOnlyScopedToTheOwner() {
+        Query query = JournalRepositoryImpl.pageAfterQuery("alice", null, Sort.Direction.DESC, 21, JournalFields.ALL);
+
+        assertEquals(new Document("userId", "alice"), query.getQueryObject());
+    }
+
+    @Test
+    void anotherUsersCursorStillOnlyReadsTheCallersJournals() {
+        // cursors carry no owner; the page is scoped to the caller whatever the cursor points at
+        JournalCursor bobs = new JournalCursor(CREATED, "bobs-journal", Sort.Direction.DESC);
+
+        Query query = JournalRepositoryImpl.pageAfterQuery("alice", bobs, Sort.Direction.DESC, 21, JournalFields.ALL);
+
+        assertEquals("alice", query.getQueryObject().get("userId"));
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
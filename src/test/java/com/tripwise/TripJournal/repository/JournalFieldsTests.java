@@ -0,0 +1,87 @@
+package com.tripwise.TripJournal.repository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parsing of {@code ?fields=} into a {@link JournalFields} selection and the Mongo projection it pushes down.
+ */
+class JournalFieldsTests {
+
+    @Test
+    void missingOrBlankSpecSelectsEverything() {
+        assertSame(JournalFields.ALL, JournalFields.parse(null));
+        assertSame(JournalFields.ALL, JournalFields.parse("  "));
+        assertSame(JournalFields.ALL, JournalFields.parse(" , ,"));
+        assertTrue(JournalFields.ALL.includes("description"));
+    }
+
+    @Test
+    void listedFieldsAreProjectedAndIdIsAlwaysReturned() {
+        JournalFields fields = JournalFields.parse(" title , city");
+
+        assertEquals(new Document("title", 1).append("city", 1), projection(fields));
+        assertTrue(fields.includes("id"));
+        assertTrue(fields.includes("title"));
+        assertFalse(fields.includes("description"));
+        assertFalse(fields.includes("tags"));
+    }
+
+    @Test
+    void summaryPresetCoversTheListView() {
+        JournalFields summary = JournalFields.parse("summary");
+
+        assertEquals(new Document("title", 1).append("city", 1).append("country", 1).append("createdDate", 1)
+                .append("coverMediaId", 1).append("mediaPreviews", 1), projection(summary));
+        assertFalse(summary.includes("description"));
+        assertFalse(summary.includes("metadata"));
+    }
+
+    @Test
+    void presetCombinesWithFurtherFields() {
+        JournalFields fields = JournalFields.parse("summary,tags");
+
+        assertTrue(fields.includes("tags"));
+        assertTrue(fields.includes("coverMediaId"));
+    }
+
+    @Test
+    void metadataReadsTheTypedAndTheLegacyFields() {
+        assertEquals(new Document("gps", 1).append("weather", 1).append("weatherObservation", 1).append("metadata", 1),
+                projection(JournalFields.parse("metadata")));
+    }
+
+    @Test
+    void unknownFieldNamesAreRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> JournalFields.parse("title,password"));
+
+        assertEquals("Unknown field: password", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> JournalFields.parse("userKeys")); // internal only
+    }
+
+    @Test
+    void withWidensASelectionButNotEverything() {
+        JournalFields title = JournalFields.parse("title");
+
+        JournalFields widened = title.with("createdDate");
+
+        assertTrue(widened.includes("createdDate"));
+        assertFalse(title.includes("createdDate")); // the original is unchanged
+        assertSame(JournalFields.ALL, JournalFields.ALL.with("createdDate"));
+    }
+
+    @Test
+    void everythingAddsNoProjection() {
+        assertTrue(JournalFields.ALL.applyTo(new Query()).getFieldsObject().isEmpty());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static Document projection(JournalFields fields) {
+        return fields.applyTo(new Query()).getFieldsObject();
+    }
+}
@@ -0,0 +1,163 @@
+package com.tripwise.TripJournal.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.result.DeleteResult;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.MediaPreview;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.CollectionCallback;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Writes and queries built by {@link JournalRepositoryImpl}, against a mocked {@link MongoTemplate} and collection.
+ */
+class JournalRepositoryImplTests {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Journal> journalCollection = mock(MongoCollection.class);
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.execute(eq(Journal.class), any(CollectionCallback.class)))
+                .thenAnswer(call -> call.<CollectionCallback<?>>getArgument(1).doInCollection(collection));
+        when(collection.withDocumentClass(Journal.class)).thenReturn(journalCollection);
+    }
+
+    @Test
+    void batchInsertIsEncodedByTheCodecInOneUnorderedWrite() {
+        List<Journal> journals = List.of(journal("j-1"), journal("j-2"));
+
+        Map<Integer, String> failures = new JournalRepositoryImpl(mongoTemplate, true).insertUnordered(journals);
+
+        assertTrue(failures.isEmpty());
+        ArgumentCaptor<InsertManyOptions> options = ArgumentCaptor.forClass(InsertManyOptions.class);
+        verify(journalCollection).insertMany(eq(journals), options.capture());
+        assertFalse(options.getValue().isOrdered());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Journal.class));
+    }
+
+    @Test
+    void batchInsertReportsFailedPositions() {
+        when(journalCollection.insertMany(anyList(), any(InsertManyOptions.class))).thenThrow(new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)),
+                null, new ServerAddress(), Set.of()));
+
+        Map<Integer, String> failures = new JournalRepositoryImpl(mongoTemplate, true)
+                .insertUnordered(List.of(journal("j-1"), journal("j-2")));
+
+        assertEquals(Map.of(1, "E11000 duplicate key"), failures);
+    }
+
+    @Test
+    void batchInsertGoesThroughTheTemplateWithTheCodecOff() {
+        BulkOperations ops = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Journal.class)).thenReturn(ops);
+        when(ops.insert(anyList())).thenReturn(ops);
+
+        new JournalRepositoryImpl(mongoTemplate, false).insertUnordered(List.of(journal("j-1")));
+
+        verify(ops).execute();
+        verifyNoInteractions(collection);
+    }
+
+    @Test
+    void emptyBatchWritesNothing() {
+        assertTrue(new JournalRepositoryImpl(mongoTemplate, true).insertUnordered(List.of()).isEmpty());
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void previewsAreWrittenInOrderOncePerMedia() {
+        BulkOperations ops = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Journal.class))).thenReturn(ops);
+        when(ops.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        long applied = new JournalRepositoryImpl(mongoTemplate, true).savePreviews("alice", Map.of("j-1", List.of(
+                new MediaPreview("m-1", "https://cdn.example.com/m-1.jpg", 640, 480),
+                new MediaPreview("m-1", "https://cdn.example.com/m-1-v2.jpg", 640, 480))));
+
+        assertEquals(1, applied);
+        // the "replace" must run before the "push", or both would match one new preview
+        verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.ORDERED, Journal.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(ops, times(2)).updateOne(any(Query.class), updates.capture());
+        assertTrue(updates.getAllValues().get(0).getUpdateObject().get("$set", Document.class)
+                .containsKey("mediaPreviews.$[p]"));
+        MediaPreview pushed = (MediaPreview) updates.getAllValues().get(1).getUpdateObject()
+                .get("$push", Document.class).get("mediaPreviews");
+        assertEquals("https://cdn.example.com/m-1-v2.jpg", pushed.getCdnUrl()); // the later preview wins
+    }
+
+    @Test
+    void previewsOnlyTouchTheOwnersJournals() {
+        BulkOperations ops = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Journal.class))).thenReturn(ops);
+        when(ops.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()));
+
+        new JournalRepositoryImpl(mongoTemplate, true).savePreviews("alice", Map.of("j-1", List.of(
+                new MediaPreview("m-1", null, null, null))));
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(ops, times(2)).updateOne(queries.capture(), any(Update.class));
+        for (Query query : queries.getAllValues()) {
+            assertEquals("j-1", query.getQueryObject().get("_id"));
+            assertEquals("alice", query.getQueryObject().get("userId"));
+        }
+    }
+
+    @Test
+    void bulkDeleteSelectsAndRemovesOnlyTheOwnersJournals() {
+        when(mongoTemplate.find(any(Query.class), eq(Journal.class))).thenReturn(List.of(journal("j-1")));
+        when(mongoTemplate.remove(any(Query.class), eq(Journal.class))).thenReturn(DeleteResult.acknowledged(1));
+        JournalRepositoryImpl repository = new JournalRepositoryImpl(mongoTemplate, true);
+
+        List<String> ids = repository.findIds("alice", new JournalFilter(null, null, "Nairobi", null, "hiking"), 6);
+        long deleted = repository.deleteOwned("alice", ids);
+
+        ArgumentCaptor<Query> selection = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(selection.capture(), eq(Journal.class));
+        assertEquals(new Document("userId", "alice").append("city", "Nairobi").append("tags", "hiking"),
+                selection.getValue().getQueryObject());
+        assertEquals(6, selection.getValue().getLimit());
+        assertEquals(new Document("_id", 1), selection.getValue().getFieldsObject());
+
+        ArgumentCaptor<Query> removal = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removal.capture(), eq(Journal.class));
+        assertEquals(new Document("userId", "alice").append("_id", new Document("$in", List.of("j-1"))),
+                removal.getValue().getQueryObject());
+        assertEquals(1, deleted);
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static Journal journal(String id) {
+        return Journal.builder().id(id).userId("alice").title("Nairobi").build();
+    }
+}
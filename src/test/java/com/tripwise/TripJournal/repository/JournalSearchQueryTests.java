@@ -0,0 +1,169 @@
+package com.tripwise.TripJournal.repository;
+
+import com.tripwise.TripJournal.model.Journal;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Queries the search engines of {@link JournalRepositoryImpl} send to MongoDB, against a mocked {@link MongoTemplate}.
+ */
+class JournalSearchQueryTests {
+
+    private static final PageRequest NEWEST_FIRST = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdDate"));
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final JournalRepositoryImpl repository = new JournalRepositoryImpl(mongoTemplate, true);
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.find(any(Query.class), eq(Journal.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void textSearchIsATextQueryScopedToTheOwner() {
+        repository.searchPage("alice", SearchMode.TEXT, "hiking kenya", NEWEST_FIRST, JournalFields.ALL);
+
+        Document filter = searched().getQueryObject();
+        assertEquals("alice", filter.get("userId"));
+        assertEquals("hiking kenya", filter.get("$text", Document.class).get("$search"));
+        assertFalse(filter.containsKey("title"), "text search must not fall back to a title regex");
+    }
+
+    @Test
+    void textSearchIsRankedByRelevanceBeforeThePageableSort() {
+        repository.searchPage("alice", SearchMode.TEXT, "hiking", NEWEST_FIRST, JournalFields.ALL);
+
+        Query query = searched();
+        assertEquals(List.of("score", "createdDate"), List.copyOf(query.getSortObject().keySet()));
+        assertEquals(new Document("$meta", "textScore"), query.getSortObject().get("score"));
+        assertEquals(new Document("$meta", "textScore"), query.getFieldsObject().get("score"));
+    }
+
+    @Test
+    void sparseTextSearchStillReadsTheScore() {
+        repository.searchPage("alice", SearchMode.TEXT, "hiking", NEWEST_FIRST, JournalFields.parse("title"));
+
+        Document projection = searched().getFieldsObject();
+        assertEquals(1, projection.get("title"));
+        assertEquals(new Document("$meta", "textScore"), projection.get("score"));
+    }
+
+    @Test
+    void regexSearchOnlyMatchesTheTitle() {
+        repository.searchPage("alice", SearchMode.REGEX, ".*Karura.*", NEWEST_FIRST, JournalFields.ALL);
+
+        Document filter = searched().getQueryObject();
+        assertEquals("alice", filter.get("userId"));
+        Pattern title = (Pattern) filter.get("title");
+        assertEquals(".*Karura.*", title.pattern());
+        assertEquals(Pattern.CASE_INSENSITIVE, title.flags() & Pattern.CASE_INSENSITIVE);
+        assertFalse(filter.containsKey("$text"));
+    }
+
+    @Test
+    void suggestionsAreACollatedTitleRangeScan() {
+        repository.suggestByTitlePrefix("alice", "Ber", 10);
+
+        Query query = searched();
+        assertEquals(new Document("userId", "alice")
+                .append("title", new Document("$gte", "Ber").append("$lt", "Ber\uFFFF")), query.getQueryObject());
+        assertEquals(JournalRepositoryImpl.TITLE_COLLATION, query.getCollation().orElseThrow());
+        assertEquals(new Document("title", 1), query.getSortObject());
+        assertEquals(new Document("title", 1), query.getFieldsObject()); // ids and titles only
+        assertEquals(10, query.getLimit());
+    }
+
+    @Test
+    void titleCollationIgnoresCaseButNotAccents() {
+        // strength 2 (secondary): "berlin" == "Berlin", "Zürich" != "Zurich"
+        assertEquals(new Document("locale", "en").append("strength", 2),
+                JournalRepositoryImpl.TITLE_COLLATION.toDocument());
+    }
+
+    @Test
+    void prefixSearchUsesTheSameRangeAndCollation() {
+        repository.searchPage("alice", SearchMode.PREFIX, "ber", NEWEST_FIRST, JournalFields.ALL);
+
+        Query query = searched();
+        assertEquals(new Document("$gte", "ber").append("$lt", "ber\uFFFF"), query.getQueryObject().get("title"));
+        assertEquals(JournalRepositoryImpl.TITLE_COLLATION, query.getCollation().orElseThrow());
+        assertFalse(query.getQueryObject().get("title") instanceof Pattern, "prefix search must not use a regex");
+    }
+
+    @Test
+    void shortFirstPageNeedsNoCount() {
+        when(mongoTemplate.find(any(Query.class), eq(Journal.class)))
+                .thenReturn(List.of(Journal.builder().id("j-1").title("Karura Forest").score(1.5f).build()));
+
+        Page<Journal> page = repository.searchPage("alice", SearchMode.TEXT, "forest", NEWEST_FIRST, JournalFields.ALL);
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals(1.5f, page.getContent().get(0).getScore());
+        verify(mongoTemplate, never()).count(any(Query.class), eq(Journal.class));
+    }
+
+    @Test
+    void sliceReadsOneExtraRowInsteadOfCounting() {
+        when(mongoTemplate.find(any(Query.class), eq(Journal.class))).thenReturn(journals(3));
+
+        Slice<Journal> slice = repository.searchSlice("alice", SearchMode.REGEX, ".*", PageRequest.of(1, 2),
+                JournalFields.ALL);
+
+        Query query = searched();
+        assertEquals(3, query.getLimit());
+        assertEquals(2, query.getSkip());
+        assertTrue(slice.hasNext());
+        assertEquals(List.of("j-0", "j-1"), slice.getContent().stream().map(Journal::getId).toList());
+        verify(mongoTemplate, never()).count(any(Query.class), eq(Journal.class));
+    }
+
+    @Test
+    void sliceWithoutAnExtraRowIsTheLast() {
+        when(mongoTemplate.find(any(Query.class), eq(Journal.class))).thenReturn(journals(2));
+
+        Slice<Journal> slice = repository.searchSlice("alice", SearchMode.TEXT, "hiking", PageRequest.of(0, 2),
+                JournalFields.ALL);
+
+        assertFalse(slice.hasNext());
+        assertEquals(2, slice.getNumberOfElements());
+    }
+
+    @Test
+    void estimatedTotalStopsCountingAtTheCap() {
+        repository.countUpTo("alice", SearchMode.REGEX, ".*Karura.*", 1000);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).count(query.capture(), eq(Journal.class));
+        assertEquals(1000, query.getValue().getLimit());
+        assertEquals("alice", query.getValue().getQueryObject().get("userId"));
+    }
+
+    /* ---------- helpers ---------- */
+
+    private Query searched() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Journal.class));
+        return query.getValue();
+    }
+
+    private static List<Journal> journals(int count) {
+        return IntStream.range(0, count).mapToObj(i -> Journal.builder().id("j-" + i).build()).toList();
+    }
+}
@@ -0,0 +1,31 @@
+package com.tripwise.TripJournal.repository;
+
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * {@link MappingMongoConverter}s for tests and benchmarks, set up as Spring Boot's auto-configuration does: with the
+ * store's default conversions (e.g. {@code java.time} types) and the simple types they imply. A bare converter would
+ * try to map {@code Instant} reflectively and fail on the module system.
+ */
+public final class TestMongoConverters {
+
+    private TestMongoConverters() {
+    }
+
+    public static MappingMongoConverter mappingConverter() {
+        MongoCustomConversions conversions = MongoCustomConversions.create(adapter -> {
+        });
+
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,146 @@
+package com.tripwise.TripJournal.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.tripwise.TripJournal.mapper.JournalMapper;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.repository.JournalRepository;
+import com.tripwise.TripJournal.service.cache.WeatherObservations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link JournalExporter} writing a user's journals as a JSON array and as NDJSON from a lazily pulled stream.
+ */
+class JournalExporterTests {
+
+    private static final int BATCH_SIZE = 10;
+    private static final Instant T0 = Instant.parse("2026-10-17T09:00:00Z");
+
+    private final JournalRepository repository = mock(JournalRepository.class);
+    private final JournalMapper mapper = spy(new JournalMapper(mock(WeatherObservations.class)));
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    /** Journals pulled from the stream so far, and whether it was closed. */
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private JournalExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new JournalExporter(repository, mapper, objectMapper);
+        ReflectionTestUtils.setField(exporter, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(exporter, "flushEvery", 5);
+    }
+
+    @Test
+    void jsonArrayHoldsEveryJournalInCursorOrder() throws IOException {
+        journals(25);
+
+        JsonNode array = objectMapper.readTree(export(false));
+
+        assertTrue(array.isArray());
+        assertEquals(25, array.size());
+        assertEquals("j-0", array.get(0).get("id").asText());
+        assertEquals("j-24", array.get(24).get("title").asText());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        journals(25);
+
+        String body = export(true);
+
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(25, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals("j-" + i, objectMapper.readTree(lines[i]).get("id").asText(), lines[i]);
+        }
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void journalsArePulledAndMappedOneBatchAtATime() throws IOException {
+        journals(25);
+        List<Integer> pulledWhenMapped = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(call -> {
+            pulledWhenMapped.add(pulled.get());
+            batchSizes.add(call.<List<Journal>>getArgument(0).size());
+            return call.callRealMethod();
+        }).when(mapper).toResponses(anyList());
+
+        export(true);
+
+        // each batch is mapped before the next one is read from the cursor
+        assertEquals(List.of(10, 10, 5), batchSizes);
+        assertEquals(List.of(10, 20, 25), pulledWhenMapped);
+    }
+
+    @Test
+    void noJournalsIsAnEmptyArrayOrAnEmptyBody() throws IOException {
+        journals(0);
+        assertEquals("[]", export(false));
+
+        journals(0);
+        assertEquals("", export(true));
+    }
+
+    @Test
+    void cursorIsClosedWhenTheClientGoesAway() {
+        journals(25);
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> exporter.writeNdjson("alice", disconnected));
+
+        assertTrue(closed.get());
+        assertTrue(pulled.get() < 25, "kept reading after the client left: " + pulled.get());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private String export(boolean ndjson) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (ndjson) exporter.writeNdjson("alice", out);
+        else exporter.writeJsonArray("alice", out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /** Stubs the cursor with {@code count} journals that are only built when pulled. */
+    private void journals(int count) {
+        pulled.set(0);
+        closed.set(false);
+        when(repository.streamByUserId("alice", BATCH_SIZE)).thenAnswer(call -> IntStream.range(0, count)
+                .mapToObj(i -> {
+                    pulled.incrementAndGet();
+                    return Journal.builder().id("j-" + i).userId("alice").title("j-" + i)
+                            .createdDate(T0.minusSeconds(i)).build();
+                })
+                .onClose(() -> closed.set(true)));
+    }
+}
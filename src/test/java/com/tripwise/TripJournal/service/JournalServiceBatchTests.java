@@ -0,0 +1,292 @@
+package com.tripwise.TripJournal.service;
+
+import com.tripwise.TripJournal.dto.requests.CreateJournalRequest;
+import com.tripwise.TripJournal.dto.requests.MediaReadyEvent;
+import com.tripwise.TripJournal.dto.responses.BatchCreateResponse;
+import com.tripwise.TripJournal.dto.responses.BulkDeleteResponse;
+import com.tripwise.TripJournal.dto.responses.MediaEventsResponse;
+import com.tripwise.TripJournal.mapper.JournalMapper;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.MediaPreview;
+import com.tripwise.TripJournal.repository.JournalFilter;
+import com.tripwise.TripJournal.repository.JournalRepository;
+import com.tripwise.TripJournal.service.enrichment.EnrichmentWorker;
+import com.tripwise.TripJournal.service.media.MediaOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The batch endpoints of {@link JournalService}, against a mocked repository, outbox and enrichment.
+ */
+class JournalServiceBatchTests {
+
+    private static final int MAX_BATCH = 5;
+
+    private final JournalRepository repository = mock(JournalRepository.class);
+    private final MediaOutbox mediaOutbox = mock(MediaOutbox.class);
+    private final ServiceHelpers helpers = mock(ServiceHelpers.class);
+    private final EnrichmentWorker enrichmentWorker = mock(EnrichmentWorker.class);
+
+    private JournalService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new JournalService(repository, mock(JournalEnricher.class), helpers,
+                mock(JournalMapper.class), mock(MetadataService.class), enrichmentWorker,
+                new SimpleMeterRegistry(), Validation.buildDefaultValidatorFactory().getValidator(), mediaOutbox);
+        ReflectionTestUtils.setField(service, "maxBatchSize", MAX_BATCH);
+        when(helpers.tryAutoMetadata(any(), any())).thenReturn(AutoMetadata.NONE);
+    }
+
+    /* ---------- POST /journals/batch ---------- */
+
+    @Test
+    void validBatchIsInsertedInOneWrite() {
+        when(repository.insertUnordered(anyList())).thenReturn(Map.of());
+
+        BatchCreateResponse result = service.createJournals("alice", List.of(create("Nairobi"), create("Mombasa")));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(0, result.getFailed());
+        List<Journal> inserted = inserted();
+        assertEquals(2, inserted.size());
+        assertTrue(inserted.stream().allMatch(j -> "alice".equals(j.getUserId()) && j.getId() != null));
+        assertEquals(List.of(inserted.get(0).getId(), inserted.get(1).getId()),
+                result.getItems().stream().map(BatchCreateResponse.Item::getId).toList());
+        verify(mediaOutbox).thumbnails("alice", List.of(inserted.get(0).getId(), inserted.get(1).getId()));
+    }
+
+    @Test
+    void invalidItemsFailInPlaceAndAreNotWritten() {
+        when(repository.insertUnordered(anyList())).thenReturn(Map.of());
+
+        BatchCreateResponse result = service.createJournals("alice",
+                Arrays.asList(create("Nairobi"), create(" "), null));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of("CREATED", "FAILED", "FAILED"), statuses(result));
+        assertEquals("title: Title must not be blank", result.getItems().get(1).getError());
+        assertEquals("Item must not be null", result.getItems().get(2).getError());
+        assertEquals(1, inserted().size());
+    }
+
+    @Test
+    void writeErrorsAreReportedAtTheirRequestPosition() {
+        // item 1 is invalid, so the insert sees [0, 2, 3]; its failure at position 1 is request item 2
+        when(repository.insertUnordered(anyList())).thenReturn(Map.of(1, "E11000 duplicate key"));
+
+        BatchCreateResponse result = service.createJournals("alice",
+                List.of(create("Nairobi"), create(""), create("Mombasa"), create("Kisumu")));
+
+        assertEquals(List.of("CREATED", "FAILED", "FAILED", "CREATED"), statuses(result));
+        assertEquals(List.of(0, 1, 2, 3), result.getItems().stream().map(BatchCreateResponse.Item::getIndex).toList());
+        BatchCreateResponse.Item duplicate = result.getItems().get(2);
+        assertEquals("E11000 duplicate key", duplicate.getError());
+        assertNull(duplicate.getId());
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getFailed());
+
+        List<Journal> inserted = inserted();
+        assertEquals("Mombasa", inserted.get(1).getTitle());
+        verify(mediaOutbox).thumbnails("alice", List.of(inserted.get(0).getId(), inserted.get(2).getId()));
+    }
+
+    @Test
+    void deferredEnrichmentIsOnlySubmittedForStoredJournals() {
+        when(helpers.defersEnrichment(any())).thenReturn(true);
+        when(repository.insertUnordered(anyList())).thenReturn(Map.of(0, "E11000 duplicate key"));
+
+        service.createJournals("alice", List.of(create("Nairobi"), create("Mombasa")));
+
+        ArgumentCaptor<Journal> submitted = ArgumentCaptor.forClass(Journal.class);
+        verify(enrichmentWorker).submit(submitted.capture());
+        assertEquals("Mombasa", submitted.getValue().getTitle());
+        verify(helpers, never()).tryAutoMetadata(any(), any());
+    }
+
+    @Test
+    void eachLocationIsEnrichedOnce() {
+        when(repository.insertUnordered(anyList())).thenReturn(Map.of());
+        CreateJournalRequest first = create("Day 1");
+        CreateJournalRequest second = create("Day 2");
+        second.setCity(" nairobi ");
+
+        service.createJournals("alice", List.of(first, second));
+
+        verify(helpers, times(1)).tryAutoMetadata(any(), any());
+    }
+
+    @Test
+    void createBatchMustBeNonEmptyAndBounded() {
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> service.createJournals("alice", List.of())).getStatusCode().value());
+
+        List<CreateJournalRequest> tooMany = new ArrayList<>();
+        for (int i = 0; i <= MAX_BATCH; i++) tooMany.add(create("Journal " + i));
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> service.createJournals("alice", tooMany)).getStatusCode().value());
+
+        verifyNoInteractions(repository);
+    }
+
+    /* ---------- DELETE /journals ---------- */
+
+    @Test
+    void filterThatWouldMatchEverythingIsRejected() {
+        for (JournalFilter filter : List.of(
+                new JournalFilter(null, null, null, null, null),
+                new JournalFilter(List.of(), " ", "", null, "  "))) {
+            assertEquals(400, assertThrows(ResponseStatusException.class,
+                    () -> service.deleteJournals("alice", filter)).getStatusCode().value());
+        }
+
+        verifyNoInteractions(repository, mediaOutbox);
+    }
+
+    @Test
+    void selectionOverTheBatchCapIsRejectedBeforeDeleting() {
+        JournalFilter filter = new JournalFilter(null, null, null, null, "hiking");
+        when(repository.findIds("alice", filter, MAX_BATCH + 1)).thenReturn(ids(MAX_BATCH + 1));
+
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> service.deleteJournals("alice", filter)).getStatusCode().value());
+
+        verify(repository, never()).deleteOwned(anyString(), anyCollection());
+        verifyNoInteractions(mediaOutbox);
+    }
+
+    @Test
+    void selectionUpToTheCapIsDeletedWithOneOutboxBatch() {
+        JournalFilter filter = new JournalFilter(null, "itinerary-1", null, null, null);
+        List<String> ids = ids(MAX_BATCH);
+        when(repository.findIds("alice", filter, MAX_BATCH + 1)).thenReturn(ids);
+        when(repository.deleteOwned("alice", ids)).thenReturn((long) MAX_BATCH);
+
+        BulkDeleteResponse result = service.deleteJournals("alice", filter);
+
+        assertEquals(MAX_BATCH, result.getDeleted());
+        assertEquals(ids, result.getIds());
+        verify(repository).deleteOwned("alice", ids);
+        verify(mediaOutbox).deleted("alice", ids);
+        verifyNoMoreInteractions(mediaOutbox);
+    }
+
+    /* ---------- POST /journals/media-events ---------- */
+
+    @Test
+    void mediaEventsAreStoredOnEachOwnersJournals() {
+        when(repository.savePreviews(anyString(), anyMap())).thenAnswer(call -> (long) previewCount(call.getArgument(1)));
+
+        MediaEventsResponse result = service.applyMediaEvents(List.of(
+                event("alice", "j-1", "m-1"),
+                event("bob", "j-2", "m-2"),
+                event("alice", "j-3", "m-3")));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getApplied());
+        assertEquals(Map.of("j-1", List.of("m-1"), "j-3", List.of("m-3")), savedFor("alice"));
+        assertEquals(Map.of("j-2", List.of("m-2")), savedFor("bob"));
+    }
+
+    @Test
+    void laterEventForTheSameMediaWinsAndInvalidEventsAreSkipped() {
+        MediaReadyEvent first = event("alice", "j-1", "m-1");
+        MediaReadyEvent second = event("alice", "j-1", "m-1");
+        second.setCdnUrl("https://cdn.example.com/m-1-v2.jpg");
+        MediaReadyEvent ownerless = event(null, "j-1", "m-2");
+
+        service.applyMediaEvents(List.of(first, second, ownerless));
+
+        ArgumentCaptor<Map<String, Collection<MediaPreview>>> previews = previewsCaptor();
+        verify(repository).savePreviews(eq("alice"), previews.capture());
+        List<MediaPreview> stored = new ArrayList<>(previews.getValue().get("j-1"));
+        assertEquals(1, stored.size());
+        assertEquals("https://cdn.example.com/m-1-v2.jpg", stored.get(0).getCdnUrl());
+        verify(repository, never()).savePreviews(isNull(), anyMap());
+    }
+
+    @Test
+    void mediaEventBatchMustBeNonEmptyAndBounded() {
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> service.applyMediaEvents(List.of())).getStatusCode().value());
+
+        List<MediaReadyEvent> tooMany = new ArrayList<>();
+        for (int i = 0; i <= MAX_BATCH; i++) tooMany.add(event("alice", "j-" + i, "m-" + i));
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> service.applyMediaEvents(tooMany)).getStatusCode().value());
+
+        verifyNoInteractions(repository);
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static CreateJournalRequest create(String title) {
+        CreateJournalRequest request = new CreateJournalRequest();
+        request.setTitle(title);
+        request.setCity("Nairobi");
+        request.setCountry("KE");
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Journal> inserted() {
+        ArgumentCaptor<List<Journal>> journals = ArgumentCaptor.forClass(List.class);
+        verify(repository).insertUnordered(journals.capture());
+        return journals.getValue();
+    }
+
+    private static List<String> ids(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) ids.add("j-" + i);
+        return ids;
+    }
+
+    private static List<String> statuses(BatchCreateResponse result) {
+        return result.getItems().stream().map(BatchCreateResponse.Item::getStatus).toList();
+    }
+
+    private static MediaReadyEvent event(String userId, String journalId, String mediaId) {
+        return MediaReadyEvent.builder()
+                .userId(userId)
+                .journalId(journalId)
+                .mediaId(mediaId)
+                .cdnUrl("https://cdn.example.com/" + mediaId + ".jpg")
+                .width(640)
+                .height(480)
+                .build();
+    }
+
+    /** Media IDs per journal ID passed to {@code savePreviews} for {@code userId}. */
+    private Map<String, List<String>> savedFor(String userId) {
+        ArgumentCaptor<Map<String, Collection<MediaPreview>>> previews = previewsCaptor();
+        verify(repository).savePreviews(eq(userId), previews.capture());
+        return previews.getValue().entrySet().stream().collect(Collectors.toMap(
+                Map.Entry::getKey, e -> e.getValue().stream().map(MediaPreview::getId).toList()));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentCaptor<Map<String, Collection<MediaPreview>>> previewsCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(Map.class);
+    }
+
+    private static int previewCount(Map<String, ? extends Collection<MediaPreview>> previews) {
+        return previews.values().stream().mapToInt(Collection::size).sum();
+    }
+}
@@ -0,0 +1,212 @@
+package com.tripwise.TripJournal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
+import com.tripwise.TripJournal.mapper.JournalMapper;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.repository.JournalCursor;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.JournalRepository;
+import com.tripwise.TripJournal.service.cache.WeatherObservations;
+import com.tripwise.TripJournal.service.enrichment.EnrichmentWorker;
+import com.tripwise.TripJournal.service.media.MediaOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Keyset paging and sparse fieldsets in {@link JournalService}, against a repository that answers page queries from
+ * an in-memory list in {@code (createdDate, _id)} order.
+ */
+class JournalServicePagingTests {
+
+    private static final Instant T0 = Instant.parse("2026-10-17T09:00:00Z");
+
+    private final JournalRepository repository = mock(JournalRepository.class);
+    private final List<Journal> stored = new ArrayList<>();
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private JournalService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new JournalService(repository, mock(JournalEnricher.class), mock(ServiceHelpers.class),
+                new JournalMapper(mock(WeatherObservations.class)), mock(MetadataService.class),
+                mock(EnrichmentWorker.class), new SimpleMeterRegistry(),
+                Validation.buildDefaultValidatorFactory().getValidator(), mock(MediaOutbox.class));
+        ReflectionTestUtils.setField(service, "maxPageSize", 100);
+
+        when(repository.findPageAfter(anyString(), any(), any(Sort.Direction.class), anyInt(), any(JournalFields.class)))
+                .thenAnswer(call -> pageAfter(call.getArgument(0), call.getArgument(1), call.getArgument(2),
+                        call.getArgument(3)));
+    }
+
+    @Test
+    void pagesWalkEveryJournalOnceDespiteTiedDates() {
+        // three journals share one instant; a date-only cursor would skip or repeat them
+        store("j-1", T0);
+        store("j-2", T0.plusSeconds(60));
+        store("j-3", T0.plusSeconds(60));
+        store("j-4", T0.plusSeconds(60));
+        store("j-5", T0.plusSeconds(120));
+
+        assertEquals(List.of("j-5", "j-4", "j-3", "j-2", "j-1"), walk("createdDate,desc", 2));
+        assertEquals(List.of("j-1", "j-2", "j-3", "j-4", "j-5"), walk("createdDate,asc", 2));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        store("j-1", T0);
+        store("j-2", T0.plusSeconds(60));
+
+        PageResponse<JournalResponse> page = service.findJournalPage("alice", 2, null, null, null);
+
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(2, page.getContent().size());
+    }
+
+    @Test
+    void tamperedCursorIsABadRequest() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> service.findJournalPage("alice", 20, null, "bm90LWEtY3Vyc29y", null));
+
+        assertEquals(400, e.getStatusCode().value());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void cursorFromTheOtherDirectionIsABadRequest() {
+        String ascending = new JournalCursor(T0, "j-1", Sort.Direction.ASC).encode();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> service.findJournalPage("alice", 20, "createdDate,desc", ascending, null));
+
+        assertEquals(400, e.getStatusCode().value());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void unsupportedSortIsABadRequest() {
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> service.findJournalPage("alice", 20, "title,asc", null, null)).getStatusCode().value());
+    }
+
+    @Test
+    void sortDirectionDefaultsToNewestFirst() {
+        assertEquals(Sort.Direction.DESC, JournalService.parseCreatedDateSort(null));
+        assertEquals(Sort.Direction.DESC, JournalService.parseCreatedDateSort("createdDate"));
+        assertEquals(Sort.Direction.ASC, JournalService.parseCreatedDateSort("createdDate,asc"));
+        assertNull(JournalService.parseCursor(" ", Sort.Direction.DESC, null));
+    }
+
+    @Test
+    void sparsePageReadsTheCursorAndVersionButReturnsOnlyTheRequestedFields() {
+        store("j-1", T0);
+        store("j-2", T0.plusSeconds(60));
+
+        PageResponse<JournalResponse> page = service.findJournalPage("alice", 1, null, null, "title");
+
+        ArgumentCaptor<JournalFields> projection = ArgumentCaptor.forClass(JournalFields.class);
+        verify(repository).findPageAfter(eq("alice"), isNull(), eq(Sort.Direction.DESC), eq(2), projection.capture());
+        assertTrue(projection.getValue().includes("createdDate"));
+        assertTrue(projection.getValue().includes("modifiedDate")); // for the page's ETag
+        assertFalse(projection.getValue().includes("description"));
+
+        assertEquals(Set.of("id", "title"), keys(page.getContent().get(0)));
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void summaryPageLeavesOutTheEntitysDefaults() {
+        store("j-1", T0);
+
+        PageResponse<JournalResponse> page = service.findJournalPage("alice", 20, null, null, JournalFields.SUMMARY);
+
+        // mediaPreviews is part of the summary; tags and mediaIds default to [] on the entity but were not read
+        assertEquals(Set.of("id", "title", "createdDate", "mediaPreviews"), keys(page.getContent().get(0)));
+    }
+
+    @Test
+    void sparseJournalIsReadWithItsProjection() {
+        Journal stored = Journal.builder().id("j-1").userId("alice").title("Karura Forest").build();
+        when(repository.findOwned(eq("j-1"), eq("alice"), any(JournalFields.class))).thenReturn(Optional.of(stored));
+
+        JournalResponse journal = service.getJournal("alice", "j-1", "title");
+
+        ArgumentCaptor<JournalFields> projection = ArgumentCaptor.forClass(JournalFields.class);
+        verify(repository).findOwned(eq("j-1"), eq("alice"), projection.capture());
+        assertFalse(projection.getValue().isAll());
+        assertEquals(Set.of("id", "title"), keys(journal));
+    }
+
+    @Test
+    void unknownFieldIsABadRequest() {
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> service.findJournalPage("alice", 20, null, null, "title,secret")).getStatusCode().value());
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> service.getJournal("alice", "j-1", "secret")).getStatusCode().value());
+
+        verifyNoInteractions(repository);
+    }
+
+    /* ---------- helpers ---------- */
+
+    /** The keys {@code response} is serialized with. */
+    private Set<String> keys(JournalResponse response) {
+        Set<String> keys = new TreeSet<>();
+        objectMapper.valueToTree(response).fieldNames().forEachRemaining(keys::add);
+        return keys;
+    }
+
+    private void store(String id, Instant createdDate) {
+        stored.add(Journal.builder().id(id).userId("alice").title(id).createdDate(createdDate).build());
+    }
+
+    /** Ids of all journals, following {@code nextCursor} from the first page to the last. */
+    private List<String> walk(String sort, int size) {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponse<JournalResponse> page = service.findJournalPage("alice", size, sort, cursor, null);
+            page.getContent().forEach(journal -> ids.add(journal.getId()));
+            assertTrue(ids.size() <= stored.size(), "paging did not terminate: " + ids);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    /** What {@code pageAfterQuery} selects, evaluated in memory. */
+    private List<Journal> pageAfter(String userId, JournalCursor after, Sort.Direction direction, int limit) {
+        Comparator<Journal> order = Comparator.comparing(Journal::getCreatedDate).thenComparing(Journal::getId);
+        if (direction.isDescending()) order = order.reversed();
+        Journal boundary = after == null ? null : Journal.builder().createdDate(after.createdDate()).id(after.id()).build();
+        Comparator<Journal> finalOrder = order;
+
+        return stored.stream()
+                .filter(j -> j.getUserId().equals(userId))
+                .filter(j -> boundary == null || finalOrder.compare(j, boundary) > 0)
+                .sorted(order)
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,187 @@
+package com.tripwise.TripJournal.service;
+
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.JournalSuggestion;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
+import com.tripwise.TripJournal.mapper.JournalMapper;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.JournalRepository;
+import com.tripwise.TripJournal.repository.SearchMode;
+import com.tripwise.TripJournal.service.cache.WeatherObservations;
+import com.tripwise.TripJournal.service.enrichment.EnrichmentWorker;
+import com.tripwise.TripJournal.service.media.MediaOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Engine selection, timing and result mapping of the search methods in {@link JournalService}; the repository is
+ * mocked.
+ */
+class JournalServiceSearchTests {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    private final JournalRepository repository = mock(JournalRepository.class);
+    private final JournalEnricher enricher = mock(JournalEnricher.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JournalService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new JournalService(repository, enricher, mock(ServiceHelpers.class),
+                new JournalMapper(mock(WeatherObservations.class)), mock(MetadataService.class),
+                mock(EnrichmentWorker.class), meterRegistry, Validation.buildDefaultValidatorFactory().getValidator(),
+                mock(MediaOutbox.class));
+        ReflectionTestUtils.setField(service, "maxSuggestions", 20);
+        ReflectionTestUtils.setField(service, "estimateCap", 1000);
+        when(enricher.containsRegex(any())).thenCallRealMethod();
+        when(repository.searchPage(anyString(), any(SearchMode.class), anyString(), any(Pageable.class),
+                any(JournalFields.class))).thenReturn(Page.empty(FIRST_PAGE));
+    }
+
+    @Test
+    void textSearchPassesTheTermToTheTextEngineAndKeepsTheScore() {
+        when(repository.searchPage(eq("alice"), eq(SearchMode.TEXT), eq("hiking trails"), eq(FIRST_PAGE),
+                any(JournalFields.class))).thenReturn(new PageImpl<>(List.of(
+                        Journal.builder().id("j-2").title("Hiking Mt Kenya").score(2.5f).build(),
+                        Journal.builder().id("j-1").title("Trail notes").score(0.75f).build()), FIRST_PAGE, 2));
+
+        Page<JournalResponse> page = service.search("alice", "  hiking trails ", SearchMode.TEXT, null, FIRST_PAGE);
+
+        assertEquals(List.of("j-2", "j-1"), page.getContent().stream().map(JournalResponse::getId).toList());
+        assertEquals(2.5f, page.getContent().get(0).getScore());
+        assertEquals(2, page.getTotalElements());
+        verify(enricher, never()).containsRegex(any());
+    }
+
+    @Test
+    void blankTextSearchFallsBackToTheRegexEngine() {
+        service.search("alice", " ", SearchMode.TEXT, null, FIRST_PAGE);
+
+        verify(repository).searchPage("alice", SearchMode.REGEX, ".*", FIRST_PAGE, JournalFields.ALL);
+    }
+
+    @Test
+    void regexSearchQuotesTheTerm() {
+        service.search("alice", "a.b(c", SearchMode.REGEX, null, FIRST_PAGE);
+
+        verify(repository).searchPage("alice", SearchMode.REGEX, ".*\\Qa.b(c\\E.*", FIRST_PAGE, JournalFields.ALL);
+    }
+
+    @Test
+    void eachEngineIsTimedSeparately() {
+        service.search("alice", "hiking", SearchMode.TEXT, null, FIRST_PAGE);
+        service.search("alice", "hiking", SearchMode.TEXT, null, FIRST_PAGE);
+        service.search("alice", "hiking", SearchMode.REGEX, null, FIRST_PAGE);
+
+        assertEquals(2, meterRegistry.timer("journal.search", "mode", "text").count());
+        assertEquals(1, meterRegistry.timer("journal.search", "mode", "regex").count());
+    }
+
+    @Test
+    void slicePageReportsHasNextWithoutATotal() {
+        slice(PageRequest.of(0, 2), true, "j-1", "j-2");
+
+        PageResponse<JournalResponse> page = service.searchSlice("alice", "hiking", SearchMode.TEXT, null, false,
+                PageRequest.of(0, 2));
+
+        assertTrue(page.isHasNext());
+        assertEquals(0, page.getPageNumber());
+        assertEquals(2, page.getPageSize());
+        assertNull(page.getEstimatedTotal());
+        verify(repository, never()).countUpTo(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void lastSliceKnowsItsTotalWithoutCounting() {
+        slice(PageRequest.of(3, 20), false, "j-61", "j-62");
+
+        PageResponse<JournalResponse> page = service.searchSlice("alice", "hiking", SearchMode.TEXT, null, true,
+                PageRequest.of(3, 20));
+
+        assertEquals(62, page.getEstimatedTotal());
+        assertFalse(page.getTotalCapped());
+        verify(repository, never()).countUpTo(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void estimatedTotalIsCappedCount() {
+        slice(FIRST_PAGE, true, "j-1");
+        when(repository.countUpTo("alice", SearchMode.TEXT, "hiking", 1000)).thenReturn(1000L, 240L);
+
+        PageResponse<JournalResponse> capped = service.searchSlice("alice", "hiking", SearchMode.TEXT, null, true,
+                FIRST_PAGE);
+        PageResponse<JournalResponse> exact = service.searchSlice("alice", "hiking", SearchMode.TEXT, null, true,
+                FIRST_PAGE);
+
+        assertEquals(1000, capped.getEstimatedTotal());
+        assertTrue(capped.getTotalCapped());
+        assertEquals(240, exact.getEstimatedTotal());
+        assertFalse(exact.getTotalCapped());
+        assertEquals(2, meterRegistry.timer("journal.search", "mode", "text", "paging", "slice").count());
+    }
+
+    @Test
+    void suggestionsCarryOnlyIdsAndTitles() {
+        when(repository.suggestByTitlePrefix("alice", "ber", 10)).thenReturn(List.of(
+                Journal.builder().id("j-1").title("Berlin").build(),
+                Journal.builder().id("j-2").title("bergen by night").build()));
+
+        List<JournalSuggestion> suggestions = service.suggest("alice", " ber ", 10);
+
+        assertEquals(List.of(new JournalSuggestion("j-1", "Berlin"), new JournalSuggestion("j-2", "bergen by night")),
+                suggestions);
+        assertEquals(1, meterRegistry.timer("journal.search", "mode", "suggest").count());
+    }
+
+    @Test
+    void suggestionLimitIsClamped() {
+        service.suggest("alice", "ber", 500);
+        service.suggest("alice", "ber", 0);
+
+        verify(repository).suggestByTitlePrefix("alice", "ber", 20);
+        verify(repository).suggestByTitlePrefix("alice", "ber", 1);
+    }
+
+    @Test
+    void blankPrefixSuggestsNothing() {
+        assertEquals(List.of(), service.suggest("alice", null, 10));
+        assertEquals(List.of(), service.suggest("alice", "  ", 10));
+
+        verify(repository, never()).suggestByTitlePrefix(any(), any(), anyInt());
+    }
+
+    @Test
+    void unknownModeIsABadRequest() {
+        assertEquals(SearchMode.TEXT, JournalService.parseSearchMode("Text"));
+        assertEquals(SearchMode.REGEX, JournalService.parseSearchMode(null));
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> JournalService.parseSearchMode("fuzzy")).getStatusCode().value());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private void slice(Pageable pageable, boolean hasNext, String... ids) {
+        List<Journal> content = Arrays.stream(ids).map(id -> Journal.builder().id(id).build()).toList();
+        when(repository.searchSlice(eq("alice"), any(SearchMode.class), anyString(), eq(pageable),
+                any(JournalFields.class))).thenReturn(new SliceImpl<>(content, pageable, hasNext));
+    }
+}
@@ -0,0 +1,167 @@
+package com.tripwise.TripJournal.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.tripwise.TripJournal.dto.requests.UpdateJournalRequest;
+import com.tripwise.TripJournal.mapper.JournalMapper;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.MediaPreview;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.JournalRepository;
+import com.tripwise.TripJournal.repository.JournalRepositoryImpl;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link JournalVersions} follows {@code modifiedDate}, and the writes that change a response move it.
+ */
+class JournalVersionsTests {
+
+    private static final String USER = "user-1";
+    private static final String ID = "65f1c0ffee0000000000000a";
+    private static final Instant CREATED = Instant.parse("2026-10-01T08:00:00Z");
+    private static final Instant EDITED = Instant.parse("2026-10-02T09:30:00Z");
+
+    private final JournalRepository repository = mock(JournalRepository.class);
+    private final JournalVersions versions = new JournalVersions(repository);
+
+    @Test
+    void journalVersionFollowsModifiedDate() {
+        stored(Journal.builder().id(ID).createdDate(CREATED).build());
+        JournalVersions.Version created = versions.ofJournal(USER, ID, null, "mapped");
+        assertEquals(CREATED, created.lastModified()); // never modified: createdDate
+        assertEquals(created, versions.ofJournal(USER, ID, null, "mapped"));
+
+        stored(Journal.builder().id(ID).createdDate(CREATED).modifiedDate(EDITED).build());
+        JournalVersions.Version edited = versions.ofJournal(USER, ID, null, "mapped");
+        assertEquals(EDITED, edited.lastModified());
+        assertNotEquals(created.etag(), edited.etag());
+        assertTrue(edited.etag().startsWith("\"") && edited.etag().endsWith("\""), "strong ETag");
+    }
+
+    @Test
+    void journalEtagCoversFieldsAndRepresentation() {
+        stored(Journal.builder().id(ID).createdDate(CREATED).build());
+
+        String full = versions.ofJournal(USER, ID, null, "mapped").etag();
+        assertNotEquals(full, versions.ofJournal(USER, ID, "summary", "mapped").etag());
+        assertNotEquals(full, versions.ofJournal(USER, ID, null, "raw").etag());
+    }
+
+    @Test
+    void readsOnlyTheVersionFields() {
+        stored(Journal.builder().id(ID).createdDate(CREATED).build());
+
+        versions.ofJournal(USER, ID, "summary", "mapped");
+
+        ArgumentCaptor<JournalFields> fields = ArgumentCaptor.forClass(JournalFields.class);
+        verify(repository).findOwned(eq(ID), eq(USER), fields.capture());
+        Query query = fields.getValue().applyTo(new Query());
+        assertEquals(new Document("modifiedDate", 1).append("createdDate", 1), query.getFieldsObject());
+    }
+
+    @Test
+    void missingJournalIs404() {
+        when(repository.findOwned(eq(ID), eq(USER), any(JournalFields.class))).thenReturn(Optional.empty());
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> versions.ofJournal(USER, ID, null, "mapped"));
+        assertEquals(404, e.getStatusCode().value());
+    }
+
+    @Test
+    void pageEtagCoversEveryRowOfTheWindow() {
+        Journal first = Journal.builder().id("a").createdDate(CREATED).build();
+        Journal second = Journal.builder().id("b").createdDate(CREATED).build();
+        Journal extra = Journal.builder().id("c").createdDate(CREATED).build(); // the hasNext probe row
+
+        String before = pageEtag(first, second, extra);
+        assertEquals(before, pageEtag(first, second, extra));
+
+        assertNotEquals(before, pageEtag(first, second), "delete");
+        assertNotEquals(before, pageEtag(
+                Journal.builder().id("d").createdDate(EDITED).build(), first, second), "create");
+        assertNotEquals(before, pageEtag(first, second,
+                Journal.builder().id("c").createdDate(CREATED).modifiedDate(EDITED).build()), "edit of the probe row");
+        assertNull(versions.ofPage(page(first), "mapped").lastModified());
+        verifyNoInteractions(repository); // the page's own rows, no query of its own
+    }
+
+    @Test
+    void rawPageEtagMatchesTheMappedRowsVersions() {
+        RawBsonDocument created = RawBsonDocument.parse(
+                "{\"_id\": {\"$oid\": \"" + ID + "\"}, \"createdDate\": {\"$date\": " + CREATED.toEpochMilli() + "}}");
+        RawBsonDocument edited = RawBsonDocument.parse("{\"_id\": {\"$oid\": \"" + ID + "\"}, \"createdDate\": {\"$date\": "
+                + CREATED.toEpochMilli() + "}, \"modifiedDate\": {\"$date\": " + EDITED.toEpochMilli() + "}}");
+
+        String raw = rawPageEtag(created);
+        assertNotEquals(raw, rawPageEtag(edited));
+        // same rows and representation, same tag, whichever path read them
+        assertEquals(versions.ofPage(page(Journal.builder().id(ID).createdDate(CREATED).build()), "raw").etag(), raw);
+    }
+
+    @Test
+    void updateMovesTheVersion() {
+        Journal journal = Journal.builder().id(ID).createdDate(CREATED).modifiedDate(CREATED).build();
+
+        JournalMapper.applyUpdate(UpdateJournalRequest.builder().title("Renamed").build(), journal);
+
+        assertTrue(journal.getModifiedDate().isAfter(CREATED));
+    }
+
+    @Test
+    void previewWriteMovesTheVersion() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations ops = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Journal.class))).thenReturn(ops);
+        when(ops.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        new JournalRepositoryImpl(mongoTemplate, true).savePreviews(USER,
+                Map.of(ID, List.of(new MediaPreview("media-0", "https://cdn.example.com/0.jpg", 640, 480))));
+
+        // one update replaces an existing preview, the other appends it; both must move the version
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(ops, times(2)).updateOne(any(Query.class), updates.capture());
+        for (Update update : updates.getAllValues()) {
+            assertInstanceOf(Instant.class, update.getUpdateObject().get("$set", Document.class).get("modifiedDate"));
+        }
+    }
+
+    /* ---------- helpers ---------- */
+
+    private void stored(Journal version) {
+        when(repository.findOwned(eq(ID), eq(USER), any(JournalFields.class))).thenReturn(Optional.of(version));
+    }
+
+    private static <T> PageRows<T> page(List<T> rows) {
+        return new PageRows<>(rows, 2, Sort.Direction.DESC, null, null, JournalFields.ALL);
+    }
+
+    private static PageRows<Journal> page(Journal... rows) {
+        return page(List.of(rows));
+    }
+
+    private String pageEtag(Journal... rows) {
+        return versions.ofPage(page(rows), "mapped").etag();
+    }
+
+    private String rawPageEtag(RawBsonDocument... rows) {
+        return versions.ofRawPage(page(List.of(rows)), "raw").etag();
+    }
+}
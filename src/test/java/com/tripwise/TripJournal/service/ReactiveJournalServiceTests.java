@@ -0,0 +1,161 @@
+package com.tripwise.TripJournal.service;
+
+import com.tripwise.TripJournal.dto.requests.CreateJournalRequest;
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.dto.responses.PageResponse;
+import com.tripwise.TripJournal.mapper.JournalMapper;
+import com.tripwise.TripJournal.model.EnrichmentStatus;
+import com.tripwise.TripJournal.model.GpsPoint;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.repository.JournalCursor;
+import com.tripwise.TripJournal.repository.JournalFields;
+import com.tripwise.TripJournal.repository.JournalRepository;
+import com.tripwise.TripJournal.repository.ReactiveJournalRepository;
+import com.tripwise.TripJournal.service.cache.WeatherObservations;
+import com.tripwise.TripJournal.service.enrichment.EnrichmentWorker;
+import com.tripwise.TripJournal.service.media.MediaOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link ReactiveJournalService} over a mocked reactive repository, sharing validation, mapping and paging with a
+ * real {@link JournalService}.
+ */
+class ReactiveJournalServiceTests {
+
+    private static final Instant T0 = Instant.parse("2026-10-17T09:00:00Z");
+
+    private final ReactiveJournalRepository repository = mock(ReactiveJournalRepository.class);
+    private final ServiceHelpers helpers = mock(ServiceHelpers.class);
+    private final EnrichmentWorker enrichmentWorker = mock(EnrichmentWorker.class);
+    private final MediaOutbox mediaOutbox = mock(MediaOutbox.class);
+
+    private ReactiveJournalService service;
+
+    @BeforeEach
+    void setUp() {
+        JournalMapper mapper = new JournalMapper(mock(WeatherObservations.class));
+        JournalService journalService = new JournalService(mock(JournalRepository.class),
+                new JournalEnricher(mock(MetadataService.class), mock(WeatherObservations.class)), helpers, mapper,
+                mock(MetadataService.class), enrichmentWorker, new SimpleMeterRegistry(),
+                Validation.buildDefaultValidatorFactory().getValidator(), mediaOutbox);
+        ReflectionTestUtils.setField(journalService, "maxPageSize", 100);
+        service = new ReactiveJournalService(repository, journalService, helpers, mapper, enrichmentWorker,
+                mediaOutbox);
+
+        when(repository.save(any(Journal.class))).thenAnswer(call -> {
+            Journal journal = call.getArgument(0);
+            journal.setId("j-new");
+            return Mono.just(journal);
+        });
+    }
+
+    @Test
+    void createWaitsForEnrichmentWithoutHoldingTheCaller() throws Exception {
+        Sinks.One<AutoMetadata> enrichment = Sinks.one();
+        when(helpers.tryAutoMetadataAsync("Nairobi", "KE")).thenReturn(enrichment.asMono());
+
+        CompletableFuture<JournalResponse> created = service.createJournal("alice", request("Nairobi")).toFuture();
+
+        // the subscriber got control back while OpenWeather is still "answering"
+        assertFalse(created.isDone());
+        verify(repository, never()).save(any());
+
+        enrichment.tryEmitValue(new AutoMetadata(new GpsPoint(-1.29, 36.82), null, null));
+        JournalResponse response = created.get(5, TimeUnit.SECONDS);
+
+        assertEquals("j-new", response.getId());
+        ArgumentCaptor<Journal> saved = ArgumentCaptor.forClass(Journal.class);
+        verify(repository).save(saved.capture());
+        assertEquals(-1.29, saved.getValue().getGps().getLat());
+        assertEquals("alice", saved.getValue().getUserId());
+        verify(mediaOutbox).thumbnail("alice", "j-new");
+        verifyNoInteractions(enrichmentWorker);
+    }
+
+    @Test
+    void deferredCreateIsHandedToTheWorker() {
+        when(helpers.defersEnrichment("Nairobi")).thenReturn(true);
+
+        JournalResponse response = service.createJournal("alice", request("Nairobi")).block();
+
+        assertEquals("j-new", response.getId());
+        verify(helpers, never()).tryAutoMetadataAsync(any(), any());
+        ArgumentCaptor<Journal> submitted = ArgumentCaptor.forClass(Journal.class);
+        verify(enrichmentWorker).submit(submitted.capture());
+        assertEquals(EnrichmentStatus.PENDING, submitted.getValue().getEnrichmentStatus());
+    }
+
+    @Test
+    void pageIsReadWithTheSameKeysetRulesAsTheBlockingMode() {
+        when(repository.findPageAfter(eq("alice"), isNull(), eq(Sort.Direction.DESC), eq(3), any(JournalFields.class)))
+                .thenReturn(Flux.just(journal("j-3", 2), journal("j-2", 1), journal("j-1", 0)));
+
+        PageResponse<JournalResponse> page = service.findJournalPage("alice", 2, null, null, "title").block();
+
+        assertEquals(List.of("j-3", "j-2"), page.getContent().stream().map(JournalResponse::getId).toList());
+        assertTrue(page.isHasNext());
+        assertEquals(new JournalCursor(T0.plusSeconds(1), "j-2", Sort.Direction.DESC),
+                JournalCursor.decode(page.getNextCursor()));
+        assertNull(page.getContent().get(0).getCreatedDate()); // read for the cursor, not requested
+    }
+
+    @Test
+    void invalidPageRequestFailsTheMonoNotTheCall() {
+        Mono<PageResponse<JournalResponse>> page = assertDoesNotThrow(
+                () -> service.findJournalPage("alice", 20, "title,asc", null, null));
+
+        assertEquals(400, assertThrows(ResponseStatusException.class, page::block).getStatusCode().value());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void missingJournalIsNotFound() {
+        when(repository.findOwned(eq("j-9"), eq("alice"), any(JournalFields.class))).thenReturn(Mono.empty());
+
+        assertEquals(404, assertThrows(ResponseStatusException.class,
+                () -> service.getJournal("alice", "j-9", null).block()).getStatusCode().value());
+    }
+
+    @Test
+    void deleteCleansUpMediaOnlyWhenSomethingWasDeleted() throws ExecutionException, InterruptedException {
+        when(repository.deleteByIdAndUserId("j-1", "alice")).thenReturn(Mono.just(1L));
+        when(repository.deleteByIdAndUserId("j-9", "alice")).thenReturn(Mono.just(0L));
+
+        service.deleteJournal("alice", "j-1").toFuture().get();
+        assertEquals(404, assertThrows(ResponseStatusException.class,
+                () -> service.deleteJournal("alice", "j-9").block()).getStatusCode().value());
+
+        verify(mediaOutbox).deleted("alice", List.of("j-1"));
+        verify(mediaOutbox, never()).deleted("alice", List.of("j-9"));
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static CreateJournalRequest request(String city) {
+        return CreateJournalRequest.builder().title("Karura Forest").city(city).country("KE").build();
+    }
+
+    private static Journal journal(String id, int seconds) {
+        return Journal.builder().id(id).userId("alice").title(id).createdDate(T0.plusSeconds(seconds)).build();
+    }
+}
@@ -0,0 +1,195 @@
+package com.tripwise.TripJournal.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.tripwise.TripJournal.model.GeocodeCacheEntry;
+import com.tripwise.TripJournal.repository.GeocodeCacheRepository;
+import com.tripwise.TripJournal.service.client.LocationNotFoundException;
+import com.tripwise.TripJournal.service.client.WeatherClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Size bound, positive/negative TTLs and the Mongo warm start of {@link GeocodeCache}, with OpenWeather and the
+ * {@code geocode_cache} collection mocked.
+ */
+class GeocodeCacheTests {
+
+    private static final Duration TTL = Duration.ofDays(7);
+    private static final Duration NEGATIVE_TTL = Duration.ofHours(1);
+    private static final WeatherClient.Gps BERLIN = new WeatherClient.Gps(52.52, 13.405);
+
+    private final WeatherClient weatherClient = mock(WeatherClient.class);
+    private final GeocodeCacheRepository repository = mock(GeocodeCacheRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void repeatedLookupsAreAnsweredFromTheCache() {
+        when(weatherClient.geocode("Berlin", "DE")).thenReturn(BERLIN);
+        GeocodeCache cache = cache(100, true);
+
+        assertEquals(BERLIN, cache.geocode("Berlin", "DE"));
+        assertEquals(BERLIN, cache.geocode("  berlin ", "de")); // same normalized key
+
+        verify(weatherClient, times(1)).geocode(anyString(), any());
+    }
+
+    @Test
+    void cacheIsBoundedByMaxSize() {
+        when(weatherClient.geocode(anyString(), any())).thenReturn(BERLIN);
+        GeocodeCache cache = cache(2, true);
+
+        for (int i = 0; i < 10; i++) cache.geocode("City " + i, null);
+        Cache<String, GeocodeCacheEntry> entries = entries(cache);
+        entries.cleanUp();
+
+        assertTrue(entries.estimatedSize() <= 2, "held " + entries.estimatedSize() + " entries");
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", "geocode").functionCounter().count() >= 8);
+    }
+
+    @Test
+    void unknownLocationsAreCachedForTheShorterNegativeTtl() {
+        when(weatherClient.geocode("Atlantis", null)).thenThrow(new LocationNotFoundException("Atlantis", null));
+        when(weatherClient.geocode("Berlin", "DE")).thenReturn(BERLIN);
+        GeocodeCache cache = cache(100, true);
+
+        assertThrows(LocationNotFoundException.class, () -> cache.geocode("Atlantis", null));
+        assertThrows(LocationNotFoundException.class, () -> cache.geocode("Atlantis", null));
+        cache.geocode("Berlin", "DE");
+
+        verify(weatherClient, times(1)).geocode("Atlantis", null);
+        assertEquals(1.0, meterRegistry.counter("journal.geocode.negative.hits").count());
+        assertTrue(expiresAfter(cache, "atlantis|").compareTo(NEGATIVE_TTL) <= 0);
+        assertTrue(expiresAfter(cache, "berlin|DE").compareTo(NEGATIVE_TTL) > 0);
+
+        ArgumentCaptor<GeocodeCacheEntry> saved = ArgumentCaptor.forClass(GeocodeCacheEntry.class);
+        verify(repository, times(2)).save(saved.capture());
+        GeocodeCacheEntry negative = saved.getAllValues().get(0);
+        assertFalse(negative.isFound());
+        assertEquals(negative.getResolvedAt().plus(NEGATIVE_TTL), negative.getExpiresAt());
+        GeocodeCacheEntry positive = saved.getAllValues().get(1);
+        assertEquals(positive.getResolvedAt().plus(TTL), positive.getExpiresAt());
+    }
+
+    @Test
+    void transportErrorsAreNotCached() {
+        when(weatherClient.geocode("Berlin", "DE"))
+                .thenThrow(new IllegalStateException("OpenWeather unavailable"))
+                .thenReturn(BERLIN);
+        GeocodeCache cache = cache(100, true);
+
+        assertThrows(IllegalStateException.class, () -> cache.geocode("Berlin", "DE"));
+        assertEquals(BERLIN, cache.geocode("Berlin", "DE"));
+
+        verify(weatherClient, times(2)).geocode("Berlin", "DE");
+    }
+
+    @Test
+    void failedLookupFallsBackToThePersistedEntryWithoutCachingIt() {
+        when(weatherClient.geocode("Berlin", "DE")).thenThrow(new IllegalStateException("OpenWeather unavailable"));
+        when(repository.findById("berlin|DE")).thenReturn(Optional.of(persisted("berlin|DE", true, Duration.ofDays(30))));
+        GeocodeCache cache = cache(100, true);
+
+        assertEquals(BERLIN, cache.geocode("Berlin", "DE"));
+        assertEquals(BERLIN, cache.geocode("Berlin", "DE"));
+
+        verify(weatherClient, times(2)).geocode("Berlin", "DE");
+        assertEquals(2.0, meterRegistry.counter("journal.geocode.stale.served").count());
+    }
+
+    @Test
+    void warmStartLoadsLiveEntriesWithTheirRemainingLifetime() {
+        when(repository.findByResolvedAtAfter(any(Instant.class), any(Pageable.class))).thenReturn(List.of(
+                persisted("berlin|DE", true, Duration.ofDays(1)),
+                persisted("atlantis|", false, Duration.ofMinutes(10)),
+                persisted("lemuria|", false, Duration.ofHours(2)))); // past the negative TTL
+        when(weatherClient.geocode("Lemuria", null)).thenReturn(BERLIN);
+        GeocodeCache cache = cache(100, true);
+
+        cache.warmUp();
+
+        assertEquals(BERLIN, cache.geocode("Berlin", "DE"));
+        assertThrows(LocationNotFoundException.class, () -> cache.geocode("Atlantis", null));
+        cache.geocode("Lemuria", null);
+        verify(weatherClient, never()).geocode("Berlin", "DE");
+        verify(weatherClient, never()).geocode("Atlantis", null);
+        verify(weatherClient).geocode("Lemuria", null);
+
+        assertTrue(expiresAfter(cache, "berlin|DE").compareTo(TTL.minus(Duration.ofDays(1))) <= 0);
+        assertTrue(expiresAfter(cache, "atlantis|").compareTo(NEGATIVE_TTL.minus(Duration.ofMinutes(10))) <= 0);
+    }
+
+    @Test
+    void warmStartReadsOnlyTheNewestEntriesWithinTheTtl() {
+        when(repository.findByResolvedAtAfter(any(Instant.class), any(Pageable.class))).thenReturn(List.of());
+        Instant before = Instant.now();
+
+        cache(250, true).warmUp();
+
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository).findByResolvedAtAfter(since.capture(), page.capture());
+        assertFalse(since.getValue().isAfter(Instant.now().minus(TTL)));
+        assertFalse(since.getValue().isBefore(before.minus(TTL)));
+        assertEquals(250, page.getValue().getPageSize());
+        assertNotNull(page.getValue().getSort().getOrderFor("resolvedAt"));
+        assertTrue(page.getValue().getSort().getOrderFor("resolvedAt").isDescending());
+    }
+
+    @Test
+    void warmStartCanBeTurnedOff() {
+        cache(100, false).warmUp();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void failedWarmStartLeavesTheCacheCold() {
+        when(repository.findByResolvedAtAfter(any(Instant.class), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("Mongo unavailable"));
+        when(weatherClient.geocode("Berlin", "DE")).thenReturn(BERLIN);
+        GeocodeCache cache = cache(100, true);
+
+        cache.warmUp();
+
+        assertEquals(BERLIN, cache.geocode("Berlin", "DE"));
+    }
+
+    /* ---------- helpers ---------- */
+
+    private GeocodeCache cache(long maxSize, boolean warmStart) {
+        return new GeocodeCache(weatherClient, repository, meterRegistry, maxSize, TTL, NEGATIVE_TTL, warmStart);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<String, GeocodeCacheEntry> entries(GeocodeCache cache) {
+        return (Cache<String, GeocodeCacheEntry>) ReflectionTestUtils.getField(cache, "cache");
+    }
+
+    private static Duration expiresAfter(GeocodeCache cache, String key) {
+        return entries(cache).policy().expireVariably().orElseThrow().getExpiresAfter(key).orElseThrow();
+    }
+
+    private static GeocodeCacheEntry persisted(String key, boolean found, Duration age) {
+        return GeocodeCacheEntry.builder()
+                .key(key)
+                .city(key.substring(0, key.indexOf('|')))
+                .found(found)
+                .lat(found ? BERLIN.lat() : null)
+                .lon(found ? BERLIN.lon() : null)
+                .resolvedAt(Instant.now().minus(age))
+                .build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.tripwise.TripJournal.service.cache;
+
+import com.tripwise.TripJournal.service.client.OpenWeatherRateLimiter;
+import com.tripwise.TripJournal.service.client.WeatherClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.doubleThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Grid-cell keying, single-flight coalescing and priority overtaking in {@link WeatherCache}, with OpenWeather mocked
+ * and held open by latches so concurrent callers genuinely overlap.
+ */
+class WeatherCacheTests {
+
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final WeatherClient.Weather SUNNY = new WeatherClient.Weather(24.5, "clear sky", 40, 2.1, "01d");
+    private static final WeatherClient.Weather CLOUDY = new WeatherClient.Weather(18.0, "overcast", 70, 4.0, "04d");
+
+    private final WeatherClient weatherClient = mock(WeatherClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WeatherCache cache = new WeatherCache(weatherClient, meterRegistry, 1000, Duration.ofMinutes(10),
+            0.1, Duration.ofHours(6));
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void locationsInOneCellShareTheCellCentresWeather() {
+        when(weatherClient.fetchCurrent(anyDouble(), anyDouble())).thenReturn(SUNNY);
+
+        assertEquals(SUNNY, cache.fetchCurrent(52.52, 13.405));
+        assertEquals(SUNNY, cache.fetchCurrent(52.48, 13.37));
+        assertEquals(cache.cellKey(52.52, 13.405), cache.cellKey(52.48, 13.37));
+
+        verify(weatherClient, times(1)).fetchCurrent(near(52.5), near(13.4));
+        verifyNoMoreInteractions(weatherClient);
+    }
+
+    @Test
+    void locationsInNeighbouringCellsAreFetchedSeparately() {
+        when(weatherClient.fetchCurrent(anyDouble(), anyDouble())).thenReturn(SUNNY);
+
+        cache.fetchCurrent(52.52, 13.405);
+        cache.fetchCurrent(52.66, 13.405);
+
+        assertNotEquals(cache.cellKey(52.52, 13.405), cache.cellKey(52.66, 13.405));
+        verify(weatherClient).fetchCurrent(near(52.5), near(13.4));
+        verify(weatherClient).fetchCurrent(near(52.7), near(13.4));
+    }
+
+    @Test
+    void concurrentLookupsForOneCellMakeOneUpstreamCall() throws Exception {
+        int callerCount = 8;
+        CountDownLatch upstreamEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(weatherClient.fetchCurrent(anyDouble(), anyDouble())).thenAnswer(call -> {
+            upstreamEntered.countDown();
+            assertTrue(release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            return SUNNY;
+        });
+
+        List<Future<WeatherClient.Weather>> results = new ArrayList<>();
+        results.add(callers.submit(() -> cache.fetchCurrent(52.52, 13.405)));
+        assertTrue(upstreamEntered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (int i = 1; i < callerCount; i++) {
+            double lat = 52.46 + i * 0.01; // spread across the cell
+            results.add(callers.submit(() -> cache.fetchCurrent(lat, 13.405)));
+        }
+
+        // every late caller has joined the in-flight lookup before it completes
+        awaitTrue(() -> meterRegistry.counter("journal.weather.coalesced").count() == callerCount - 1);
+        release.countDown();
+
+        for (Future<WeatherClient.Weather> result : results) {
+            assertEquals(SUNNY, result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        verify(weatherClient, times(1)).fetchCurrent(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void concurrentAsyncLookupsForOneCellMakeOneUpstreamCall() {
+        CompletableFuture<WeatherClient.Weather> upstream = new CompletableFuture<>();
+        when(weatherClient.fetchCurrentAsync(anyDouble(), anyDouble())).thenReturn(Mono.fromFuture(upstream));
+
+        List<CompletableFuture<WeatherClient.Weather>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) results.add(cache.fetchCurrentAsync(52.52, 13.405).toFuture());
+        assertTrue(results.stream().noneMatch(CompletableFuture::isDone));
+        upstream.complete(SUNNY);
+
+        for (CompletableFuture<WeatherClient.Weather> result : results) assertEquals(SUNNY, result.join());
+        verify(weatherClient, times(1)).fetchCurrentAsync(anyDouble(), anyDouble());
+        assertEquals(7.0, meterRegistry.counter("journal.weather.coalesced").count());
+    }
+
+    @Test
+    void interactiveLookupDoesNotWaitOnABackgroundOne() throws Exception {
+        CountDownLatch backgroundEntered = new CountDownLatch(1);
+        CountDownLatch releaseBackground = new CountDownLatch(1);
+        when(weatherClient.fetchCurrent(anyDouble(), anyDouble())).thenAnswer(call -> {
+            if (OpenWeatherRateLimiter.currentPriority() == OpenWeatherRateLimiter.Priority.INTERACTIVE) return CLOUDY;
+            backgroundEntered.countDown();
+            assertTrue(releaseBackground.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)); // e.g. waiting for the budget
+            return SUNNY;
+        });
+
+        Future<WeatherClient.Weather> background = callers.submit(() ->
+                OpenWeatherRateLimiter.asBackground(() -> cache.fetchCurrent(52.52, 13.405)));
+        assertTrue(backgroundEntered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // the interactive caller returns while the background lookup is still held
+        Future<WeatherClient.Weather> interactive = callers.submit(() -> cache.fetchCurrent(52.52, 13.405));
+        assertEquals(CLOUDY, interactive.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(background.isDone());
+        assertEquals(1.0, meterRegistry.counter("journal.weather.background.overtaken").count());
+
+        // later callers get the interactive answer without another upstream call
+        assertEquals(CLOUDY, callers.submit(() -> OpenWeatherRateLimiter.asBackground(
+                () -> cache.fetchCurrent(52.52, 13.405))).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        releaseBackground.countDown();
+        assertEquals(CLOUDY, background.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        verify(weatherClient, times(2)).fetchCurrent(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void backgroundLookupWaitsOnAnInteractiveOne() throws Exception {
+        CountDownLatch upstreamEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(weatherClient.fetchCurrent(anyDouble(), anyDouble())).thenAnswer(call -> {
+            upstreamEntered.countDown();
+            assertTrue(release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            return SUNNY;
+        });
+
+        Future<WeatherClient.Weather> interactive = callers.submit(() -> cache.fetchCurrent(52.52, 13.405));
+        assertTrue(upstreamEntered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Future<WeatherClient.Weather> background = callers.submit(() ->
+                OpenWeatherRateLimiter.asBackground(() -> cache.fetchCurrent(52.52, 13.405)));
+
+        awaitTrue(() -> meterRegistry.counter("journal.weather.coalesced").count() == 1);
+        release.countDown();
+
+        assertEquals(SUNNY, interactive.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(SUNNY, background.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        verify(weatherClient, times(1)).fetchCurrent(anyDouble(), anyDouble());
+        assertEquals(0.0, meterRegistry.counter("journal.weather.background.overtaken").count());
+    }
+
+    @Test
+    void failedLookupIsRetriedByTheNextCaller() {
+        when(weatherClient.fetchCurrent(anyDouble(), anyDouble()))
+                .thenThrow(new IllegalStateException("OpenWeather unavailable"))
+                .thenReturn(SUNNY);
+
+        assertThrows(IllegalStateException.class, () -> cache.fetchCurrent(52.52, 13.405));
+        assertEquals(SUNNY, cache.fetchCurrent(52.52, 13.405));
+
+        verify(weatherClient, times(2)).fetchCurrent(anyDouble(), anyDouble());
+    }
+
+    @Test
+    void lastKnownWeatherIsServedWhenALaterLookupFails() throws InterruptedException {
+        WeatherCache shortLived = new WeatherCache(weatherClient, meterRegistry, 1000, Duration.ofMillis(1),
+                0.1, Duration.ofHours(6));
+        when(weatherClient.fetchCurrent(anyDouble(), anyDouble()))
+                .thenReturn(SUNNY)
+                .thenThrow(new IllegalStateException("OpenWeather unavailable"));
+
+        assertEquals(SUNNY, shortLived.fetchCurrent(52.52, 13.405));
+        Thread.sleep(20); // past the cache TTL, within the stale TTL
+
+        assertEquals(SUNNY, shortLived.fetchCurrent(52.52, 13.405));
+        verify(weatherClient, times(2)).fetchCurrent(anyDouble(), anyDouble());
+        assertEquals(1.0, meterRegistry.counter("journal.weather.stale.served").count());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static double near(double expected) {
+        return doubleThat(actual -> Math.abs(actual - expected) < 1e-9);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("condition not met within " + TIMEOUT_SECONDS + "s");
+            Thread.sleep(5);
+        }
+    }
+}
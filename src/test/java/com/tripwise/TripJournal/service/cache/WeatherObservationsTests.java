@@ -0,0 +1,165 @@
+package com.tripwise.TripJournal.service.cache;
+
+import com.tripwise.TripJournal.model.WeatherObservation;
+import com.tripwise.TripJournal.service.client.WeatherClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link WeatherObservations}: one stored observation per cell and hour, reused by later enrichments, and references
+ * resolved in bulk; MongoDB and the weather cache are mocked.
+ */
+class WeatherObservationsTests {
+
+    private static final String CELL = "-1.3000,36.8000";
+    private static final WeatherClient.Weather SUNNY = new WeatherClient.Weather(24.5, "clear sky", 40, 3.1, "01d");
+
+    private final WeatherCache weatherCache = mock(WeatherCache.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WeatherObservations observations;
+
+    @BeforeEach
+    void setUp() {
+        observations = new WeatherObservations(weatherCache, mongoTemplate, meterRegistry, true, 1000,
+                Duration.ofHours(2));
+        when(weatherCache.cellKey(anyDouble(), anyDouble())).thenReturn(CELL);
+        when(weatherCache.fetchCurrent(anyDouble(), anyDouble())).thenReturn(SUNNY);
+        when(mongoTemplate.insert(any(WeatherObservation.class))).thenAnswer(call -> call.getArgument(0));
+    }
+
+    @Test
+    void firstEnrichmentInACellAndHourFetchesAndStores() {
+        String reference = observations.observe(-1.2921, 36.8219);
+
+        assertEquals(WeatherObservation.key(CELL, currentHour()), reference);
+        ArgumentCaptor<WeatherObservation> stored = ArgumentCaptor.forClass(WeatherObservation.class);
+        verify(mongoTemplate).insert(stored.capture());
+        assertEquals(CELL, stored.getValue().getCell());
+        assertEquals(currentHour(), stored.getValue().getObservedAt());
+        assertEquals(24.5, stored.getValue().getTemperature());
+        assertEquals(1.0, meterRegistry.counter("journal.weather.observations.recorded").count());
+    }
+
+    @Test
+    void laterEnrichmentsInTheSameCellAndHourReuseIt() {
+        String first = observations.observe(-1.2921, 36.8219);
+        String second = observations.observe(-1.2950, 36.8200);
+
+        assertEquals(first, second);
+        verify(weatherCache, times(1)).fetchCurrent(anyDouble(), anyDouble());
+        verify(mongoTemplate, times(1)).insert(any(WeatherObservation.class));
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(WeatherObservation.class)); // then cached
+        assertEquals(1.0, meterRegistry.counter("journal.weather.observations.reused").count());
+    }
+
+    @Test
+    void observationStoredByAnotherInstanceIsReused() {
+        when(mongoTemplate.findOne(any(Query.class), eq(WeatherObservation.class))).thenReturn(observation(CELL));
+
+        String reference = observations.observe(-1.2921, 36.8219);
+
+        assertEquals(WeatherObservation.key(CELL, currentHour()), reference);
+        verify(weatherCache, never()).fetchCurrent(anyDouble(), anyDouble());
+        verify(mongoTemplate, never()).insert(any(WeatherObservation.class));
+    }
+
+    @Test
+    void concurrentEnrichmentsShareOneFetch() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(weatherCache.fetchCurrent(anyDouble(), anyDouble())).thenAnswer(call -> {
+            fetching.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return SUNNY;
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> references = new ArrayList<>();
+            references.add(pool.submit(() -> observations.observe(-1.2921, 36.8219)));
+            assertTrue(fetching.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) references.add(pool.submit(() -> observations.observe(-1.2921, 36.8219)));
+            Thread.sleep(50); // let the others join the in-flight lookup
+            release.countDown();
+
+            for (Future<String> reference : references) {
+                assertEquals(WeatherObservation.key(CELL, currentHour()), reference.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(weatherCache, times(1)).fetchCurrent(anyDouble(), anyDouble());
+        verify(mongoTemplate, times(1)).insert(any(WeatherObservation.class));
+    }
+
+    @Test
+    void referencesAreResolvedWithOneQueryAndThenCached() {
+        WeatherObservation nairobi = observation(CELL);
+        WeatherObservation berlin = observation("52.5000,13.4000");
+        when(mongoTemplate.find(any(Query.class), eq(WeatherObservation.class))).thenReturn(List.of(nairobi, berlin));
+
+        Map<String, WeatherObservation> resolved = observations.resolveAll(Set.of(nairobi.key(), berlin.key()));
+        Map<String, WeatherObservation> again = observations.resolveAll(Set.of(nairobi.key()));
+
+        assertEquals(Map.of(nairobi.key(), nairobi, berlin.key(), berlin), resolved);
+        assertEquals(Map.of(nairobi.key(), nairobi), again);
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(WeatherObservation.class));
+    }
+
+    @Test
+    void unknownAndForeignReferencesAreLeftOut() {
+        when(mongoTemplate.find(any(Query.class), eq(WeatherObservation.class))).thenReturn(List.of());
+
+        Map<String, WeatherObservation> resolved = observations.resolveAll(
+                Set.of(WeatherObservation.key(CELL, currentHour()), "not-a-reference", "cell@yesterday"));
+
+        assertTrue(resolved.isEmpty());
+    }
+
+    @Test
+    void failedResolutionServesJournalsWithoutWeather() {
+        when(mongoTemplate.find(any(Query.class), eq(WeatherObservation.class)))
+                .thenThrow(new IllegalStateException("mongo down"));
+
+        assertEquals(Map.of(), observations.resolveAll(Set.of(WeatherObservation.key(CELL, currentHour()))));
+        assertEquals(Map.of(), observations.resolveAll(Set.of()));
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static Instant currentHour() {
+        return Instant.now().truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static WeatherObservation observation(String cell) {
+        return WeatherObservation.builder()
+                .cell(cell)
+                .observedAt(currentHour())
+                .temperature(21.0)
+                .description("few clouds")
+                .fetchedAt(currentHour().plusSeconds(30))
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.tripwise.TripJournal.service.client;
+
+import com.tripwise.TripJournal.service.client.OpenWeatherRateLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Token bucket behavior of {@link OpenWeatherRateLimiter}: burst, background reserve, waiting for refills and
+ * backing off after a 429.
+ */
+class OpenWeatherRateLimiterTests {
+
+    private static final Duration NO_WAIT = Duration.ZERO;
+    private static final Duration BLOCK = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void allowsABurstThenRejectsCallsThatMayNotWait() {
+        OpenWeatherRateLimiter limiter = limiter(1, 3, 0, NO_WAIT, NO_WAIT);
+
+        for (int i = 0; i < 3; i++) limiter.acquire(Priority.INTERACTIVE).block(BLOCK);
+
+        assertThrows(RateLimitedException.class, () -> limiter.acquire(Priority.INTERACTIVE).block(BLOCK));
+        assertEquals(1, meterRegistry.get("journal.openweather.rate.wait")
+                .tag("outcome", "rejected").timer().count());
+    }
+
+    @Test
+    void backgroundCallsLeaveTheReserveToInteractiveOnes() {
+        OpenWeatherRateLimiter limiter = limiter(1, 3, 2, NO_WAIT, NO_WAIT);
+
+        limiter.acquire(Priority.BACKGROUND).block(BLOCK);
+        assertThrows(RateLimitedException.class, () -> limiter.acquire(Priority.BACKGROUND).block(BLOCK));
+
+        limiter.acquire(Priority.INTERACTIVE).block(BLOCK);
+        limiter.acquire(Priority.INTERACTIVE).block(BLOCK);
+        assertThrows(RateLimitedException.class, () -> limiter.acquire(Priority.INTERACTIVE).block(BLOCK));
+    }
+
+    @Test
+    void waitsForTheNextTokenWithinTheMaxWait() {
+        // 6000/min: a token every 10 ms
+        OpenWeatherRateLimiter limiter = limiter(6000, 1, 0, Duration.ofSeconds(2), NO_WAIT);
+        limiter.acquire(Priority.INTERACTIVE).block(BLOCK);
+
+        long start = System.nanoTime();
+        limiter.acquire(Priority.INTERACTIVE).block(BLOCK);
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(5).toNanos(), "waited for a refill");
+        assertEquals(2, meterRegistry.get("journal.openweather.rate.wait")
+                .tag("priority", "interactive").tag("outcome", "acquired").timer().count());
+    }
+
+    @Test
+    void tooManyRequestsEmptiesTheBucket() {
+        OpenWeatherRateLimiter limiter = limiter(1, 5, 0, NO_WAIT, NO_WAIT);
+        assertEquals(5.0, remaining());
+
+        limiter.throttled();
+
+        assertEquals(0.0, remaining());
+        assertEquals(1.0, meterRegistry.counter("journal.openweather.throttled").count());
+        assertThrows(RateLimitedException.class, () -> limiter.acquire(Priority.INTERACTIVE).block(BLOCK));
+    }
+
+    @Test
+    void disabledLimiterNeverWaits() {
+        OpenWeatherRateLimiter limiter = new OpenWeatherRateLimiter(meterRegistry, false, 1, 1, 0, NO_WAIT, NO_WAIT);
+
+        for (int i = 0; i < 10; i++) limiter.acquire(Priority.INTERACTIVE).block(BLOCK);
+    }
+
+    @Test
+    void backgroundPriorityIsScopedToTheWork() throws Exception {
+        assertEquals(Priority.INTERACTIVE, OpenWeatherRateLimiter.currentPriority());
+
+        Priority inside = OpenWeatherRateLimiter.asBackground(OpenWeatherRateLimiter::currentPriority);
+
+        assertEquals(Priority.BACKGROUND, inside);
+        assertEquals(Priority.INTERACTIVE, OpenWeatherRateLimiter.currentPriority());
+        assertThrows(IllegalStateException.class, () -> OpenWeatherRateLimiter.asBackground(() -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(Priority.INTERACTIVE, OpenWeatherRateLimiter.currentPriority());
+    }
+
+    @Test
+    void rejectsAnUnusableBudget() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(0, 1, 0, NO_WAIT, NO_WAIT));
+        assertThrows(IllegalArgumentException.class, () -> limiter(60, 0, 0, NO_WAIT, NO_WAIT));
+    }
+
+    /* ---------- helpers ---------- */
+
+    private OpenWeatherRateLimiter limiter(double callsPerMinute, int burst, int backgroundReserve,
+                                           Duration interactiveMaxWait, Duration backgroundMaxWait) {
+        return new OpenWeatherRateLimiter(meterRegistry, true, callsPerMinute, burst, backgroundReserve,
+                interactiveMaxWait, backgroundMaxWait);
+    }
+
+    private double remaining() {
+        return meterRegistry.get("journal.openweather.quota.remaining").gauge().value();
+    }
+}
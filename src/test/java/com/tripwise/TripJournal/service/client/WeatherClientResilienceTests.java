@@ -0,0 +1,189 @@
+package com.tripwise.TripJournal.service.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The circuit breaker, bulkhead and rate limiter around {@link WeatherClient}, with OpenWeather answered by a stub
+ * exchange. The breaker is configured like {@code resilience4j.circuitbreaker.instances.openweather}, with a smaller
+ * window.
+ */
+class WeatherClientResilienceTests {
+
+    private static final Duration BLOCK = Duration.ofSeconds(5);
+    private static final String CURRENT = """
+            {"main": {"temp": 24.5, "humidity": 61}, "weather": [{"description": "scattered clouds",
+            "icon": "03d"}], "wind": {"speed": 3.6}}""";
+
+    private final OpenWeatherRateLimiter rateLimiter = mock(OpenWeatherRateLimiter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger sent = new AtomicInteger();
+
+    private Supplier<Mono<ClientResponse>> openWeather;
+    private CircuitBreakerRegistry circuitBreakers;
+    private WeatherClient client;
+
+    @BeforeEach
+    void setUp() {
+        when(rateLimiter.acquire(any())).thenReturn(Mono.empty());
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .ignoreExceptions(LocationNotFoundException.class, WebClientResponseException.TooManyRequests.class)
+                .build());
+        client = client(BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(20).build()));
+    }
+
+    @Test
+    void serverErrorsOpenTheBreakerAndLaterCallsAreNotSent() {
+        openWeather = () -> Mono.just(response(HttpStatus.SERVICE_UNAVAILABLE, "{}"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(WebClientResponseException.ServiceUnavailable.class, () -> weather().block(BLOCK));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker().getState());
+
+        assertThrows(CallNotPermittedException.class, () -> weather().block(BLOCK));
+        assertEquals(4, sent.get());
+        assertEquals(1.0, meterRegistry.counter("journal.openweather.rejected", "reason", "circuit-open").count());
+    }
+
+    @Test
+    void openBreakerRejectsWithoutTakingAToken() {
+        openWeather = () -> Mono.just(response(HttpStatus.OK, "{}"));
+        breaker().transitionToOpenState();
+
+        assertThrows(CallNotPermittedException.class, () -> weather().block(BLOCK));
+
+        verify(rateLimiter, never()).acquire(any());
+        assertEquals(0, sent.get());
+        assertEquals(1.0, meterRegistry.counter("journal.openweather.rejected", "reason", "circuit-open").count());
+    }
+
+    @Test
+    void halfOpenBreakerStillLetsItsTrialCallsThrough() {
+        openWeather = () -> Mono.just(response(HttpStatus.OK, CURRENT));
+        breaker().transitionToOpenState();
+        breaker().transitionToHalfOpenState();
+
+        weather().block(BLOCK);
+
+        assertEquals(1, sent.get());
+        assertEquals(1, breaker().getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void tooManyRequestsBacksOffWithoutOpeningTheBreaker() {
+        openWeather = () -> Mono.just(response(HttpStatus.TOO_MANY_REQUESTS, "{}"));
+
+        for (int i = 0; i < 6; i++) {
+            assertThrows(WebClientResponseException.TooManyRequests.class, () -> weather().block(BLOCK));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker().getState());
+        verify(rateLimiter, times(6)).throttled();
+    }
+
+    @Test
+    void unknownLocationIsAnAnswerNotAFailure() {
+        openWeather = () -> Mono.just(response(HttpStatus.OK, "[]"));
+
+        for (int i = 0; i < 6; i++) {
+            assertThrows(LocationNotFoundException.class, () -> client.geocodeAsync("Atlantis", null).block(BLOCK));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker().getState());
+    }
+
+    @Test
+    void rateLimitRejectionsAreNotSentOrCountedAsFailures() {
+        when(rateLimiter.acquire(any())).thenReturn(Mono.error(
+                new RateLimitedException(OpenWeatherRateLimiter.Priority.INTERACTIVE, Duration.ZERO)));
+        openWeather = () -> Mono.just(response(HttpStatus.OK, "{}"));
+
+        for (int i = 0; i < 6; i++) {
+            assertThrows(RateLimitedException.class, () -> weather().block(BLOCK));
+        }
+
+        assertEquals(0, sent.get());
+        assertEquals(0, breaker().getMetrics().getNumberOfBufferedCalls());
+    }
+
+    @Test
+    void fullBulkheadRejectsWithoutRecordingAFailure() {
+        client = client(BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build()));
+        openWeather = Mono::never; // the first call holds the only permit
+
+        weather().subscribe();
+        assertThrows(BulkheadFullException.class, () -> weather().block(BLOCK));
+
+        assertEquals(1.0, meterRegistry.counter("journal.openweather.rejected", "reason", "bulkhead-full").count());
+        assertEquals(0, breaker().getMetrics().getNumberOfFailedCalls());
+        verify(rateLimiter, times(1)).acquire(any()); // the rejected call took no token
+    }
+
+    @Test
+    void successfulCallIsMapped() {
+        openWeather = () -> Mono.just(response(HttpStatus.OK, CURRENT));
+
+        WeatherClient.Weather weather = weather().block(BLOCK);
+
+        assertEquals(new WeatherClient.Weather(24.5, "scattered clouds", 61, 3.6, "03d"), weather);
+        assertEquals(1, breaker().getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private WeatherClient client(BulkheadRegistry bulkheads) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> Mono.defer(() -> {
+            sent.incrementAndGet();
+            return openWeather.get();
+        }));
+        return new WeatherClient(builder, circuitBreakers, bulkheads, rateLimiter, meterRegistry,
+                "http://openweather.test", Duration.ofSeconds(1), Duration.ofSeconds(1));
+    }
+
+    private Mono<WeatherClient.Weather> weather() {
+        return client.fetchCurrentAsync(-1.2921, 36.8219);
+    }
+
+    private CircuitBreaker breaker() {
+        return circuitBreakers.circuitBreaker(WeatherClient.OPENWEATHER);
+    }
+
+    private static ClientResponse response(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,244 @@
+package com.tripwise.TripJournal.service.enrichment;
+
+import com.tripwise.TripJournal.model.EnrichmentStatus;
+import com.tripwise.TripJournal.model.GpsPoint;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.WeatherSnapshot;
+import com.tripwise.TripJournal.service.AutoMetadata;
+import com.tripwise.TripJournal.service.JournalEnricher;
+import com.tripwise.TripJournal.service.client.LocationNotFoundException;
+import com.tripwise.TripJournal.service.client.OpenWeatherRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Background enrichment by {@link EnrichmentWorker}: the targeted updates it writes, retries, failures and a full
+ * queue. {@link JournalEnricher} and {@link MongoTemplate} are mocked; the worker pool is real.
+ */
+class EnrichmentWorkerTests {
+
+    private static final long WAIT_MS = 5_000;
+    private static final GpsPoint GPS = new GpsPoint(-1.2921, 36.8219);
+    private static final WeatherSnapshot WEATHER = WeatherSnapshot.builder().temperature(24.5).humidity(61).build();
+
+    private final JournalEnricher enricher = mock(JournalEnricher.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EnrichmentWorker worker;
+
+    @AfterEach
+    void tearDown() {
+        if (worker != null) worker.shutdown();
+    }
+
+    @Test
+    void appliesResultWhileStillPendingAndMovesModifiedDate() {
+        worker = worker(1, 10, 3);
+        when(enricher.buildAutoMetadata("Nairobi", "KE")).thenReturn(new AutoMetadata(GPS, WEATHER, null));
+
+        worker.submit(pending("j-1"));
+
+        Update update = awaitUpdates(1).get(0);
+        Document set = update.getUpdateObject().get("$set", Document.class);
+        assertEquals(EnrichmentStatus.DONE, set.get("enrichmentStatus"));
+        assertEquals(GPS, set.get("gps"));
+        assertEquals(WEATHER, set.get("weather"));
+        assertInstanceOf(Instant.class, set.get("modifiedDate")); // the response changes, so must its ETag
+        assertTrue(update.getUpdateObject().get("$unset", Document.class).containsKey("weatherObservation"));
+
+        assertEquals(new Document("_id", "j-1")
+                        .append("enrichmentStatus", EnrichmentStatus.PENDING)
+                        .append("city", "Nairobi")
+                        .append("country", "KE"),
+                lastQuery().getQueryObject());
+        assertOutcome("done", 1.0);
+    }
+
+    @Test
+    void leavesUserSuppliedPartsAlone() {
+        worker = worker(1, 10, 3);
+        when(enricher.buildAutoMetadata("Nairobi", "KE")).thenReturn(new AutoMetadata(GPS, null, "cell@hour"));
+        Journal journal = pending("j-1");
+        journal.setUserKeys(new LinkedHashSet<>(Set.of("gps")));
+
+        worker.submit(journal);
+
+        Document set = awaitUpdates(1).get(0).getUpdateObject().get("$set", Document.class);
+        assertFalse(set.containsKey("gps"));
+        assertEquals("cell@hour", set.get("weatherObservation"));
+    }
+
+    @Test
+    void callsOpenWeatherAtBackgroundPriority() {
+        worker = worker(1, 10, 3);
+        when(enricher.buildAutoMetadata("Nairobi", "KE")).thenAnswer(call -> {
+            assertEquals(OpenWeatherRateLimiter.Priority.BACKGROUND, OpenWeatherRateLimiter.currentPriority());
+            return AutoMetadata.NONE;
+        });
+
+        worker.submit(pending("j-1"));
+
+        awaitUpdates(1);
+        assertOutcome("done", 1.0);
+    }
+
+    @Test
+    void unknownLocationFailsWithoutRetrying() {
+        worker = worker(1, 10, 3);
+        when(enricher.buildAutoMetadata("Nairobi", "KE"))
+                .thenThrow(new RuntimeException(new LocationNotFoundException("Nairobi", "KE")));
+
+        worker.submit(pending("j-1"));
+
+        Document update = awaitUpdates(1).get(0).getUpdateObject();
+        Document set = update.get("$set", Document.class);
+        assertEquals(EnrichmentStatus.FAILED, set.get("enrichmentStatus"));
+        assertInstanceOf(Instant.class, set.get("modifiedDate"));
+        assertNotNull(set.get("enrichmentError"));
+        assertEquals(1, update.get("$inc", Document.class).get("enrichmentAttempts"));
+        verify(enricher, times(1)).buildAutoMetadata("Nairobi", "KE");
+        assertOutcome("failed", 1.0);
+    }
+
+    @Test
+    void retriesTransientFailuresUpToMaxAttempts() {
+        worker = worker(1, 10, 2);
+        when(enricher.buildAutoMetadata("Nairobi", "KE")).thenThrow(new RuntimeException("OpenWeather timed out"));
+
+        worker.submit(pending("j-1"));
+
+        List<Update> updates = awaitUpdates(2);
+        Document retry = updates.get(0).getUpdateObject();
+        assertFalse(retry.get("$set", Document.class).containsKey("enrichmentStatus"), "still pending");
+        assertEquals("OpenWeather timed out", retry.get("$set", Document.class).get("enrichmentError"));
+        assertEquals(EnrichmentStatus.FAILED,
+                updates.get(1).getUpdateObject().get("$set", Document.class).get("enrichmentStatus"));
+        verify(enricher, times(2)).buildAutoMetadata("Nairobi", "KE");
+        assertOutcome("retried", 1.0);
+        assertOutcome("failed", 1.0);
+    }
+
+    @Test
+    void ignoresJournalsItAlreadyOwns() throws InterruptedException {
+        worker = worker(1, 10, 3);
+        CountDownLatch release = new CountDownLatch(1);
+        when(enricher.buildAutoMetadata("Nairobi", "KE")).thenAnswer(call -> {
+            release.await(WAIT_MS, TimeUnit.MILLISECONDS);
+            return AutoMetadata.NONE;
+        });
+
+        worker.submit(pending("j-1"));
+        worker.submit(pending("j-1")); // e.g. the sweep finding it while it runs
+        release.countDown();
+
+        awaitUpdates(1);
+        Thread.sleep(100);
+        verify(enricher, times(1)).buildAutoMetadata("Nairobi", "KE");
+    }
+
+    @Test
+    void fullQueueLeavesJournalsForTheSweep() {
+        worker = worker(1, 1, 3);
+        CountDownLatch release = new CountDownLatch(1);
+        when(enricher.buildAutoMetadata(any(), any())).thenAnswer(call -> {
+            release.await(WAIT_MS, TimeUnit.MILLISECONDS);
+            return AutoMetadata.NONE;
+        });
+
+        worker.submit(pending("j-1"));
+        verify(enricher, timeout(WAIT_MS)).buildAutoMetadata(any(), any()); // running, queue empty
+        worker.submit(pending("j-2")); // queued
+        worker.submit(pending("j-3")); // rejected: stays pending
+
+        assertOutcome("rejected", 1.0);
+        release.countDown();
+        awaitUpdates(2);
+    }
+
+    @Test
+    void sweepRequeuesStalePendingJournals() {
+        worker = worker(1, 10, 3);
+        when(mongoTemplate.find(any(Query.class), eq(Journal.class))).thenReturn(List.of(pending("j-1")));
+        when(enricher.buildAutoMetadata("Nairobi", "KE")).thenReturn(AutoMetadata.NONE);
+
+        worker.sweep();
+
+        awaitUpdates(1);
+        ArgumentCaptor<Query> sweep = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(sweep.capture(), eq(Journal.class));
+        assertEquals(EnrichmentStatus.PENDING, sweep.getValue().getQueryObject().get("enrichmentStatus"));
+        assertEquals(10, sweep.getValue().getLimit());
+    }
+
+    @Test
+    void sweepIsOffOutsideAsyncMode() {
+        worker = new EnrichmentWorker(enricher, mongoTemplate, meterRegistry, "sync", false, 1, 10, 3,
+                Duration.ofMillis(1), Duration.ofMinutes(2), 10);
+
+        worker.sweep();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    /* ---------- helpers ---------- */
+
+    private EnrichmentWorker worker(int workers, int queueCapacity, int maxAttempts) {
+        return new EnrichmentWorker(enricher, mongoTemplate, meterRegistry, "async", false, workers, queueCapacity,
+                maxAttempts, Duration.ofMillis(1), Duration.ofMinutes(2), 10);
+    }
+
+    private static Journal pending(String id) {
+        return Journal.builder()
+                .id(id)
+                .city("Nairobi")
+                .country("KE")
+                .enrichmentStatus(EnrichmentStatus.PENDING)
+                .userKeys(new LinkedHashSet<>())
+                .build();
+    }
+
+    /** The first {@code count} journal updates, in order, once they were written. */
+    private List<Update> awaitUpdates(int count) {
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, timeout(WAIT_MS).atLeast(count))
+                .updateFirst(any(Query.class), updates.capture(), eq(Journal.class));
+        return updates.getAllValues().subList(0, count);
+    }
+
+    private Query lastQuery() {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, atLeastOnce()).updateFirst(queries.capture(), any(Update.class), eq(Journal.class));
+        return queries.getValue();
+    }
+
+    /** Outcomes are counted just after the journal update, so give the worker a moment. */
+    private void assertOutcome(String outcome, double expected) {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        double count;
+        while ((count = meterRegistry.counter("journal.enrichment.outcomes", "outcome", outcome).count()) != expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, count, outcome);
+    }
+}
@@ -0,0 +1,136 @@
+package com.tripwise.TripJournal.service.media;
+
+import com.tripwise.TripJournal.dto.MediaSummary;
+import com.tripwise.TripJournal.dto.responses.JournalResponse;
+import com.tripwise.TripJournal.service.client.TripMediaClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link MediaExpander}: one deduplicated tripmedia batch call per page, a per-user cache in front of it, and
+ * best-effort expansion; tripmedia is mocked to answer any IDs it is asked for.
+ */
+class MediaExpanderTests {
+
+    private final TripMediaClient tripMediaClient = mock(TripMediaClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MediaExpander expander;
+
+    @BeforeEach
+    void setUp() {
+        expander = new MediaExpander(tripMediaClient, meterRegistry, 1000, Duration.ofMinutes(5));
+        when(tripMediaClient.batch(anyString(), anyList())).thenAnswer(call -> call.<List<String>>getArgument(1)
+                .stream().map(MediaExpanderTests::summary).toList());
+    }
+
+    @Test
+    void wholePageIsResolvedWithOneDeduplicatedBatchCall() {
+        JournalResponse first = journal("m-1", "m-2");
+        JournalResponse second = journal("m-2", "m-3", "m-1");
+
+        expander.expand(List.of(first, second), "alice", "Bearer t");
+
+        verify(tripMediaClient, times(1)).batch(eq("Bearer t"), anyList());
+        assertEquals(List.of("m-1", "m-2", "m-3"), requested().get(0).stream().sorted().toList());
+        assertEquals(List.of("m-1", "m-2"), mediaOf(first));
+        assertEquals(List.of("m-2", "m-3", "m-1"), mediaOf(second)); // in mediaIds order
+    }
+
+    @Test
+    void cachedSummariesAreNotFetchedAgain() {
+        expander.expand(List.of(journal("m-1", "m-2")), "alice", "Bearer t");
+        expander.expand(List.of(journal("m-2", "m-3")), "alice", "Bearer t");
+        expander.expand(List.of(journal("m-1", "m-3")), "alice", "Bearer t");
+
+        assertEquals(List.of(List.of("m-3")), requested().subList(1, requested().size()));
+        assertEquals(2, requested().size());
+    }
+
+    @Test
+    void cacheIsNotSharedBetweenUsers() {
+        expander.expand(List.of(journal("m-1")), "alice", "Bearer alice");
+        JournalResponse bobs = journal("m-1");
+
+        expander.expand(List.of(bobs), "bob", "Bearer bob");
+
+        verify(tripMediaClient).batch("Bearer bob", List.of("m-1"));
+        assertEquals(List.of("m-1"), mediaOf(bobs));
+    }
+
+    @Test
+    void expiredSummariesAreFetchedAgain() throws InterruptedException {
+        expander = new MediaExpander(tripMediaClient, meterRegistry, 1000, Duration.ofMillis(1));
+
+        expander.expand(List.of(journal("m-1")), "alice", "Bearer t");
+        Thread.sleep(20);
+        expander.expand(List.of(journal("m-1")), "alice", "Bearer t");
+
+        verify(tripMediaClient, times(2)).batch("Bearer t", List.of("m-1"));
+    }
+
+    @Test
+    void unresolvedMediaIsLeftOut() {
+        when(tripMediaClient.batch(anyString(), anyList())).thenReturn(List.of(summary("m-2")));
+        JournalResponse journal = journal("m-1", "m-2", null);
+
+        expander.expand(List.of(journal), "alice", "Bearer t");
+
+        assertEquals(List.of("m-2"), mediaOf(journal));
+    }
+
+    @Test
+    void journalsWithoutMediaCostNoCall() {
+        JournalResponse journal = JournalResponse.builder().build(); // mediaIds not read
+
+        expander.expand(List.of(journal, journal()), "alice", "Bearer t");
+
+        assertEquals(List.of(), journal.getMedia());
+        verify(tripMediaClient, never()).batch(any(), anyList());
+    }
+
+    @Test
+    void onlyMediaCanBeExpanded() {
+        assertTrue(MediaExpander.wantsMedia("media"));
+        assertTrue(MediaExpander.wantsMedia(" media , "));
+        assertFalse(MediaExpander.wantsMedia(null));
+        assertFalse(MediaExpander.wantsMedia(""));
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> MediaExpander.wantsMedia("media,owner")).getStatusCode().value());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private static JournalResponse journal(String... mediaIds) {
+        return JournalResponse.builder().mediaIds(Arrays.asList(mediaIds)).build();
+    }
+
+    private static MediaSummary summary(String id) {
+        MediaSummary summary = new MediaSummary();
+        summary.setId(id);
+        summary.setCdnUrl("https://cdn.example.com/" + id + ".jpg");
+        return summary;
+    }
+
+    private static List<String> mediaOf(JournalResponse journal) {
+        return journal.getMedia().stream().map(MediaSummary::getId).toList();
+    }
+
+    /** The IDs of each batch call, in call order. */
+    private List<List<String>> requested() {
+        return mockingDetails(tripMediaClient).getInvocations().stream()
+                .filter(call -> call.getMethod().getName().equals("batch"))
+                .map(call -> call.<List<String>>getArgument(1))
+                .toList();
+    }
+}
@@ -0,0 +1,205 @@
+package com.tripwise.TripJournal.service.media;
+
+import com.tripwise.TripJournal.model.MediaCallbackType;
+import com.tripwise.TripJournal.model.MediaOutboxEntry;
+import com.tripwise.TripJournal.model.OutboxStatus;
+import com.tripwise.TripJournal.service.TokenService;
+import com.tripwise.TripJournal.service.client.TripMediaClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Claiming, delivery and retries of {@link MediaOutboxDispatcher} against a mocked {@link MongoTemplate} and
+ * tripmedia client.
+ */
+class MediaOutboxDispatcherTests {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final TripMediaClient tripMediaClient = mock(TripMediaClient.class);
+    private final TokenService tokenService = mock(TokenService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /** Entries the next claim hands out; they get the claim's token. */
+    private final List<MediaOutboxEntry> due = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(tokenService.mint(anyString())).thenAnswer(call -> "token-" + call.getArgument(0));
+        when(mongoTemplate.find(any(Query.class), eq(MediaOutboxEntry.class))).thenAnswer(call -> {
+            Query query = call.getArgument(0);
+            String token = query.getQueryObject().getString("claimToken");
+            if (token == null) { // the due scan: IDs only
+                return due.stream().map(entry -> MediaOutboxEntry.builder().id(entry.getId()).build()).toList();
+            }
+            List<MediaOutboxEntry> claimed = new ArrayList<>(due);
+            claimed.forEach(entry -> entry.setClaimToken(token));
+            due.clear();
+            return claimed;
+        });
+    }
+
+    @Test
+    void batchesThumbnailsAndDeletesPerUserAndSendsRefreshesOneByOne() {
+        due.add(entry("o-1", "j-1", "alice", MediaCallbackType.THUMBNAIL));
+        due.add(entry("o-2", "j-2", "alice", MediaCallbackType.THUMBNAIL));
+        due.add(entry("o-3", "j-3", "bob", MediaCallbackType.DELETE));
+        MediaOutboxEntry refresh = entry("o-4", "j-4", "alice", MediaCallbackType.REFRESH);
+        refresh.setReasons(new LinkedHashSet<>(List.of("title", "cover")));
+        due.add(refresh);
+
+        dispatcher(true).drain();
+
+        verify(tripMediaClient).generateThumbnails("token-alice", List.of("j-1", "j-2"));
+        verify(tripMediaClient).deleteAssets("token-bob", List.of("j-3"));
+        verify(tripMediaClient).refreshAssets("token-alice", "j-4", Set.of("title", "cover"));
+        verify(mongoTemplate, times(3)).remove(any(Query.class), eq(MediaOutboxEntry.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(MediaOutboxEntry.class));
+    }
+
+    @Test
+    void claimsOnlyEntriesStillDueWithALease() {
+        due.add(entry("o-1", "j-1", "alice", MediaCallbackType.THUMBNAIL));
+
+        dispatcher(true).drain();
+
+        ArgumentCaptor<Query> claim = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> lease = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(claim.capture(), lease.capture(), eq(MediaOutboxEntry.class));
+
+        List<?> and = claim.getValue().getQueryObject().getList("$and", Object.class);
+        assertEquals(new Document("_id", new Document("$in", List.of("o-1"))), and.get(0));
+        assertTrue(((Document) and.get(1)).containsKey("$or"), "due is re-checked");
+
+        Document set = lease.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(OutboxStatus.IN_FLIGHT, set.get("status"));
+        assertNotNull(set.get("claimToken"));
+        assertTrue(set.get("claimedUntil", Instant.class).isAfter(Instant.now()));
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithBackoff() {
+        due.add(entry("o-1", "j-1", "alice", MediaCallbackType.THUMBNAIL));
+        doThrow(new IllegalStateException("tripmedia 503")).when(tripMediaClient)
+                .generateThumbnails(anyString(), anyList());
+
+        dispatcher(true).drain();
+
+        Document update = rescheduled().getUpdateObject();
+        Document set = update.get("$set", Document.class);
+        assertEquals(OutboxStatus.PENDING, set.get("status"));
+        assertEquals(1, set.get("attempts"));
+        assertEquals("tripmedia 503", set.get("lastError"));
+        assertTrue(set.get("nextAttemptAt", Instant.class).isAfter(Instant.now()));
+        assertEquals(Set.of("claimToken", "claimedUntil", "deadline"), update.get("$unset", Document.class).keySet());
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(MediaOutboxEntry.class));
+        assertEquals(1.0, meterRegistry.counter("journal.media.outbox.retried").count());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        MediaOutboxEntry entry = entry("o-1", "j-1", "alice", MediaCallbackType.DELETE);
+        entry.setAttempts(MAX_ATTEMPTS - 1);
+        due.add(entry);
+        doThrow(new IllegalStateException("tripmedia 503")).when(tripMediaClient).deleteAssets(anyString(), anyList());
+
+        dispatcher(true).drain();
+
+        Document set = rescheduled().getUpdateObject().get("$set", Document.class);
+        assertEquals(OutboxStatus.FAILED, set.get("status"));
+        assertEquals(MAX_ATTEMPTS, set.get("attempts"));
+        assertEquals(1.0, meterRegistry.counter("journal.media.outbox.failed").count());
+    }
+
+    @Test
+    void userWithoutATokenIsRetriedWithoutCallingTripmedia() throws Exception {
+        due.add(entry("o-1", "j-1", "alice", MediaCallbackType.THUMBNAIL));
+        when(tokenService.mint("alice")).thenThrow(new IllegalStateException("no signing key"));
+
+        dispatcher(true).drain();
+
+        verifyNoInteractions(tripMediaClient);
+        assertEquals(OutboxStatus.PENDING, rescheduled().getUpdateObject().get("$set", Document.class).get("status"));
+    }
+
+    @Test
+    void retryFoldsIntoANewerPendingRefresh() {
+        MediaOutboxEntry refresh = entry("o-1", "j-1", "alice", MediaCallbackType.REFRESH);
+        refresh.setReasons(new LinkedHashSet<>(List.of("title")));
+        refresh.setCreatedAt(Instant.parse("2026-10-01T08:00:00Z"));
+        due.add(refresh);
+        doThrow(new IllegalStateException("tripmedia 503")).when(tripMediaClient)
+                .refreshAssets(anyString(), anyString(), anyCollection());
+        // an edit meanwhile created the pending refresh this one would collide with
+        when(mongoTemplate.updateFirst(argThat(query -> query.getQueryObject().containsKey("claimToken")),
+                any(Update.class), eq(MediaOutboxEntry.class)))
+                .thenThrow(new DuplicateKeyException("journalId_type_pending"));
+
+        dispatcher(true).drain();
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(queries.capture(), updates.capture(), eq(MediaOutboxEntry.class));
+
+        assertEquals(new Document("journalId", "j-1")
+                        .append("type", MediaCallbackType.REFRESH)
+                        .append("status", OutboxStatus.PENDING),
+                queries.getAllValues().get(1).getQueryObject());
+        Document merge = updates.getAllValues().get(1).getUpdateObject();
+        assertEquals(new Update().addToSet("reasons").each("title").getUpdateObject().get("$addToSet"),
+                merge.get("$addToSet"));
+        assertEquals(new Document("createdAt", refresh.getCreatedAt()), merge.get("$min"));
+
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removed.capture(), eq(MediaOutboxEntry.class));
+        assertEquals("o-1", removed.getValue().getQueryObject().get("_id"));
+    }
+
+    @Test
+    void disabledDispatcherDoesNothing() {
+        dispatcher(false).drain();
+
+        verifyNoInteractions(mongoTemplate, tripMediaClient, tokenService);
+    }
+
+    /* ---------- helpers ---------- */
+
+    private MediaOutboxDispatcher dispatcher(boolean enabled) {
+        return new MediaOutboxDispatcher(mongoTemplate, tripMediaClient, tokenService, meterRegistry, enabled,
+                10, 5, MAX_ATTEMPTS, Duration.ofSeconds(5), Duration.ofMinutes(2));
+    }
+
+    private static MediaOutboxEntry entry(String id, String journalId, String userId, MediaCallbackType type) {
+        return MediaOutboxEntry.builder()
+                .id(id)
+                .journalId(journalId)
+                .userId(userId)
+                .type(type)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(Instant.now())
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private Update rescheduled() {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(MediaOutboxEntry.class));
+        return update.getValue();
+    }
+}
@@ -0,0 +1,185 @@
+package com.tripwise.TripJournal.service.media;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.tripwise.TripJournal.model.MediaCallbackType;
+import com.tripwise.TripJournal.model.MediaOutboxEntry;
+import com.tripwise.TripJournal.model.OutboxStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * What {@link MediaOutbox} records: one pending entry per journal and callback type, debounced refreshes, and
+ * outbox failures that never fail the request.
+ */
+class MediaOutboxTests {
+
+    private static final Duration DEBOUNCE = Duration.ofSeconds(5);
+    private static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations ops = mock(BulkOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(MediaOutboxEntry.class))).thenReturn(ops);
+        when(ops.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()));
+    }
+
+    @Test
+    void upsertsOnePendingEntryPerJournal() {
+        outbox(true).thumbnails("alice", List.of("j-1", "j-2"));
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(ops, times(2)).upsert(queries.capture(), updates.capture());
+
+        assertEquals(new Document("journalId", "j-1")
+                        .append("type", MediaCallbackType.THUMBNAIL)
+                        .append("status", OutboxStatus.PENDING),
+                queries.getAllValues().get(0).getQueryObject());
+        Document insert = updates.getAllValues().get(0).getUpdateObject().get("$setOnInsert", Document.class);
+        assertEquals(Set.of("userId", "attempts", "nextAttemptAt", "createdAt"), insert.keySet());
+    }
+
+    @Test
+    void concurrentDuplicatesCoalesceAndOtherErrorsAreCounted() {
+        when(ops.execute()).thenThrow(bulkFailure(11000, 11000, 2));
+
+        outbox(true).thumbnails("alice", List.of("j-1", "j-2", "j-3"));
+
+        assertEquals(1.0, meterRegistry.counter("journal.media.outbox.write.failures").count());
+    }
+
+    @Test
+    void refreshIsDebouncedAndCapped() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(MediaOutboxEntry.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        Instant before = Instant.now();
+
+        outbox(true).refresh("alice", "j-1", List.of("title", "cover"));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(MediaOutboxEntry.class));
+        Document document = update.getValue().getUpdateObject();
+
+        Instant next = document.get("$set", Document.class).get("nextAttemptAt", Instant.class);
+        assertFalse(next.isBefore(before.plus(DEBOUNCE)), "pushed out by every edit");
+        Instant deadline = document.get("$min", Document.class).get("deadline", Instant.class);
+        assertFalse(deadline.isBefore(before.plus(MAX_WAIT)), "$min: never moved later by later edits");
+        assertEquals(new Update().addToSet("reasons").each("title", "cover").getUpdateObject().get("$addToSet"),
+                document.get("$addToSet"));
+        assertEquals(1.0, meterRegistry.counter("journal.media.refresh.coalesced").count());
+    }
+
+    @Test
+    void refreshRetriesALostInsertRace() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(MediaOutboxEntry.class)))
+                .thenThrow(new DuplicateKeyException("journalId_type_pending"))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        outbox(true).refresh("alice", "j-1", List.of("title"));
+
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), any(Update.class), eq(MediaOutboxEntry.class));
+        assertEquals(0.0, meterRegistry.counter("journal.media.outbox.write.failures").count());
+    }
+
+    @Test
+    void outboxFailureDoesNotFailTheCaller() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(MediaOutboxEntry.class)))
+                .thenThrow(new IllegalStateException("primary stepped down"));
+
+        assertDoesNotThrow(() -> outbox(true).refresh("alice", "j-1", List.of("title")));
+        assertEquals(1.0, meterRegistry.counter("journal.media.outbox.write.failures").count());
+    }
+
+    @Test
+    void deleteDropsPendingThumbnailsAndRefreshesFirst() {
+        outbox(true).deleted("alice", List.of("j-1"));
+
+        ArgumentCaptor<Query> dropped = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(dropped.capture(), eq(MediaOutboxEntry.class));
+        assertEquals(new Document("$in", List.of(MediaCallbackType.THUMBNAIL, MediaCallbackType.REFRESH)),
+                dropped.getValue().getQueryObject().get("type"));
+
+        ArgumentCaptor<Query> recorded = ArgumentCaptor.forClass(Query.class);
+        verify(ops).upsert(recorded.capture(), any(Update.class));
+        assertEquals(MediaCallbackType.DELETE, recorded.getValue().getQueryObject().get("type"));
+    }
+
+    @Test
+    void deletingManyJournalsIsOneBatchedWrite() {
+        List<String> ids = List.of("j-1", "j-2", "j-3");
+
+        outbox(true).deleted("alice", ids);
+
+        ArgumentCaptor<Query> dropped = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(dropped.capture(), eq(MediaOutboxEntry.class));
+        assertEquals(new Document("$in", ids), dropped.getValue().getQueryObject().get("journalId"));
+
+        verify(mongoTemplate, times(1)).bulkOps(BulkOperations.BulkMode.UNORDERED, MediaOutboxEntry.class);
+        ArgumentCaptor<Query> recorded = ArgumentCaptor.forClass(Query.class);
+        verify(ops, times(3)).upsert(recorded.capture(), any(Update.class));
+        assertEquals(ids, recorded.getAllValues().stream().map(q -> q.getQueryObject().get("journalId")).toList());
+        verify(ops, times(1)).execute();
+    }
+
+    @Test
+    void deletingNothingRecordsNothing() {
+        outbox(true).deleted("alice", List.of());
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void disabledOutboxRecordsNothing() {
+        MediaOutbox outbox = outbox(false);
+        outbox.thumbnail("alice", "j-1");
+        outbox.refresh("alice", "j-1", List.of("title"));
+        outbox.deleted("alice", List.of("j-1"));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    /* ---------- helpers ---------- */
+
+    private MediaOutbox outbox(boolean enabled) {
+        return new MediaOutbox(mongoTemplate, meterRegistry, enabled, DEBOUNCE, MAX_WAIT);
+    }
+
+    private static BulkOperationException bulkFailure(int... codes) {
+        List<BulkWriteError> errors = new ArrayList<>();
+        for (int i = 0; i < codes.length; i++) {
+            errors.add(new BulkWriteError(codes[i], "error " + codes[i], new BsonDocument(), i));
+        }
+        MongoBulkWriteException cause = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()), errors, null,
+                new ServerAddress(), Set.of());
+        return new BulkOperationException("bulk write failed", cause);
+    }
+}
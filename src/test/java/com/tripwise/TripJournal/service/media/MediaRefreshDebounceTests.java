@@ -0,0 +1,270 @@
+package com.tripwise.TripJournal.service.media;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.tripwise.TripJournal.model.MediaCallbackType;
+import com.tripwise.TripJournal.model.MediaOutboxEntry;
+import com.tripwise.TripJournal.model.OutboxStatus;
+import com.tripwise.TripJournal.service.TokenService;
+import com.tripwise.TripJournal.service.client.TripMediaClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Debounced refreshes from edit to delivery: {@link MediaOutbox} and {@link MediaOutboxDispatcher} run against an
+ * in-memory {@code media_outbox} that applies their queries and updates (including the unique pending index), and
+ * time is moved forward by ageing what is stored.
+ */
+class MediaRefreshDebounceTests {
+
+    private static final Duration DEBOUNCE = Duration.ofSeconds(5);
+    private static final Duration MAX_WAIT = Duration.ofSeconds(60);
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(5);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final TripMediaClient tripMediaClient = mock(TripMediaClient.class);
+    private final TokenService tokenService = mock(TokenService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /** The {@code media_outbox} collection. */
+    private final List<Document> stored = new ArrayList<>();
+
+    private MediaOutbox outbox;
+    private MediaOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(tokenService.mint(anyString())).thenReturn("token");
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(MediaOutboxEntry.class)))
+                .thenAnswer(call -> upsert(call.getArgument(0), call.getArgument(1)));
+        when(mongoTemplate.find(any(Query.class), eq(MediaOutboxEntry.class)))
+                .thenAnswer(call -> find(call.getArgument(0)));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(MediaOutboxEntry.class)))
+                .thenAnswer(call -> update(call.getArgument(0), call.getArgument(1), Integer.MAX_VALUE));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(MediaOutboxEntry.class)))
+                .thenAnswer(call -> update(call.getArgument(0), call.getArgument(1), 1));
+        when(mongoTemplate.remove(any(Query.class), eq(MediaOutboxEntry.class)))
+                .thenAnswer(call -> remove(call.getArgument(0)));
+
+        outbox = new MediaOutbox(mongoTemplate, meterRegistry, true, DEBOUNCE, MAX_WAIT);
+        dispatcher = new MediaOutboxDispatcher(mongoTemplate, tripMediaClient, tokenService, meterRegistry, true,
+                10, 5, 8, RETRY_BACKOFF, Duration.ofMinutes(2));
+    }
+
+    @Test
+    void editsWithinTheDebounceAreDeliveredOnceWithEveryReason() {
+        outbox.refresh("alice", "j-1", List.of("title"));
+        elapse(Duration.ofSeconds(2));
+        outbox.refresh("alice", "j-1", List.of("cover"));
+        elapse(Duration.ofSeconds(2));
+        outbox.refresh("alice", "j-1", List.of("title", "location"));
+
+        assertEquals(1, stored.size());
+        elapse(Duration.ofSeconds(4)); // 4s after the last edit: still quiet
+        dispatcher.drain();
+        verifyNoInteractions(tripMediaClient);
+
+        elapse(Duration.ofSeconds(2));
+        dispatcher.drain();
+        dispatcher.drain();
+
+        verify(tripMediaClient, times(1)).refreshAssets("token", "j-1", Set.of("title", "cover", "location"));
+        assertTrue(stored.isEmpty());
+        assertEquals(2.0, meterRegistry.counter("journal.media.refresh.coalesced").count());
+    }
+
+    @Test
+    void steadyEditsAreDeliveredOnceTheDeadlinePasses() {
+        int deliveredAfterSeconds = -1;
+        for (int second = 0; second <= 90; second += 4) { // an edit every 4s never lets the debounce expire
+            outbox.refresh("alice", "j-1", List.of("media"));
+            dispatcher.drain();
+            if (deliveredAfterSeconds < 0 && mockingDetails(tripMediaClient).getInvocations().size() > 0) {
+                deliveredAfterSeconds = second;
+            }
+            elapse(Duration.ofSeconds(4));
+        }
+
+        assertTrue(deliveredAfterSeconds >= MAX_WAIT.toSeconds(), "delivered early: " + deliveredAfterSeconds);
+        assertTrue(deliveredAfterSeconds < MAX_WAIT.toSeconds() + 4, "delivered late: " + deliveredAfterSeconds);
+    }
+
+    @Test
+    void editsAfterAFailedDeliveryAreStillCappedByANewDeadline() {
+        doThrow(new IllegalStateException("tripmedia unavailable")).doNothing()
+                .when(tripMediaClient).refreshAssets(anyString(), anyString(), anyCollection());
+        outbox.refresh("alice", "j-1", List.of("title"));
+        elapse(DEBOUNCE);
+        dispatcher.drain(); // fails: rescheduled with backoff, its deadline dropped
+
+        int deliveredAfterSeconds = -1;
+        for (int second = 0; second <= 90 && deliveredAfterSeconds < 0; second += 4) {
+            outbox.refresh("alice", "j-1", List.of("cover"));
+            dispatcher.drain();
+            if (mockingDetails(tripMediaClient).getInvocations().size() > 1) deliveredAfterSeconds = second;
+            elapse(Duration.ofSeconds(4));
+        }
+
+        assertTrue(deliveredAfterSeconds >= 0 && deliveredAfterSeconds < MAX_WAIT.toSeconds() + 4,
+                "delivered after " + deliveredAfterSeconds + "s");
+        verify(tripMediaClient).refreshAssets("token", "j-1", Set.of("title", "cover"));
+    }
+
+    @Test
+    void editDuringAFailedDeliveryKeepsBothReasons() {
+        doAnswer(call -> {
+            outbox.refresh("alice", "j-1", List.of("cover")); // lands while the first entry is in flight
+            throw new IllegalStateException("tripmedia unavailable");
+        }).doNothing().when(tripMediaClient).refreshAssets(anyString(), anyString(), anyCollection());
+
+        outbox.refresh("alice", "j-1", List.of("title"));
+        elapse(DEBOUNCE);
+        dispatcher.drain();
+
+        assertEquals(1, stored.size(), "the failed entry is folded into the newer pending one");
+        elapse(DEBOUNCE);
+        dispatcher.drain();
+
+        verify(tripMediaClient).refreshAssets("token", "j-1", Set.of("title", "cover"));
+        assertTrue(stored.isEmpty());
+    }
+
+    /* ---------- helpers ---------- */
+
+    /** Moves the clock forward: every stored instant becomes {@code duration} older. */
+    private void elapse(Duration duration) {
+        for (Document document : stored) {
+            document.replaceAll((key, value) -> value instanceof Instant instant ? instant.minus(duration) : value);
+        }
+    }
+
+    private UpdateResult upsert(Query query, Update update) {
+        Optional<Document> match = stored.stream().filter(matches(query.getQueryObject())).findFirst();
+        if (match.isPresent()) {
+            apply(match.get(), update, false);
+            return UpdateResult.acknowledged(1, 1L, null);
+        }
+
+        Document inserted = new Document("_id", UUID.randomUUID().toString());
+        query.getQueryObject().forEach((key, value) -> {
+            if (!(value instanceof Document)) inserted.put(key, value);
+        });
+        apply(inserted, update, true);
+        checkUnique(inserted, null);
+        stored.add(inserted);
+        return UpdateResult.acknowledged(0, 0L, new BsonString(inserted.getString("_id")));
+    }
+
+    private List<MediaOutboxEntry> find(Query query) {
+        List<Document> found = stored.stream().filter(matches(query.getQueryObject()))
+                .sorted(Comparator.comparing(d -> d.get("nextAttemptAt", Instant.class)))
+                .toList();
+        if (query.getLimit() > 0 && found.size() > query.getLimit()) found = found.subList(0, query.getLimit());
+        return found.stream().map(MediaRefreshDebounceTests::entry).toList();
+    }
+
+    private UpdateResult update(Query query, Update update, int limit) {
+        List<Document> matched = stored.stream().filter(matches(query.getQueryObject())).limit(limit).toList();
+        for (Document document : matched) {
+            Document updated = new Document(document);
+            apply(updated, update, false);
+            checkUnique(updated, document);
+            document.clear();
+            document.putAll(updated);
+        }
+        return UpdateResult.acknowledged(matched.size(), (long) matched.size(), null);
+    }
+
+    private DeleteResult remove(Query query) {
+        List<Document> removed = stored.stream().filter(matches(query.getQueryObject())).toList();
+        stored.removeAll(removed);
+        return DeleteResult.acknowledged(removed.size());
+    }
+
+    /** The unique index on pending {@code (journalId, type)}. */
+    private void checkUnique(Document candidate, Document self) {
+        if (candidate.get("status") != OutboxStatus.PENDING) return;
+        boolean taken = stored.stream().anyMatch(other -> other != self
+                && other.get("status") == OutboxStatus.PENDING
+                && other.get("journalId").equals(candidate.get("journalId"))
+                && other.get("type") == candidate.get("type"));
+        if (taken) throw new DuplicateKeyException("journalId_type_pending");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void apply(Document document, Update update, boolean inserted) {
+        Document operations = update.getUpdateObject();
+        operations.forEach((operator, fields) -> ((Document) fields).forEach((field, value) -> {
+            switch (operator) {
+                case "$set" -> document.put(field, value);
+                case "$setOnInsert" -> { if (inserted) document.put(field, value); }
+                case "$unset" -> document.remove(field);
+                case "$min" -> {
+                    Comparable<Object> current = (Comparable<Object>) document.get(field);
+                    if (current == null || current.compareTo(value) > 0) document.put(field, value);
+                }
+                case "$addToSet" -> {
+                    Object each = value instanceof Update.Modifier modifier ? modifier.getValue() : List.of(value);
+                    Set<Object> set = new LinkedHashSet<>((Collection<Object>) document.getOrDefault(field, List.of()));
+                    set.addAll(each instanceof Object[] array ? Arrays.asList(array) : (Collection<Object>) each);
+                    document.put(field, new ArrayList<>(set));
+                }
+                default -> fail("unsupported update operator " + operator);
+            }
+        }));
+    }
+
+    /** Equality, {@code $in}, {@code $lt}, {@code $lte}, {@code $or} and {@code $and}: what the outbox queries use. */
+    @SuppressWarnings("unchecked")
+    private static Predicate<Document> matches(Document filter) {
+        return document -> filter.entrySet().stream().allMatch(condition -> switch (condition.getKey()) {
+            case "$or" -> ((List<Document>) condition.getValue()).stream().anyMatch(f -> matches(f).test(document));
+            case "$and" -> ((List<Document>) condition.getValue()).stream().allMatch(f -> matches(f).test(document));
+            default -> {
+                Object actual = document.get(condition.getKey());
+                if (!(condition.getValue() instanceof Document operators)) yield Objects.equals(actual, condition.getValue());
+                yield operators.entrySet().stream().allMatch(op -> switch (op.getKey()) {
+                    case "$in" -> ((Collection<Object>) op.getValue()).contains(actual);
+                    case "$lt" -> actual != null && ((Comparable<Object>) actual).compareTo(op.getValue()) < 0;
+                    case "$lte" -> actual != null && ((Comparable<Object>) actual).compareTo(op.getValue()) <= 0;
+                    default -> fail("unsupported query operator " + op.getKey());
+                });
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MediaOutboxEntry entry(Document document) {
+        Collection<String> reasons = (Collection<String>) document.get("reasons");
+        return MediaOutboxEntry.builder()
+                .id(document.getString("_id"))
+                .journalId(document.getString("journalId"))
+                .userId(document.getString("userId"))
+                .type((MediaCallbackType) document.get("type"))
+                .status((OutboxStatus) document.get("status"))
+                .attempts(document.get("attempts", 0))
+                .nextAttemptAt(document.get("nextAttemptAt", Instant.class))
+                .deadline(document.get("deadline", Instant.class))
+                .reasons(reasons == null ? null : new LinkedHashSet<>(reasons))
+                .claimToken(document.getString("claimToken"))
+                .claimedUntil(document.get("claimedUntil", Instant.class))
+                .createdAt(document.get("createdAt", Instant.class))
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.tripwise.TripJournal.service.migration;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.tripwise.TripJournal.model.GpsPoint;
+import com.tripwise.TripJournal.model.Journal;
+import com.tripwise.TripJournal.model.MigrationCheckpoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Batching and checkpointing of {@link TypedMetadataMigration} against a mocked {@link MongoTemplate}; the queries it
+ * sends are checked as documents.
+ */
+class TypedMetadataMigrationTests {
+
+    private static final String OBJECT_ID = "65f1c0ffee0000000000000a";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations ops = mock(BulkOperations.class);
+
+    /** Journals each {@code find} returns, in order; an exhausted queue returns nothing. */
+    private final Deque<List<Journal>> batches = new ArrayDeque<>();
+    private final List<Query> batchQueries = new ArrayList<>();
+    private MigrationCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        checkpoint = MigrationCheckpoint.builder().id(TypedMetadataMigration.NAME).build();
+        when(mongoTemplate.findById(TypedMetadataMigration.NAME, MigrationCheckpoint.class))
+                .thenAnswer(call -> checkpoint);
+        when(mongoTemplate.find(any(Query.class), eq(Journal.class))).thenAnswer(call -> {
+            batchQueries.add(call.getArgument(0));
+            return batches.isEmpty() ? List.of() : batches.poll();
+        });
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Journal.class))).thenReturn(ops);
+        when(ops.execute()).thenAnswer(call -> BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+    }
+
+    @Test
+    void continuesFromStringIdsIntoObjectIds() {
+        batches.add(List.of(legacy("imported-1"), legacy("imported-2")));
+        batches.add(List.of(legacy(OBJECT_ID)));
+
+        migration(2).run();
+
+        assertEquals(2, batchQueries.size());
+        assertEquals(new Document("$or", List.of(
+                        new Document("_id", new Document("$gt", "imported-2")),
+                        new Document("_id", new Document("$type", 7)))),
+                idBound(batchQueries.get(1)));
+        assertEquals(List.of("imported-2", new ObjectId(OBJECT_ID)), checkpointedIds());
+        verify(mongoTemplate).findAndModify(any(Query.class), any(Update.class), eq(MigrationCheckpoint.class));
+    }
+
+    @Test
+    void resumesAfterAnObjectIdCheckpoint() {
+        checkpoint.setLastId(new ObjectId(OBJECT_ID));
+
+        migration(2).run();
+
+        assertEquals(new Document("_id", new Document("$gt", new ObjectId(OBJECT_ID))), idBound(batchQueries.get(0)));
+    }
+
+    @Test
+    void readsHexStringCheckpointsAsObjectIds() {
+        checkpoint.setLastId(OBJECT_ID); // written before the checkpoint kept the ID's type
+
+        migration(2).run();
+
+        assertEquals(new Document("_id", new Document("$gt", new ObjectId(OBJECT_ID))), idBound(batchQueries.get(0)));
+    }
+
+    @Test
+    void resumesAfterAStringCheckpoint() {
+        checkpoint.setLastId("imported-9");
+
+        migration(2).run();
+
+        assertEquals(new Document("$or", List.of(
+                        new Document("_id", new Document("$gt", "imported-9")),
+                        new Document("_id", new Document("$type", 7)))),
+                idBound(batchQueries.get(0)));
+    }
+
+    @Test
+    void stopsAfterMaxBatchesAndLeavesTheRestForTheNextRun() {
+        batches.add(List.of(legacy("a-1"), legacy("a-2")));
+        batches.add(List.of(legacy("a-3"), legacy("a-4")));
+
+        new TypedMetadataMigration(mongoTemplate, new SimpleMeterRegistry(), true, 2, 2).run();
+
+        assertEquals(List.of("a-2", "a-4"), checkpointedIds());
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), eq(MigrationCheckpoint.class));
+    }
+
+    @Test
+    void skipsWorkOnceCompleted() {
+        checkpoint.setCompletedAt(Instant.now());
+
+        TypedMetadataMigration migration = migration(2);
+        migration.run();
+        migration.run();
+
+        assertTrue(batchQueries.isEmpty());
+        verify(mongoTemplate, times(1)).findById(TypedMetadataMigration.NAME, MigrationCheckpoint.class);
+    }
+
+    @Test
+    void movesLegacyKeysAndKeepsOtherMetadata() {
+        Journal keepsMood = legacy("imported-1");
+        keepsMood.getMetadata().put("mood", "curious");
+        Journal typedGps = legacy("imported-2");
+        typedGps.setGps(new GpsPoint(1.0, 2.0));
+        batches.add(List.of(keepsMood, typedGps));
+
+        migration(10).run();
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(ops, times(2)).updateOne(any(Query.class), updates.capture());
+
+        Document first = updates.getAllValues().get(0).getUpdateObject();
+        assertEquals(Set.of("gps", "weather"), first.get("$set", Document.class).keySet());
+        assertEquals(Set.of("metadata.gps", "metadata.weather"), first.get("$unset", Document.class).keySet());
+
+        Document second = updates.getAllValues().get(1).getUpdateObject();
+        assertEquals(Set.of("weather"), second.get("$set", Document.class).keySet()); // typed gps wins
+        assertEquals(Set.of("metadata"), second.get("$unset", Document.class).keySet());
+    }
+
+    /* ---------- helpers ---------- */
+
+    private TypedMetadataMigration migration(int batchSize) {
+        return new TypedMetadataMigration(mongoTemplate, new SimpleMeterRegistry(), true, batchSize, 20);
+    }
+
+    /** The {@code _id} part of a batch query: {@code {$and: [<bound>, <legacy keys>]}}. */
+    private static Object idBound(Query query) {
+        return query.getQueryObject().getList("$and", Object.class).get(0);
+    }
+
+    /** {@code lastId} values passed to {@code $max}, in order. */
+    private List<Object> checkpointedIds() {
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeastOnce()).updateFirst(any(Query.class), updates.capture(),
+                eq(MigrationCheckpoint.class));
+        return updates.getAllValues().stream()
+                .map(update -> update.getUpdateObject().get("$max", Document.class).get("lastId"))
+                .toList();
+    }
+
+    private static Journal legacy(String id) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("gps", new LinkedHashMap<>(Map.of("lat", 52.52, "lon", 13.405)));
+        metadata.put("weather", new LinkedHashMap<>(Map.of("temperature", 18.0, "humidity", 70)));
+        return Journal.builder().id(id).metadata(metadata).build();
+    }
+}